@@ -9,6 +9,8 @@ import org.gradle.language.jvm.tasks.ProcessResources
 plugins {
     // Shadow makes “fat jars” (bundle your dependencies)
     alias(libs.plugins.shadow) apply false
+    // JMH benchmarks live in a module's src/jmh source set; run with `:<module>:jmh`
+    alias(libs.plugins.jmh) apply false
     // java apply false
     // `java-library` apply false
 }
@@ -127,8 +129,8 @@ configure(skillsFeatureProjects) {
     }
 }
 
-// Shared conventions for testing framework modules (":platform:testing-*")
-configure(subprojects.filter { it.path.startsWith(":platform:testing-") }) {
+// Shared conventions for platform modules (":platform:*")
+configure(subprojects.filter { it.path.startsWith(":platform:") }) {
     plugins.withType<JavaPlugin> {
         dependencies {
             "testImplementation"(platform(libsCatalog.findLibrary("junit-bom").get()))
@@ -147,18 +149,18 @@ configure(subprojects.filter { it.path.startsWith(":platform:testing-") }) {
 
 // All plugin subprojects (":plugins:*")
 val pluginProjects = subprojects.filter { it.path.startsWith(":plugins:") }
-val testingProjects = subprojects.filter { it.path.startsWith(":platform:testing-") }
+val platformProjects = subprojects.filter { it.path.startsWith(":platform:") }
 
 tasks.register("unitTest") {
     group = "verification"
     description = "Runs unit tests (excludes contract-tagged tests)."
-    dependsOn((pluginProjects + testingProjects).map { "${it.path}:test" })
+    dependsOn((pluginProjects + platformProjects).map { "${it.path}:test" })
 }
 
 tasks.register("contractTest") {
     group = "verification"
     description = "Runs contract-tagged tests across plugins and shared testing modules."
-    dependsOn((pluginProjects + testingProjects).map { "${it.path}:contractTest" })
+    dependsOn((pluginProjects + platformProjects).map { "${it.path}:contractTest" })
 }
 
 tasks.register("verifyTests") {
@@ -0,0 +1,12 @@
+package org.runetale.blockmutation;
+
+/**
+ * Compares a guard's expected block id with the id currently in the world.
+ */
+@FunctionalInterface
+public interface BlockIdMatcher {
+
+	BlockIdMatcher EXACT = String::equals;
+
+	boolean matches(String expectedBlockId, String actualBlockId);
+}
@@ -0,0 +1,20 @@
+package org.runetale.blockmutation;
+
+/**
+ * One pending block write.
+ *
+ * <p>{@code expectedBlockId} is the compare-and-set guard: when non-null the mutation is only
+ * applied if the block currently at {@code position} matches it. {@code payload} carries the
+ * plugin-specific write (target block id, apply mode, ...).
+ */
+public record BlockMutation<T>(
+		BlockPosition position,
+		String expectedBlockId,
+		T payload,
+		long applyAtMillis,
+		long sequence) {
+
+	public boolean isGuarded() {
+		return this.expectedBlockId != null && !this.expectedBlockId.isBlank();
+	}
+}
@@ -0,0 +1,22 @@
+package org.runetale.blockmutation;
+
+/**
+ * Performs the world write for a due mutation.
+ */
+@FunctionalInterface
+public interface BlockMutationApplier<T> {
+
+	void apply(BlockMutation<T> mutation) throws Exception;
+
+	/**
+	 * Called when {@link #apply(BlockMutation)} throws; the mutation is dropped afterwards.
+	 */
+	default void onFailure(BlockMutation<T> mutation, Exception exception) {
+	}
+
+	/**
+	 * Called when the compare-and-set guard rejects a mutation; {@code actualBlockId} may be null.
+	 */
+	default void onGuardRejected(BlockMutation<T> mutation, String actualBlockId) {
+	}
+}
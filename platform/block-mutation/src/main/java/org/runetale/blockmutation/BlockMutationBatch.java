@@ -0,0 +1,9 @@
+package org.runetale.blockmutation;
+
+import java.util.List;
+
+/**
+ * Due mutations that fall inside the same chunk, in due-time order.
+ */
+public record BlockMutationBatch<T>(String worldName, int chunkX, int chunkZ, List<BlockMutation<T>> mutations) {
+}
@@ -0,0 +1,299 @@
+package org.runetale.blockmutation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled block-mutation engine shared by plugins that defer world writes.
+ *
+ * <p>Each world keeps a position index (a newer submit supersedes the pending mutation at the same
+ * position) and a due-time heap, so a poll only touches mutations that are actually due. Due
+ * mutations are handed out grouped by chunk so callers write one chunk at a time.
+ */
+public class BlockMutationEngine<T> {
+
+	private static final int COMPACT_MIN_HEAP_SIZE = 64;
+
+	private final BlockIdMatcher matcher;
+	private final BlockMutationPersistence<T> persistence;
+	private final Map<String, WorldQueue<T>> queuesByWorld = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong superseded = new AtomicLong();
+	private final AtomicLong cancelled = new AtomicLong();
+	private final AtomicLong applied = new AtomicLong();
+	private final AtomicLong guardRejected = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+
+	public BlockMutationEngine() {
+		this(BlockIdMatcher.EXACT);
+	}
+
+	public BlockMutationEngine(BlockIdMatcher matcher) {
+		this(matcher, BlockMutationPersistence.none());
+	}
+
+	public BlockMutationEngine(BlockIdMatcher matcher, BlockMutationPersistence<T> persistence) {
+		this.matcher = matcher;
+		this.persistence = persistence;
+	}
+
+	/**
+	 * Queues a mutation, replacing any mutation still pending at the same position.
+	 */
+	public BlockMutation<T> submit(BlockPosition position, String expectedBlockId, T payload, long applyAtMillis) {
+		BlockMutation<T> mutation = new BlockMutation<>(
+				position,
+				expectedBlockId,
+				payload,
+				applyAtMillis,
+				this.sequence.incrementAndGet());
+		enqueue(mutation, true);
+		return mutation;
+	}
+
+	/**
+	 * Re-queues the mutations returned by the persistence hook and returns how many were loaded.
+	 */
+	public int restore() {
+		int restored = 0;
+		for (BlockMutation<T> loaded : this.persistence.loadPending()) {
+			this.sequence.accumulateAndGet(loaded.sequence(), Math::max);
+			enqueue(loaded, false);
+			restored++;
+		}
+		return restored;
+	}
+
+	public boolean cancel(BlockPosition position) {
+		WorldQueue<T> queue = this.queuesByWorld.get(position.worldName());
+		if (queue == null) {
+			return false;
+		}
+
+		synchronized (queue) {
+			BlockMutation<T> removed = queue.remove(position);
+			if (removed == null) {
+				return false;
+			}
+			this.persistence.onRemoved(removed);
+		}
+		this.cancelled.incrementAndGet();
+		return true;
+	}
+
+	public void clearAll() {
+		for (WorldQueue<T> queue : this.queuesByWorld.values()) {
+			synchronized (queue) {
+				for (BlockMutation<T> pending : queue.pending()) {
+					this.persistence.onRemoved(pending);
+				}
+				this.cancelled.addAndGet(queue.size());
+				queue.clear();
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns every mutation in {@code worldName} due at {@code nowMillis}, grouped by
+	 * chunk. Chunks are ordered by their earliest due mutation.
+	 */
+	public List<BlockMutationBatch<T>> pollDue(String worldName, long nowMillis) {
+		WorldQueue<T> queue = this.queuesByWorld.get(worldName);
+		if (queue == null) {
+			return List.of();
+		}
+
+		List<BlockMutation<T>> due;
+		synchronized (queue) {
+			due = queue.pollDue(nowMillis);
+			for (BlockMutation<T> mutation : due) {
+				this.persistence.onRemoved(mutation);
+			}
+		}
+		if (due.isEmpty()) {
+			return List.of();
+		}
+
+		List<BlockMutationBatch<T>> batched = batchByChunk(worldName, due);
+		this.batches.addAndGet(batched.size());
+		return batched;
+	}
+
+	/**
+	 * Polls due mutations and applies them chunk by chunk, skipping any whose compare-and-set guard
+	 * no longer matches the world. Returns the number of mutations applied.
+	 */
+	public int applyDue(String worldName, long nowMillis, BlockReader reader, BlockMutationApplier<T> applier) {
+		int appliedCount = 0;
+		for (BlockMutationBatch<T> batch : pollDue(worldName, nowMillis)) {
+			for (BlockMutation<T> mutation : batch.mutations()) {
+				try {
+					if (mutation.isGuarded() && !guardMatches(reader, mutation, applier)) {
+						continue;
+					}
+
+					applier.apply(mutation);
+					appliedCount++;
+				} catch (Exception exception) {
+					this.failed.incrementAndGet();
+					applier.onFailure(mutation, exception);
+				}
+			}
+		}
+		this.applied.addAndGet(appliedCount);
+		return appliedCount;
+	}
+
+	public int pendingCount() {
+		int pending = 0;
+		for (WorldQueue<T> queue : this.queuesByWorld.values()) {
+			synchronized (queue) {
+				pending += queue.size();
+			}
+		}
+		return pending;
+	}
+
+	public int pendingCount(String worldName) {
+		WorldQueue<T> queue = this.queuesByWorld.get(worldName);
+		if (queue == null) {
+			return 0;
+		}
+		synchronized (queue) {
+			return queue.size();
+		}
+	}
+
+	public BlockMutationMetrics metricsSnapshot() {
+		return new BlockMutationMetrics(
+				this.submitted.get(),
+				this.superseded.get(),
+				this.cancelled.get(),
+				this.applied.get(),
+				this.guardRejected.get(),
+				this.failed.get(),
+				this.batches.get(),
+				pendingCount(),
+				this.queuesByWorld.size());
+	}
+
+	private void enqueue(BlockMutation<T> mutation, boolean notifyPersistence) {
+		WorldQueue<T> queue = this.queuesByWorld.computeIfAbsent(
+				mutation.position().worldName(),
+				unused -> new WorldQueue<>());
+		BlockMutation<T> previous;
+		synchronized (queue) {
+			previous = queue.put(mutation);
+			if (previous != null) {
+				this.persistence.onRemoved(previous);
+			}
+			if (notifyPersistence) {
+				this.persistence.onScheduled(mutation);
+			}
+		}
+
+		this.submitted.incrementAndGet();
+		if (previous != null) {
+			this.superseded.incrementAndGet();
+		}
+	}
+
+	private boolean guardMatches(BlockReader reader, BlockMutation<T> mutation, BlockMutationApplier<T> applier) {
+		BlockPosition position = mutation.position();
+		String actualBlockId = reader.blockIdAt(position.x(), position.y(), position.z());
+		if (actualBlockId != null && this.matcher.matches(mutation.expectedBlockId(), actualBlockId)) {
+			return true;
+		}
+
+		this.guardRejected.incrementAndGet();
+		applier.onGuardRejected(mutation, actualBlockId);
+		return false;
+	}
+
+	private static <T> List<BlockMutationBatch<T>> batchByChunk(String worldName, List<BlockMutation<T>> due) {
+		Map<Long, List<BlockMutation<T>>> byChunk = new LinkedHashMap<>();
+		for (BlockMutation<T> mutation : due) {
+			long chunkKey = ((long) mutation.position().chunkX() << 32) | (mutation.position().chunkZ() & 0xFFFFFFFFL);
+			byChunk.computeIfAbsent(chunkKey, unused -> new ArrayList<>()).add(mutation);
+		}
+
+		List<BlockMutationBatch<T>> batched = new ArrayList<>(byChunk.size());
+		for (List<BlockMutation<T>> mutations : byChunk.values()) {
+			BlockPosition first = mutations.get(0).position();
+			batched.add(new BlockMutationBatch<>(worldName, first.chunkX(), first.chunkZ(), List.copyOf(mutations)));
+		}
+		return batched;
+	}
+
+	/**
+	 * Per-world index. Superseded and cancelled mutations stay in the heap until they surface or
+	 * the heap is compacted; the position map is the source of truth.
+	 */
+	private static final class WorldQueue<T> {
+
+		private final Map<BlockPosition, BlockMutation<T>> byPosition = new HashMap<>();
+		private final PriorityQueue<BlockMutation<T>> byDueTime = new PriorityQueue<>(WorldQueue::compareDue);
+
+		private BlockMutation<T> put(BlockMutation<T> mutation) {
+			BlockMutation<T> previous = this.byPosition.put(mutation.position(), mutation);
+			this.byDueTime.add(mutation);
+			compactIfStale();
+			return previous;
+		}
+
+		private BlockMutation<T> remove(BlockPosition position) {
+			BlockMutation<T> removed = this.byPosition.remove(position);
+			if (removed != null) {
+				compactIfStale();
+			}
+			return removed;
+		}
+
+		private List<BlockMutation<T>> pollDue(long nowMillis) {
+			List<BlockMutation<T>> due = new ArrayList<>();
+			while (!this.byDueTime.isEmpty() && this.byDueTime.peek().applyAtMillis() <= nowMillis) {
+				BlockMutation<T> head = this.byDueTime.poll();
+				if (this.byPosition.remove(head.position(), head)) {
+					due.add(head);
+				}
+			}
+			return due;
+		}
+
+		private List<BlockMutation<T>> pending() {
+			return new ArrayList<>(this.byPosition.values());
+		}
+
+		private int size() {
+			return this.byPosition.size();
+		}
+
+		private void clear() {
+			this.byPosition.clear();
+			this.byDueTime.clear();
+		}
+
+		private void compactIfStale() {
+			int heapSize = this.byDueTime.size();
+			if (heapSize < COMPACT_MIN_HEAP_SIZE || heapSize <= 2 * this.byPosition.size()) {
+				return;
+			}
+			this.byDueTime.clear();
+			this.byDueTime.addAll(this.byPosition.values());
+		}
+
+		private static <T> int compareDue(BlockMutation<T> left, BlockMutation<T> right) {
+			int byDue = Long.compare(left.applyAtMillis(), right.applyAtMillis());
+			return byDue != 0 ? byDue : Long.compare(left.sequence(), right.sequence());
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package org.runetale.blockmutation;
+
+/**
+ * Point-in-time counters for a {@link BlockMutationEngine}.
+ */
+public record BlockMutationMetrics(
+		long submitted,
+		long superseded,
+		long cancelled,
+		long applied,
+		long guardRejected,
+		long failed,
+		long batches,
+		int pending,
+		int trackedWorlds) {
+}
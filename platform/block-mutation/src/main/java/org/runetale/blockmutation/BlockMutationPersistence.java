@@ -0,0 +1,41 @@
+package org.runetale.blockmutation;
+
+import java.util.List;
+
+/**
+ * Hook for keeping pending mutations across restarts.
+ *
+ * <p>Callbacks run while the engine holds the per-world lock, so implementations should only
+ * record or buffer the change and do their I/O elsewhere.
+ */
+public interface BlockMutationPersistence<T> {
+
+	/**
+	 * Called when a mutation is queued, including when it supersedes an earlier one.
+	 */
+	void onScheduled(BlockMutation<T> mutation);
+
+	/**
+	 * Called when a mutation leaves the queue (polled, superseded, cancelled, or cleared).
+	 */
+	void onRemoved(BlockMutation<T> mutation);
+
+	/**
+	 * Returns mutations to re-queue on {@link BlockMutationEngine#restore()}.
+	 */
+	default List<BlockMutation<T>> loadPending() {
+		return List.of();
+	}
+
+	static <T> BlockMutationPersistence<T> none() {
+		return new BlockMutationPersistence<>() {
+			@Override
+			public void onScheduled(BlockMutation<T> mutation) {
+			}
+
+			@Override
+			public void onRemoved(BlockMutation<T> mutation) {
+			}
+		};
+	}
+}
@@ -0,0 +1,20 @@
+package org.runetale.blockmutation;
+
+/**
+ * World-qualified block coordinate used as the supersede key for scheduled mutations.
+ */
+public record BlockPosition(String worldName, int x, int y, int z) {
+
+	/**
+	 * Block-to-chunk shift for the 32-wide server chunk grid.
+	 */
+	public static final int CHUNK_SHIFT = 5;
+
+	public int chunkX() {
+		return this.x >> CHUNK_SHIFT;
+	}
+
+	public int chunkZ() {
+		return this.z >> CHUNK_SHIFT;
+	}
+}
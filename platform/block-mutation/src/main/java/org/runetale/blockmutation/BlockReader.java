@@ -0,0 +1,13 @@
+package org.runetale.blockmutation;
+
+/**
+ * Reads the block id currently at a position, used to evaluate compare-and-set guards.
+ */
+@FunctionalInterface
+public interface BlockReader {
+
+	/**
+	 * Returns the current block id, or {@code null} when the position is unloaded or empty.
+	 */
+	String blockIdAt(int x, int y, int z);
+}
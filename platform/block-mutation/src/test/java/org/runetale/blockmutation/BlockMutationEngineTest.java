@@ -0,0 +1,203 @@
+package org.runetale.blockmutation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockMutationEngineTest {
+
+	@Test
+	void pollDueReturnsOnlyDueMutationsForTheRequestedWorld() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		engine.submit(new BlockPosition("world-a", 1, 64, 1), null, "Tree_Oak", 100L);
+		engine.submit(new BlockPosition("world-a", 2, 64, 2), null, "Tree_Oak", 200L);
+		engine.submit(new BlockPosition("world-b", 1, 64, 1), null, "Tree_Oak", 100L);
+
+		assertThat(engine.pollDue("world-a", 99L)).isEmpty();
+		assertThat(flatten(engine.pollDue("world-a", 150L))).extracting(BlockMutation::applyAtMillis).containsExactly(100L);
+		assertThat(engine.pollDue("world-a", 150L)).isEmpty();
+		assertThat(engine.pendingCount("world-b")).isEqualTo(1);
+		assertThat(engine.pendingCount()).isEqualTo(2);
+	}
+
+	@Test
+	void laterSubmitSupersedesPendingMutationAtSamePosition() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		BlockPosition position = new BlockPosition("world", 5, 64, 5);
+		engine.submit(position, null, "First", 100L);
+		engine.submit(position, null, "Second", 300L);
+
+		assertThat(engine.pollDue("world", 200L)).isEmpty();
+		assertThat(flatten(engine.pollDue("world", 300L))).extracting(BlockMutation::payload).containsExactly("Second");
+		assertThat(engine.metricsSnapshot().superseded()).isEqualTo(1L);
+		assertThat(engine.metricsSnapshot().pending()).isZero();
+	}
+
+	@Test
+	void dueMutationsAreGroupedByChunkInDueOrder() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		engine.submit(new BlockPosition("world", 40, 64, 0), null, "B1", 10L);
+		engine.submit(new BlockPosition("world", 1, 64, 1), null, "A1", 20L);
+		engine.submit(new BlockPosition("world", 33, 64, 5), null, "B2", 30L);
+		engine.submit(new BlockPosition("world", -1, 64, 1), null, "C1", 40L);
+		engine.submit(new BlockPosition("world", 2, 64, 2), null, "A2", 50L);
+
+		List<BlockMutationBatch<String>> batches = engine.pollDue("world", 100L);
+
+		assertThat(batches).extracting(BlockMutationBatch::chunkX).containsExactly(1, 0, -1);
+		assertThat(batches.get(0).mutations()).extracting(BlockMutation::payload).containsExactly("B1", "B2");
+		assertThat(batches.get(1).mutations()).extracting(BlockMutation::payload).containsExactly("A1", "A2");
+		assertThat(batches.get(2).mutations()).extracting(BlockMutation::payload).containsExactly("C1");
+	}
+
+	@Test
+	void applyDueSkipsMutationsWhoseGuardNoLongerMatches() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		Map<BlockPosition, String> world = new HashMap<>();
+		BlockPosition matching = new BlockPosition("world", 1, 64, 1);
+		BlockPosition changed = new BlockPosition("world", 2, 64, 2);
+		BlockPosition unloaded = new BlockPosition("world", 3, 64, 3);
+		world.put(matching, "Campfire");
+		world.put(changed, "Dirt");
+		engine.submit(matching, "Campfire", "Ash", 10L);
+		engine.submit(changed, "Campfire", "Ash", 10L);
+		engine.submit(unloaded, "Campfire", "Ash", 10L);
+		List<String> rejected = new ArrayList<>();
+
+		int applied = engine.applyDue(
+				"world",
+				10L,
+				(x, y, z) -> world.get(new BlockPosition("world", x, y, z)),
+				new BlockMutationApplier<>() {
+					@Override
+					public void apply(BlockMutation<String> mutation) {
+						world.put(mutation.position(), mutation.payload());
+					}
+
+					@Override
+					public void onGuardRejected(BlockMutation<String> mutation, String actualBlockId) {
+						rejected.add(String.valueOf(actualBlockId));
+					}
+				});
+
+		assertThat(applied).isEqualTo(1);
+		assertThat(world.get(matching)).isEqualTo("Ash");
+		assertThat(world.get(changed)).isEqualTo("Dirt");
+		assertThat(rejected).containsExactlyInAnyOrder("Dirt", "null");
+		assertThat(engine.metricsSnapshot().guardRejected()).isEqualTo(2L);
+	}
+
+	@Test
+	void applyDueUsesConfiguredMatcherForGuards() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>(String::equalsIgnoreCase);
+		engine.submit(new BlockPosition("world", 1, 64, 1), "campfire", "Ash", 10L);
+
+		assertThat(engine.applyDue("world", 10L, (x, y, z) -> "Campfire", mutation -> {
+		})).isEqualTo(1);
+	}
+
+	@Test
+	void failingApplyIsReportedAndDoesNotStopTheBatch() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		engine.submit(new BlockPosition("world", 1, 64, 1), null, "Boom", 10L);
+		engine.submit(new BlockPosition("world", 2, 64, 2), null, "Fine", 20L);
+		List<String> failures = new ArrayList<>();
+
+		int applied = engine.applyDue("world", 20L, (x, y, z) -> null, new BlockMutationApplier<>() {
+			@Override
+			public void apply(BlockMutation<String> mutation) {
+				if (mutation.payload().equals("Boom")) {
+					throw new IllegalStateException("chunk unloaded");
+				}
+			}
+
+			@Override
+			public void onFailure(BlockMutation<String> mutation, Exception exception) {
+				failures.add(mutation.payload() + ":" + exception.getMessage());
+			}
+		});
+
+		assertThat(applied).isEqualTo(1);
+		assertThat(failures).containsExactly("Boom:chunk unloaded");
+		assertThat(engine.metricsSnapshot().failed()).isEqualTo(1L);
+		assertThat(engine.metricsSnapshot().applied()).isEqualTo(1L);
+	}
+
+	@Test
+	void cancelAndClearAllDropPendingMutations() {
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>();
+		BlockPosition position = new BlockPosition("world", 1, 64, 1);
+		engine.submit(position, null, "Tree_Oak", 10L);
+		engine.submit(new BlockPosition("world", 2, 64, 2), null, "Tree_Oak", 10L);
+
+		assertThat(engine.cancel(position)).isTrue();
+		assertThat(engine.cancel(position)).isFalse();
+		engine.clearAll();
+
+		assertThat(engine.pollDue("world", 1_000L)).isEmpty();
+		assertThat(engine.metricsSnapshot().cancelled()).isEqualTo(2L);
+	}
+
+	@Test
+	void repeatedSupersedesKeepHeapBoundedAndResultsCorrect() {
+		BlockMutationEngine<Integer> engine = new BlockMutationEngine<>();
+		BlockPosition position = new BlockPosition("world", 1, 64, 1);
+		for (int i = 0; i < 10_000; i++) {
+			engine.submit(position, null, i, 1_000L - i);
+		}
+
+		assertThat(engine.pendingCount()).isEqualTo(1);
+		assertThat(flatten(engine.pollDue("world", 1_000L))).extracting(BlockMutation::payload).containsExactly(9_999);
+	}
+
+	@Test
+	void persistenceHookTracksQueueAndRestoresPendingMutations() {
+		RecordingPersistence persistence = new RecordingPersistence();
+		BlockMutationEngine<String> engine = new BlockMutationEngine<>(BlockIdMatcher.EXACT, persistence);
+		BlockPosition first = new BlockPosition("world", 1, 64, 1);
+		BlockPosition second = new BlockPosition("world", 2, 64, 2);
+		engine.submit(first, null, "Tree_Oak", 100L);
+		engine.submit(second, null, "Tree_Oak", 500L);
+		engine.pollDue("world", 100L);
+
+		assertThat(persistence.stored.keySet()).containsExactly(second);
+
+		BlockMutationEngine<String> restarted = new BlockMutationEngine<>(BlockIdMatcher.EXACT, persistence);
+		assertThat(restarted.restore()).isEqualTo(1);
+		assertThat(flatten(restarted.pollDue("world", 500L))).extracting(BlockMutation::position).containsExactly(second);
+		assertThat(persistence.stored).isEmpty();
+	}
+
+	private static <T> List<BlockMutation<T>> flatten(List<BlockMutationBatch<T>> batches) {
+		List<BlockMutation<T>> flattened = new ArrayList<>();
+		for (BlockMutationBatch<T> batch : batches) {
+			flattened.addAll(batch.mutations());
+		}
+		return flattened;
+	}
+
+	private static final class RecordingPersistence implements BlockMutationPersistence<String> {
+
+		private final Map<BlockPosition, BlockMutation<String>> stored = new HashMap<>();
+
+		@Override
+		public void onScheduled(BlockMutation<String> mutation) {
+			this.stored.put(mutation.position(), mutation);
+		}
+
+		@Override
+		public void onRemoved(BlockMutation<String> mutation) {
+			this.stored.remove(mutation.position(), mutation);
+		}
+
+		@Override
+		public List<BlockMutation<String>> loadPending() {
+			return new ArrayList<>(this.stored.values());
+		}
+	}
+}
@@ -1,2 +1,11 @@
 dependencies {
+    implementation(project(":platform:block-mutation"))
+    // Optional at runtime: depleted nodes are published to skills-api only when it is installed.
+    compileOnly(project(":plugins:skills-api"))
+    testImplementation(project(":plugins:skills-api"))
+}
+
+// Each plugin jar bundles its own copy of the mutation engine.
+tasks.named<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar>("shadowJar") {
+    relocate("org.runetale.blockmutation", "org.runetale.blockregeneration.shaded.blockmutation")
 }
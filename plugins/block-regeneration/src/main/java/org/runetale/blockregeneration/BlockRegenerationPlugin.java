@@ -12,6 +12,7 @@ import org.runetale.blockregeneration.service.BlockRegenDefinitionService;
 import org.runetale.blockregeneration.service.BlockRegenNotificationService;
 import org.runetale.blockregeneration.service.BlockRegenPlacementQueueService;
 import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
+import org.runetale.blockregeneration.service.SkillsDepletionPublisher;
 import org.runetale.blockregeneration.system.BlockRegenBreakSystem;
 import org.runetale.blockregeneration.system.BlockRegenDamageGateSystem;
 import org.runetale.blockregeneration.system.BlockRegenPendingPlacementSystem;
@@ -39,6 +40,7 @@ public class BlockRegenerationPlugin extends JavaPlugin {
         BlockRegenConfigService configService = new BlockRegenConfigService(pathLayout.pluginConfigRoot());
         BlockRegenDefinitionService definitionService = new BlockRegenDefinitionService();
         BlockRegenRuntimeService runtimeService = new BlockRegenRuntimeService();
+        installDepletionPublisher(runtimeService);
         BlockRegenPlacementQueueService placementQueueService = new BlockRegenPlacementQueueService();
         this.coordinatorService = new BlockRegenCoordinatorService(configService, definitionService, runtimeService,
                 placementQueueService);
@@ -71,4 +73,15 @@ public class BlockRegenerationPlugin extends JavaPlugin {
         this.coordinatorService = null;
         this.notificationService = null;
     }
+
+    // skills-api is an optional dependency; without it there are no gather gates to inform.
+    private void installDepletionPublisher(@Nonnull BlockRegenRuntimeService runtimeService) {
+        try {
+            Class.forName("org.runetale.skills.api.DepletedBlockRegistry", false, this.getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.atInfo().log("Skills API not installed; depleted nodes will not be published to gather gates.");
+            return;
+        }
+        runtimeService.setDepletionListener(SkillsDepletionPublisher.shared());
+    }
 }
@@ -12,30 +12,43 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayer
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.blockmutation.BlockMutationMetrics;
 import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.BlockRegion;
 import org.runetale.blockregeneration.service.BlockRegenCoordinatorService;
+import org.runetale.blockregeneration.service.BlockRegenRespawnSmoothingService;
 import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.List;
 import java.util.Locale;
 
 public class BlockRegenCommand extends AbstractPlayerCommand {
 
+    private static final int MAX_QUERY_RADIUS = 256;
+    private static final int MAX_LISTED_ENTRIES = 20;
+
     private final BlockRegenCoordinatorService coordinatorService;
     private final OptionalArg<String> actionArg;
     private final OptionalArg<String> xArg;
     private final OptionalArg<String> yArg;
     private final OptionalArg<String> zArg;
+    private final OptionalArg<String> x2Arg;
+    private final OptionalArg<String> y2Arg;
+    private final OptionalArg<String> z2Arg;
 
     public BlockRegenCommand(@Nonnull BlockRegenCoordinatorService coordinatorService) {
         super("blockregen", "Manages block regeneration runtime.");
         this.setPermissionGroup(GameMode.Creative);
         this.coordinatorService = coordinatorService;
-        this.actionArg = this.withOptionalArg("action", "reload|inspect|stats", ArgTypes.STRING);
+        this.actionArg = this.withOptionalArg("action", "reload|inspect|inspect-radius|force-respawn|reset|stats", ArgTypes.STRING);
         this.xArg = this.withOptionalArg("x", "Block x", ArgTypes.STRING);
         this.yArg = this.withOptionalArg("y", "Block y", ArgTypes.STRING);
         this.zArg = this.withOptionalArg("z", "Block z", ArgTypes.STRING);
+        this.x2Arg = this.withOptionalArg("x2", "Second corner x, or radius for inspect-radius", ArgTypes.STRING);
+        this.y2Arg = this.withOptionalArg("y2", "Second corner y", ArgTypes.STRING);
+        this.z2Arg = this.withOptionalArg("z2", "Second corner z", ArgTypes.STRING);
     }
 
     @Override
@@ -56,6 +69,15 @@ public class BlockRegenCommand extends AbstractPlayerCommand {
             case "inspect":
                 handleInspect(context, world);
                 return;
+            case "inspect-radius":
+                handleInspectRadius(context, world);
+                return;
+            case "force-respawn":
+                handleForceRespawn(context, world);
+                return;
+            case "reset":
+                handleReset(context, world);
+                return;
             default:
                 sendHelp(context);
         }
@@ -80,6 +102,30 @@ public class BlockRegenCommand extends AbstractPlayerCommand {
                 stats.depletions(),
                 stats.respawns(),
                 stats.activeStates())));
+
+        BlockRegenRespawnSmoothingService.SmoothingSnapshot smoothing = this.coordinatorService.smoothingSnapshot();
+        context.sendMessage(Message.raw(String.format(
+                Locale.ROOT,
+                "[BlockRegen] smoothing maxPerChunkPerSecond=%d scheduled=%d delayMean=%.1f min=%d max=%d offsetMean=%.1f deferred=%d chunks=%d",
+                smoothing.maxRestoresPerChunkPerSecond(),
+                smoothing.scheduledRespawns(),
+                smoothing.meanScheduledDelayMillis(),
+                smoothing.minScheduledDelayMillis(),
+                smoothing.maxScheduledDelayMillis(),
+                smoothing.meanSpreadOffsetMillis(),
+                smoothing.deferredRestores(),
+                smoothing.trackedChunks())));
+
+        BlockMutationMetrics placements = this.coordinatorService.placementMetricsSnapshot();
+        context.sendMessage(Message.raw(String.format(
+                Locale.ROOT,
+                "[BlockRegen] placements pending=%d submitted=%d superseded=%d applied=%d failed=%d batches=%d",
+                placements.pending(),
+                placements.submitted(),
+                placements.superseded(),
+                placements.applied(),
+                placements.failed(),
+                placements.batches())));
     }
 
     private void handleInspect(@Nonnull CommandContext context, @Nonnull World world) {
@@ -113,6 +159,86 @@ public class BlockRegenCommand extends AbstractPlayerCommand {
                 snapshot.respawnDueMillis())));
     }
 
+    private void handleInspectRadius(@Nonnull CommandContext context, @Nonnull World world) {
+        Integer x = parseCoordinate(context, this.xArg, "x");
+        Integer y = parseCoordinate(context, this.yArg, "y");
+        Integer z = parseCoordinate(context, this.zArg, "z");
+        Integer radius = parseCoordinate(context, this.x2Arg, "radius");
+        if (x == null || y == null || z == null || radius == null || radius < 0 || radius > MAX_QUERY_RADIUS) {
+            context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen inspect-radius <x> <y> <z> <radius 0-" + MAX_QUERY_RADIUS + ">"));
+            return;
+        }
+
+        List<BlockRegenRuntimeService.RegionEntry> entries = this.coordinatorService.inspectRadius(world.getName(), x, y, z, radius);
+        context.sendMessage(Message.raw(String.format(
+                Locale.ROOT,
+                "[BlockRegen] %d tracked node(s) within %d of %d %d %d",
+                entries.size(),
+                radius,
+                x,
+                y,
+                z)));
+        int shown = Math.min(entries.size(), MAX_LISTED_ENTRIES);
+        for (int i = 0; i < shown; i++) {
+            BlockRegenRuntimeService.RegionEntry entry = entries.get(i);
+            BlockRegenRuntimeService.RuntimeSnapshot snapshot = entry.snapshot();
+            context.sendMessage(Message.raw(String.format(
+                    Locale.ROOT,
+                    "[BlockRegen] %d %d %d definition=%s phase=%s gather=%d/%d respawnDue=%d",
+                    entry.position().x(),
+                    entry.position().y(),
+                    entry.position().z(),
+                    snapshot.definitionId(),
+                    snapshot.phase(),
+                    snapshot.gatherCount(),
+                    snapshot.gatherThreshold(),
+                    snapshot.respawnDueMillis())));
+        }
+        if (entries.size() > shown) {
+            context.sendMessage(Message.raw("[BlockRegen] ... and " + (entries.size() - shown) + " more"));
+        }
+    }
+
+    private void handleForceRespawn(@Nonnull CommandContext context, @Nonnull World world) {
+        BlockRegion region = parseRegion(context, "force-respawn");
+        if (region == null) {
+            return;
+        }
+
+        int respawned = this.coordinatorService.forceRespawnRegion(world.getName(), region, System.currentTimeMillis());
+        context.sendMessage(Message.raw("[BlockRegen] Force-respawned " + respawned + " waiting node(s)."));
+    }
+
+    private void handleReset(@Nonnull CommandContext context, @Nonnull World world) {
+        BlockRegion region = parseRegion(context, "reset");
+        if (region == null) {
+            return;
+        }
+
+        BlockRegenRuntimeService.RegionResetResult result =
+                this.coordinatorService.resetRegion(world.getName(), region, System.currentTimeMillis());
+        context.sendMessage(Message.raw(String.format(
+                Locale.ROOT,
+                "[BlockRegen] Reset %d node state(s); restoring %d depleted block(s).",
+                result.clearedStates(),
+                result.restores().size())));
+    }
+
+    @Nullable
+    private BlockRegion parseRegion(@Nonnull CommandContext context, @Nonnull String action) {
+        Integer x1 = parseCoordinate(context, this.xArg, "x");
+        Integer y1 = parseCoordinate(context, this.yArg, "y");
+        Integer z1 = parseCoordinate(context, this.zArg, "z");
+        Integer x2 = parseCoordinate(context, this.x2Arg, "x2");
+        Integer y2 = parseCoordinate(context, this.y2Arg, "y2");
+        Integer z2 = parseCoordinate(context, this.z2Arg, "z2");
+        if (x1 == null || y1 == null || z1 == null || x2 == null || y2 == null || z2 == null) {
+            context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen " + action + " <x1> <y1> <z1> <x2> <y2> <z2>"));
+            return null;
+        }
+        return BlockRegion.between(x1, y1, z1, x2, y2, z2);
+    }
+
     @Nullable
     private Integer parseCoordinate(@Nonnull CommandContext context, @Nonnull OptionalArg<String> arg, @Nonnull String label) {
         if (!arg.provided(context)) {
@@ -133,5 +259,8 @@ public class BlockRegenCommand extends AbstractPlayerCommand {
         context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen reload"));
         context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen stats"));
         context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen inspect <x> <y> <z>"));
+        context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen inspect-radius <x> <y> <z> <radius>"));
+        context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen force-respawn <x1> <y1> <z1> <x2> <y2> <z2>"));
+        context.sendMessage(Message.raw("[BlockRegen] Usage: /blockregen reset <x1> <y1> <z1> <x2> <y2> <z2>"));
     }
 }
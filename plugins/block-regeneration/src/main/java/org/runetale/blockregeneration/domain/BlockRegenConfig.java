@@ -8,11 +8,28 @@ public record BlockRegenConfig(
         boolean enabled,
         long respawnTickMillis,
         long notifyCooldownMillis,
+        int maxRestoresPerChunkPerSecond,
         @Nonnull List<BlockRegenDefinition> definitions) {
 
     public static final int DEFAULT_VERSION = 1;
     public static final long DEFAULT_RESPAWN_TICK_MILLIS = 500L;
     public static final long DEFAULT_NOTIFY_COOLDOWN_MILLIS = 1500L;
+    public static final int DEFAULT_MAX_RESTORES_PER_CHUNK_PER_SECOND = 0;
+
+    public BlockRegenConfig(
+            int version,
+            boolean enabled,
+            long respawnTickMillis,
+            long notifyCooldownMillis,
+            @Nonnull List<BlockRegenDefinition> definitions) {
+        this(
+                version,
+                enabled,
+                respawnTickMillis,
+                notifyCooldownMillis,
+                DEFAULT_MAX_RESTORES_PER_CHUNK_PER_SECOND,
+                definitions);
+    }
 
     @Nonnull
     public static BlockRegenConfig defaults() {
@@ -21,6 +38,7 @@ public record BlockRegenConfig(
                 true,
                 DEFAULT_RESPAWN_TICK_MILLIS,
                 DEFAULT_NOTIFY_COOLDOWN_MILLIS,
+                DEFAULT_MAX_RESTORES_PER_CHUNK_PER_SECOND,
                 List.of());
     }
 }
@@ -0,0 +1,47 @@
+package org.runetale.blockregeneration.domain;
+
+import javax.annotation.Nonnull;
+
+public record BlockRegion(
+        int minX,
+        int minY,
+        int minZ,
+        int maxX,
+        int maxY,
+        int maxZ) {
+
+    public BlockRegion {
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            throw new IllegalArgumentException("BlockRegion min corner must not exceed max corner");
+        }
+    }
+
+    @Nonnull
+    public static BlockRegion between(int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new BlockRegion(
+                Math.min(x1, x2),
+                Math.min(y1, y2),
+                Math.min(z1, z2),
+                Math.max(x1, x2),
+                Math.max(y1, y2),
+                Math.max(z1, z2));
+    }
+
+    @Nonnull
+    public static BlockRegion around(int x, int y, int z, int radius) {
+        int clamped = Math.max(0, radius);
+        return between(x - clamped, y - clamped, z - clamped, x + clamped, y + clamped, z + clamped);
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= this.minX && x <= this.maxX
+                && y >= this.minY && y <= this.maxY
+                && z >= this.minZ && z <= this.maxZ;
+    }
+
+    public long volume() {
+        return ((long) this.maxX - this.minX + 1L)
+                * ((long) this.maxY - this.minY + 1L)
+                * ((long) this.maxZ - this.minZ + 1L);
+    }
+}
@@ -8,7 +8,12 @@ public record RespawnDelay(
         @Nonnull Type type,
         long millis,
         long millisMin,
-        long millisMax) {
+        long millisMax,
+        long spreadMillis) {
+
+    public RespawnDelay(@Nonnull Type type, long millis, long millisMin, long millisMax) {
+        this(type, millis, millisMin, millisMax, 0L);
+    }
 
     public enum Type {
         SET,
@@ -88,6 +88,8 @@ public class BlockRegenConfigService {
         boolean enabled = booleanValue(root, "enabled", true);
         long tickMillis = longValue(root, "respawnTickMillis", BlockRegenConfig.DEFAULT_RESPAWN_TICK_MILLIS);
         long notifyCooldown = longValue(root, "notifyCooldownMillis", BlockRegenConfig.DEFAULT_NOTIFY_COOLDOWN_MILLIS);
+        int maxRestoresPerChunkPerSecond = intValue(root, "maxRestoresPerChunkPerSecond",
+                BlockRegenConfig.DEFAULT_MAX_RESTORES_PER_CHUNK_PER_SECOND);
 
         List<BlockRegenDefinition> definitions = parseDefinitions(root);
         return new BlockRegenConfig(
@@ -95,6 +97,7 @@ public class BlockRegenConfigService {
                 enabled,
                 Math.max(1L, tickMillis),
                 Math.max(100L, notifyCooldown),
+                Math.max(0, maxRestoresPerChunkPerSecond),
                 definitions);
     }
 
@@ -176,7 +179,8 @@ public class BlockRegenConfigService {
         long millisMin = Math.max(1L, longValue(object, "millisMin", millis));
         long millisMax = Math.max(millisMin,
                 longValue(object, "millisMax", Math.max(millisMin, millis)));
-        return new RespawnDelay(type, millis, millisMin, millisMax);
+        long spreadMillis = Math.max(0L, longValue(object, "spreadMillis", 0L));
+        return new RespawnDelay(type, millis, millisMin, millisMax, spreadMillis);
     }
 
     @Nullable
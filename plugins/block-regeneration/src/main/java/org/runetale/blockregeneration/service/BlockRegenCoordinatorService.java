@@ -1,8 +1,11 @@
 package org.runetale.blockregeneration.service;
 
 import com.hypixel.hytale.logger.HytaleLogger;
+import org.runetale.blockmutation.BlockMutationApplier;
+import org.runetale.blockmutation.BlockMutationMetrics;
 import org.runetale.blockregeneration.domain.BlockRegenConfig;
 import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.BlockRegion;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -43,6 +46,7 @@ public class BlockRegenCoordinatorService {
         this.currentConfig = loaded;
         this.definitionService.load(loaded);
         this.runtimeService.clearAll();
+        this.runtimeService.configureRespawnSmoothing(loaded.maxRestoresPerChunkPerSecond());
         this.placementQueueService.clearAll();
         LOGGER.atInfo().log("[BlockRegen] Reloaded config enabled=%s definitions=%d", loaded.enabled(), loaded.definitions().size());
         return new ReloadResult(loaded.enabled(), loaded.definitions().size());
@@ -106,6 +110,29 @@ public class BlockRegenCoordinatorService {
         return this.runtimeService.inspect(worldName, x, y, z);
     }
 
+    @Nonnull
+    public List<BlockRegenRuntimeService.RegionEntry> inspectRegion(@Nonnull String worldName, @Nonnull BlockRegion region) {
+        return this.runtimeService.inspectRegion(worldName, region);
+    }
+
+    @Nonnull
+    public List<BlockRegenRuntimeService.RegionEntry> inspectRadius(@Nonnull String worldName, int x, int y, int z, int radius) {
+        return this.runtimeService.inspectRadius(worldName, x, y, z, radius);
+    }
+
+    public int forceRespawnRegion(@Nonnull String worldName, @Nonnull BlockRegion region, long nowMillis) {
+        List<BlockRegenRuntimeService.RespawnAction> actions = this.runtimeService.forceRespawnRegion(worldName, region);
+        queueRestores(actions, nowMillis);
+        return actions.size();
+    }
+
+    @Nonnull
+    public BlockRegenRuntimeService.RegionResetResult resetRegion(@Nonnull String worldName, @Nonnull BlockRegion region, long nowMillis) {
+        BlockRegenRuntimeService.RegionResetResult result = this.runtimeService.resetRegion(worldName, region);
+        queueRestores(result.restores(), nowMillis);
+        return result;
+    }
+
     @Nullable
     public BlockRegenDefinition findDefinition(@Nullable String blockId) {
         if (!this.currentConfig.enabled() || blockId == null || blockId.isBlank()) {
@@ -127,6 +154,11 @@ public class BlockRegenCoordinatorService {
         return this.runtimeService.metricsSnapshot();
     }
 
+    @Nonnull
+    public BlockRegenRespawnSmoothingService.SmoothingSnapshot smoothingSnapshot() {
+        return this.runtimeService.smoothingSnapshot();
+    }
+
     public void clearRuntimeState() {
         this.runtimeService.clearAll();
         this.placementQueueService.clearAll();
@@ -141,9 +173,22 @@ public class BlockRegenCoordinatorService {
         this.placementQueueService.queue(worldName, x, y, z, blockId, nowMillis + 1L);
     }
 
+    public int applyDuePlacements(
+            @Nonnull String worldName,
+            long nowMillis,
+            @Nonnull BlockMutationApplier<String> applier) {
+        return this.placementQueueService.applyDueForWorld(worldName, nowMillis, applier);
+    }
+
     @Nonnull
-    public List<BlockRegenPlacementQueueService.PendingPlacement> pollDuePlacements(@Nonnull String worldName, long nowMillis) {
-        return this.placementQueueService.pollDueForWorld(worldName, nowMillis);
+    public BlockMutationMetrics placementMetricsSnapshot() {
+        return this.placementQueueService.metricsSnapshot();
+    }
+
+    private void queueRestores(@Nonnull List<BlockRegenRuntimeService.RespawnAction> actions, long nowMillis) {
+        for (BlockRegenRuntimeService.RespawnAction action : actions) {
+            queueImmediatePlacement(action.worldName(), action.x(), action.y(), action.z(), action.sourceBlockId(), nowMillis);
+        }
     }
 
     public record ReloadResult(boolean enabled, int definitionsLoaded) {
@@ -1,45 +1,45 @@
 package org.runetale.blockregeneration.service;
 
+import org.runetale.blockmutation.BlockMutationApplier;
+import org.runetale.blockmutation.BlockMutationEngine;
+import org.runetale.blockmutation.BlockMutationMetrics;
+import org.runetale.blockmutation.BlockPosition;
+import org.runetale.blockmutation.BlockReader;
+
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class BlockRegenPlacementQueueService {
 
-    private final Map<BlockRegenRuntimeService.BlockPositionKey, PendingPlacement> placementsByPosition = new ConcurrentHashMap<>();
+    // BlockRegen placements never carry an expected-block guard, so the engine never reads the world.
+    private static final BlockReader UNGUARDED = (x, y, z) -> null;
+
+    private final BlockMutationEngine<String> engine = new BlockMutationEngine<>();
 
     public void queue(@Nonnull String worldName, int x, int y, int z, @Nonnull String blockId, long applyAtMillis) {
-        BlockRegenRuntimeService.BlockPositionKey key = new BlockRegenRuntimeService.BlockPositionKey(worldName, x, y, z);
-        this.placementsByPosition.put(key, new PendingPlacement(key, blockId, applyAtMillis));
+        this.engine.submit(new BlockPosition(worldName, x, y, z), null, blockId, applyAtMillis);
     }
 
-    @Nonnull
-    public List<PendingPlacement> pollDueForWorld(@Nonnull String worldName, long nowMillis) {
-        List<PendingPlacement> due = new ArrayList<>();
-        for (Map.Entry<BlockRegenRuntimeService.BlockPositionKey, PendingPlacement> entry : this.placementsByPosition.entrySet()) {
-            PendingPlacement placement = entry.getValue();
-            if (placement.applyAtMillis() > nowMillis || !placement.position().worldName().equals(worldName)) {
-                continue;
-            }
-            due.add(placement);
-            this.placementsByPosition.remove(entry.getKey(), placement);
-        }
-        return due;
+    public int applyDueForWorld(
+            @Nonnull String worldName,
+            long nowMillis,
+            @Nonnull BlockMutationApplier<String> applier) {
+        return this.engine.applyDue(worldName, nowMillis, UNGUARDED, applier);
     }
 
     public void clearAt(@Nonnull String worldName, int x, int y, int z) {
-        this.placementsByPosition.remove(new BlockRegenRuntimeService.BlockPositionKey(worldName, x, y, z));
+        this.engine.cancel(new BlockPosition(worldName, x, y, z));
     }
 
     public void clearAll() {
-        this.placementsByPosition.clear();
+        this.engine.clearAll();
     }
 
-    public record PendingPlacement(
-            @Nonnull BlockRegenRuntimeService.BlockPositionKey position,
-            @Nonnull String blockId,
-            long applyAtMillis) {
+    public int pendingCount() {
+        return this.engine.pendingCount();
+    }
+
+    @Nonnull
+    public BlockMutationMetrics metricsSnapshot() {
+        return this.engine.metricsSnapshot();
     }
 }
@@ -0,0 +1,143 @@
+package org.runetale.blockregeneration.service;
+
+import org.runetale.blockregeneration.domain.RespawnDelay;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BlockRegenRespawnSmoothingService {
+
+    static final int CHUNK_SHIFT = 5;
+    private static final long RATE_WINDOW_MILLIS = 1000L;
+
+    private final Random random;
+    private final Map<ChunkKey, RestoreBudget> budgetsByChunk = new ConcurrentHashMap<>();
+    private volatile int maxRestoresPerChunkPerSecond;
+
+    private final AtomicLong scheduledRespawns = new AtomicLong();
+    private final AtomicLong scheduledDelayTotalMillis = new AtomicLong();
+    private final AtomicLong spreadOffsetTotalMillis = new AtomicLong();
+    private final AtomicLong minScheduledDelayMillis = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxScheduledDelayMillis = new AtomicLong();
+    private final AtomicLong deferredRestores = new AtomicLong();
+
+    public BlockRegenRespawnSmoothingService(@Nonnull Random random) {
+        this.random = random;
+    }
+
+    public void configure(int maxRestoresPerChunkPerSecond) {
+        this.maxRestoresPerChunkPerSecond = Math.max(0, maxRestoresPerChunkPerSecond);
+        this.budgetsByChunk.clear();
+    }
+
+    public boolean isRateLimited() {
+        return this.maxRestoresPerChunkPerSecond > 0;
+    }
+
+    public long scheduleDelayMillis(@Nonnull RespawnDelay respawnDelay) {
+        long sampled = respawnDelay.sampleDelayMillis(this.random);
+        long halfSpread = Math.min(Math.max(0L, respawnDelay.spreadMillis()) / 2L, sampled - 1L);
+        long offset = 0L;
+        if (halfSpread > 0L) {
+            long width = (2L * halfSpread) + 1L;
+            offset = (long) Math.floor(this.random.nextDouble() * width) - halfSpread;
+        }
+
+        long delay = sampled + offset;
+        this.scheduledRespawns.incrementAndGet();
+        this.scheduledDelayTotalMillis.addAndGet(delay);
+        this.spreadOffsetTotalMillis.addAndGet(offset);
+        this.minScheduledDelayMillis.accumulateAndGet(delay, Math::min);
+        this.maxScheduledDelayMillis.accumulateAndGet(delay, Math::max);
+        return delay;
+    }
+
+    public boolean tryAcquireRestore(@Nonnull String worldName, int x, int z, long nowMillis) {
+        int limit = this.maxRestoresPerChunkPerSecond;
+        if (limit <= 0) {
+            return true;
+        }
+
+        ChunkKey key = new ChunkKey(worldName, x >> CHUNK_SHIFT, z >> CHUNK_SHIFT);
+        RestoreBudget budget = this.budgetsByChunk.computeIfAbsent(key, unused -> new RestoreBudget(limit, nowMillis));
+        if (budget.tryAcquire(limit, nowMillis)) {
+            return true;
+        }
+        this.deferredRestores.incrementAndGet();
+        return false;
+    }
+
+    public void pruneIdleBudgets(long nowMillis) {
+        if (this.budgetsByChunk.isEmpty()) {
+            return;
+        }
+        this.budgetsByChunk.values().removeIf(budget -> budget.isIdle(nowMillis));
+    }
+
+    public void clearAll() {
+        this.budgetsByChunk.clear();
+    }
+
+    @Nonnull
+    public SmoothingSnapshot snapshot() {
+        long scheduled = this.scheduledRespawns.get();
+        double meanDelay = scheduled == 0L ? 0.0D : (double) this.scheduledDelayTotalMillis.get() / scheduled;
+        double meanOffset = scheduled == 0L ? 0.0D : (double) this.spreadOffsetTotalMillis.get() / scheduled;
+        return new SmoothingSnapshot(
+                this.maxRestoresPerChunkPerSecond,
+                scheduled,
+                meanDelay,
+                scheduled == 0L ? 0L : this.minScheduledDelayMillis.get(),
+                this.maxScheduledDelayMillis.get(),
+                meanOffset,
+                this.deferredRestores.get(),
+                this.budgetsByChunk.size());
+    }
+
+    public record SmoothingSnapshot(
+            int maxRestoresPerChunkPerSecond,
+            long scheduledRespawns,
+            double meanScheduledDelayMillis,
+            long minScheduledDelayMillis,
+            long maxScheduledDelayMillis,
+            double meanSpreadOffsetMillis,
+            long deferredRestores,
+            int trackedChunks) {
+    }
+
+    private record ChunkKey(
+            @Nonnull String worldName,
+            int chunkX,
+            int chunkZ) {
+    }
+
+    private static final class RestoreBudget {
+        private double tokens;
+        private long lastRefillMillis;
+
+        private RestoreBudget(int limit, long nowMillis) {
+            this.tokens = limit;
+            this.lastRefillMillis = nowMillis;
+        }
+
+        private synchronized boolean tryAcquire(int limit, long nowMillis) {
+            long elapsed = nowMillis - this.lastRefillMillis;
+            if (elapsed > 0L) {
+                this.tokens = Math.min(limit, this.tokens + ((double) elapsed * limit / RATE_WINDOW_MILLIS));
+                this.lastRefillMillis = nowMillis;
+            }
+            if (this.tokens < 1.0D) {
+                return false;
+            }
+            this.tokens -= 1.0D;
+            return true;
+        }
+
+        private synchronized boolean isIdle(long nowMillis) {
+            return nowMillis - this.lastRefillMillis >= RATE_WINDOW_MILLIS;
+        }
+    }
+}
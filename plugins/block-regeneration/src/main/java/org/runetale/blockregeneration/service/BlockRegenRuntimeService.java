@@ -1,10 +1,12 @@
 package org.runetale.blockregeneration.service;
 
 import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.BlockRegion;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -14,6 +16,8 @@ import java.util.concurrent.atomic.AtomicLong;
 public class BlockRegenRuntimeService {
 
     private final Random random;
+    private final BlockRegenRespawnSmoothingService smoothingService;
+    private final BlockRegenSpatialIndexService spatialIndex = new BlockRegenSpatialIndexService();
     private final Map<BlockPositionKey, NodeState> statesByPosition = new ConcurrentHashMap<>();
 
     private final AtomicLong matchedInteractions = new AtomicLong();
@@ -21,12 +25,27 @@ public class BlockRegenRuntimeService {
     private final AtomicLong depletions = new AtomicLong();
     private final AtomicLong respawns = new AtomicLong();
 
+    private volatile DepletionListener depletionListener = DepletionListener.NONE;
+
     public BlockRegenRuntimeService() {
         this(new Random());
     }
 
     public BlockRegenRuntimeService(@Nonnull Random random) {
+        this(random, new BlockRegenRespawnSmoothingService(random));
+    }
+
+    public BlockRegenRuntimeService(@Nonnull Random random, @Nonnull BlockRegenRespawnSmoothingService smoothingService) {
         this.random = random;
+        this.smoothingService = smoothingService;
+    }
+
+    public void configureRespawnSmoothing(int maxRestoresPerChunkPerSecond) {
+        this.smoothingService.configure(maxRestoresPerChunkPerSecond);
+    }
+
+    public void setDepletionListener(@Nullable DepletionListener depletionListener) {
+        this.depletionListener = depletionListener == null ? DepletionListener.NONE : depletionListener;
     }
 
     @Nonnull
@@ -41,35 +60,32 @@ public class BlockRegenRuntimeService {
         this.matchedInteractions.incrementAndGet();
 
         BlockPositionKey key = new BlockPositionKey(worldName, x, y, z);
-        NodeState state = this.statesByPosition.computeIfAbsent(key, unused -> createActiveState(definition, sourceBlockId));
+        GatherResult[] outcome = new GatherResult[1];
+        this.statesByPosition.compute(key, (unused, current) -> {
+            Transition transition = nextGatherState(current, definition, sourceBlockId, nowMillis);
+            if (current == null) {
+                this.spatialIndex.add(key);
+            }
+            if (transition.result().action() == Action.DEPLETED_TO_WAITING) {
+                this.depletionListener.onDepleted(key.worldName(), key.x(), key.y(), key.z());
+            }
+            outcome[0] = transition.result();
+            return transition.next();
+        });
 
-        if (state.phase == Phase.WAITING_RESPAWN) {
+        GatherResult result = outcome[0];
+        if (result.action() == Action.BLOCKED_WAITING) {
             this.blockedInteractions.incrementAndGet();
-            return GatherResult.blockedWaiting(definition.placeholderBlockId(), state.respawnDueMillis);
-        }
-
-        if (!state.definitionId.equals(definition.id())) {
-            state = createActiveState(definition, sourceBlockId);
-            this.statesByPosition.put(key, state);
-        }
-
-        state.currentGatherCount += 1;
-        if (state.currentGatherCount >= state.currentThreshold) {
-            state.phase = Phase.WAITING_RESPAWN;
-            state.respawnDueMillis = nowMillis + definition.respawnDelay().sampleDelayMillis(this.random);
-            state.currentGatherCount = 0;
-            state.currentThreshold = definition.gatheringTrigger().sampleThreshold(this.random);
+        } else if (result.action() == Action.DEPLETED_TO_WAITING) {
             this.depletions.incrementAndGet();
-            return GatherResult.depletedToWaiting(definition.placeholderBlockId(), state.respawnDueMillis);
         }
-
-        return GatherResult.restoredSource(state.originalBlockId, state.currentGatherCount, state.currentThreshold);
+        return result;
     }
 
     public boolean shouldBlockInteractionWhileWaiting(@Nonnull String worldName, int x, int y, int z) {
         BlockPositionKey key = new BlockPositionKey(worldName, x, y, z);
         NodeState state = this.statesByPosition.get(key);
-        if (state == null || state.phase != Phase.WAITING_RESPAWN) {
+        if (state == null || state.phase() != Phase.WAITING_RESPAWN) {
             return false;
         }
         this.blockedInteractions.incrementAndGet();
@@ -78,37 +94,97 @@ public class BlockRegenRuntimeService {
 
     @Nonnull
     public List<RespawnAction> pollDueRespawns(@Nonnull String worldName, long nowMillis) {
-        List<RespawnAction> due = new ArrayList<>();
+        List<Map.Entry<BlockPositionKey, NodeState>> candidates = new ArrayList<>();
         for (Map.Entry<BlockPositionKey, NodeState> entry : this.statesByPosition.entrySet()) {
             BlockPositionKey key = entry.getKey();
             if (!key.worldName().equals(worldName)) {
                 continue;
             }
-            NodeState state = entry.getValue();
-            if (state.phase != Phase.WAITING_RESPAWN || state.respawnDueMillis > nowMillis) {
+            if (!entry.getValue().isDueAt(nowMillis)) {
                 continue;
             }
-            due.add(new RespawnAction(
-                    key.worldName(),
-                    key.x(),
-                    key.y(),
-                    key.z(),
-                    state.originalBlockId,
-                    state.placeholderBlockId,
-                    state.definitionId));
-            this.statesByPosition.remove(key, state);
+            candidates.add(Map.entry(key, entry.getValue()));
+        }
+
+        if (this.smoothingService.isRateLimited()) {
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().respawnDueMillis()));
+        }
+
+        List<RespawnAction> due = new ArrayList<>(candidates.size());
+        for (Map.Entry<BlockPositionKey, NodeState> candidate : candidates) {
+            BlockPositionKey key = candidate.getKey();
+            NodeState respawned = claimDueRespawn(key, nowMillis);
+            if (respawned == null) {
+                continue;
+            }
+            due.add(toRespawnAction(key, respawned));
             this.respawns.incrementAndGet();
         }
+        this.smoothingService.pruneIdleBudgets(nowMillis);
         return due;
     }
 
+    @Nonnull
+    public List<RegionEntry> inspectRegion(@Nonnull String worldName, @Nonnull BlockRegion region) {
+        return snapshotAll(this.spatialIndex.queryBox(worldName, region));
+    }
+
+    @Nonnull
+    public List<RegionEntry> inspectRadius(@Nonnull String worldName, int x, int y, int z, int radius) {
+        return snapshotAll(this.spatialIndex.queryRadius(worldName, x, y, z, radius));
+    }
+
+    // Respawns every waiting node in the region now, ignoring due times and the per-chunk restore budget.
+    @Nonnull
+    public List<RespawnAction> forceRespawnRegion(@Nonnull String worldName, @Nonnull BlockRegion region) {
+        List<RespawnAction> respawned = new ArrayList<>();
+        for (BlockPositionKey key : this.spatialIndex.queryBox(worldName, region)) {
+            NodeState[] claimed = new NodeState[1];
+            this.statesByPosition.computeIfPresent(key, (unused, current) -> {
+                if (current.phase() != Phase.WAITING_RESPAWN) {
+                    return current;
+                }
+                this.spatialIndex.remove(key);
+                this.depletionListener.onRestored(key.worldName(), key.x(), key.y(), key.z());
+                claimed[0] = current;
+                return null;
+            });
+            if (claimed[0] != null) {
+                respawned.add(toRespawnAction(key, claimed[0]));
+                this.respawns.incrementAndGet();
+            }
+        }
+        return respawned;
+    }
+
+    // Drops all tracked state in the region. Waiting nodes are returned so the caller can put their
+    // source block back; otherwise the placeholder would be left behind with nothing to restore it.
+    @Nonnull
+    public RegionResetResult resetRegion(@Nonnull String worldName, @Nonnull BlockRegion region) {
+        int cleared = 0;
+        List<RespawnAction> restores = new ArrayList<>();
+        for (BlockPositionKey key : this.spatialIndex.queryBox(worldName, region)) {
+            NodeState removed = removeTracked(key);
+            if (removed == null) {
+                continue;
+            }
+            cleared++;
+            if (removed.phase() == Phase.WAITING_RESPAWN) {
+                restores.add(toRespawnAction(key, removed));
+            }
+        }
+        return new RegionResetResult(cleared, restores);
+    }
+
     public void clearAll() {
         this.statesByPosition.clear();
+        this.spatialIndex.clearAll();
+        this.smoothingService.clearAll();
+        this.depletionListener.onCleared();
     }
 
     public void clearAt(@Nonnull String worldName, int x, int y, int z) {
-        BlockPositionKey key = new BlockPositionKey(worldName, x, y, z);
-        this.statesByPosition.remove(key);
+        removeTracked(new BlockPositionKey(worldName, x, y, z));
     }
 
     @Nullable
@@ -118,14 +194,7 @@ public class BlockRegenRuntimeService {
         if (state == null) {
             return null;
         }
-        return new RuntimeSnapshot(
-                state.definitionId,
-                state.phase,
-                state.currentGatherCount,
-                state.currentThreshold,
-                state.respawnDueMillis,
-                state.originalBlockId,
-                state.placeholderBlockId);
+        return state.toSnapshot();
     }
 
     @Nonnull
@@ -138,6 +207,97 @@ public class BlockRegenRuntimeService {
                 this.statesByPosition.size());
     }
 
+    @Nonnull
+    public BlockRegenRespawnSmoothingService.SmoothingSnapshot smoothingSnapshot() {
+        return this.smoothingService.snapshot();
+    }
+
+    // Runs inside ConcurrentHashMap.compute, so it is applied exactly once per gather and never
+    // interleaves with another transition on the same position.
+    @Nonnull
+    private Transition nextGatherState(
+            @Nullable NodeState current,
+            @Nonnull BlockRegenDefinition definition,
+            @Nonnull String sourceBlockId,
+            long nowMillis) {
+        if (current != null && current.phase() == Phase.WAITING_RESPAWN) {
+            return new Transition(current, GatherResult.blockedWaiting(definition.placeholderBlockId(), current.respawnDueMillis()));
+        }
+
+        NodeState state = current;
+        if (state == null || !state.definitionId().equals(definition.id())) {
+            state = createActiveState(definition, sourceBlockId);
+        }
+
+        int gatherCount = state.currentGatherCount() + 1;
+        if (gatherCount >= state.currentThreshold()) {
+            long respawnDueMillis = nowMillis + this.smoothingService.scheduleDelayMillis(definition.respawnDelay());
+            int nextThreshold = definition.gatheringTrigger().sampleThreshold(this.random);
+            return new Transition(
+                    state.toWaiting(respawnDueMillis, nextThreshold),
+                    GatherResult.depletedToWaiting(definition.placeholderBlockId(), respawnDueMillis));
+        }
+
+        NodeState next = state.withGatherCount(gatherCount);
+        return new Transition(next, GatherResult.restoredSource(next.originalBlockId(), gatherCount, next.currentThreshold()));
+    }
+
+    // Re-checks the node under the map's per-key lock so a node is respawned at most once even when
+    // polls overlap, and only spends restore budget on a node that is actually removed.
+    @Nullable
+    private NodeState claimDueRespawn(@Nonnull BlockPositionKey key, long nowMillis) {
+        NodeState[] claimed = new NodeState[1];
+        this.statesByPosition.computeIfPresent(key, (unused, current) -> {
+            if (!current.isDueAt(nowMillis)
+                    || !this.smoothingService.tryAcquireRestore(key.worldName(), key.x(), key.z(), nowMillis)) {
+                return current;
+            }
+            this.spatialIndex.remove(key);
+            this.depletionListener.onRestored(key.worldName(), key.x(), key.y(), key.z());
+            claimed[0] = current;
+            return null;
+        });
+        return claimed[0];
+    }
+
+    @Nullable
+    private NodeState removeTracked(@Nonnull BlockPositionKey key) {
+        NodeState[] removed = new NodeState[1];
+        this.statesByPosition.computeIfPresent(key, (unused, current) -> {
+            this.spatialIndex.remove(key);
+            if (current.phase() == Phase.WAITING_RESPAWN) {
+                this.depletionListener.onRestored(key.worldName(), key.x(), key.y(), key.z());
+            }
+            removed[0] = current;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Nonnull
+    private List<RegionEntry> snapshotAll(@Nonnull List<BlockPositionKey> positions) {
+        List<RegionEntry> entries = new ArrayList<>(positions.size());
+        for (BlockPositionKey key : positions) {
+            NodeState state = this.statesByPosition.get(key);
+            if (state != null) {
+                entries.add(new RegionEntry(key, state.toSnapshot()));
+            }
+        }
+        return entries;
+    }
+
+    @Nonnull
+    private static RespawnAction toRespawnAction(@Nonnull BlockPositionKey key, @Nonnull NodeState state) {
+        return new RespawnAction(
+                key.worldName(),
+                key.x(),
+                key.y(),
+                key.z(),
+                state.originalBlockId(),
+                state.placeholderBlockId(),
+                state.definitionId());
+    }
+
     @Nonnull
     private NodeState createActiveState(@Nonnull BlockRegenDefinition definition, @Nonnull String sourceBlockId) {
         int threshold = definition.gatheringTrigger().sampleThreshold(this.random);
@@ -174,6 +334,31 @@ public class BlockRegenRuntimeService {
         }
     }
 
+    // Notified under the per-position lock whenever a node enters or leaves WAITING_RESPAWN, so
+    // listeners see transitions for one position in order.
+    public interface DepletionListener {
+
+        DepletionListener NONE = new DepletionListener() {
+            @Override
+            public void onDepleted(@Nonnull String worldName, int x, int y, int z) {
+            }
+
+            @Override
+            public void onRestored(@Nonnull String worldName, int x, int y, int z) {
+            }
+
+            @Override
+            public void onCleared() {
+            }
+        };
+
+        void onDepleted(@Nonnull String worldName, int x, int y, int z);
+
+        void onRestored(@Nonnull String worldName, int x, int y, int z);
+
+        void onCleared();
+    }
+
     public enum Action {
         RESTORE_SOURCE,
         DEPLETED_TO_WAITING,
@@ -213,6 +398,16 @@ public class BlockRegenRuntimeService {
             @Nonnull String definitionId) {
     }
 
+    public record RegionEntry(
+            @Nonnull BlockPositionKey position,
+            @Nonnull RuntimeSnapshot snapshot) {
+    }
+
+    public record RegionResetResult(
+            int clearedStates,
+            @Nonnull List<RespawnAction> restores) {
+    }
+
     public record BlockPositionKey(
             @Nonnull String worldName,
             int x,
@@ -220,34 +415,56 @@ public class BlockRegenRuntimeService {
             int z) {
     }
 
-    private static final class NodeState {
-        @Nonnull
-        private final String definitionId;
+    private record Transition(@Nonnull NodeState next, @Nonnull GatherResult result) {
+    }
+
+    private record NodeState(
+            @Nonnull String definitionId,
+            @Nonnull String originalBlockId,
+            @Nonnull String placeholderBlockId,
+            @Nonnull Phase phase,
+            int currentGatherCount,
+            int currentThreshold,
+            long respawnDueMillis) {
+
         @Nonnull
-        private final String originalBlockId;
+        private RuntimeSnapshot toSnapshot() {
+            return new RuntimeSnapshot(
+                    this.definitionId,
+                    this.phase,
+                    this.currentGatherCount,
+                    this.currentThreshold,
+                    this.respawnDueMillis,
+                    this.originalBlockId,
+                    this.placeholderBlockId);
+        }
+
+        private boolean isDueAt(long nowMillis) {
+            return this.phase == Phase.WAITING_RESPAWN && this.respawnDueMillis <= nowMillis;
+        }
+
         @Nonnull
-        private final String placeholderBlockId;
+        private NodeState withGatherCount(int gatherCount) {
+            return new NodeState(
+                    this.definitionId,
+                    this.originalBlockId,
+                    this.placeholderBlockId,
+                    this.phase,
+                    gatherCount,
+                    this.currentThreshold,
+                    this.respawnDueMillis);
+        }
+
         @Nonnull
-        private Phase phase;
-        private int currentGatherCount;
-        private int currentThreshold;
-        private long respawnDueMillis;
-
-        private NodeState(
-                @Nonnull String definitionId,
-                @Nonnull String originalBlockId,
-                @Nonnull String placeholderBlockId,
-                @Nonnull Phase phase,
-                int currentGatherCount,
-                int currentThreshold,
-                long respawnDueMillis) {
-            this.definitionId = definitionId;
-            this.originalBlockId = originalBlockId;
-            this.placeholderBlockId = placeholderBlockId;
-            this.phase = phase;
-            this.currentGatherCount = currentGatherCount;
-            this.currentThreshold = currentThreshold;
-            this.respawnDueMillis = respawnDueMillis;
+        private NodeState toWaiting(long respawnDueMillis, int nextThreshold) {
+            return new NodeState(
+                    this.definitionId,
+                    this.originalBlockId,
+                    this.placeholderBlockId,
+                    Phase.WAITING_RESPAWN,
+                    0,
+                    nextThreshold,
+                    respawnDueMillis);
         }
     }
 }
@@ -0,0 +1,129 @@
+package org.runetale.blockregeneration.service;
+
+import org.runetale.blockregeneration.domain.BlockRegion;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BlockRegenSpatialIndexService {
+
+    static final int CHUNK_SHIFT = 5;
+
+    private static final Comparator<BlockRegenRuntimeService.BlockPositionKey> POSITION_ORDER = Comparator
+            .comparingInt(BlockRegenRuntimeService.BlockPositionKey::x)
+            .thenComparingInt(BlockRegenRuntimeService.BlockPositionKey::z)
+            .thenComparingInt(BlockRegenRuntimeService.BlockPositionKey::y);
+
+    private final Map<String, Map<Long, Set<BlockRegenRuntimeService.BlockPositionKey>>> chunksByWorld = new ConcurrentHashMap<>();
+
+    public void add(@Nonnull BlockRegenRuntimeService.BlockPositionKey position) {
+        this.chunksByWorld
+                .computeIfAbsent(position.worldName(), unused -> new ConcurrentHashMap<>())
+                .compute(chunkKey(position.x() >> CHUNK_SHIFT, position.z() >> CHUNK_SHIFT), (unused, positions) -> {
+                    Set<BlockRegenRuntimeService.BlockPositionKey> chunk = positions == null
+                            ? ConcurrentHashMap.newKeySet()
+                            : positions;
+                    chunk.add(position);
+                    return chunk;
+                });
+    }
+
+    public void remove(@Nonnull BlockRegenRuntimeService.BlockPositionKey position) {
+        Map<Long, Set<BlockRegenRuntimeService.BlockPositionKey>> chunks = this.chunksByWorld.get(position.worldName());
+        if (chunks == null) {
+            return;
+        }
+        chunks.computeIfPresent(chunkKey(position.x() >> CHUNK_SHIFT, position.z() >> CHUNK_SHIFT), (unused, positions) -> {
+            positions.remove(position);
+            return positions.isEmpty() ? null : positions;
+        });
+    }
+
+    public void clearAll() {
+        this.chunksByWorld.clear();
+    }
+
+    // Walks whichever is smaller: the chunks the region covers or the chunks that hold tracked nodes.
+    @Nonnull
+    public List<BlockRegenRuntimeService.BlockPositionKey> queryBox(@Nonnull String worldName, @Nonnull BlockRegion region) {
+        Map<Long, Set<BlockRegenRuntimeService.BlockPositionKey>> chunks = this.chunksByWorld.get(worldName);
+        if (chunks == null || chunks.isEmpty()) {
+            return List.of();
+        }
+
+        int minChunkX = region.minX() >> CHUNK_SHIFT;
+        int maxChunkX = region.maxX() >> CHUNK_SHIFT;
+        int minChunkZ = region.minZ() >> CHUNK_SHIFT;
+        int maxChunkZ = region.maxZ() >> CHUNK_SHIFT;
+        long coveredChunks = ((long) maxChunkX - minChunkX + 1L) * ((long) maxChunkZ - minChunkZ + 1L);
+
+        List<BlockRegenRuntimeService.BlockPositionKey> matches = new ArrayList<>();
+        if (coveredChunks <= chunks.size()) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    collect(chunks.get(chunkKey(chunkX, chunkZ)), region, matches);
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Set<BlockRegenRuntimeService.BlockPositionKey>> entry : chunks.entrySet()) {
+                int chunkX = (int) (entry.getKey() >> 32);
+                int chunkZ = (int) (long) entry.getKey();
+                if (chunkX < minChunkX || chunkX > maxChunkX || chunkZ < minChunkZ || chunkZ > maxChunkZ) {
+                    continue;
+                }
+                collect(entry.getValue(), region, matches);
+            }
+        }
+        matches.sort(POSITION_ORDER);
+        return matches;
+    }
+
+    @Nonnull
+    public List<BlockRegenRuntimeService.BlockPositionKey> queryRadius(
+            @Nonnull String worldName,
+            int centerX,
+            int centerY,
+            int centerZ,
+            int radius) {
+        long radiusSquared = (long) radius * radius;
+        List<BlockRegenRuntimeService.BlockPositionKey> matches = new ArrayList<>();
+        for (BlockRegenRuntimeService.BlockPositionKey position : queryBox(worldName, BlockRegion.around(centerX, centerY, centerZ, radius))) {
+            long dx = position.x() - centerX;
+            long dy = position.y() - centerY;
+            long dz = position.z() - centerZ;
+            if ((dx * dx) + (dy * dy) + (dz * dz) <= radiusSquared) {
+                matches.add(position);
+            }
+        }
+        return matches;
+    }
+
+    public int trackedChunkCount(@Nonnull String worldName) {
+        Map<Long, Set<BlockRegenRuntimeService.BlockPositionKey>> chunks = this.chunksByWorld.get(worldName);
+        return chunks == null ? 0 : chunks.size();
+    }
+
+    private static void collect(
+            @Nullable Set<BlockRegenRuntimeService.BlockPositionKey> positions,
+            @Nonnull BlockRegion region,
+            @Nonnull List<BlockRegenRuntimeService.BlockPositionKey> matches) {
+        if (positions == null) {
+            return;
+        }
+        for (BlockRegenRuntimeService.BlockPositionKey position : positions) {
+            if (region.contains(position.x(), position.y(), position.z())) {
+                matches.add(position);
+            }
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
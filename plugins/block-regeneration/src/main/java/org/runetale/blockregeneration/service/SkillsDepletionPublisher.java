@@ -0,0 +1,36 @@
+package org.runetale.blockregeneration.service;
+
+import org.runetale.skills.api.DepletedBlockRegistry;
+
+import javax.annotation.Nonnull;
+
+// Mirrors waiting nodes into the skills-api depleted block registry so gather gates can skip
+// placeholders without consulting block regeneration. Only loaded when skills-api is installed.
+public class SkillsDepletionPublisher implements BlockRegenRuntimeService.DepletionListener {
+
+    private final DepletedBlockRegistry registry;
+
+    public SkillsDepletionPublisher(@Nonnull DepletedBlockRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Nonnull
+    public static SkillsDepletionPublisher shared() {
+        return new SkillsDepletionPublisher(DepletedBlockRegistry.shared());
+    }
+
+    @Override
+    public void onDepleted(@Nonnull String worldName, int x, int y, int z) {
+        this.registry.markDepleted(worldName, x, y, z);
+    }
+
+    @Override
+    public void onRestored(@Nonnull String worldName, int x, int y, int z) {
+        this.registry.markRestored(worldName, x, y, z);
+    }
+
+    @Override
+    public void onCleared() {
+        this.registry.clear();
+    }
+}
@@ -5,11 +5,11 @@ import com.hypixel.hytale.component.system.DelayedSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.blockmutation.BlockMutation;
+import org.runetale.blockmutation.BlockMutationApplier;
 import org.runetale.blockregeneration.service.BlockRegenCoordinatorService;
-import org.runetale.blockregeneration.service.BlockRegenPlacementQueueService;
 
 import javax.annotation.Nonnull;
-import java.util.List;
 
 public class BlockRegenPendingPlacementSystem extends DelayedSystem<EntityStore> {
 
@@ -27,28 +27,35 @@ public class BlockRegenPendingPlacementSystem extends DelayedSystem<EntityStore>
     public void delayedTick(float deltaTime, int systemIndex, @Nonnull Store<EntityStore> store) {
         long nowMillis = System.currentTimeMillis();
         World world = store.getExternalData().getWorld();
-        List<BlockRegenPlacementQueueService.PendingPlacement> due = this.coordinatorService.pollDuePlacements(
-                world.getName(),
-                nowMillis);
-        if (due.isEmpty()) {
-            return;
+        this.coordinatorService.applyDuePlacements(world.getName(), nowMillis, new WorldPlacementApplier(world));
+    }
+
+    private static final class WorldPlacementApplier implements BlockMutationApplier<String> {
+
+        private final World world;
+
+        private WorldPlacementApplier(@Nonnull World world) {
+            this.world = world;
         }
-        for (BlockRegenPlacementQueueService.PendingPlacement placement : due) {
-            try {
-                world.setBlock(
-                        placement.position().x(),
-                        placement.position().y(),
-                        placement.position().z(),
-                        placement.blockId());
-            } catch (Exception e) {
-                LOGGER.atWarning().withCause(e).log(
-                        "[BlockRegen] Failed pending placement world=%s pos=%d,%d,%d block=%s",
-                        placement.position().worldName(),
-                        placement.position().x(),
-                        placement.position().y(),
-                        placement.position().z(),
-                        placement.blockId());
-            }
+
+        @Override
+        public void apply(@Nonnull BlockMutation<String> placement) {
+            this.world.setBlock(
+                    placement.position().x(),
+                    placement.position().y(),
+                    placement.position().z(),
+                    placement.payload());
+        }
+
+        @Override
+        public void onFailure(@Nonnull BlockMutation<String> placement, @Nonnull Exception e) {
+            LOGGER.atWarning().withCause(e).log(
+                    "[BlockRegen] Failed pending placement world=%s pos=%d,%d,%d block=%s",
+                    placement.position().worldName(),
+                    placement.position().x(),
+                    placement.position().y(),
+                    placement.position().z(),
+                    placement.payload());
         }
     }
 }
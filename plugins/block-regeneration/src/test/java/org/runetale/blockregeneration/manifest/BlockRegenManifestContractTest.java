@@ -13,12 +13,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 class BlockRegenManifestContractTest {
 
     @Test
-    void manifestDeclaresNoSkillsDependency() throws IOException {
+    void manifestDeclaresSkillsApiOnlyAsOptionalDependency() throws IOException {
         String manifest = readManifest();
 
         assertThat(manifest).contains("\"Name\": \"BlockRegenerationPlugin\"");
         assertThat(manifest).doesNotContain("SkillsPlugin");
-        assertThat(manifest).doesNotContain("SkillsApiPlugin");
+        assertThat(manifest).doesNotContain("\"Dependencies\"");
+        assertThat(manifest).contains("\"OptionalDependencies\"");
+        assertThat(manifest.indexOf("SkillsApiPlugin")).isGreaterThan(manifest.indexOf("\"OptionalDependencies\""));
     }
 
     private static String readManifest() throws IOException {
@@ -48,6 +48,38 @@ class BlockRegenConfigServiceTest {
         assertThat(config.definitions().get(0).respawnDelay().millis()).isEqualTo(5000L);
     }
 
+    @Test
+    void loadParsesRespawnSmoothingSettings(@TempDir Path tempDir) throws IOException {
+        BlockRegenPathLayout layout = BlockRegenPathLayout.fromDataDirectory(tempDir.resolve("mods").resolve("block-regeneration-data"));
+        Path blocksPath = layout.resolveConfigResourcePath("BlockRegen/config/blocks.json");
+        Files.createDirectories(blocksPath.getParent());
+        Files.writeString(blocksPath, """
+                {
+                  "maxRestoresPerChunkPerSecond": 8,
+                  "definitions": [
+                    {
+                      "id": "oak",
+                      "blockId": "Tree_Oak",
+                      "placeholderBlockId": "Tree_Oak_Stump",
+                      "respawn": { "type": "Set", "millis": 5000, "spreadMillis": 1500 }
+                    },
+                    {
+                      "id": "birch",
+                      "blockId": "Tree_Birch",
+                      "placeholderBlockId": "Tree_Birch_Stump",
+                      "respawn": { "type": "Set", "millis": 5000, "spreadMillis": -20 }
+                    }
+                  ]
+                }
+                """);
+
+        BlockRegenConfig config = new BlockRegenConfigService(layout.pluginConfigRoot()).load();
+
+        assertThat(config.maxRestoresPerChunkPerSecond()).isEqualTo(8);
+        assertThat(config.definitions().get(0).respawnDelay().spreadMillis()).isEqualTo(1500L);
+        assertThat(config.definitions().get(1).respawnDelay().spreadMillis()).isZero();
+    }
+
     @Test
     void loadSkipsDefinitionsUsingLegacyAliasKeys(@TempDir Path tempDir) throws IOException {
         BlockRegenPathLayout layout = BlockRegenPathLayout.fromDataDirectory(tempDir.resolve("mods").resolve("block-regeneration-data"));
@@ -2,20 +2,23 @@ package org.runetale.blockregeneration.service;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class BlockRegenPlacementQueueServiceTest {
 
     @Test
-    void pollDueReturnsOnlyExpiredPlacements() {
+    void applyDueWritesOnlyExpiredPlacements() {
         BlockRegenPlacementQueueService service = new BlockRegenPlacementQueueService();
         service.queue("world", 1, 2, 3, "Tree_Oak", 100L);
         service.queue("world", 4, 5, 6, "Tree_Oak_Stump", 200L);
 
-        assertThat(service.pollDueForWorld("world", 99L)).isEmpty();
-        assertThat(service.pollDueForWorld("world", 100L)).hasSize(1);
-        assertThat(service.pollDueForWorld("world", 150L)).isEmpty();
-        assertThat(service.pollDueForWorld("world", 200L)).hasSize(1);
+        assertThat(applyDue(service, "world", 99L)).isEmpty();
+        assertThat(applyDue(service, "world", 100L)).hasSize(1);
+        assertThat(applyDue(service, "world", 150L)).isEmpty();
+        assertThat(applyDue(service, "world", 200L)).hasSize(1);
     }
 
     @Test
@@ -25,17 +28,50 @@ class BlockRegenPlacementQueueServiceTest {
 
         service.clearAt("world", 1, 2, 3);
 
-        assertThat(service.pollDueForWorld("world", 1000L)).isEmpty();
+        assertThat(applyDue(service, "world", 1000L)).isEmpty();
     }
 
     @Test
-    void pollDueForWorldDoesNotConsumeOtherWorldPlacements() {
+    void applyDueForWorldDoesNotConsumeOtherWorldPlacements() {
         BlockRegenPlacementQueueService service = new BlockRegenPlacementQueueService();
         service.queue("world-a", 1, 2, 3, "Tree_Oak", 100L);
         service.queue("world-b", 1, 2, 3, "Tree_Oak", 100L);
 
-        assertThat(service.pollDueForWorld("world-a", 100L)).hasSize(1);
-        assertThat(service.pollDueForWorld("world-a", 100L)).isEmpty();
-        assertThat(service.pollDueForWorld("world-b", 100L)).hasSize(1);
+        assertThat(applyDue(service, "world-a", 100L)).hasSize(1);
+        assertThat(applyDue(service, "world-a", 100L)).isEmpty();
+        assertThat(applyDue(service, "world-b", 100L)).hasSize(1);
+    }
+
+    @Test
+    void laterQueueAtSamePositionSupersedesPendingPlacement() {
+        BlockRegenPlacementQueueService service = new BlockRegenPlacementQueueService();
+        service.queue("world", 1, 2, 3, "Tree_Oak_Stump", 100L);
+        service.queue("world", 1, 2, 3, "Tree_Oak", 300L);
+
+        assertThat(applyDue(service, "world", 200L)).isEmpty();
+        assertThat(applyDue(service, "world", 300L))
+                .containsExactly("Tree_Oak");
+        assertThat(service.metricsSnapshot().superseded()).isEqualTo(1L);
+    }
+
+    @Test
+    void applyDueForWorldWritesEachDuePlacement() {
+        BlockRegenPlacementQueueService service = new BlockRegenPlacementQueueService();
+        service.queue("world", 1, 2, 3, "Tree_Oak", 100L);
+        service.queue("world", 40, 2, 3, "Tree_Birch", 100L);
+        List<String> written = new ArrayList<>();
+
+        int applied = service.applyDueForWorld("world", 100L, placement -> written.add(placement.payload()));
+
+        assertThat(applied).isEqualTo(2);
+        assertThat(written).containsExactly("Tree_Oak", "Tree_Birch");
+        assertThat(service.pendingCount()).isZero();
+        assertThat(service.metricsSnapshot().batches()).isEqualTo(2L);
+    }
+
+    private static List<String> applyDue(BlockRegenPlacementQueueService service, String worldName, long nowMillis) {
+        List<String> written = new ArrayList<>();
+        service.applyDueForWorld(worldName, nowMillis, placement -> written.add(placement.payload()));
+        return written;
     }
 }
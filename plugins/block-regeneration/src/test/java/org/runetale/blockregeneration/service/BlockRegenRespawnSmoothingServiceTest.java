@@ -0,0 +1,88 @@
+package org.runetale.blockregeneration.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.blockregeneration.domain.RespawnDelay;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BlockRegenRespawnSmoothingServiceTest {
+
+    @Test
+    void spreadKeepsMeanDelayAndStaysInsideWindow() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(9L));
+        RespawnDelay delay = new RespawnDelay(RespawnDelay.Type.SET, 5_000L, 5_000L, 5_000L, 2_000L);
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(service.scheduleDelayMillis(delay)).isBetween(4_000L, 6_000L);
+        }
+
+        BlockRegenRespawnSmoothingService.SmoothingSnapshot snapshot = service.snapshot();
+        assertThat(snapshot.scheduledRespawns()).isEqualTo(20_000L);
+        assertThat(snapshot.meanScheduledDelayMillis()).isCloseTo(5_000.0D, within(25.0D));
+        assertThat(snapshot.minScheduledDelayMillis()).isLessThan(4_100L);
+        assertThat(snapshot.maxScheduledDelayMillis()).isGreaterThan(5_900L);
+    }
+
+    @Test
+    void spreadIsClampedSoShortDelaysStayPositiveAndSymmetric() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(3L));
+        RespawnDelay delay = new RespawnDelay(RespawnDelay.Type.SET, 100L, 100L, 100L, 10_000L);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(service.scheduleDelayMillis(delay)).isBetween(1L, 199L);
+        }
+    }
+
+    @Test
+    void zeroSpreadLeavesSampledDelayUntouched() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(3L));
+        RespawnDelay delay = new RespawnDelay(RespawnDelay.Type.SET, 750L, 750L, 750L);
+
+        assertThat(service.scheduleDelayMillis(delay)).isEqualTo(750L);
+        assertThat(service.snapshot().meanSpreadOffsetMillis()).isZero();
+    }
+
+    @Test
+    void restoreBudgetIsEnforcedPerChunkAndRefillsOverTime() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(1L));
+        service.configure(2);
+
+        assertThat(service.tryAcquireRestore("world", 1, 1, 1_000L)).isTrue();
+        assertThat(service.tryAcquireRestore("world", 2, 2, 1_000L)).isTrue();
+        assertThat(service.tryAcquireRestore("world", 3, 3, 1_000L)).isFalse();
+        assertThat(service.tryAcquireRestore("world", 40, 3, 1_000L)).isTrue();
+        assertThat(service.tryAcquireRestore("other", 3, 3, 1_000L)).isTrue();
+        assertThat(service.tryAcquireRestore("world", 3, 3, 1_500L)).isTrue();
+        assertThat(service.tryAcquireRestore("world", 3, 3, 1_500L)).isFalse();
+        assertThat(service.snapshot().deferredRestores()).isEqualTo(2L);
+    }
+
+    @Test
+    void zeroLimitDisablesRateLimiting() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(1L));
+        service.configure(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(service.tryAcquireRestore("world", 1, 1, 1_000L)).isTrue();
+        }
+        assertThat(service.isRateLimited()).isFalse();
+        assertThat(service.snapshot().trackedChunks()).isZero();
+    }
+
+    @Test
+    void idleBudgetsArePruned() {
+        BlockRegenRespawnSmoothingService service = new BlockRegenRespawnSmoothingService(new Random(1L));
+        service.configure(5);
+        service.tryAcquireRestore("world", 1, 1, 1_000L);
+        service.tryAcquireRestore("world", 100, 100, 1_000L);
+
+        service.pruneIdleBudgets(1_500L);
+        assertThat(service.snapshot().trackedChunks()).isEqualTo(2);
+
+        service.pruneIdleBudgets(2_000L);
+        assertThat(service.snapshot().trackedChunks()).isZero();
+    }
+}
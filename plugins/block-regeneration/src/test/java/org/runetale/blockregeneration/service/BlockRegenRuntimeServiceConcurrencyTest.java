@@ -0,0 +1,134 @@
+package org.runetale.blockregeneration.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.GatheringTrigger;
+import org.runetale.blockregeneration.domain.RespawnDelay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockRegenRuntimeServiceConcurrencyTest {
+
+    private static final int GATHER_THREADS = 8;
+    private static final int POLL_THREADS = 2;
+    private static final int GATHERS_PER_THREAD = 20_000;
+    private static final int POSITIONS = 16;
+    private static final int THRESHOLD = 3;
+
+    @Test
+    void concurrentGathersAndPollsNeverLoseOrDuplicateTransitions() throws Exception {
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(17L));
+        BlockRegenDefinition definition = new BlockRegenDefinition(
+                "copper",
+                true,
+                "Ore_Copper",
+                "Ore_Depleted",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, THRESHOLD, THRESHOLD, THRESHOLD),
+                new RespawnDelay(RespawnDelay.Type.SET, 1L, 1L, 1L));
+        AtomicLong clock = new AtomicLong();
+        AtomicLongArray restoresByPosition = new AtomicLongArray(POSITIONS);
+        AtomicLongArray depletionsByPosition = new AtomicLongArray(POSITIONS);
+        AtomicLongArray respawnsByPosition = new AtomicLongArray(POSITIONS);
+        AtomicLong blocked = new AtomicLong();
+        AtomicBoolean gathering = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int t = 0; t < GATHER_THREADS; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                awaitStart(start);
+                Random random = new Random(seed);
+                for (int i = 0; i < GATHERS_PER_THREAD; i++) {
+                    int position = random.nextInt(POSITIONS);
+                    BlockRegenRuntimeService.GatherResult result = service.recordSuccessfulGather(
+                            "world", position, 64, 0, "Ore_Copper", definition, clock.get());
+                    switch (result.action()) {
+                        case RESTORE_SOURCE -> restoresByPosition.incrementAndGet(position);
+                        case DEPLETED_TO_WAITING -> depletionsByPosition.incrementAndGet(position);
+                        case BLOCKED_WAITING -> blocked.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < POLL_THREADS; t++) {
+            threads.add(new Thread(() -> {
+                awaitStart(start);
+                while (gathering.get()) {
+                    recordRespawns(service.pollDueRespawns("world", clock.incrementAndGet()), respawnsByPosition);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((unused, throwable) -> {
+                synchronized (failures) {
+                    failures.add(throwable);
+                }
+            });
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads.subList(0, GATHER_THREADS)) {
+            thread.join();
+        }
+        gathering.set(false);
+        for (Thread thread : threads.subList(GATHER_THREADS, threads.size())) {
+            thread.join();
+        }
+        recordRespawns(service.pollDueRespawns("world", Long.MAX_VALUE), respawnsByPosition);
+
+        assertThat(failures).isEmpty();
+        long totalGathers = (long) GATHER_THREADS * GATHERS_PER_THREAD;
+        long restores = 0L;
+        long depletions = 0L;
+        long respawns = 0L;
+        for (int position = 0; position < POSITIONS; position++) {
+            BlockRegenRuntimeService.RuntimeSnapshot residual = service.inspect("world", position, 64, 0);
+            long residualGathers = residual == null ? 0L : residual.gatherCount();
+            assertThat(restoresByPosition.get(position))
+                    .as("restores at position %d", position)
+                    .isEqualTo(depletionsByPosition.get(position) * (THRESHOLD - 1) + residualGathers);
+            assertThat(respawnsByPosition.get(position))
+                    .as("respawns at position %d", position)
+                    .isEqualTo(depletionsByPosition.get(position));
+            restores += restoresByPosition.get(position);
+            depletions += depletionsByPosition.get(position);
+            respawns += respawnsByPosition.get(position);
+        }
+
+        BlockRegenRuntimeService.MetricsSnapshot metrics = service.metricsSnapshot();
+        assertThat(restores + depletions + blocked.get()).isEqualTo(totalGathers);
+        assertThat(metrics.matchedInteractions()).isEqualTo(totalGathers);
+        assertThat(metrics.blockedInteractions()).isEqualTo(blocked.get());
+        assertThat(metrics.depletions()).isEqualTo(depletions);
+        assertThat(metrics.respawns()).isEqualTo(respawns);
+        assertThat(depletions).isPositive();
+    }
+
+    private static void recordRespawns(
+            List<BlockRegenRuntimeService.RespawnAction> actions,
+            AtomicLongArray respawnsByPosition) {
+        for (BlockRegenRuntimeService.RespawnAction action : actions) {
+            respawnsByPosition.incrementAndGet(action.x());
+        }
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
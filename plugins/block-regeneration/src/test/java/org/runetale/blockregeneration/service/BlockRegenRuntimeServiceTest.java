@@ -2,8 +2,10 @@ package org.runetale.blockregeneration.service;
 
 import org.junit.jupiter.api.Test;
 import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.BlockRegion;
 import org.runetale.blockregeneration.domain.GatheringTrigger;
 import org.runetale.blockregeneration.domain.RespawnDelay;
+import org.runetale.skills.api.DepletedBlockRegistry;
 
 import java.util.List;
 import java.util.Random;
@@ -107,6 +109,147 @@ class BlockRegenRuntimeServiceTest {
         assertThat(service.pollDueRespawns("world-b", 1100L)).hasSize(1);
     }
 
+    @Test
+    void rateLimitedRespawnsAreDeferredOldestFirst() {
+        BlockRegenRespawnSmoothingService smoothing = new BlockRegenRespawnSmoothingService(new Random(5L));
+        smoothing.configure(1);
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(5L), smoothing);
+        BlockRegenDefinition definition = definition(
+                "oak",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 1, 1, 1),
+                new RespawnDelay(RespawnDelay.Type.SET, 1000L, 1000L, 1000L));
+
+        service.recordSuccessfulGather("world", 1, 64, 1, "Tree_Oak", definition, 100L);
+        service.recordSuccessfulGather("world", 2, 64, 2, "Tree_Oak", definition, 50L);
+
+        List<BlockRegenRuntimeService.RespawnAction> first = service.pollDueRespawns("world", 2000L);
+        assertThat(first).hasSize(1);
+        assertThat(first.get(0).x()).isEqualTo(2);
+        assertThat(service.pollDueRespawns("world", 2000L)).isEmpty();
+        assertThat(service.shouldBlockInteractionWhileWaiting("world", 1, 64, 1)).isTrue();
+
+        List<BlockRegenRuntimeService.RespawnAction> second = service.pollDueRespawns("world", 3000L);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).x()).isEqualTo(1);
+        assertThat(service.smoothingSnapshot().deferredRestores()).isEqualTo(2L);
+    }
+
+    @Test
+    void inspectRadiusReturnsTrackedNodesWithinSphereOfSameWorld() {
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(1L));
+        BlockRegenDefinition definition = definition(
+                "oak",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 3, 3, 3),
+                new RespawnDelay(RespawnDelay.Type.SET, 1000L, 1000L, 1000L));
+
+        service.recordSuccessfulGather("world", 0, 64, 0, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("world", 3, 64, 4, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("world", 6, 64, 0, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("other", 1, 64, 1, "Tree_Oak", definition, 0L);
+
+        List<BlockRegenRuntimeService.RegionEntry> entries = service.inspectRadius("world", 0, 64, 0, 5);
+
+        assertThat(entries).extracting(entry -> entry.position().x()).containsExactly(0, 3);
+        assertThat(entries.get(0).snapshot().phase()).isEqualTo(BlockRegenRuntimeService.Phase.ACTIVE);
+        assertThat(entries.get(0).snapshot().gatherCount()).isEqualTo(1);
+    }
+
+    @Test
+    void forceRespawnRegionReleasesOnlyWaitingNodesInsideRegion() {
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(1L));
+        BlockRegenDefinition definition = definition(
+                "oak",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 1, 1, 1),
+                new RespawnDelay(RespawnDelay.Type.SET, 60_000L, 60_000L, 60_000L));
+        BlockRegenDefinition slow = definition(
+                "slow",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 5, 5, 5),
+                new RespawnDelay(RespawnDelay.Type.SET, 60_000L, 60_000L, 60_000L));
+
+        service.recordSuccessfulGather("world", 1, 64, 1, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("world", 2, 64, 2, "Tree_Oak", slow, 0L);
+        service.recordSuccessfulGather("world", 100, 64, 100, "Tree_Oak", definition, 0L);
+
+        List<BlockRegenRuntimeService.RespawnAction> respawned =
+                service.forceRespawnRegion("world", BlockRegion.between(0, 0, 0, 10, 128, 10));
+
+        assertThat(respawned).extracting(BlockRegenRuntimeService.RespawnAction::x).containsExactly(1);
+        assertThat(service.inspect("world", 1, 64, 1)).isNull();
+        assertThat(service.inspect("world", 2, 64, 2)).isNotNull();
+        assertThat(service.shouldBlockInteractionWhileWaiting("world", 100, 64, 100)).isTrue();
+        assertThat(service.metricsSnapshot().respawns()).isEqualTo(1L);
+        assertThat(service.pollDueRespawns("world", 60_000L)).extracting(BlockRegenRuntimeService.RespawnAction::x)
+                .containsExactly(100);
+    }
+
+    @Test
+    void resetRegionClearsAllStatesAndReturnsWaitingNodesForRestore() {
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(1L));
+        BlockRegenDefinition definition = definition(
+                "oak",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 1, 1, 1),
+                new RespawnDelay(RespawnDelay.Type.SET, 60_000L, 60_000L, 60_000L));
+        BlockRegenDefinition slow = definition(
+                "slow",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 5, 5, 5),
+                new RespawnDelay(RespawnDelay.Type.SET, 60_000L, 60_000L, 60_000L));
+
+        service.recordSuccessfulGather("world", -1, 64, -1, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("world", -2, 64, -2, "Tree_Oak", slow, 0L);
+        service.recordSuccessfulGather("world", 40, 64, 40, "Tree_Oak", definition, 0L);
+
+        BlockRegenRuntimeService.RegionResetResult result =
+                service.resetRegion("world", BlockRegion.between(0, 0, 0, -5, 128, -5));
+
+        assertThat(result.clearedStates()).isEqualTo(2);
+        assertThat(result.restores()).extracting(BlockRegenRuntimeService.RespawnAction::sourceBlockId)
+                .containsExactly("Tree_Oak");
+        assertThat(service.inspect("world", -1, 64, -1)).isNull();
+        assertThat(service.inspect("world", -2, 64, -2)).isNull();
+        assertThat(service.inspectRegion("world", BlockRegion.between(-5, 0, -5, 50, 128, 50)))
+                .extracting(entry -> entry.position().x())
+                .containsExactly(40);
+    }
+
+    @Test
+    void depletionListenerTracksWaitingNodesThroughRespawnClearAndReset() {
+        BlockRegenRuntimeService service = new BlockRegenRuntimeService(new Random(3L));
+        DepletedBlockRegistry registry = new DepletedBlockRegistry();
+        service.setDepletionListener(new SkillsDepletionPublisher(registry));
+        BlockRegenDefinition definition = definition(
+                "oak",
+                new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, 2, 2, 2),
+                new RespawnDelay(RespawnDelay.Type.SET, 1000L, 1000L, 1000L));
+
+        service.recordSuccessfulGather("world", 1, 64, 1, "Tree_Oak", definition, 0L);
+        assertThat(registry.isDepleted("world", 1, 64, 1)).isFalse();
+
+        service.recordSuccessfulGather("world", 1, 64, 1, "Tree_Oak", definition, 0L);
+        service.recordSuccessfulGather("world", 1, 64, 1, "Tree_Oak", definition, 0L);
+        assertThat(registry.isDepleted("world", 1, 64, 1)).isTrue();
+        assertThat(registry.isDepleted("other", 1, 64, 1)).isFalse();
+        assertThat(registry.size()).isEqualTo(1);
+
+        service.pollDueRespawns("world", 1000L);
+        assertThat(registry.isDepleted("world", 1, 64, 1)).isFalse();
+
+        for (int i = 0; i < 2; i++) {
+            service.recordSuccessfulGather("world", 2, 64, 2, "Tree_Oak", definition, 0L);
+            service.recordSuccessfulGather("world", 3, 64, 3, "Tree_Oak", definition, 0L);
+            service.recordSuccessfulGather("world", 4, 64, 4, "Tree_Oak", definition, 0L);
+        }
+        assertThat(registry.size()).isEqualTo(3);
+
+        service.clearAt("world", 2, 64, 2);
+        service.forceRespawnRegion("world", BlockRegion.between(3, 0, 3, 3, 128, 3));
+        assertThat(registry.isDepleted("world", 2, 64, 2)).isFalse();
+        assertThat(registry.isDepleted("world", 3, 64, 3)).isFalse();
+        assertThat(registry.isDepleted("world", 4, 64, 4)).isTrue();
+
+        service.clearAll();
+        assertThat(registry.size()).isZero();
+    }
+
     private static BlockRegenDefinition definition(
             String id,
             GatheringTrigger gathering,
@@ -0,0 +1,76 @@
+package org.runetale.blockregeneration.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.blockregeneration.domain.BlockRegion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockRegenSpatialIndexServiceTest {
+
+    @Test
+    void queryBoxReturnsOnlyPositionsInsideRegionAcrossChunks() {
+        BlockRegenSpatialIndexService index = new BlockRegenSpatialIndexService();
+        index.add(key("world", 5, 64, 5));
+        index.add(key("world", 40, 70, 5));
+        index.add(key("world", 40, 200, 5));
+        index.add(key("world", 500, 64, 500));
+        index.add(key("other", 6, 64, 6));
+
+        assertThat(index.queryBox("world", BlockRegion.between(0, 0, 0, 63, 128, 63)))
+                .containsExactly(key("world", 5, 64, 5), key("world", 40, 70, 5));
+    }
+
+    @Test
+    void queryBoxHandlesNegativeCoordinatesOnChunkBoundaries() {
+        BlockRegenSpatialIndexService index = new BlockRegenSpatialIndexService();
+        index.add(key("world", -1, 64, -1));
+        index.add(key("world", -32, 64, -33));
+        index.add(key("world", 0, 64, 0));
+
+        assertThat(index.queryBox("world", BlockRegion.between(-32, 0, -32, -1, 128, -1)))
+                .containsExactly(key("world", -1, 64, -1));
+        assertThat(index.queryBox("world", BlockRegion.between(-40, 0, -40, 0, 128, 0)))
+                .containsExactly(key("world", -32, 64, -33), key("world", -1, 64, -1), key("world", 0, 64, 0));
+    }
+
+    @Test
+    void queryBoxOverLargeRegionWalksTrackedChunksOnly() {
+        BlockRegenSpatialIndexService index = new BlockRegenSpatialIndexService();
+        index.add(key("world", 1_000_000, 64, -1_000_000));
+        index.add(key("world", -1_000_000, 64, 1_000_000));
+
+        assertThat(index.queryBox("world", BlockRegion.between(-2_000_000, 0, -2_000_000, 2_000_000, 256, 2_000_000)))
+                .containsExactly(key("world", -1_000_000, 64, 1_000_000), key("world", 1_000_000, 64, -1_000_000));
+    }
+
+    @Test
+    void queryRadiusFiltersBoxCornersOutsideSphere() {
+        BlockRegenSpatialIndexService index = new BlockRegenSpatialIndexService();
+        index.add(key("world", 3, 64, 4));
+        index.add(key("world", 4, 68, 4));
+        index.add(key("world", 0, 69, 0));
+
+        assertThat(index.queryRadius("world", 0, 64, 0, 5))
+                .containsExactly(key("world", 0, 69, 0), key("world", 3, 64, 4));
+    }
+
+    @Test
+    void removePrunesEmptyChunks() {
+        BlockRegenSpatialIndexService index = new BlockRegenSpatialIndexService();
+        index.add(key("world", 1, 64, 1));
+        index.add(key("world", 2, 64, 2));
+        index.add(key("world", 100, 64, 100));
+
+        index.remove(key("world", 1, 64, 1));
+        assertThat(index.trackedChunkCount("world")).isEqualTo(2);
+
+        index.remove(key("world", 2, 64, 2));
+        index.remove(key("world", 7, 64, 7));
+        assertThat(index.trackedChunkCount("world")).isEqualTo(1);
+        assertThat(index.queryBox("world", BlockRegion.around(0, 64, 0, 10))).isEmpty();
+    }
+
+    private static BlockRegenRuntimeService.BlockPositionKey key(String world, int x, int y, int z) {
+        return new BlockRegenRuntimeService.BlockPositionKey(world, x, y, z);
+    }
+}
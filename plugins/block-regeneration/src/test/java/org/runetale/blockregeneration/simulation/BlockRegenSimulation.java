@@ -0,0 +1,229 @@
+package org.runetale.blockregeneration.simulation;
+
+import org.runetale.blockregeneration.domain.BlockRegenConfig;
+import org.runetale.blockregeneration.service.BlockRegenConfigService;
+import org.runetale.blockregeneration.service.BlockRegenCoordinatorService;
+import org.runetale.blockregeneration.service.BlockRegenDefinitionService;
+import org.runetale.blockregeneration.service.BlockRegenPlacementQueueService;
+import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+final class BlockRegenSimulation {
+
+    // Mirrors the DelayedSystem intervals of BlockRegenPendingPlacementSystem and BlockRegenRespawnSystem.
+    static final long PLACEMENT_POLL_INTERVAL_MILLIS = 50L;
+    static final long RESPAWN_POLL_INTERVAL_MILLIS = 100L;
+    static final long TICK_MILLIS = 50L;
+
+    private final BlockRegenConfig config;
+    private final long seed;
+
+    BlockRegenSimulation(@Nonnull BlockRegenConfig config, long seed) {
+        this.config = config;
+        this.seed = seed;
+    }
+
+    @Nonnull
+    SimulationReport run(@Nonnull SimulatedWorld world, @Nonnull GatherTrace trace, long drainMillis) {
+        BlockRegenPlacementQueueService placementQueueService = new BlockRegenPlacementQueueService();
+        BlockRegenCoordinatorService coordinator = new BlockRegenCoordinatorService(
+                new FixedConfigService(this.config),
+                new BlockRegenDefinitionService(),
+                new BlockRegenRuntimeService(new Random(this.seed)),
+                placementQueueService);
+        coordinator.initialize();
+
+        Run run = new Run(world, coordinator, placementQueueService);
+        VirtualClock clock = new VirtualClock(0L);
+        long endMillis = trace.endMillis() + Math.max(0L, drainMillis);
+        long nextPlacementPollAt = 0L;
+        long nextRespawnSystemAt = 0L;
+        long nextRespawnPollAt = 0L;
+        List<GatherTrace.GatherEvent> events = trace.events();
+        int cursor = 0;
+
+        while (clock.nowMillis() <= endMillis) {
+            long now = clock.nowMillis();
+            while (cursor < events.size() && events.get(cursor).atMillis() <= now) {
+                run.applyGather(events.get(cursor), now);
+                cursor++;
+            }
+
+            if (now >= nextPlacementPollAt) {
+                nextPlacementPollAt = now + PLACEMENT_POLL_INTERVAL_MILLIS;
+                run.pollPlacements(now);
+            }
+
+            if (now >= nextRespawnSystemAt) {
+                nextRespawnSystemAt = now + RESPAWN_POLL_INTERVAL_MILLIS;
+                if (now >= nextRespawnPollAt) {
+                    nextRespawnPollAt = now + coordinator.respawnTickMillis();
+                    run.pollRespawns(now);
+                }
+            }
+
+            run.recordDepths();
+            clock.advance(TICK_MILLIS);
+        }
+
+        return run.report();
+    }
+
+    private static final class Run {
+
+        private final SimulatedWorld world;
+        private final BlockRegenCoordinatorService coordinator;
+        private final BlockRegenPlacementQueueService placementQueueService;
+        private final Map<BlockRegenRuntimeService.BlockPositionKey, Long> respawnDueByPosition = new HashMap<>();
+        private final LongDistribution respawnLagMillis = new LongDistribution();
+        private final LongDistribution restoresPerPoll = new LongDistribution();
+        private final LongDistribution respawnPollNanos = new LongDistribution();
+        private final LongDistribution placementPollNanos = new LongDistribution();
+
+        private long gatherAttempts;
+        private long blockedAttempts;
+        private long unmatchedAttempts;
+        private long depletions;
+        private long respawns;
+        private int peakPendingPlacements;
+        private int peakWaitingRespawns;
+
+        private Run(
+                @Nonnull SimulatedWorld world,
+                @Nonnull BlockRegenCoordinatorService coordinator,
+                @Nonnull BlockRegenPlacementQueueService placementQueueService) {
+            this.world = world;
+            this.coordinator = coordinator;
+            this.placementQueueService = placementQueueService;
+        }
+
+        private void applyGather(@Nonnull GatherTrace.GatherEvent event, long now) {
+            this.gatherAttempts++;
+            String blockId = this.world.blockAt(event.x(), event.y(), event.z());
+            if (blockId == null) {
+                this.unmatchedAttempts++;
+                return;
+            }
+
+            // Same gate as BlockRegenDamageGateSystem: waiting nodes and placeholders never reach the break path.
+            if (this.coordinator.shouldBlockWaiting(this.world.name(), event.x(), event.y(), event.z())
+                    || this.coordinator.findPlaceholderDefinition(blockId) != null) {
+                this.blockedAttempts++;
+                return;
+            }
+
+            BlockRegenCoordinatorService.HandleOutcome outcome = this.coordinator.handleSuccessfulInteraction(
+                    "break",
+                    this.world.name(),
+                    event.x(),
+                    event.y(),
+                    event.z(),
+                    blockId,
+                    now);
+            if (!outcome.matched() || outcome.result() == null) {
+                this.unmatchedAttempts++;
+                this.world.breakBlock(event.x(), event.y(), event.z());
+                return;
+            }
+
+            BlockRegenRuntimeService.GatherResult result = outcome.result();
+            if (result.action() == BlockRegenRuntimeService.Action.BLOCKED_WAITING) {
+                this.blockedAttempts++;
+                return;
+            }
+
+            this.world.breakBlock(event.x(), event.y(), event.z());
+            if (result.action() == BlockRegenRuntimeService.Action.DEPLETED_TO_WAITING) {
+                this.depletions++;
+                this.respawnDueByPosition.put(
+                        new BlockRegenRuntimeService.BlockPositionKey(this.world.name(), event.x(), event.y(), event.z()),
+                        result.respawnDueMillis());
+            }
+            this.coordinator.queueImmediatePlacement(
+                    this.world.name(),
+                    event.x(),
+                    event.y(),
+                    event.z(),
+                    result.blockToSet(),
+                    now);
+        }
+
+        private void pollPlacements(long now) {
+            long startedAt = System.nanoTime();
+            this.coordinator.applyDuePlacements(
+                    this.world.name(),
+                    now,
+                    placement -> this.world.setBlock(
+                            placement.position().x(),
+                            placement.position().y(),
+                            placement.position().z(),
+                            placement.payload()));
+            this.placementPollNanos.add(System.nanoTime() - startedAt);
+        }
+
+        private void pollRespawns(long now) {
+            long startedAt = System.nanoTime();
+            List<BlockRegenRuntimeService.RespawnAction> actions =
+                    this.coordinator.pollDueRespawns(this.world.name(), now);
+            for (BlockRegenRuntimeService.RespawnAction action : actions) {
+                this.world.setBlock(action.x(), action.y(), action.z(), action.sourceBlockId());
+                Long dueAt = this.respawnDueByPosition.remove(new BlockRegenRuntimeService.BlockPositionKey(
+                        action.worldName(),
+                        action.x(),
+                        action.y(),
+                        action.z()));
+                if (dueAt != null) {
+                    this.respawnLagMillis.add(now - dueAt);
+                }
+                this.respawns++;
+            }
+            this.respawnPollNanos.add(System.nanoTime() - startedAt);
+            this.restoresPerPoll.add(actions.size());
+        }
+
+        private void recordDepths() {
+            this.peakPendingPlacements = Math.max(this.peakPendingPlacements, this.placementQueueService.pendingCount());
+            this.peakWaitingRespawns = Math.max(this.peakWaitingRespawns, this.respawnDueByPosition.size());
+        }
+
+        @Nonnull
+        private SimulationReport report() {
+            return new SimulationReport(
+                    this.gatherAttempts,
+                    this.blockedAttempts,
+                    this.unmatchedAttempts,
+                    this.depletions,
+                    this.respawns,
+                    this.respawnDueByPosition.size(),
+                    this.peakPendingPlacements,
+                    this.peakWaitingRespawns,
+                    this.world.writes(),
+                    this.respawnLagMillis,
+                    this.restoresPerPoll,
+                    this.respawnPollNanos,
+                    this.placementPollNanos);
+        }
+    }
+
+    private static final class FixedConfigService extends BlockRegenConfigService {
+
+        private final BlockRegenConfig config;
+
+        private FixedConfigService(@Nonnull BlockRegenConfig config) {
+            super(Path.of(""));
+            this.config = config;
+        }
+
+        @Nonnull
+        @Override
+        public BlockRegenConfig load() {
+            return this.config;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.runetale.blockregeneration.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.blockregeneration.domain.BlockRegenConfig;
+import org.runetale.blockregeneration.domain.BlockRegenDefinition;
+import org.runetale.blockregeneration.domain.GatheringTrigger;
+import org.runetale.blockregeneration.domain.RespawnDelay;
+import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockRegenSimulationTest {
+
+    private static final String SOURCE_BLOCK = "Ore_Copper_Surface_Stone1";
+    private static final String PLACEHOLDER_BLOCK = "Ore_Depleted_Surface_Stone1";
+
+    @Test
+    void everyDepletedNodeRespawnsWithinOneRespawnTick() {
+        BlockRegenConfig config = config(500L, new RespawnDelay(RespawnDelay.Type.SET, 5_000L, 5_000L, 5_000L));
+        SimulatedWorld world = new SimulatedWorld("world");
+        List<BlockRegenRuntimeService.BlockPositionKey> nodes = world.fillField(500, 64, SOURCE_BLOCK);
+        GatherTrace trace = GatherTrace.randomField(7L, nodes, 50, 20_000L, 600L);
+
+        SimulationReport report = new BlockRegenSimulation(config, 7L).run(world, trace, 10_000L);
+
+        assertThat(report.depletions()).isPositive();
+        assertThat(report.respawns()).isEqualTo(report.depletions());
+        assertThat(report.waitingAtEnd()).isZero();
+        assertThat(report.respawnLagMillis().count()).isEqualTo((int) report.respawns());
+        assertThat(report.respawnLagMillis().max()).isLessThan(config.respawnTickMillis());
+        for (BlockRegenRuntimeService.BlockPositionKey node : nodes) {
+            assertThat(world.blockAt(node.x(), node.y(), node.z())).isEqualTo(SOURCE_BLOCK);
+        }
+    }
+
+    @Test
+    void identicalSeedsProduceIdenticalOutcomes() {
+        BlockRegenConfig config = config(500L, new RespawnDelay(RespawnDelay.Type.RANDOM, 0L, 2_000L, 6_000L));
+
+        SimulationReport first = runField(config, 11L);
+        SimulationReport second = runField(config, 11L);
+
+        assertThat(second.gatherAttempts()).isEqualTo(first.gatherAttempts());
+        assertThat(second.blockedAttempts()).isEqualTo(first.blockedAttempts());
+        assertThat(second.depletions()).isEqualTo(first.depletions());
+        assertThat(second.respawns()).isEqualTo(first.respawns());
+        assertThat(second.peakWaitingRespawns()).isEqualTo(first.peakWaitingRespawns());
+        assertThat(second.respawnLagMillis().summary()).isEqualTo(first.respawnLagMillis().summary());
+    }
+
+    @Test
+    void denseFieldUnderHeavyLoadReportsQueueDepthAndPollCost() {
+        BlockRegenConfig config = config(500L, new RespawnDelay(RespawnDelay.Type.RANDOM, 0L, 2_350L, 2_450L));
+        SimulatedWorld world = new SimulatedWorld("world");
+        List<BlockRegenRuntimeService.BlockPositionKey> nodes = world.fillField(10_000, 64, SOURCE_BLOCK);
+        GatherTrace trace = GatherTrace.randomField(3L, nodes, 500, 30_000L, 1_000L);
+
+        SimulationReport report = new BlockRegenSimulation(config, 3L).run(world, trace, 5_000L);
+
+        assertThat(report.gatherAttempts()).isEqualTo(trace.events().size());
+        assertThat(report.peakWaitingRespawns()).isPositive();
+        assertThat(report.peakPendingPlacements()).isPositive();
+        assertThat(report.respawnPollNanos().count()).isPositive();
+        assertThat(report.placementPollNanos().count()).isPositive();
+        assertThat(report.waitingAtEnd()).isZero();
+    }
+
+    @Test
+    void smoothingFlattensRestoreBurstFromSimultaneousDepletion() {
+        SimulatedWorld unsmoothedWorld = new SimulatedWorld("world");
+        List<BlockRegenRuntimeService.BlockPositionKey> nodes = unsmoothedWorld.fillField(1_024, 64, SOURCE_BLOCK);
+        GatherTrace burst = simultaneousDepletion(nodes);
+        BlockRegenConfig unsmoothed = config(
+                500L,
+                0,
+                new RespawnDelay(RespawnDelay.Type.SET, 5_000L, 5_000L, 5_000L),
+                1);
+        BlockRegenConfig smoothed = config(
+                500L,
+                200,
+                new RespawnDelay(RespawnDelay.Type.SET, 5_000L, 5_000L, 5_000L, 4_000L),
+                1);
+
+        SimulationReport before = new BlockRegenSimulation(unsmoothed, 5L).run(unsmoothedWorld, burst, 15_000L);
+        SimulatedWorld smoothedWorld = new SimulatedWorld("world");
+        smoothedWorld.fillField(1_024, 64, SOURCE_BLOCK);
+        SimulationReport after = new BlockRegenSimulation(smoothed, 5L).run(smoothedWorld, burst, 15_000L);
+
+        assertThat(before.restoresPerPoll().max()).isEqualTo(1_024L);
+        assertThat(after.restoresPerPoll().max()).isLessThanOrEqualTo(200L);
+        assertThat(after.respawns()).isEqualTo(1_024L);
+        assertThat(after.waitingAtEnd()).isZero();
+    }
+
+    private static GatherTrace simultaneousDepletion(List<BlockRegenRuntimeService.BlockPositionKey> nodes) {
+        List<GatherTrace.GatherEvent> events = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            BlockRegenRuntimeService.BlockPositionKey node = nodes.get(i);
+            events.add(new GatherTrace.GatherEvent(0L, i, node.x(), node.y(), node.z()));
+        }
+        return new GatherTrace(events);
+    }
+
+    private static SimulationReport runField(BlockRegenConfig config, long seed) {
+        SimulatedWorld world = new SimulatedWorld("world");
+        List<BlockRegenRuntimeService.BlockPositionKey> nodes = world.fillField(1_000, 64, SOURCE_BLOCK);
+        GatherTrace trace = GatherTrace.randomField(seed, nodes, 100, 15_000L, 500L);
+        return new BlockRegenSimulation(config, seed).run(world, trace, 10_000L);
+    }
+
+    private static BlockRegenConfig config(long respawnTickMillis, RespawnDelay respawnDelay) {
+        return config(respawnTickMillis, 0, respawnDelay, 3);
+    }
+
+    private static BlockRegenConfig config(
+            long respawnTickMillis,
+            int maxRestoresPerChunkPerSecond,
+            RespawnDelay respawnDelay,
+            int gatherAmount) {
+        return new BlockRegenConfig(
+                BlockRegenConfig.DEFAULT_VERSION,
+                true,
+                respawnTickMillis,
+                BlockRegenConfig.DEFAULT_NOTIFY_COOLDOWN_MILLIS,
+                maxRestoresPerChunkPerSecond,
+                List.of(new BlockRegenDefinition(
+                        "copper",
+                        true,
+                        SOURCE_BLOCK,
+                        PLACEHOLDER_BLOCK,
+                        new GatheringTrigger(GatheringTrigger.Type.SPECIFIC, gatherAmount, gatherAmount, gatherAmount),
+                        respawnDelay)));
+    }
+}
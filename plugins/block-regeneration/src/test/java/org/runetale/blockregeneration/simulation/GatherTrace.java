@@ -0,0 +1,46 @@
+package org.runetale.blockregeneration.simulation;
+
+import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+record GatherTrace(@Nonnull List<GatherEvent> events) {
+
+    GatherTrace {
+        List<GatherEvent> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparingLong(GatherEvent::atMillis).thenComparingInt(GatherEvent::playerIndex));
+        events = List.copyOf(sorted);
+    }
+
+    @Nonnull
+    static GatherTrace randomField(
+            long seed,
+            @Nonnull List<BlockRegenRuntimeService.BlockPositionKey> nodes,
+            int players,
+            long durationMillis,
+            long hitIntervalMillis) {
+        Random random = new Random(seed);
+        long interval = Math.max(1L, hitIntervalMillis);
+        List<GatherEvent> events = new ArrayList<>();
+        for (int player = 0; player < players; player++) {
+            long at = (long) Math.floor(random.nextDouble() * interval);
+            while (at < durationMillis) {
+                BlockRegenRuntimeService.BlockPositionKey node = nodes.get(random.nextInt(nodes.size()));
+                events.add(new GatherEvent(at, player, node.x(), node.y(), node.z()));
+                at += interval;
+            }
+        }
+        return new GatherTrace(events);
+    }
+
+    long endMillis() {
+        return this.events.isEmpty() ? 0L : this.events.get(this.events.size() - 1).atMillis();
+    }
+
+    record GatherEvent(long atMillis, int playerIndex, int x, int y, int z) {
+    }
+}
@@ -0,0 +1,67 @@
+package org.runetale.blockregeneration.simulation;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+final class LongDistribution {
+
+    private long[] values = new long[64];
+    private int count;
+    private boolean sorted = true;
+
+    void add(long value) {
+        if (this.count == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.values.length * 2);
+        }
+        this.values[this.count++] = value;
+        this.sorted = false;
+    }
+
+    int count() {
+        return this.count;
+    }
+
+    long max() {
+        return this.count == 0 ? 0L : sortedValues()[this.count - 1];
+    }
+
+    double mean() {
+        if (this.count == 0) {
+            return 0.0D;
+        }
+        double total = 0.0D;
+        for (int i = 0; i < this.count; i++) {
+            total += this.values[i];
+        }
+        return total / this.count;
+    }
+
+    long percentile(double percentile) {
+        if (this.count == 0) {
+            return 0L;
+        }
+        double clamped = Math.max(0.0D, Math.min(100.0D, percentile));
+        int index = (int) Math.ceil((clamped / 100.0D) * this.count) - 1;
+        return sortedValues()[Math.max(0, index)];
+    }
+
+    String summary() {
+        return String.format(
+                Locale.ROOT,
+                "n=%d mean=%.1f p50=%d p95=%d p99=%d max=%d",
+                this.count,
+                mean(),
+                percentile(50.0D),
+                percentile(95.0D),
+                percentile(99.0D),
+                max());
+    }
+
+    private long[] sortedValues() {
+        if (!this.sorted) {
+            Arrays.sort(this.values, 0, this.count);
+            this.sorted = true;
+        }
+        return this.values;
+    }
+}
@@ -0,0 +1,61 @@
+package org.runetale.blockregeneration.simulation;
+
+import org.runetale.blockregeneration.service.BlockRegenRuntimeService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SimulatedWorld {
+
+    private final String name;
+    private final Map<BlockRegenRuntimeService.BlockPositionKey, String> blocksByPosition = new HashMap<>();
+    private long writes;
+
+    SimulatedWorld(@Nonnull String name) {
+        this.name = name;
+    }
+
+    @Nonnull
+    String name() {
+        return this.name;
+    }
+
+    @Nonnull
+    List<BlockRegenRuntimeService.BlockPositionKey> fillField(int nodeCount, int y, @Nonnull String blockId) {
+        int side = (int) Math.ceil(Math.sqrt(Math.max(1, nodeCount)));
+        List<BlockRegenRuntimeService.BlockPositionKey> positions = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            BlockRegenRuntimeService.BlockPositionKey key = new BlockRegenRuntimeService.BlockPositionKey(
+                    this.name,
+                    i % side,
+                    y,
+                    i / side);
+            this.blocksByPosition.put(key, blockId);
+            positions.add(key);
+        }
+        return positions;
+    }
+
+    @Nullable
+    String blockAt(int x, int y, int z) {
+        return this.blocksByPosition.get(new BlockRegenRuntimeService.BlockPositionKey(this.name, x, y, z));
+    }
+
+    void setBlock(int x, int y, int z, @Nonnull String blockId) {
+        this.blocksByPosition.put(new BlockRegenRuntimeService.BlockPositionKey(this.name, x, y, z), blockId);
+        this.writes++;
+    }
+
+    void breakBlock(int x, int y, int z) {
+        this.blocksByPosition.remove(new BlockRegenRuntimeService.BlockPositionKey(this.name, x, y, z));
+        this.writes++;
+    }
+
+    long writes() {
+        return this.writes;
+    }
+}
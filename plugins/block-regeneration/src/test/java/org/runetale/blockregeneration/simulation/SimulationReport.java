@@ -0,0 +1,45 @@
+package org.runetale.blockregeneration.simulation;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+
+record SimulationReport(
+        long gatherAttempts,
+        long blockedAttempts,
+        long unmatchedAttempts,
+        long depletions,
+        long respawns,
+        int waitingAtEnd,
+        int peakPendingPlacements,
+        int peakWaitingRespawns,
+        long worldWrites,
+        @Nonnull LongDistribution respawnLagMillis,
+        @Nonnull LongDistribution restoresPerPoll,
+        @Nonnull LongDistribution respawnPollNanos,
+        @Nonnull LongDistribution placementPollNanos) {
+
+    @Nonnull
+    String summary() {
+        return String.format(
+                Locale.ROOT,
+                "gathers=%d blocked=%d unmatched=%d depletions=%d respawns=%d waitingAtEnd=%d "
+                        + "peakPending=%d peakWaiting=%d writes=%d%n"
+                        + "respawnLagMillis: %s%n"
+                        + "restoresPerPoll: %s%n"
+                        + "respawnPollNanos: %s%n"
+                        + "placementPollNanos: %s",
+                this.gatherAttempts,
+                this.blockedAttempts,
+                this.unmatchedAttempts,
+                this.depletions,
+                this.respawns,
+                this.waitingAtEnd,
+                this.peakPendingPlacements,
+                this.peakWaitingRespawns,
+                this.worldWrites,
+                this.respawnLagMillis.summary(),
+                this.restoresPerPoll.summary(),
+                this.respawnPollNanos.summary(),
+                this.placementPollNanos.summary());
+    }
+}
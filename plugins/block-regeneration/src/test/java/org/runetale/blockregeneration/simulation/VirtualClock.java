@@ -0,0 +1,18 @@
+package org.runetale.blockregeneration.simulation;
+
+final class VirtualClock {
+
+    private long nowMillis;
+
+    VirtualClock(long startMillis) {
+        this.nowMillis = startMillis;
+    }
+
+    long nowMillis() {
+        return this.nowMillis;
+    }
+
+    void advance(long millis) {
+        this.nowMillis += Math.max(0L, millis);
+    }
+}
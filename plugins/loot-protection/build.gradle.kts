@@ -1,2 +1,11 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
 dependencies {
 }
+
+// Hot-path benchmarks under src/jmh: ./gradlew :plugins:loot-protection:jmh
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+}
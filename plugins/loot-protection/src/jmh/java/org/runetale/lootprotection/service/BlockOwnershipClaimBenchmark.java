@@ -0,0 +1,82 @@
+package org.runetale.lootprotection.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockOwnershipClaimBenchmark {
+
+    private static final String WORLD = "world";
+    private static final long INACTIVITY_MILLIS = 5_000L;
+    private static final int PLAYER_COUNT = 64;
+    private static final int SWEEP_BUDGET = 4;
+
+    @Param({"10", "1000", "100000"})
+    public int liveClaims;
+
+    private BlockOwnershipClaimService service;
+    private UUID[] players;
+    private int[] blockX;
+    private int[] blockZ;
+    private long now;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(38L);
+        this.service = new BlockOwnershipClaimService(Math.max(64, this.liveClaims));
+        this.players = new UUID[PLAYER_COUNT];
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            this.players[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        // Twice as many candidate blocks as live claims keeps a steady mix of fresh claims,
+        // refreshes, contested hits and capacity evictions.
+        int blocks = this.liveClaims * 2;
+        int extent = (int) Math.ceil(Math.sqrt(blocks)) * 4;
+        this.blockX = new int[blocks];
+        this.blockZ = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            this.blockX[i] = random.nextInt(extent);
+            this.blockZ[i] = random.nextInt(extent);
+        }
+
+        this.now = 1_000_000L;
+        for (int i = 0; i < this.liveClaims; i++) {
+            claimNext();
+        }
+    }
+
+    @Benchmark
+    public BlockOwnershipClaimService.ClaimResult claimChurn() {
+        BlockOwnershipClaimService.ClaimResult result = claimNext();
+        this.service.sweepExpired(WORLD, this.now, SWEEP_BUDGET);
+        return result;
+    }
+
+    private BlockOwnershipClaimService.ClaimResult claimNext() {
+        int block = Math.floorMod(this.cursor, this.blockX.length);
+        UUID player = this.players[Math.floorMod(this.cursor, PLAYER_COUNT)];
+        this.cursor++;
+        this.now++;
+        return this.service.claimOrRefresh(WORLD, this.blockX[block], 64, this.blockZ[block], player, this.now, INACTIVITY_MILLIS);
+    }
+}
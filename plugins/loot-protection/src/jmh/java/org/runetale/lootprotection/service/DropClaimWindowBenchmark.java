@@ -0,0 +1,71 @@
+package org.runetale.lootprotection.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DropClaimWindowBenchmark {
+
+    private static final String WORLD = "world";
+    private static final long NOW = 1_000_000L;
+    private static final double MATCH_RADIUS = 2.5D;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"10", "1000", "100000"})
+    public int liveWindows;
+
+    private DropClaimWindowService service;
+    private double[] queryX;
+    private double[] queryZ;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        // Windows are spread at a constant density, so larger sizes measure index scaling rather
+        // than more crowded cells.
+        SplittableRandom random = new SplittableRandom(38L);
+        double extent = Math.sqrt(this.liveWindows) * 8.0D;
+        this.service = new DropClaimWindowService();
+        for (int i = 0; i < this.liveWindows; i++) {
+            this.service.openWindow(
+                    WORLD,
+                    random.nextDouble(extent),
+                    64.0D,
+                    random.nextDouble(extent),
+                    new UUID(random.nextLong(), random.nextLong()),
+                    NOW,
+                    Long.MAX_VALUE / 4L);
+        }
+
+        this.queryX = new double[QUERY_COUNT];
+        this.queryZ = new double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.queryX[i] = random.nextDouble(extent);
+            this.queryZ[i] = random.nextDouble(extent);
+        }
+    }
+
+    @Benchmark
+    public UUID findOwnerForDrop() {
+        int query = this.cursor++ & (QUERY_COUNT - 1);
+        return this.service.findOwnerForDrop(WORLD, this.queryX[query], 64.0D, this.queryZ[query], NOW, MATCH_RADIUS);
+    }
+}
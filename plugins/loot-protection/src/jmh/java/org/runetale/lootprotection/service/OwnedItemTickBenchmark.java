@@ -0,0 +1,88 @@
+package org.runetale.lootprotection.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Replays the index side of one owned-item tick: poll lapsed unlocks, respawn the same number of
+// owned drops so the live count stays put, then run one owner's wake-up and delivery claim.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnedItemTickBenchmark {
+
+    private static final String WORLD = "world";
+    private static final long TICK_MILLIS = 50L;
+    private static final long TIMEOUT_MILLIS = 15_000L;
+    private static final long RETRY_MILLIS = 250L;
+    private static final int ITEMS_PER_OWNER = 8;
+
+    @Param({"10", "1000", "100000"})
+    public int liveItems;
+
+    private OwnedLootIndexService<Integer> index;
+    private UUID[] owners;
+    private SplittableRandom random;
+    private long now;
+    private int nextItem;
+    private int ownerCursor;
+
+    @Setup
+    public void setUp() {
+        this.random = new SplittableRandom(38L);
+        this.index = new OwnedLootIndexService<>();
+        this.owners = new UUID[Math.max(1, this.liveItems / ITEMS_PER_OWNER)];
+        for (int i = 0; i < this.owners.length; i++) {
+            this.owners[i] = new UUID(this.random.nextLong(), this.random.nextLong());
+        }
+
+        // Deadlines are staggered over one timeout so every tick sees a similar share lapse.
+        this.now = 1_000_000L;
+        for (int i = 0; i < this.liveItems; i++) {
+            spawn(this.now + this.random.nextLong(TIMEOUT_MILLIS));
+        }
+    }
+
+    @Benchmark
+    public void ownedItemTick(Blackhole blackhole) {
+        this.now += TICK_MILLIS;
+        List<Integer> unlocked = this.index.pollDueUnlocks(WORLD, this.now);
+        for (int i = 0; i < unlocked.size(); i++) {
+            spawn(this.now + TIMEOUT_MILLIS);
+        }
+        blackhole.consume(unlocked);
+
+        UUID owner = this.owners[Math.floorMod(this.ownerCursor++, this.owners.length)];
+        this.index.wakeOwner(owner);
+        blackhole.consume(this.index.claimDeliveryAttempt(owner, WORLD, this.now, RETRY_MILLIS));
+    }
+
+    private void spawn(long unlockAtMillis) {
+        int item = this.nextItem++;
+        this.index.track(
+                WORLD,
+                this.owners[Math.floorMod(item, this.owners.length)],
+                item,
+                unlockAtMillis,
+                this.random.nextDouble(256.0D),
+                64.0D,
+                this.random.nextDouble(256.0D));
+    }
+}
@@ -1,6 +1,7 @@
 package org.runetale.lootprotection;
 
 import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
@@ -10,30 +11,46 @@ import org.runetale.lootprotection.config.LootProtectionConfig;
 import org.runetale.lootprotection.config.LootProtectionExternalConfigBootstrap;
 import org.runetale.lootprotection.config.LootProtectionPathLayout;
 import org.runetale.lootprotection.service.BlockOwnershipClaimService;
+import org.runetale.lootprotection.service.DeathDropSessionService;
 import org.runetale.lootprotection.service.DropClaimWindowService;
+import org.runetale.lootprotection.service.LootEscrowStore;
 import org.runetale.lootprotection.service.LootProtectionConfigService;
 import org.runetale.lootprotection.service.LootProtectionNotificationService;
+import org.runetale.lootprotection.service.OfflineLootEscrowService;
 import org.runetale.lootprotection.service.OnlinePlayerLookupService;
 import org.runetale.lootprotection.service.OwnedLootDeliveryService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
 import org.runetale.lootprotection.system.LootProtectionBreakBlockClaimSystem;
+import org.runetale.lootprotection.system.LootProtectionClaimSweepSystem;
 import org.runetale.lootprotection.system.LootProtectionDamageBlockClaimSystem;
 import org.runetale.lootprotection.system.LootProtectionDeathDropClaimSystem;
+import org.runetale.lootprotection.system.LootProtectionDeathDropSessionSystem;
+import org.runetale.lootprotection.system.LootProtectionInventoryWakeSystem;
 import org.runetale.lootprotection.system.LootProtectionItemSpawnOwnershipSystem;
 import org.runetale.lootprotection.system.LootProtectionOwnedItemTickSystem;
+import org.runetale.lootprotection.system.LootProtectionOwnedItemUnlockSystem;
 import org.runetale.lootprotection.system.LootProtectionPlayerRefIndexSystem;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class LootProtectionPlugin extends JavaPlugin {
 
     private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+    private static final long ESCROW_IO_SHUTDOWN_SECONDS = 5L;
 
     private LootProtectionConfig config;
     private BlockOwnershipClaimService blockOwnershipClaimService;
     private DropClaimWindowService dropClaimWindowService;
+    private DeathDropSessionService deathDropSessionService;
     private OnlinePlayerLookupService onlinePlayerLookupService;
     private LootProtectionNotificationService notificationService;
     private OwnedLootDeliveryService ownedLootDeliveryService;
+    private OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private OfflineLootEscrowService offlineLootEscrowService;
+    private ExecutorService escrowIoExecutor;
     private ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType;
 
     public LootProtectionPlugin(@Nonnull JavaPluginInit init) {
@@ -50,8 +67,11 @@ public class LootProtectionPlugin extends JavaPlugin {
         LootProtectionConfigService configService = new LootProtectionConfigService(pathLayout.pluginConfigRoot());
         this.config = configService.load().normalized();
 
-        this.blockOwnershipClaimService = new BlockOwnershipClaimService();
+        this.blockOwnershipClaimService = new BlockOwnershipClaimService(
+                this.config.blockOwnership().maxClaimsPerWorld(),
+                this.config.blockOwnership().inactivityResetMillis());
         this.dropClaimWindowService = new DropClaimWindowService();
+        this.deathDropSessionService = new DeathDropSessionService();
         this.onlinePlayerLookupService = new OnlinePlayerLookupService();
         this.notificationService = new LootProtectionNotificationService(
                 () -> this.config.blockOwnership().notifyCooldownMillis(),
@@ -59,15 +79,36 @@ public class LootProtectionPlugin extends JavaPlugin {
         this.ownedLootDeliveryService = new OwnedLootDeliveryService(
                 this.onlinePlayerLookupService,
                 this.notificationService);
+        this.ownedLootIndexService = new OwnedLootIndexService<>();
+        this.escrowIoExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LootProtection-EscrowIO");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.offlineLootEscrowService = new OfflineLootEscrowService(
+                this.config,
+                new LootEscrowStore(pathLayout.pluginDataRoot().resolve("escrow")),
+                this.ownedLootIndexService,
+                this.onlinePlayerLookupService,
+                this.ownedLootDeliveryService,
+                this.escrowIoExecutor);
+        this.offlineLootEscrowService.loadEscrowedOwners();
 
         this.ownedLootComponentType = this.getEntityStoreRegistry()
                 .registerComponent(OwnedLootComponent.class, "OwnedLoot", OwnedLootComponent.CODEC);
 
-        this.getEntityStoreRegistry().registerSystem(new LootProtectionPlayerRefIndexSystem(this.onlinePlayerLookupService));
+        this.getEntityStoreRegistry().registerSystem(new LootProtectionPlayerRefIndexSystem(
+                this.onlinePlayerLookupService,
+                this.ownedLootIndexService,
+                this.offlineLootEscrowService));
+        this.getEntityStoreRegistry().registerSystem(new LootProtectionInventoryWakeSystem(
+                this.ownedLootIndexService,
+                this.offlineLootEscrowService));
         this.getEntityStoreRegistry().registerSystem(new LootProtectionDamageBlockClaimSystem(
                 this.config,
                 this.blockOwnershipClaimService,
                 this.notificationService));
+        this.getEntityStoreRegistry().registerSystem(new LootProtectionClaimSweepSystem(this.blockOwnershipClaimService));
         this.getEntityStoreRegistry().registerSystem(new LootProtectionBreakBlockClaimSystem(
                 this.config,
                 this.blockOwnershipClaimService,
@@ -75,16 +116,25 @@ public class LootProtectionPlugin extends JavaPlugin {
                 this.notificationService));
         this.getEntityStoreRegistry().registerSystem(new LootProtectionDeathDropClaimSystem(
                 this.config,
-                this.dropClaimWindowService));
+                this.dropClaimWindowService,
+                this.deathDropSessionService));
+        this.getEntityStoreRegistry().registerSystem(new LootProtectionDeathDropSessionSystem(this.deathDropSessionService));
         this.getEntityStoreRegistry().registerSystem(new LootProtectionItemSpawnOwnershipSystem(
                 this.config,
                 this.dropClaimWindowService,
-                this.ownedLootDeliveryService,
+                this.deathDropSessionService,
+                this.ownedLootIndexService,
                 this.ownedLootComponentType));
         this.getEntityStoreRegistry().registerSystem(new LootProtectionOwnedItemTickSystem(
                 this.config,
                 this.ownedLootComponentType,
-                this.ownedLootDeliveryService));
+                this.ownedLootDeliveryService,
+                this.ownedLootIndexService,
+                this.offlineLootEscrowService));
+        this.getEntityStoreRegistry().registerSystem(new LootProtectionOwnedItemUnlockSystem(
+                this.ownedLootComponentType,
+                this.ownedLootIndexService,
+                this.offlineLootEscrowService));
 
         LOGGER.atInfo().log("Loot protection setup complete.");
     }
@@ -104,17 +154,51 @@ public class LootProtectionPlugin extends JavaPlugin {
             this.onlinePlayerLookupService.clear();
         }
         if (this.blockOwnershipClaimService != null) {
+            BlockOwnershipClaimService.ClaimMetrics claimMetrics = this.blockOwnershipClaimService.metricsSnapshot();
+            LOGGER.atInfo().log(
+                    "Block ownership claims at shutdown: live=%d acquired=%d expired=%d evicted=%d worlds=%d",
+                    claimMetrics.liveClaims(),
+                    claimMetrics.acquired(),
+                    claimMetrics.expired(),
+                    claimMetrics.evictedForCapacity(),
+                    claimMetrics.worlds());
             this.blockOwnershipClaimService.clear();
         }
         if (this.dropClaimWindowService != null) {
             this.dropClaimWindowService.clear();
         }
+        if (this.deathDropSessionService != null) {
+            this.deathDropSessionService.clear();
+        }
+        if (this.ownedLootIndexService != null) {
+            this.ownedLootIndexService.clear();
+        }
+        if (this.escrowIoExecutor != null) {
+            // Let queued escrow writes land before the process goes away.
+            this.escrowIoExecutor.shutdown();
+            try {
+                if (!this.escrowIoExecutor.awaitTermination(ESCROW_IO_SHUTDOWN_SECONDS, TimeUnit.SECONDS)) {
+                    LOGGER.atWarning().log("Escrow writes still pending after %ds; flushing them here.", ESCROW_IO_SHUTDOWN_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (this.offlineLootEscrowService != null) {
+            // Escrowed loot has already left the world, so anything still queued is written here.
+            this.offlineLootEscrowService.flushPendingEscrow();
+            this.offlineLootEscrowService.clear();
+        }
         this.config = null;
         this.blockOwnershipClaimService = null;
         this.dropClaimWindowService = null;
+        this.deathDropSessionService = null;
         this.onlinePlayerLookupService = null;
         this.notificationService = null;
         this.ownedLootDeliveryService = null;
+        this.ownedLootIndexService = null;
+        this.offlineLootEscrowService = null;
+        this.escrowIoExecutor = null;
         this.ownedLootComponentType = null;
     }
 }
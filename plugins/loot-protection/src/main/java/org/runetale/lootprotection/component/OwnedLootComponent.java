@@ -15,10 +15,23 @@ public class OwnedLootComponent implements Component<EntityStore> {
     public static final BuilderCodec<OwnedLootComponent> CODEC = BuilderCodec.builder(
             OwnedLootComponent.class,
             OwnedLootComponent::new)
+            .append(
+                    new KeyedCodec<>("OwnerMostSigBits", Codec.LONG),
+                    (component, value) -> component.ownerMostSigBits = value,
+                    component -> component.ownerMostSigBits)
+            .add()
+            .append(
+                    new KeyedCodec<>("OwnerLeastSigBits", Codec.LONG),
+                    (component, value) -> component.ownerLeastSigBits = value,
+                    component -> component.ownerLeastSigBits)
+            .add()
+            // Items saved before the owner was stored as two longs only carry the string form. It is
+            // decode-only: the getter is always null so the key is never written again, and it is only
+            // read when the long keys did not already supply an owner.
             .append(
                     new KeyedCodec<>("OwnerPlayerId", Codec.STRING),
-                    (component, value) -> component.ownerPlayerId = value,
-                    OwnedLootComponent::getOwnerPlayerId)
+                    OwnedLootComponent::applyLegacyOwnerPlayerId,
+                    component -> null)
             .add()
             .append(
                     new KeyedCodec<>("LockCreatedAtEpochMillis", Codec.LONG),
@@ -37,13 +50,13 @@ public class OwnedLootComponent implements Component<EntityStore> {
             .add()
             .build();
 
-    private String ownerPlayerId;
+    private long ownerMostSigBits;
+    private long ownerLeastSigBits;
     private long lockCreatedAtEpochMillis;
     private long publicUnlockAtEpochMillis;
     private long lastTransferAttemptAtEpochMillis;
 
     protected OwnedLootComponent() {
-        this.ownerPlayerId = "";
     }
 
     public OwnedLootComponent(
@@ -51,17 +64,13 @@ public class OwnedLootComponent implements Component<EntityStore> {
             long lockCreatedAtEpochMillis,
             long publicUnlockAtEpochMillis,
             long lastTransferAttemptAtEpochMillis) {
-        this.ownerPlayerId = ownerPlayerId.toString();
+        this.ownerMostSigBits = ownerPlayerId.getMostSignificantBits();
+        this.ownerLeastSigBits = ownerPlayerId.getLeastSignificantBits();
         this.lockCreatedAtEpochMillis = lockCreatedAtEpochMillis;
         this.publicUnlockAtEpochMillis = publicUnlockAtEpochMillis;
         this.lastTransferAttemptAtEpochMillis = lastTransferAttemptAtEpochMillis;
     }
 
-    @Nonnull
-    public String getOwnerPlayerId() {
-        return this.ownerPlayerId == null ? "" : this.ownerPlayerId;
-    }
-
     public long getLockCreatedAtEpochMillis() {
         return this.lockCreatedAtEpochMillis;
     }
@@ -78,16 +87,36 @@ public class OwnedLootComponent implements Component<EntityStore> {
         this.lastTransferAttemptAtEpochMillis = lastTransferAttemptAtEpochMillis;
     }
 
+    public boolean hasOwner() {
+        return this.ownerMostSigBits != 0L || this.ownerLeastSigBits != 0L;
+    }
+
+    public boolean isOwnedBy(@Nonnull UUID playerId) {
+        return hasOwner()
+                && this.ownerMostSigBits == playerId.getMostSignificantBits()
+                && this.ownerLeastSigBits == playerId.getLeastSignificantBits();
+    }
+
+    // Pickup permission in a few comparisons: anyone once the lock lapses, otherwise only the owner.
+    public boolean mayBePickedUpBy(@Nonnull UUID playerId, long nowMillis) {
+        return nowMillis >= this.publicUnlockAtEpochMillis || !hasOwner() || isOwnedBy(playerId);
+    }
+
     @Nullable
-    public UUID tryGetOwnerUuid() {
-        String value = getOwnerPlayerId().trim();
-        if (value.isEmpty()) {
-            return null;
+    public UUID getOwnerUuid() {
+        return hasOwner() ? new UUID(this.ownerMostSigBits, this.ownerLeastSigBits) : null;
+    }
+
+    void applyLegacyOwnerPlayerId(@Nullable String value) {
+        if (hasOwner() || value == null || value.isBlank()) {
+            return;
         }
         try {
-            return UUID.fromString(value);
-        } catch (Exception ignored) {
-            return null;
+            UUID ownerPlayerId = UUID.fromString(value.trim());
+            this.ownerMostSigBits = ownerPlayerId.getMostSignificantBits();
+            this.ownerLeastSigBits = ownerPlayerId.getLeastSignificantBits();
+        } catch (IllegalArgumentException ignored) {
+            // Unparseable legacy owners load as unowned and are left alone by the owned-item systems.
         }
     }
 
@@ -95,7 +124,8 @@ public class OwnedLootComponent implements Component<EntityStore> {
     @Override
     public Component<EntityStore> clone() {
         OwnedLootComponent copy = new OwnedLootComponent();
-        copy.ownerPlayerId = this.ownerPlayerId;
+        copy.ownerMostSigBits = this.ownerMostSigBits;
+        copy.ownerLeastSigBits = this.ownerLeastSigBits;
         copy.lockCreatedAtEpochMillis = this.lockCreatedAtEpochMillis;
         copy.publicUnlockAtEpochMillis = this.publicUnlockAtEpochMillis;
         copy.lastTransferAttemptAtEpochMillis = this.lastTransferAttemptAtEpochMillis;
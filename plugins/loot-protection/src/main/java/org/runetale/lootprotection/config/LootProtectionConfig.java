@@ -8,7 +8,8 @@ public record LootProtectionConfig(
         boolean protectKillDrops,
         @Nonnull BlockOwnership blockOwnership,
         @Nonnull DropClaim dropClaim,
-        @Nonnull OwnerLock ownerLock) {
+        @Nonnull OwnerLock ownerLock,
+        @Nonnull Escrow escrow) {
 
     public static LootProtectionConfig defaults() {
         return new LootProtectionConfig(
@@ -17,23 +18,26 @@ public record LootProtectionConfig(
                 true,
                 BlockOwnership.defaults(),
                 DropClaim.defaults(),
-                OwnerLock.defaults());
+                OwnerLock.defaults(),
+                Escrow.defaults());
     }
 
     public record BlockOwnership(
             boolean enabled,
             long inactivityResetMillis,
-            long notifyCooldownMillis) {
+            long notifyCooldownMillis,
+            int maxClaimsPerWorld) {
 
         public static BlockOwnership defaults() {
-            return new BlockOwnership(true, 3000L, 1500L);
+            return new BlockOwnership(true, 3000L, 1500L, 8192);
         }
 
         public BlockOwnership normalized() {
             return new BlockOwnership(
                     this.enabled,
                     Math.max(250L, this.inactivityResetMillis),
-                    Math.max(100L, this.notifyCooldownMillis));
+                    Math.max(100L, this.notifyCooldownMillis),
+                    Math.max(64, this.maxClaimsPerWorld));
         }
     }
 
@@ -71,6 +75,21 @@ public record LootProtectionConfig(
         }
     }
 
+    public record Escrow(
+            boolean enabled,
+            long offlineGraceMillis) {
+
+        public static Escrow defaults() {
+            return new Escrow(true, 5_000L);
+        }
+
+        public Escrow normalized() {
+            return new Escrow(
+                    this.enabled,
+                    Math.max(1000L, this.offlineGraceMillis));
+        }
+    }
+
     public LootProtectionConfig normalized() {
         return new LootProtectionConfig(
                 this.enabled,
@@ -78,6 +97,7 @@ public record LootProtectionConfig(
                 this.protectKillDrops,
                 this.blockOwnership.normalized(),
                 this.dropClaim.normalized(),
-                this.ownerLock.normalized());
+                this.ownerLock.normalized(),
+                this.escrow.normalized());
     }
 }
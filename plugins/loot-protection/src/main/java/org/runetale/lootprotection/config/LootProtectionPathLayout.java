@@ -12,14 +12,17 @@ public final class LootProtectionPathLayout {
     private final Path modsRoot;
     private final Path pluginRuntimeRoot;
     private final Path pluginConfigRoot;
+    private final Path pluginDataRoot;
 
     private LootProtectionPathLayout(
             @Nonnull Path modsRoot,
             @Nonnull Path pluginRuntimeRoot,
-            @Nonnull Path pluginConfigRoot) {
+            @Nonnull Path pluginConfigRoot,
+            @Nonnull Path pluginDataRoot) {
         this.modsRoot = modsRoot;
         this.pluginRuntimeRoot = pluginRuntimeRoot;
         this.pluginConfigRoot = pluginConfigRoot;
+        this.pluginDataRoot = pluginDataRoot;
     }
 
     @Nonnull
@@ -31,7 +34,8 @@ public final class LootProtectionPathLayout {
 
         Path runtimeRoot = modsRoot;
         Path configRoot = modsRoot.resolve(RUNETALE_NAMESPACE).resolve("config").resolve(PLUGIN_ID);
-        return new LootProtectionPathLayout(modsRoot, runtimeRoot, configRoot);
+        Path dataRoot = modsRoot.resolve(RUNETALE_NAMESPACE).resolve("data").resolve(PLUGIN_ID);
+        return new LootProtectionPathLayout(modsRoot, runtimeRoot, configRoot, dataRoot);
     }
 
     @Nonnull
@@ -49,6 +53,11 @@ public final class LootProtectionPathLayout {
         return this.pluginConfigRoot;
     }
 
+    @Nonnull
+    public Path pluginDataRoot() {
+        return this.pluginDataRoot;
+    }
+
     @Nonnull
     public Path resolveConfigResourcePath(@Nonnull String resourcePath) {
         String relative = externalRelativeResourcePath(resourcePath);
@@ -2,13 +2,40 @@ package org.runetale.lootprotection.service;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BlockOwnershipClaimService {
 
-    private final Map<BlockKey, Claim> claimsByBlock = new ConcurrentHashMap<>();
+    public static final int DEFAULT_MAX_CLAIMS_PER_WORLD = 8192;
+    public static final long DEFAULT_INACTIVITY_RESET_MILLIS = 3_000L;
+
+    private final int maxClaimsPerWorld;
+    private final long inactivityResetMillis;
+    private final Map<String, WorldClaims> claimsByWorld = new ConcurrentHashMap<>();
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evictedForCapacity = new AtomicLong();
+
+    public BlockOwnershipClaimService() {
+        this(DEFAULT_MAX_CLAIMS_PER_WORLD);
+    }
+
+    public BlockOwnershipClaimService(int maxClaimsPerWorld) {
+        this(maxClaimsPerWorld, DEFAULT_INACTIVITY_RESET_MILLIS);
+    }
+
+    // The inactivity window is fixed per service so every claim's deadline is its last refresh plus
+    // the same window; see WorldClaims for why that ordering matters.
+    public BlockOwnershipClaimService(int maxClaimsPerWorld, long inactivityResetMillis) {
+        this.maxClaimsPerWorld = Math.max(1, maxClaimsPerWorld);
+        this.inactivityResetMillis = Math.max(1L, inactivityResetMillis);
+    }
 
     @Nonnull
     public ClaimResult claimOrRefresh(
@@ -17,37 +44,91 @@ public class BlockOwnershipClaimService {
             int y,
             int z,
             @Nonnull UUID actorPlayerId,
-            long nowMillis,
-            long inactivityResetMillis) {
-        BlockKey key = new BlockKey(worldName, x, y, z);
-        long inactivityWindow = Math.max(1L, inactivityResetMillis);
-
-        ClaimResult[] holder = new ClaimResult[1];
-        this.claimsByBlock.compute(key, (ignored, existing) -> {
-            if (existing == null || existing.isExpired(nowMillis, inactivityWindow)) {
-                holder[0] = new ClaimResult(ClaimStatus.ACQUIRED, actorPlayerId, null);
-                return new Claim(actorPlayerId, nowMillis, nowMillis);
+            long nowMillis) {
+        BlockKey key = new BlockKey(x, y, z);
+        long inactivityWindow = this.inactivityResetMillis;
+        WorldClaims claims = this.claimsByWorld.computeIfAbsent(worldName, unused -> new WorldClaims());
+
+        ClaimResult result;
+        int evicted = 0;
+        synchronized (claims) {
+            Claim existing = claims.byBlock.get(key);
+            if (existing != null && existing.isExpiredAt(nowMillis)) {
+                claims.byBlock.remove(key);
+                this.expired.incrementAndGet();
+                existing = null;
             }
 
-            if (existing.ownerPlayerId().equals(actorPlayerId)) {
-                Claim refreshed = new Claim(existing.ownerPlayerId(), existing.claimedAtEpochMillis(), nowMillis);
-                holder[0] = new ClaimResult(ClaimStatus.REFRESHED, actorPlayerId, null);
-                return refreshed;
+            if (existing == null) {
+                claims.byBlock.put(key, new Claim(actorPlayerId, nowMillis, nowMillis + inactivityWindow));
+                this.acquired.incrementAndGet();
+                evicted = claims.evictOverCapacity(this.maxClaimsPerWorld);
+                result = new ClaimResult(ClaimStatus.ACQUIRED, actorPlayerId, null);
+            } else if (existing.ownerPlayerId().equals(actorPlayerId)) {
+                // Re-insert so the refreshed claim moves to the tail of the deadline order.
+                claims.byBlock.remove(key);
+                claims.byBlock.put(key, new Claim(existing.ownerPlayerId(), existing.claimedAtEpochMillis(), nowMillis + inactivityWindow));
+                result = new ClaimResult(ClaimStatus.REFRESHED, actorPlayerId, null);
+            } else {
+                result = new ClaimResult(ClaimStatus.BLOCKED_BY_OTHER, actorPlayerId, existing.ownerPlayerId());
             }
+        }
 
-            holder[0] = new ClaimResult(ClaimStatus.BLOCKED_BY_OTHER, actorPlayerId, existing.ownerPlayerId());
-            return existing;
-        });
+        if (evicted > 0) {
+            this.evictedForCapacity.addAndGet(evicted);
+        }
+        return result;
+    }
+
+    // Removes at most maxRemovals expired claims from the front of the world's deadline order.
+    public int sweepExpired(@Nonnull String worldName, long nowMillis, int maxRemovals) {
+        WorldClaims claims = this.claimsByWorld.get(worldName);
+        if (claims == null) {
+            return 0;
+        }
 
-        return holder[0];
+        int removed;
+        synchronized (claims) {
+            removed = claims.removeExpired(nowMillis, Math.max(0, maxRemovals));
+        }
+        if (removed > 0) {
+            this.expired.addAndGet(removed);
+        }
+        return removed;
     }
 
     public void clear(@Nonnull String worldName, int x, int y, int z) {
-        this.claimsByBlock.remove(new BlockKey(worldName, x, y, z));
+        WorldClaims claims = this.claimsByWorld.get(worldName);
+        if (claims == null) {
+            return;
+        }
+        synchronized (claims) {
+            claims.byBlock.remove(new BlockKey(x, y, z));
+        }
     }
 
     public void clear() {
-        this.claimsByBlock.clear();
+        this.claimsByWorld.clear();
+    }
+
+    public int liveClaimCount() {
+        int live = 0;
+        for (WorldClaims claims : this.claimsByWorld.values()) {
+            synchronized (claims) {
+                live += claims.byBlock.size();
+            }
+        }
+        return live;
+    }
+
+    @Nonnull
+    public ClaimMetrics metricsSnapshot() {
+        return new ClaimMetrics(
+                liveClaimCount(),
+                this.acquired.get(),
+                this.expired.get(),
+                this.evictedForCapacity.get(),
+                this.claimsByWorld.size());
     }
 
     public enum ClaimStatus {
@@ -66,8 +147,47 @@ public class BlockOwnershipClaimService {
         }
     }
 
+    public record ClaimMetrics(
+            int liveClaims,
+            long acquired,
+            long expired,
+            long evictedForCapacity,
+            int worlds) {
+    }
+
+    // Claims are kept in insertion order and re-inserted on refresh. Every claim gets the service's
+    // single inactivity window, so insertion order is also expiry-deadline order and both sweeping
+    // and capacity eviction only ever touch the head.
+    private static final class WorldClaims {
+
+        private final LinkedHashMap<BlockKey, Claim> byBlock = new LinkedHashMap<>();
+
+        private int removeExpired(long nowMillis, int maxRemovals) {
+            int removed = 0;
+            Iterator<Claim> iterator = this.byBlock.values().iterator();
+            while (removed < maxRemovals && iterator.hasNext()) {
+                if (!iterator.next().isExpiredAt(nowMillis)) {
+                    break;
+                }
+                iterator.remove();
+                removed++;
+            }
+            return removed;
+        }
+
+        private int evictOverCapacity(int maxClaims) {
+            int evicted = 0;
+            Iterator<Claim> iterator = this.byBlock.values().iterator();
+            while (this.byBlock.size() > maxClaims && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
     private record BlockKey(
-            @Nonnull String worldName,
             int x,
             int y,
             int z) {
@@ -76,10 +196,10 @@ public class BlockOwnershipClaimService {
     private record Claim(
             @Nonnull UUID ownerPlayerId,
             long claimedAtEpochMillis,
-            long lastActivityAtEpochMillis) {
+            long expiresAtEpochMillis) {
 
-        boolean isExpired(long nowMillis, long inactivityResetMillis) {
-            return nowMillis - this.lastActivityAtEpochMillis >= inactivityResetMillis;
+        boolean isExpiredAt(long nowMillis) {
+            return nowMillis >= this.expiresAtEpochMillis;
         }
     }
 }
@@ -0,0 +1,104 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Short-lived attribution sessions for kill drops. A death opens one session at the victim's
+// position; every item spawned from that death in the same tick is matched against the handful of
+// open sessions, and the nearer of that match and the drop-claim window match owns the item.
+// Sessions close at the second tick boundary after they open, so they always outlive the
+// command-buffer flush that spawns the drops.
+public class DeathDropSessionService {
+
+    private final Map<String, WorldSessions> sessionsByWorld = new ConcurrentHashMap<>();
+
+    public void open(@Nonnull String worldName, double x, double y, double z, @Nonnull UUID ownerPlayerId) {
+        WorldSessions sessions = this.sessionsByWorld.computeIfAbsent(worldName, unused -> new WorldSessions());
+        synchronized (sessions) {
+            sessions.open.add(new Session(x, y, z, ownerPlayerId, sessions.generation));
+        }
+    }
+
+    // Returns the owner of the nearest open session within radius; later sessions win ties.
+    @Nullable
+    public UUID attribute(@Nonnull String worldName, double x, double y, double z, double matchRadius) {
+        DropOwnerMatch match = match(worldName, x, y, z, matchRadius);
+        return match == null ? null : match.ownerPlayerId();
+    }
+
+    @Nullable
+    public DropOwnerMatch match(@Nonnull String worldName, double x, double y, double z, double matchRadius) {
+        WorldSessions sessions = this.sessionsByWorld.get(worldName);
+        if (sessions == null) {
+            return null;
+        }
+
+        double maxDistance = Math.max(0.0D, matchRadius);
+        double maxDistanceSquared = maxDistance * maxDistance;
+        synchronized (sessions) {
+            Session best = null;
+            double bestDistanceSquared = Double.MAX_VALUE;
+            for (int i = sessions.open.size() - 1; i >= 0; i--) {
+                Session session = sessions.open.get(i);
+                double dx = x - session.x();
+                double dy = y - session.y();
+                double dz = z - session.z();
+                double distanceSquared = (dx * dx) + (dy * dy) + (dz * dz);
+                if (distanceSquared <= maxDistanceSquared && distanceSquared < bestDistanceSquared) {
+                    best = session;
+                    bestDistanceSquared = distanceSquared;
+                }
+            }
+            return best == null ? null : new DropOwnerMatch(best.ownerPlayerId(), bestDistanceSquared);
+        }
+    }
+
+    // Called once per world tick: closes sessions opened before the previous boundary.
+    public int endTick(@Nonnull String worldName) {
+        WorldSessions sessions = this.sessionsByWorld.get(worldName);
+        if (sessions == null) {
+            return 0;
+        }
+
+        synchronized (sessions) {
+            long closeBefore = sessions.generation;
+            int before = sessions.open.size();
+            sessions.open.removeIf(session -> session.generation() < closeBefore);
+            sessions.generation++;
+            return before - sessions.open.size();
+        }
+    }
+
+    public int openSessionCount() {
+        int open = 0;
+        for (WorldSessions sessions : this.sessionsByWorld.values()) {
+            synchronized (sessions) {
+                open += sessions.open.size();
+            }
+        }
+        return open;
+    }
+
+    public void clear() {
+        this.sessionsByWorld.clear();
+    }
+
+    private static final class WorldSessions {
+
+        private final List<Session> open = new ArrayList<>(4);
+        private long generation;
+    }
+
+    private record Session(
+            double x,
+            double y,
+            double z,
+            @Nonnull UUID ownerPlayerId,
+            long generation) {
+    }
+}
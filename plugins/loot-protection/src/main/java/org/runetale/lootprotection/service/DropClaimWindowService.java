@@ -3,13 +3,28 @@ package org.runetale.lootprotection.service;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DropClaimWindowService {
 
-    private final List<DropClaimWindow> windows = new CopyOnWriteArrayList<>();
+    static final double DEFAULT_CELL_SIZE = 4.0D;
+
+    private final double cellSize;
+    private final Map<String, WorldWindows> windowsByWorld = new ConcurrentHashMap<>();
+
+    public DropClaimWindowService() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public DropClaimWindowService(double cellSize) {
+        this.cellSize = Math.max(1.0D, cellSize);
+    }
 
     public void openWindow(
             @Nonnull String worldName,
@@ -20,14 +35,19 @@ public class DropClaimWindowService {
             long nowMillis,
             long windowMillis) {
         long duration = Math.max(1L, windowMillis);
-        this.windows.add(new DropClaimWindow(
-                worldName,
+        DropClaimWindow window = new DropClaimWindow(
                 x,
                 y,
                 z,
                 ownerPlayerId,
                 nowMillis,
-                nowMillis + duration));
+                nowMillis + duration,
+                cellKey(cell(x), cell(z)));
+        WorldWindows windows = this.windowsByWorld.computeIfAbsent(worldName, unused -> new WorldWindows());
+        synchronized (windows) {
+            windows.pruneExpired(nowMillis);
+            windows.add(window);
+        }
     }
 
     @Nullable
@@ -38,61 +58,127 @@ public class DropClaimWindowService {
             double z,
             long nowMillis,
             double matchRadius) {
-        pruneExpired(nowMillis);
+        DropOwnerMatch match = matchForDrop(worldName, x, y, z, nowMillis, matchRadius);
+        return match == null ? null : match.ownerPlayerId();
+    }
+
+    @Nullable
+    public DropOwnerMatch matchForDrop(
+            @Nonnull String worldName,
+            double x,
+            double y,
+            double z,
+            long nowMillis,
+            double matchRadius) {
+        WorldWindows windows = this.windowsByWorld.get(worldName);
+        if (windows == null) {
+            return null;
+        }
+
         double maxDistance = Math.max(0.0D, matchRadius);
         double maxDistanceSquared = maxDistance * maxDistance;
+        int minCellX = cell(x - maxDistance);
+        int maxCellX = cell(x + maxDistance);
+        int minCellZ = cell(z - maxDistance);
+        int maxCellZ = cell(z + maxDistance);
 
         DropClaimWindow best = null;
         double bestDistanceSquared = Double.MAX_VALUE;
-        for (DropClaimWindow window : this.windows) {
-            if (!window.worldName().equals(worldName)) {
-                continue;
-            }
-            if (window.expiresAtEpochMillis() < nowMillis) {
-                continue;
-            }
+        synchronized (windows) {
+            windows.pruneExpired(nowMillis);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    List<DropClaimWindow> cell = windows.byCell.get(cellKey(cellX, cellZ));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (DropClaimWindow window : cell) {
+                        double dx = x - window.x();
+                        double dy = y - window.y();
+                        double dz = z - window.z();
+                        double distanceSquared = (dx * dx) + (dy * dy) + (dz * dz);
+                        if (distanceSquared > maxDistanceSquared) {
+                            continue;
+                        }
 
-            double dx = x - window.x();
-            double dy = y - window.y();
-            double dz = z - window.z();
-            double distanceSquared = (dx * dx) + (dy * dy) + (dz * dz);
-            if (distanceSquared > maxDistanceSquared) {
-                continue;
-            }
-
-            if (best == null || distanceSquared < bestDistanceSquared ||
-                    (distanceSquared == bestDistanceSquared && window.createdAtEpochMillis() > best.createdAtEpochMillis())) {
-                best = window;
-                bestDistanceSquared = distanceSquared;
+                        if (best == null || distanceSquared < bestDistanceSquared ||
+                                (distanceSquared == bestDistanceSquared && window.createdAtEpochMillis() > best.createdAtEpochMillis())) {
+                            best = window;
+                            bestDistanceSquared = distanceSquared;
+                        }
+                    }
+                }
             }
         }
 
-        return best == null ? null : best.ownerPlayerId();
+        return best == null ? null : new DropOwnerMatch(best.ownerPlayerId(), bestDistanceSquared);
     }
 
     public void pruneExpired(long nowMillis) {
-        List<DropClaimWindow> expired = new ArrayList<>();
-        for (DropClaimWindow window : this.windows) {
-            if (window.expiresAtEpochMillis() < nowMillis) {
-                expired.add(window);
+        for (WorldWindows windows : this.windowsByWorld.values()) {
+            synchronized (windows) {
+                windows.pruneExpired(nowMillis);
             }
         }
-        if (!expired.isEmpty()) {
-            this.windows.removeAll(expired);
+    }
+
+    public int activeWindowCount() {
+        int active = 0;
+        for (WorldWindows windows : this.windowsByWorld.values()) {
+            synchronized (windows) {
+                active += windows.byDeadline.size();
+            }
         }
+        return active;
     }
 
     public void clear() {
-        this.windows.clear();
+        this.windowsByWorld.clear();
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / this.cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    // Windows bucketed by x/z cell, plus a deadline heap so expiry only touches windows that have
+    // actually expired instead of scanning every open window.
+    private static final class WorldWindows {
+
+        private final Map<Long, List<DropClaimWindow>> byCell = new HashMap<>();
+        private final PriorityQueue<DropClaimWindow> byDeadline =
+                new PriorityQueue<>(Comparator.comparingLong(DropClaimWindow::expiresAtEpochMillis));
+
+        private void add(@Nonnull DropClaimWindow window) {
+            this.byCell.computeIfAbsent(window.cellKey(), unused -> new ArrayList<>(2)).add(window);
+            this.byDeadline.add(window);
+        }
+
+        private void pruneExpired(long nowMillis) {
+            while (!this.byDeadline.isEmpty() && this.byDeadline.peek().expiresAtEpochMillis() < nowMillis) {
+                DropClaimWindow expired = this.byDeadline.poll();
+                List<DropClaimWindow> cell = this.byCell.get(expired.cellKey());
+                if (cell == null) {
+                    continue;
+                }
+                cell.remove(expired);
+                if (cell.isEmpty()) {
+                    this.byCell.remove(expired.cellKey());
+                }
+            }
+        }
     }
 
     private record DropClaimWindow(
-            @Nonnull String worldName,
             double x,
             double y,
             double z,
             @Nonnull UUID ownerPlayerId,
             long createdAtEpochMillis,
-            long expiresAtEpochMillis) {
+            long expiresAtEpochMillis,
+            long cellKey) {
     }
 }
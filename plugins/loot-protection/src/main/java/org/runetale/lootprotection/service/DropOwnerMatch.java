@@ -0,0 +1,22 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+// An attribution candidate for a spawned drop and its squared distance from the drop. Death sessions
+// and drop-claim windows both produce one, so the nearest source wins whichever service it came from.
+public record DropOwnerMatch(@Nonnull UUID ownerPlayerId, double distanceSquared) {
+
+    // Returns the nearer match; the first argument wins ties.
+    @Nullable
+    public static DropOwnerMatch nearest(@Nullable DropOwnerMatch preferred, @Nullable DropOwnerMatch other) {
+        if (preferred == null) {
+            return other;
+        }
+        if (other == null) {
+            return preferred;
+        }
+        return other.distanceSquared() < preferred.distanceSquared() ? other : preferred;
+    }
+}
@@ -0,0 +1,178 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// One small binary file per owner under the escrow root. Writes go to a temp file that is moved
+// into place, so a crash mid-write leaves the previous escrow intact.
+public class LootEscrowStore {
+
+    private static final int MAGIC = 0x4C504531;
+    private static final String FILE_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path escrowRoot;
+
+    public LootEscrowStore(@Nonnull Path escrowRoot) {
+        this.escrowRoot = escrowRoot;
+    }
+
+    // Adds stacks to the owner's escrow, folding identical stacks into one entry. Entries may exceed
+    // the item's max stack; delivery hands them over in max-stack chunks.
+    public synchronized void append(@Nonnull UUID ownerPlayerId, @Nonnull List<EscrowedStack> stacks) throws IOException {
+        if (stacks.isEmpty()) {
+            return;
+        }
+
+        List<EscrowedStack> merged = new ArrayList<>(read(fileFor(ownerPlayerId)));
+        for (EscrowedStack stack : stacks) {
+            if (stack.quantity() <= 0) {
+                continue;
+            }
+            mergeInto(merged, stack);
+        }
+        write(ownerPlayerId, merged);
+    }
+
+    @Nonnull
+    public synchronized List<EscrowedStack> load(@Nonnull UUID ownerPlayerId) throws IOException {
+        return read(fileFor(ownerPlayerId));
+    }
+
+    // Overwrites the owner's escrow; an empty list deletes the file.
+    public synchronized void replace(@Nonnull UUID ownerPlayerId, @Nonnull List<EscrowedStack> stacks) throws IOException {
+        if (stacks.isEmpty()) {
+            Files.deleteIfExists(fileFor(ownerPlayerId));
+            return;
+        }
+        write(ownerPlayerId, stacks);
+    }
+
+    // Lists every owner with an escrow file; read once at startup so joins never probe the disk.
+    @Nonnull
+    public synchronized Set<UUID> escrowedOwners() throws IOException {
+        if (!Files.isDirectory(this.escrowRoot)) {
+            return Set.of();
+        }
+
+        Set<UUID> owners = new HashSet<>();
+        try (Stream<Path> files = Files.list(this.escrowRoot)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(FILE_SUFFIX) || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                try {
+                    owners.add(UUID.fromString(fileName.substring(0, fileName.length() - FILE_SUFFIX.length())));
+                } catch (IllegalArgumentException ignored) {
+                    // Not an owner file; leave it alone.
+                }
+            }
+        }
+        return owners;
+    }
+
+    @Nonnull
+    private Path fileFor(@Nonnull UUID ownerPlayerId) {
+        return this.escrowRoot.resolve(ownerPlayerId + FILE_SUFFIX);
+    }
+
+    private static void mergeInto(@Nonnull List<EscrowedStack> merged, @Nonnull EscrowedStack stack) {
+        for (int i = 0; i < merged.size(); i++) {
+            EscrowedStack existing = merged.get(i);
+            if (existing.isSameItemAs(stack)) {
+                merged.set(i, existing.withQuantity(existing.quantity() + stack.quantity()));
+                return;
+            }
+        }
+        merged.add(stack);
+    }
+
+    @Nonnull
+    private static List<EscrowedStack> read(@Nonnull Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Unrecognised escrow file " + file);
+            }
+            int count = input.readInt();
+            List<EscrowedStack> stacks = new ArrayList<>(Math.max(0, count));
+            for (int i = 0; i < count; i++) {
+                String itemId = input.readUTF();
+                int quantity = input.readInt();
+                double durability = input.readDouble();
+                double maxDurability = input.readDouble();
+                String metadataJson = null;
+                if (input.readBoolean()) {
+                    byte[] metadata = new byte[input.readInt()];
+                    input.readFully(metadata);
+                    metadataJson = new String(metadata, StandardCharsets.UTF_8);
+                }
+                stacks.add(new EscrowedStack(itemId, quantity, durability, maxDurability, metadataJson));
+            }
+            return stacks;
+        }
+    }
+
+    private void write(@Nonnull UUID ownerPlayerId, @Nonnull List<EscrowedStack> stacks) throws IOException {
+        Files.createDirectories(this.escrowRoot);
+        Path file = fileFor(ownerPlayerId);
+        Path temp = this.escrowRoot.resolve(ownerPlayerId + TEMP_SUFFIX);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(stacks.size());
+            for (EscrowedStack stack : stacks) {
+                output.writeUTF(stack.itemId());
+                output.writeInt(stack.quantity());
+                output.writeDouble(stack.durability());
+                output.writeDouble(stack.maxDurability());
+                output.writeBoolean(stack.metadataJson() != null);
+                if (stack.metadataJson() != null) {
+                    byte[] metadata = stack.metadataJson().getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(metadata.length);
+                    output.write(metadata);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public record EscrowedStack(
+            @Nonnull String itemId,
+            int quantity,
+            double durability,
+            double maxDurability,
+            @Nullable String metadataJson) {
+
+        @Nonnull
+        public EscrowedStack withQuantity(int quantity) {
+            return new EscrowedStack(this.itemId, quantity, this.durability, this.maxDurability, this.metadataJson);
+        }
+
+        public boolean isSameItemAs(@Nonnull EscrowedStack other) {
+            return this.itemId.equals(other.itemId)
+                    && Double.compare(this.durability, other.durability) == 0
+                    && Double.compare(this.maxDurability, other.maxDurability) == 0
+                    && Objects.equals(this.metadataJson, other.metadataJson);
+        }
+    }
+}
@@ -74,7 +74,8 @@ public class LootProtectionConfigService {
         LootProtectionConfig.BlockOwnership blockOwnership = new LootProtectionConfig.BlockOwnership(
                 booleanValue(blockOwnershipObject, "enabled", defaultBlockOwnership.enabled()),
                 longValue(blockOwnershipObject, "inactivityResetMillis", defaultBlockOwnership.inactivityResetMillis()),
-                longValue(blockOwnershipObject, "notifyCooldownMillis", defaultBlockOwnership.notifyCooldownMillis()));
+                longValue(blockOwnershipObject, "notifyCooldownMillis", defaultBlockOwnership.notifyCooldownMillis()),
+                intValue(blockOwnershipObject, "maxClaimsPerWorld", defaultBlockOwnership.maxClaimsPerWorld()));
 
         JsonObject dropClaimObject = objectValue(root, "dropClaim");
         LootProtectionConfig.DropClaim defaultDropClaim = defaults.dropClaim();
@@ -91,13 +92,20 @@ public class LootProtectionConfigService {
                 longValue(ownerLockObject, "inventoryFullNotifyCooldownMillis",
                         defaultOwnerLock.inventoryFullNotifyCooldownMillis()));
 
+        JsonObject escrowObject = objectValue(root, "escrow");
+        LootProtectionConfig.Escrow defaultEscrow = defaults.escrow();
+        LootProtectionConfig.Escrow escrow = new LootProtectionConfig.Escrow(
+                booleanValue(escrowObject, "enabled", defaultEscrow.enabled()),
+                longValue(escrowObject, "offlineGraceMillis", defaultEscrow.offlineGraceMillis()));
+
         return new LootProtectionConfig(
                 enabled,
                 protectBlockBreakDrops,
                 protectKillDrops,
                 blockOwnership,
                 dropClaim,
-                ownerLock);
+                ownerLock,
+                escrow);
     }
 
     @Nullable
@@ -163,6 +171,21 @@ public class LootProtectionConfigService {
         }
     }
 
+    private static int intValue(@Nullable JsonObject object, @Nonnull String key, int fallback) {
+        if (object == null) {
+            return fallback;
+        }
+        JsonElement element = object.get(key);
+        if (element == null || element.isJsonNull() || !element.isJsonPrimitive()) {
+            return fallback;
+        }
+        try {
+            return element.getAsInt();
+        } catch (Exception ignored) {
+            return fallback;
+        }
+    }
+
     private static double doubleValue(@Nullable JsonObject object, @Nonnull String key, double fallback) {
         if (object == null) {
             return fallback;
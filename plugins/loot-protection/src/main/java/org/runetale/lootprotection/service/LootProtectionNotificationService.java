@@ -8,9 +8,6 @@ import com.hypixel.hytale.server.core.util.NotificationUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
 
 public class LootProtectionNotificationService {
@@ -24,8 +21,8 @@ public class LootProtectionNotificationService {
 
     private final LongSupplier blockOwnershipNotifyCooldownSupplier;
     private final LongSupplier inventoryFullNotifyCooldownSupplier;
-    private final Map<UUID, Long> lastBlockNoticeAtByPlayer = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> lastInventoryFullNoticeAtByPlayer = new ConcurrentHashMap<>();
+    private final NoticeThrottle blockNoticeThrottle = new NoticeThrottle();
+    private final NoticeThrottle inventoryFullNoticeThrottle = new NoticeThrottle();
 
     public LootProtectionNotificationService(
             @Nonnull LongSupplier blockOwnershipNotifyCooldownSupplier,
@@ -37,7 +34,7 @@ public class LootProtectionNotificationService {
     public void sendContestedBlockNotice(@Nullable PlayerRef playerRef) {
         sendNotice(
                 playerRef,
-                this.lastBlockNoticeAtByPlayer,
+                this.blockNoticeThrottle,
                 this.blockOwnershipNotifyCooldownSupplier,
                 CONTESTED_BLOCK_TEXT,
                 NotificationStyle.Warning);
@@ -46,7 +43,7 @@ public class LootProtectionNotificationService {
     public void sendInventoryFullNotice(@Nullable PlayerRef playerRef) {
         sendNotice(
                 playerRef,
-                this.lastInventoryFullNoticeAtByPlayer,
+                this.inventoryFullNoticeThrottle,
                 this.inventoryFullNotifyCooldownSupplier,
                 INVENTORY_FULL_TEXT,
                 NotificationStyle.Default);
@@ -54,11 +51,11 @@ public class LootProtectionNotificationService {
 
     private void sendNotice(
             @Nullable PlayerRef playerRef,
-            @Nonnull Map<UUID, Long> lastNoticeAtByPlayer,
+            @Nonnull NoticeThrottle throttle,
             @Nonnull LongSupplier cooldownMillisSupplier,
             @Nonnull String text,
             @Nonnull NotificationStyle style) {
-        if (playerRef == null || isCoolingDown(playerRef, lastNoticeAtByPlayer, cooldownMillisSupplier)) {
+        if (playerRef == null || isCoolingDown(playerRef, throttle, cooldownMillisSupplier)) {
             return;
         }
 
@@ -72,21 +69,14 @@ public class LootProtectionNotificationService {
 
     private static boolean isCoolingDown(
             @Nonnull PlayerRef playerRef,
-            @Nonnull Map<UUID, Long> lastNoticeAtByPlayer,
+            @Nonnull NoticeThrottle throttle,
             @Nonnull LongSupplier cooldownMillisSupplier) {
-        long now = System.currentTimeMillis();
-        UUID playerId = playerRef.getUuid();
-        Long lastNotifiedAt = lastNoticeAtByPlayer.get(playerId);
         long cooldownMillis = Math.max(100L, cooldownMillisSupplier.getAsLong());
-        if (lastNotifiedAt != null && now - lastNotifiedAt < cooldownMillis) {
-            return true;
-        }
-        lastNoticeAtByPlayer.put(playerId, now);
-        return false;
+        return !throttle.tryAcquire(playerRef.getUuid(), System.currentTimeMillis(), cooldownMillis);
     }
 
     public void clear() {
-        this.lastBlockNoticeAtByPlayer.clear();
-        this.lastInventoryFullNoticeAtByPlayer.clear();
+        this.blockNoticeThrottle.clear();
+        this.inventoryFullNoticeThrottle.clear();
     }
 }
@@ -0,0 +1,23 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+
+final class LootStackMerge {
+
+    private LootStackMerge() {
+    }
+
+    // Splits a delivered quantity over the merged source stacks in order and returns what is left
+    // in each source; earlier sources are emptied first so partial fits touch at most one entity.
+    @Nonnull
+    static int[] remainingAfterDelivery(@Nonnull int[] quantities, int deliveredQuantity) {
+        int[] remaining = new int[quantities.length];
+        int left = Math.max(0, deliveredQuantity);
+        for (int i = 0; i < quantities.length; i++) {
+            int taken = Math.min(quantities[i], left);
+            remaining[i] = quantities[i] - taken;
+            left -= taken;
+        }
+        return remaining;
+    }
+}
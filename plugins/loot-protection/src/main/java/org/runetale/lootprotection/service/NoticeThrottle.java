@@ -0,0 +1,78 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Fixed-size per-player cooldown table backed by primitive arrays. Players hash to a short probe
+// run; when every probed slot is taken by someone else the stalest one is reused, so memory never
+// grows and the worst case is one notice sent early to a player who was evicted.
+final class NoticeThrottle {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int PROBE_LENGTH = 4;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+    private final long[] lastNoticeAtMillis;
+    private final int mask;
+
+    NoticeThrottle() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    NoticeThrottle(int capacity) {
+        int size = Integer.highestOneBit((Math.max(PROBE_LENGTH, capacity) - 1) << 1);
+        this.mostSigBits = new long[size];
+        this.leastSigBits = new long[size];
+        this.lastNoticeAtMillis = new long[size];
+        this.mask = size - 1;
+        Arrays.fill(this.lastNoticeAtMillis, EMPTY);
+    }
+
+    // Returns true and records the notice when the player is outside the cooldown.
+    synchronized boolean tryAcquire(@Nonnull UUID playerId, long nowMillis, long cooldownMillis) {
+        long most = playerId.getMostSignificantBits();
+        long least = playerId.getLeastSignificantBits();
+        int start = slotOf(most, least);
+
+        int target = -1;
+        long stalest = Long.MAX_VALUE;
+        for (int probe = 0; probe < PROBE_LENGTH; probe++) {
+            int slot = (start + probe) & this.mask;
+            long last = this.lastNoticeAtMillis[slot];
+            if (last != EMPTY && this.mostSigBits[slot] == most && this.leastSigBits[slot] == least) {
+                if (nowMillis - last < cooldownMillis) {
+                    return false;
+                }
+                this.lastNoticeAtMillis[slot] = nowMillis;
+                return true;
+            }
+            if (last < stalest) {
+                stalest = last;
+                target = slot;
+            }
+        }
+
+        this.mostSigBits[target] = most;
+        this.leastSigBits[target] = least;
+        this.lastNoticeAtMillis[target] = nowMillis;
+        return true;
+    }
+
+    synchronized void clear() {
+        Arrays.fill(this.lastNoticeAtMillis, EMPTY);
+    }
+
+    int capacity() {
+        return this.lastNoticeAtMillis.length;
+    }
+
+    private int slotOf(long most, long least) {
+        long hash = most ^ least;
+        int folded = (int) (hash ^ (hash >>> 32));
+        return (folded ^ (folded >>> 16)) & this.mask;
+    }
+}
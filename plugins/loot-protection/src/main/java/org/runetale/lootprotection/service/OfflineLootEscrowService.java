@@ -0,0 +1,295 @@
+package org.runetale.lootprotection.service;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.bson.BsonDocument;
+import org.runetale.lootprotection.component.OwnedLootComponent;
+import org.runetale.lootprotection.config.LootProtectionConfig;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+// Moves protected drops of owners who stay offline past the grace period out of the world and into
+// the escrow store, and hands them back in one batch once the owner is ticking again. Entities are
+// read and removed together on the world thread, so only loot that has actually left the world is
+// queued for escrow; the queue is written on the IO executor and flushed once more at shutdown.
+public class OfflineLootEscrowService {
+
+    private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000L;
+
+    private final LootProtectionConfig config;
+    private final LootEscrowStore escrowStore;
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private final OnlinePlayerLookupService onlinePlayerLookupService;
+    private final OwnedLootDeliveryService ownedLootDeliveryService;
+    private final Executor ioExecutor;
+    private final Map<String, Long> nextSweepAtByWorld = new ConcurrentHashMap<>();
+    private final Set<UUID> ownersWithEscrow = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingRelease = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> releasing = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, List<LootEscrowStore.EscrowedStack>> loadedForRelease = new ConcurrentHashMap<>();
+    private final Map<UUID, List<LootEscrowStore.EscrowedStack>> pendingEscrow = new ConcurrentHashMap<>();
+
+    public OfflineLootEscrowService(
+            @Nonnull LootProtectionConfig config,
+            @Nonnull LootEscrowStore escrowStore,
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
+            @Nonnull OnlinePlayerLookupService onlinePlayerLookupService,
+            @Nonnull OwnedLootDeliveryService ownedLootDeliveryService,
+            @Nonnull Executor ioExecutor) {
+        this.config = config;
+        this.escrowStore = escrowStore;
+        this.ownedLootIndexService = ownedLootIndexService;
+        this.onlinePlayerLookupService = onlinePlayerLookupService;
+        this.ownedLootDeliveryService = ownedLootDeliveryService;
+        this.ioExecutor = ioExecutor;
+    }
+
+    // Reads the owners with escrow once at startup; joins and wake-ups only check the in-memory set.
+    public void loadEscrowedOwners() {
+        try {
+            this.ownersWithEscrow.addAll(this.escrowStore.escrowedOwners());
+        } catch (IOException e) {
+            LOGGER.atWarning().withCause(e).log("[LootProtection] Failed listing escrowed owners");
+        }
+    }
+
+    public void onOwnerJoined(@Nonnull UUID ownerPlayerId) {
+        wake(ownerPlayerId);
+    }
+
+    public void wake(@Nonnull UUID ownerPlayerId) {
+        if (this.ownersWithEscrow.contains(ownerPlayerId)) {
+            this.pendingRelease.add(ownerPlayerId);
+        }
+    }
+
+    public boolean hasPendingRelease(@Nonnull UUID ownerPlayerId) {
+        return this.pendingRelease.contains(ownerPlayerId) || this.loadedForRelease.containsKey(ownerPlayerId);
+    }
+
+    public void sweepOfflineOwners(
+            @Nonnull String worldName,
+            @Nonnull ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull Executor worldThread,
+            long nowMillis) {
+        if (!this.config.enabled() || !this.config.ownerLock().enabled() || !this.config.escrow().enabled()) {
+            return;
+        }
+        Long nextSweepAt = this.nextSweepAtByWorld.get(worldName);
+        if (nextSweepAt != null && nowMillis < nextSweepAt) {
+            return;
+        }
+        this.nextSweepAtByWorld.put(worldName, nowMillis + SWEEP_INTERVAL_MILLIS);
+
+        long graceMillis = this.config.escrow().offlineGraceMillis();
+        for (UUID ownerPlayerId : this.ownedLootIndexService.ownersSnapshot()) {
+            if (this.releasing.contains(ownerPlayerId)) {
+                continue;
+            }
+            if (this.onlinePlayerLookupService.offlineForMillis(ownerPlayerId, nowMillis) >= graceMillis) {
+                worldThread.execute(() -> escrowOwner(ownerPlayerId, worldName, ownedLootComponentType, store, nowMillis));
+            }
+        }
+    }
+
+    // Called from the owner's tick. The first call queues a load on the IO executor; once the load
+    // has landed, the next call gives the stacks to the owner and queues a write of what did not fit.
+    // The file is rewritten after delivery so a failure in between can duplicate loot but never lose
+    // it, and the owner counts as released only once that write has completed.
+    public void release(
+            @Nonnull UUID ownerPlayerId,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        List<LootEscrowStore.EscrowedStack> escrowed = this.loadedForRelease.remove(ownerPlayerId);
+        if (escrowed == null) {
+            if (this.pendingRelease.contains(ownerPlayerId) && this.releasing.add(ownerPlayerId)) {
+                this.pendingRelease.remove(ownerPlayerId);
+                this.ioExecutor.execute(() -> loadForRelease(ownerPlayerId));
+            }
+            return;
+        }
+
+        List<ItemStack> stacks = new ArrayList<>(escrowed.size());
+        for (LootEscrowStore.EscrowedStack stack : escrowed) {
+            stacks.add(toItemStack(stack));
+        }
+        List<ItemStack> remainders = this.ownedLootDeliveryService.giveStacks(
+                stacks,
+                ownerPlayerId,
+                store,
+                commandBuffer,
+                true);
+
+        List<LootEscrowStore.EscrowedStack> kept = new ArrayList<>(remainders.size());
+        for (ItemStack remainder : remainders) {
+            kept.add(toEscrowedStack(remainder));
+        }
+        int delivered = escrowed.size() - kept.size();
+        this.ioExecutor.execute(() -> finishRelease(ownerPlayerId, kept, delivered));
+    }
+
+    public void clear() {
+        this.nextSweepAtByWorld.clear();
+        this.ownersWithEscrow.clear();
+        this.pendingRelease.clear();
+        this.releasing.clear();
+        this.loadedForRelease.clear();
+        this.pendingEscrow.clear();
+    }
+
+    // Writes every queued escrow append on the calling thread. Called at shutdown after the IO
+    // executor has drained, so loot already removed from the world is never left only in memory.
+    public void flushPendingEscrow() {
+        for (UUID ownerPlayerId : List.copyOf(this.pendingEscrow.keySet())) {
+            flushPendingEscrow(ownerPlayerId);
+        }
+    }
+
+    private void loadForRelease(@Nonnull UUID ownerPlayerId) {
+        flushPendingEscrow(ownerPlayerId);
+        List<LootEscrowStore.EscrowedStack> escrowed;
+        try {
+            escrowed = this.escrowStore.load(ownerPlayerId);
+        } catch (IOException e) {
+            LOGGER.atWarning().withCause(e).log("[LootProtection] Failed reading escrow owner=%s", ownerPlayerId);
+            this.releasing.remove(ownerPlayerId);
+            return;
+        }
+        if (escrowed.isEmpty()) {
+            if (!this.pendingEscrow.containsKey(ownerPlayerId)) {
+                this.ownersWithEscrow.remove(ownerPlayerId);
+            }
+            this.releasing.remove(ownerPlayerId);
+            return;
+        }
+        this.loadedForRelease.put(ownerPlayerId, escrowed);
+    }
+
+    private void finishRelease(
+            @Nonnull UUID ownerPlayerId,
+            @Nonnull List<LootEscrowStore.EscrowedStack> kept,
+            int delivered) {
+        try {
+            this.escrowStore.replace(ownerPlayerId, kept);
+            if (kept.isEmpty() && !this.pendingEscrow.containsKey(ownerPlayerId)) {
+                this.ownersWithEscrow.remove(ownerPlayerId);
+            }
+        } catch (IOException e) {
+            LOGGER.atSevere().withCause(e).log(
+                    "[LootProtection] Failed updating escrow owner=%s delivered=%d kept=%d",
+                    ownerPlayerId,
+                    delivered,
+                    kept.size());
+        } finally {
+            this.releasing.remove(ownerPlayerId);
+        }
+    }
+
+    // Runs on the world thread. Stacks are read from the entities in the same step that removes
+    // them, so loot that was delivered, merged or unlocked since the sweep is never escrowed as well.
+    private void escrowOwner(
+            @Nonnull UUID ownerPlayerId,
+            @Nonnull String worldName,
+            @Nonnull ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType,
+            @Nonnull Store<EntityStore> store,
+            long nowMillis) {
+        if (this.onlinePlayerLookupService.getIfOnline(ownerPlayerId) != null) {
+            return;
+        }
+
+        List<LootEscrowStore.EscrowedStack> stacks = new ArrayList<>();
+        for (Ref<EntityStore> itemRef : this.ownedLootIndexService.itemsOf(ownerPlayerId, worldName)) {
+            if (!itemRef.isValid()) {
+                this.ownedLootIndexService.untrack(itemRef);
+                continue;
+            }
+            OwnedLootComponent ownedLootComponent = store.getComponent(itemRef, ownedLootComponentType);
+            ItemComponent itemComponent = store.getComponent(itemRef, ItemComponent.getComponentType());
+            if (ownedLootComponent == null
+                    || itemComponent == null
+                    || !ownedLootComponent.isOwnedBy(ownerPlayerId)
+                    || nowMillis >= ownedLootComponent.getPublicUnlockAtEpochMillis()) {
+                continue;
+            }
+            ItemStack stack = itemComponent.getItemStack();
+            if (ItemStack.isEmpty(stack)) {
+                continue;
+            }
+            stacks.add(toEscrowedStack(stack));
+            this.ownedLootIndexService.untrack(itemRef);
+            store.removeEntity(itemRef, RemoveReason.REMOVE);
+        }
+        if (stacks.isEmpty()) {
+            return;
+        }
+
+        this.pendingEscrow.merge(ownerPlayerId, stacks, OfflineLootEscrowService::concat);
+        this.ownersWithEscrow.add(ownerPlayerId);
+        this.ioExecutor.execute(() -> flushPendingEscrow(ownerPlayerId));
+    }
+
+    // Appends the owner's queued stacks; on failure they go back on the queue for the next flush.
+    private void flushPendingEscrow(@Nonnull UUID ownerPlayerId) {
+        List<LootEscrowStore.EscrowedStack> stacks = this.pendingEscrow.remove(ownerPlayerId);
+        if (stacks == null) {
+            return;
+        }
+        try {
+            this.escrowStore.append(ownerPlayerId, stacks);
+        } catch (IOException e) {
+            LOGGER.atSevere().withCause(e).log(
+                    "[LootProtection] Failed escrowing %d stacks owner=%s; keeping them queued",
+                    stacks.size(),
+                    ownerPlayerId);
+            this.pendingEscrow.merge(ownerPlayerId, stacks, OfflineLootEscrowService::concat);
+        }
+    }
+
+    @Nonnull
+    private static List<LootEscrowStore.EscrowedStack> concat(
+            @Nonnull List<LootEscrowStore.EscrowedStack> first,
+            @Nonnull List<LootEscrowStore.EscrowedStack> second) {
+        List<LootEscrowStore.EscrowedStack> combined = new ArrayList<>(first.size() + second.size());
+        combined.addAll(first);
+        combined.addAll(second);
+        return combined;
+    }
+
+    @Nonnull
+    private static LootEscrowStore.EscrowedStack toEscrowedStack(@Nonnull ItemStack stack) {
+        BsonDocument metadata = stack.getMetadata();
+        return new LootEscrowStore.EscrowedStack(
+                stack.getItemId(),
+                stack.getQuantity(),
+                stack.getDurability(),
+                stack.getMaxDurability(),
+                metadata == null ? null : metadata.toJson());
+    }
+
+    @Nonnull
+    private static ItemStack toItemStack(@Nonnull LootEscrowStore.EscrowedStack stack) {
+        return new ItemStack(
+                stack.itemId(),
+                stack.quantity(),
+                stack.durability(),
+                stack.maxDurability(),
+                stack.metadataJson() == null ? null : BsonDocument.parse(stack.metadataJson()));
+    }
+}
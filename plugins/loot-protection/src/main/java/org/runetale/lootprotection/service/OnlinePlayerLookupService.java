@@ -12,9 +12,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public class OnlinePlayerLookupService {
 
     private final Map<UUID, Ref<EntityStore>> playerRefById = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> offlineSinceById = new ConcurrentHashMap<>();
 
     public void put(@Nonnull UUID playerId, @Nonnull Ref<EntityStore> playerRef) {
         this.playerRefById.put(playerId, playerRef);
+        this.offlineSinceById.remove(playerId);
     }
 
     @Nullable
@@ -31,10 +33,23 @@ public class OnlinePlayerLookupService {
     }
 
     public void remove(@Nonnull UUID playerId, @Nonnull Ref<EntityStore> playerRef) {
-        this.playerRefById.remove(playerId, playerRef);
+        if (this.playerRefById.remove(playerId, playerRef)) {
+            this.offlineSinceById.put(playerId, System.currentTimeMillis());
+        }
+    }
+
+    // How long the player has been offline, or -1 while online. A player who has not been seen
+    // since startup counts as offline from the first time they are asked about.
+    public long offlineForMillis(@Nonnull UUID playerId, long nowMillis) {
+        if (getIfOnline(playerId) != null) {
+            return -1L;
+        }
+        long offlineSince = this.offlineSinceById.computeIfAbsent(playerId, unused -> nowMillis);
+        return Math.max(0L, nowMillis - offlineSince);
     }
 
     public void clear() {
         this.playerRefById.clear();
+        this.offlineSinceById.clear();
     }
 }
@@ -13,6 +13,8 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public class OwnedLootDeliveryService {
@@ -27,10 +29,12 @@ public class OwnedLootDeliveryService {
         this.notificationService = notificationService;
     }
 
+    // Delivers all of an owner's deliverable items at once. Identical stacks are merged so each
+    // distinct item type costs one giveItem call; whatever does not fit is written back to the
+    // source entities in order, and fully delivered entities are removed together.
     @Nonnull
-    public DeliveryResult attemptDeliver(
-            @Nonnull Ref<EntityStore> itemRef,
-            @Nonnull ItemComponent itemComponent,
+    public DeliveryResult deliverBatch(
+            @Nonnull List<Ref<EntityStore>> itemRefs,
             @Nonnull UUID ownerPlayerId,
             @Nonnull Store<EntityStore> store,
             @Nonnull CommandBuffer<EntityStore> commandBuffer,
@@ -48,27 +52,56 @@ public class OwnedLootDeliveryService {
             return DeliveryResult.OWNER_OFFLINE;
         }
 
-        ItemStack sourceStack = itemComponent.getItemStack();
-        if (ItemStack.isEmpty(sourceStack)) {
-            commandBuffer.removeEntity(itemRef, RemoveReason.REMOVE);
-            return DeliveryResult.DELIVERED_ALL;
+        List<Ref<EntityStore>> delivered = new ArrayList<>();
+        List<MergedStack> mergedStacks = new ArrayList<>();
+        for (Ref<EntityStore> itemRef : itemRefs) {
+            ItemComponent itemComponent = store.getComponent(itemRef, ItemComponent.getComponentType());
+            if (itemComponent == null) {
+                continue;
+            }
+            ItemStack stack = itemComponent.getItemStack();
+            if (ItemStack.isEmpty(stack)) {
+                delivered.add(itemRef);
+                continue;
+            }
+            mergedStackFor(mergedStacks, stack).add(itemRef, itemComponent, stack);
         }
 
-        int sourceQuantity = sourceStack.getQuantity();
-        ItemStackTransaction transaction = ownerPlayer.giveItem(sourceStack, ownerRef, commandBuffer);
-        ItemStack remainder = transaction.getRemainder();
+        int deliveredQuantity = 0;
+        boolean anyRemainder = false;
+        for (MergedStack merged : mergedStacks) {
+            ItemStackTransaction transaction = ownerPlayer.giveItem(
+                    merged.template().withQuantity(merged.totalQuantity()),
+                    ownerRef,
+                    commandBuffer);
+            ItemStack remainder = transaction.getRemainder();
+            int remainderQuantity = ItemStack.isEmpty(remainder) ? 0 : remainder.getQuantity();
+            int[] remaining = LootStackMerge.remainingAfterDelivery(
+                    merged.quantities(),
+                    merged.totalQuantity() - remainderQuantity);
+            for (int i = 0; i < remaining.length; i++) {
+                MergedStack.Source source = merged.sources().get(i);
+                if (remaining[i] == 0) {
+                    source.itemComponent().setRemovedByPlayerPickup(true);
+                    delivered.add(source.itemRef());
+                } else if (remaining[i] != source.stack().getQuantity()) {
+                    source.itemComponent().setItemStack(source.stack().withQuantity(remaining[i]));
+                }
+            }
+            deliveredQuantity += merged.totalQuantity() - remainderQuantity;
+            anyRemainder |= remainderQuantity > 0;
+        }
 
-        if (ItemStack.isEmpty(remainder)) {
-            itemComponent.setRemovedByPlayerPickup(true);
+        for (Ref<EntityStore> itemRef : delivered) {
             commandBuffer.removeEntity(itemRef, RemoveReason.REMOVE);
-            return DeliveryResult.DELIVERED_ALL;
         }
 
-        itemComponent.setItemStack(remainder);
-        if (remainder.getQuantity() < sourceQuantity) {
+        if (!anyRemainder) {
+            return DeliveryResult.DELIVERED_ALL;
+        }
+        if (deliveredQuantity > 0) {
             return DeliveryResult.DELIVERED_PARTIAL;
         }
-
         if (notifyIfInventoryFull) {
             PlayerRef ownerPlayerRef = getPlayerRef(ownerRef, store, commandBuffer);
             this.notificationService.sendInventoryFullNotice(ownerPlayerRef);
@@ -76,6 +109,64 @@ public class OwnedLootDeliveryService {
         return DeliveryResult.INVENTORY_FULL;
     }
 
+    // Gives loose stacks (escrowed loot) to an online owner and returns whatever did not fit. Escrow
+    // merges identical drops past the item's max stack, so each stack is handed over in max-stack
+    // chunks. When the owner is not online every stack comes back unchanged.
+    @Nonnull
+    public List<ItemStack> giveStacks(
+            @Nonnull List<ItemStack> stacks,
+            @Nonnull UUID ownerPlayerId,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> commandBuffer,
+            boolean notifyIfInventoryFull) {
+        Ref<EntityStore> ownerRef = this.onlinePlayerLookupService.getIfOnline(ownerPlayerId);
+        Player ownerPlayer = null;
+        if (ownerRef != null) {
+            ownerPlayer = commandBuffer.getComponent(ownerRef, Player.getComponentType());
+            if (ownerPlayer == null) {
+                ownerPlayer = store.getComponent(ownerRef, Player.getComponentType());
+            }
+        }
+        if (ownerPlayer == null) {
+            return stacks;
+        }
+
+        List<ItemStack> remainders = new ArrayList<>();
+        for (ItemStack stack : stacks) {
+            if (ItemStack.isEmpty(stack)) {
+                continue;
+            }
+            int maxStack = Math.max(1, stack.getItem().getMaxStack());
+            int left = stack.getQuantity();
+            while (left > 0) {
+                int chunk = Math.min(left, maxStack);
+                left -= chunk;
+                ItemStack remainder = ownerPlayer.giveItem(stack.withQuantity(chunk), ownerRef, commandBuffer).getRemainder();
+                if (!ItemStack.isEmpty(remainder)) {
+                    remainders.add(remainder.withQuantity(remainder.getQuantity() + left));
+                    break;
+                }
+            }
+        }
+
+        if (!remainders.isEmpty() && notifyIfInventoryFull) {
+            this.notificationService.sendInventoryFullNotice(getPlayerRef(ownerRef, store, commandBuffer));
+        }
+        return remainders;
+    }
+
+    @Nonnull
+    private static MergedStack mergedStackFor(@Nonnull List<MergedStack> mergedStacks, @Nonnull ItemStack stack) {
+        for (MergedStack merged : mergedStacks) {
+            if (merged.template().isStackableWith(stack)) {
+                return merged;
+            }
+        }
+        MergedStack created = new MergedStack(stack, new ArrayList<>());
+        mergedStacks.add(created);
+        return created;
+    }
+
     @Nullable
     private static PlayerRef getPlayerRef(
             @Nonnull Ref<EntityStore> ownerRef,
@@ -88,6 +179,36 @@ public class OwnedLootDeliveryService {
         return playerRef;
     }
 
+    private record MergedStack(@Nonnull ItemStack template, @Nonnull List<Source> sources) {
+
+        private void add(@Nonnull Ref<EntityStore> itemRef, @Nonnull ItemComponent itemComponent, @Nonnull ItemStack stack) {
+            this.sources.add(new Source(itemRef, itemComponent, stack));
+        }
+
+        private int totalQuantity() {
+            int total = 0;
+            for (Source source : this.sources) {
+                total += source.stack().getQuantity();
+            }
+            return total;
+        }
+
+        @Nonnull
+        private int[] quantities() {
+            int[] quantities = new int[this.sources.size()];
+            for (int i = 0; i < quantities.length; i++) {
+                quantities[i] = this.sources.get(i).stack().getQuantity();
+            }
+            return quantities;
+        }
+
+        private record Source(
+                @Nonnull Ref<EntityStore> itemRef,
+                @Nonnull ItemComponent itemComponent,
+                @Nonnull ItemStack stack) {
+        }
+    }
+
     public enum DeliveryResult {
         DELIVERED_ALL,
         DELIVERED_PARTIAL,
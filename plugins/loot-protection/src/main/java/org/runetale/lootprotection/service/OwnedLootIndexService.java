@@ -0,0 +1,251 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class OwnedLootIndexService<R> {
+
+    private static final int CHUNK_SHIFT = 5;
+    private static final long NO_CHUNK = Long.MIN_VALUE;
+
+    private final Map<R, Entry<R>> entriesByRef = new HashMap<>();
+    private final Map<UUID, OwnerState<R>> ownersById = new HashMap<>();
+    private final Map<String, UnlockDeadlineWheel<R>> unlocksByWorld = new HashMap<>();
+
+    public synchronized void track(
+            @Nonnull String worldName,
+            @Nonnull UUID ownerId,
+            @Nonnull R ref,
+            long unlockAtMillis,
+            double x,
+            double y,
+            double z) {
+        Entry<R> previous = this.entriesByRef.remove(ref);
+        if (previous != null) {
+            detach(previous);
+        }
+
+        Entry<R> entry = new Entry<>(worldName, ownerId, ref, unlockAtMillis, x, y, z);
+        this.entriesByRef.put(ref, entry);
+        this.ownersById.computeIfAbsent(ownerId, unused -> new OwnerState<>()).items.put(ref, entry);
+        this.unlocksByWorld
+                .computeIfAbsent(worldName, unused -> new UnlockDeadlineWheel<>())
+                .schedule(ref, unlockAtMillis);
+    }
+
+    public synchronized void untrack(@Nonnull R ref) {
+        Entry<R> removed = this.entriesByRef.remove(ref);
+        if (removed != null) {
+            detach(removed);
+        }
+    }
+
+    // Removes and returns every item in the world whose protection has lapsed.
+    @Nonnull
+    public synchronized List<R> pollDueUnlocks(@Nonnull String worldName, long nowMillis) {
+        UnlockDeadlineWheel<R> unlocks = this.unlocksByWorld.get(worldName);
+        if (unlocks == null) {
+            return List.of();
+        }
+
+        List<R> due = unlocks.pollDue(nowMillis);
+        for (R ref : due) {
+            Entry<R> entry = this.entriesByRef.remove(ref);
+            if (entry != null) {
+                detachOwner(entry);
+            }
+        }
+        return due;
+    }
+
+    public synchronized void wakeOwner(@Nonnull UUID ownerId) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner != null) {
+            owner.awake = true;
+        }
+    }
+
+    // Wakes the owner and skips the retry interval, for loot that has never had a delivery attempt.
+    public synchronized void wakeOwnerImmediately(@Nonnull UUID ownerId) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner != null) {
+            owner.awake = true;
+            owner.nextAttemptAtMillis = Long.MIN_VALUE;
+        }
+    }
+
+    // Wakes the owner when any of their tracked items lies within radius of the given position.
+    public synchronized boolean wakeOwnerIfNear(@Nonnull UUID ownerId, @Nonnull String worldName, double x, double y, double z, double radius) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner == null) {
+            return false;
+        }
+
+        double radiusSquared = radius * radius;
+        for (Entry<R> entry : owner.items.values()) {
+            if (!entry.worldName().equals(worldName)) {
+                continue;
+            }
+            double dx = entry.x() - x;
+            double dy = entry.y() - y;
+            double dz = entry.z() - z;
+            if ((dx * dx) + (dy * dy) + (dz * dz) <= radiusSquared) {
+                owner.awake = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Runs the proximity check only when the owner has entered a new chunk since the last check, so
+    // an owner standing still near their loot costs one comparison per tick.
+    public synchronized boolean wakeOwnerOnChunkChange(
+            @Nonnull UUID ownerId,
+            @Nonnull String worldName,
+            double x,
+            double y,
+            double z,
+            double radius) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner == null) {
+            return false;
+        }
+        long chunkKey = (((long) ((int) Math.floor(x) >> CHUNK_SHIFT)) << 32)
+                | (((int) Math.floor(z) >> CHUNK_SHIFT) & 0xFFFFFFFFL);
+        if (owner.lastWakeChunkKey == chunkKey) {
+            return false;
+        }
+        owner.lastWakeChunkKey = chunkKey;
+        return wakeOwnerIfNear(ownerId, worldName, x, y, z, radius);
+    }
+
+    // Called when the owner disconnects so the first tick after they return checks proximity again.
+    public synchronized void forgetOwnerPosition(@Nonnull UUID ownerId) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner != null) {
+            owner.lastWakeChunkKey = NO_CHUNK;
+        }
+    }
+
+    // Returns the owner's items in the world if a wake-up is pending and the retry interval has
+    // passed since the last attempt; the wake-up is consumed. A wake-up that arrives inside the
+    // retry interval is kept until the interval lapses.
+    @Nonnull
+    public synchronized List<R> claimDeliveryAttempt(
+            @Nonnull UUID ownerId,
+            @Nonnull String worldName,
+            long nowMillis,
+            long retryIntervalMillis) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner == null || !owner.awake || nowMillis < owner.nextAttemptAtMillis) {
+            return List.of();
+        }
+
+        owner.awake = false;
+        owner.nextAttemptAtMillis = nowMillis + Math.max(0L, retryIntervalMillis);
+        List<R> items = new ArrayList<>(owner.items.size());
+        for (Entry<R> entry : owner.items.values()) {
+            if (entry.worldName().equals(worldName)) {
+                items.add(entry.ref());
+            }
+        }
+        return items;
+    }
+
+    @Nonnull
+    public synchronized List<UUID> ownersSnapshot() {
+        return new ArrayList<>(this.ownersById.keySet());
+    }
+
+    // The owner's tracked items in the world, without touching wake-up or retry state.
+    @Nonnull
+    public synchronized List<R> itemsOf(@Nonnull UUID ownerId, @Nonnull String worldName) {
+        OwnerState<R> owner = this.ownersById.get(ownerId);
+        if (owner == null) {
+            return List.of();
+        }
+        List<R> items = new ArrayList<>(owner.items.size());
+        for (Entry<R> entry : owner.items.values()) {
+            if (entry.worldName().equals(worldName)) {
+                items.add(entry.ref());
+            }
+        }
+        return items;
+    }
+
+    public synchronized boolean hasPendingItems(@Nonnull UUID ownerId) {
+        return this.ownersById.containsKey(ownerId);
+    }
+
+    @Nullable
+    public synchronized UUID ownerOf(@Nonnull R ref) {
+        Entry<R> entry = this.entriesByRef.get(ref);
+        return entry == null ? null : entry.ownerId();
+    }
+
+    public synchronized int trackedCount() {
+        return this.entriesByRef.size();
+    }
+
+    public synchronized int scheduledUnlockCount() {
+        int scheduled = 0;
+        for (UnlockDeadlineWheel<R> unlocks : this.unlocksByWorld.values()) {
+            scheduled += unlocks.size();
+        }
+        return scheduled;
+    }
+
+    public synchronized int ownerCount() {
+        return this.ownersById.size();
+    }
+
+    public synchronized void clear() {
+        this.entriesByRef.clear();
+        this.ownersById.clear();
+        this.unlocksByWorld.clear();
+    }
+
+    // Pickup, despawn and delivery all end in untrack, which cancels the wheel entry outright.
+    private void detach(@Nonnull Entry<R> entry) {
+        detachOwner(entry);
+        UnlockDeadlineWheel<R> unlocks = this.unlocksByWorld.get(entry.worldName());
+        if (unlocks != null) {
+            unlocks.cancel(entry.ref());
+        }
+    }
+
+    private void detachOwner(@Nonnull Entry<R> entry) {
+        OwnerState<R> owner = this.ownersById.get(entry.ownerId());
+        if (owner == null) {
+            return;
+        }
+        owner.items.remove(entry.ref(), entry);
+        if (owner.items.isEmpty()) {
+            this.ownersById.remove(entry.ownerId());
+        }
+    }
+
+    private static final class OwnerState<R> {
+
+        private final Map<R, Entry<R>> items = new LinkedHashMap<>();
+        private boolean awake;
+        private long nextAttemptAtMillis;
+        private long lastWakeChunkKey = NO_CHUNK;
+    }
+
+    private record Entry<R>(
+            @Nonnull String worldName,
+            @Nonnull UUID ownerId,
+            @Nonnull R ref,
+            long unlockAtMillis,
+            double x,
+            double y,
+            double z) {
+    }
+}
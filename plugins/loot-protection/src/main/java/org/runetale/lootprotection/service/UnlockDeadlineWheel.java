@@ -0,0 +1,138 @@
+package org.runetale.lootprotection.service;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hashed timing wheel for unlock deadlines. Each key lives in the slot of its deadline tick, so a
+// poll only walks the slots for ticks that passed since the previous poll and an entry is visited
+// once when it lapses (deadlines further out than one revolution are re-checked once per lap).
+// Scheduling and cancelling are O(1). Not thread-safe; callers synchronize.
+final class UnlockDeadlineWheel<K> {
+
+    static final long DEFAULT_TICK_MILLIS = 50L;
+    static final int DEFAULT_SLOT_COUNT = 512;
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final long tickMillis;
+    private final Node<K>[] slots;
+    private final Map<K, Node<K>> nodesByKey = new HashMap<>();
+    private long processedTick = UNSET;
+
+    UnlockDeadlineWheel() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_SLOT_COUNT);
+    }
+
+    @SuppressWarnings("unchecked")
+    UnlockDeadlineWheel(long tickMillis, int slotCount) {
+        this.tickMillis = Math.max(1L, tickMillis);
+        this.slots = (Node<K>[]) new Node[Math.max(1, slotCount)];
+    }
+
+    void schedule(@Nonnull K key, long deadlineMillis) {
+        cancel(key);
+
+        long tick = Math.floorDiv(deadlineMillis, this.tickMillis);
+        if (this.processedTick != UNSET && tick <= this.processedTick) {
+            // Already-lapsed deadlines go into the next slot the cursor will visit.
+            tick = this.processedTick + 1L;
+        }
+
+        Node<K> node = new Node<>(key, deadlineMillis, tick);
+        int slot = slotOf(tick);
+        node.next = this.slots[slot];
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+        this.slots[slot] = node;
+        this.nodesByKey.put(key, node);
+    }
+
+    boolean cancel(@Nonnull K key) {
+        Node<K> node = this.nodesByKey.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    @Nonnull
+    List<K> pollDue(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, this.tickMillis);
+        if (this.nodesByKey.isEmpty()) {
+            this.processedTick = Math.max(this.processedTick, nowTick - 1L);
+            return List.of();
+        }
+
+        List<K> due = new ArrayList<>();
+        // A first poll, or a gap of a full revolution or more, visits every slot once.
+        long firstTick = this.processedTick == UNSET ? nowTick - this.slots.length + 1L : this.processedTick + 1L;
+        long ticksToVisit = Math.min(nowTick - firstTick + 1L, this.slots.length);
+        for (long offset = 0L; offset < ticksToVisit; offset++) {
+            collectDue(slotOf(firstTick + offset), nowTick, nowMillis, due);
+        }
+        // The current tick's slot stays open: entries later in this tick are picked up next poll.
+        this.processedTick = Math.max(this.processedTick, nowTick - 1L);
+        return due;
+    }
+
+    int size() {
+        return this.nodesByKey.size();
+    }
+
+    void clear() {
+        Arrays.fill(this.slots, null);
+        this.nodesByKey.clear();
+        this.processedTick = UNSET;
+    }
+
+    private void collectDue(int slot, long nowTick, long nowMillis, @Nonnull List<K> due) {
+        Node<K> node = this.slots[slot];
+        while (node != null) {
+            Node<K> next = node.next;
+            if (node.tick <= nowTick && node.deadlineMillis <= nowMillis) {
+                unlink(node);
+                this.nodesByKey.remove(node.key);
+                due.add(node.key);
+            }
+            node = next;
+        }
+    }
+
+    private void unlink(@Nonnull Node<K> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            this.slots[slotOf(node.tick)] = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) this.slots.length);
+    }
+
+    private static final class Node<K> {
+
+        private final K key;
+        private final long deadlineMillis;
+        private final long tick;
+        private Node<K> previous;
+        private Node<K> next;
+
+        private Node(K key, long deadlineMillis, long tick) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.tick = tick;
+        }
+    }
+}
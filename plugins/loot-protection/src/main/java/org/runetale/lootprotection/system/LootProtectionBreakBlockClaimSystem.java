@@ -94,8 +94,7 @@ public class LootProtectionBreakBlockClaimSystem extends EntityEventSystem<Entit
                     target.y,
                     target.z,
                     playerRef.getUuid(),
-                    System.currentTimeMillis(),
-                    this.config.blockOwnership().inactivityResetMillis());
+                    System.currentTimeMillis());
             if (claimResult.isBlocked()) {
                 event.setCancelled(true);
                 this.notificationService.sendContestedBlockNotice(playerRef);
@@ -0,0 +1,29 @@
+package org.runetale.lootprotection.system;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.DelayedSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.lootprotection.service.BlockOwnershipClaimService;
+
+import javax.annotation.Nonnull;
+
+public class LootProtectionClaimSweepSystem extends DelayedSystem<EntityStore> {
+
+    private static final float SWEEP_INTERVAL_SECONDS = 0.25F;
+    private static final int MAX_EXPIRED_PER_SWEEP = 256;
+
+    private final BlockOwnershipClaimService blockOwnershipClaimService;
+
+    public LootProtectionClaimSweepSystem(@Nonnull BlockOwnershipClaimService blockOwnershipClaimService) {
+        super(SWEEP_INTERVAL_SECONDS);
+        this.blockOwnershipClaimService = blockOwnershipClaimService;
+    }
+
+    @Override
+    public void delayedTick(float deltaTime, int systemIndex, @Nonnull Store<EntityStore> store) {
+        this.blockOwnershipClaimService.sweepExpired(
+                store.getExternalData().getWorld().getName(),
+                System.currentTimeMillis(),
+                MAX_EXPIRED_PER_SWEEP);
+    }
+}
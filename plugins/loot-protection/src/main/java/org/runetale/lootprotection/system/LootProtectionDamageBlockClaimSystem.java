@@ -88,8 +88,7 @@ public class LootProtectionDamageBlockClaimSystem extends EntityEventSystem<Enti
                 target.y,
                 target.z,
                 playerRef.getUuid(),
-                now,
-                this.config.blockOwnership().inactivityResetMillis());
+                now);
 
         if (!claimResult.isBlocked()) {
             return;
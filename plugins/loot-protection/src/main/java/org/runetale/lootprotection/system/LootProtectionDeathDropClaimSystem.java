@@ -13,6 +13,7 @@ import com.hypixel.hytale.server.core.modules.entity.damage.DeathSystems;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.runetale.lootprotection.config.LootProtectionConfig;
+import org.runetale.lootprotection.service.DeathDropSessionService;
 import org.runetale.lootprotection.service.DropClaimWindowService;
 
 import javax.annotation.Nonnull;
@@ -21,12 +22,15 @@ public class LootProtectionDeathDropClaimSystem extends DeathSystems.OnDeathSyst
 
     private final LootProtectionConfig config;
     private final DropClaimWindowService dropClaimWindowService;
+    private final DeathDropSessionService deathDropSessionService;
 
     public LootProtectionDeathDropClaimSystem(
             @Nonnull LootProtectionConfig config,
-            @Nonnull DropClaimWindowService dropClaimWindowService) {
+            @Nonnull DropClaimWindowService dropClaimWindowService,
+            @Nonnull DeathDropSessionService deathDropSessionService) {
         this.config = config;
         this.dropClaimWindowService = dropClaimWindowService;
+        this.deathDropSessionService = deathDropSessionService;
     }
 
     @Nonnull
@@ -75,12 +79,19 @@ public class LootProtectionDeathDropClaimSystem extends DeathSystems.OnDeathSyst
             return;
         }
 
+        String worldName = store.getExternalData().getWorld().getName();
+        double x = transformComponent.getPosition().getX();
+        double y = transformComponent.getPosition().getY();
+        double z = transformComponent.getPosition().getZ();
+        this.deathDropSessionService.open(worldName, x, y, z, killerPlayerRef.getUuid());
+
+        // The window still covers drops that spawn after the session has closed.
         long now = System.currentTimeMillis();
         this.dropClaimWindowService.openWindow(
-                store.getExternalData().getWorld().getName(),
-                transformComponent.getPosition().getX(),
-                transformComponent.getPosition().getY(),
-                transformComponent.getPosition().getZ(),
+                worldName,
+                x,
+                y,
+                z,
                 killerPlayerRef.getUuid(),
                 now,
                 this.config.dropClaim().windowMillis());
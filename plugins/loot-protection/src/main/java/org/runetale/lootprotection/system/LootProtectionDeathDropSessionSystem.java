@@ -0,0 +1,26 @@
+package org.runetale.lootprotection.system;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.DelayedSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.lootprotection.service.DeathDropSessionService;
+
+import javax.annotation.Nonnull;
+
+// Runs every tick to mark the tick boundary that closes death-drop sessions.
+public class LootProtectionDeathDropSessionSystem extends DelayedSystem<EntityStore> {
+
+    private static final float EVERY_TICK = 0.0F;
+
+    private final DeathDropSessionService deathDropSessionService;
+
+    public LootProtectionDeathDropSessionSystem(@Nonnull DeathDropSessionService deathDropSessionService) {
+        super(EVERY_TICK);
+        this.deathDropSessionService = deathDropSessionService;
+    }
+
+    @Override
+    public void delayedTick(float deltaTime, int systemIndex, @Nonnull Store<EntityStore> store) {
+        this.deathDropSessionService.endTick(store.getExternalData().getWorld().getName());
+    }
+}
@@ -0,0 +1,53 @@
+package org.runetale.lootprotection.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.inventory.InventoryChangeEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.lootprotection.service.OfflineLootEscrowService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
+
+import javax.annotation.Nonnull;
+
+// An inventory change may have freed space, so owners with undelivered loot get another attempt.
+public class LootProtectionInventoryWakeSystem extends EntityEventSystem<EntityStore, InventoryChangeEvent> {
+
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private final OfflineLootEscrowService offlineLootEscrowService;
+    private final Query<EntityStore> query;
+
+    public LootProtectionInventoryWakeSystem(
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
+            @Nonnull OfflineLootEscrowService offlineLootEscrowService) {
+        super(InventoryChangeEvent.class);
+        this.ownedLootIndexService = ownedLootIndexService;
+        this.offlineLootEscrowService = offlineLootEscrowService;
+        this.query = Query.and(PlayerRef.getComponentType());
+    }
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return this.query;
+    }
+
+    @Override
+    public void handle(
+            int index,
+            @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> commandBuffer,
+            @Nonnull InventoryChangeEvent event) {
+        PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null) {
+            return;
+        }
+        this.ownedLootIndexService.wakeOwner(playerRef.getUuid());
+        this.offlineLootEscrowService.wake(playerRef.getUuid());
+    }
+}
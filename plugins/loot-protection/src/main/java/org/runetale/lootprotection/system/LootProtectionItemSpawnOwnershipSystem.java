@@ -18,8 +18,10 @@ import com.hypixel.hytale.server.core.modules.entity.player.PlayerItemEntityPick
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.runetale.lootprotection.component.OwnedLootComponent;
 import org.runetale.lootprotection.config.LootProtectionConfig;
+import org.runetale.lootprotection.service.DeathDropSessionService;
 import org.runetale.lootprotection.service.DropClaimWindowService;
-import org.runetale.lootprotection.service.OwnedLootDeliveryService;
+import org.runetale.lootprotection.service.DropOwnerMatch;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
 
 import javax.annotation.Nonnull;
 import java.util.Set;
@@ -32,18 +34,21 @@ public class LootProtectionItemSpawnOwnershipSystem extends RefSystem<EntityStor
 
     private final LootProtectionConfig config;
     private final DropClaimWindowService dropClaimWindowService;
-    private final OwnedLootDeliveryService ownedLootDeliveryService;
+    private final DeathDropSessionService deathDropSessionService;
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
     private final ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType;
     private final Query<EntityStore> query;
 
     public LootProtectionItemSpawnOwnershipSystem(
             @Nonnull LootProtectionConfig config,
             @Nonnull DropClaimWindowService dropClaimWindowService,
-            @Nonnull OwnedLootDeliveryService ownedLootDeliveryService,
+            @Nonnull DeathDropSessionService deathDropSessionService,
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
             @Nonnull ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType) {
         this.config = config;
         this.dropClaimWindowService = dropClaimWindowService;
-        this.ownedLootDeliveryService = ownedLootDeliveryService;
+        this.deathDropSessionService = deathDropSessionService;
+        this.ownedLootIndexService = ownedLootIndexService;
         this.ownedLootComponentType = ownedLootComponentType;
         this.query = Query.and(ItemComponent.getComponentType(), TransformComponent.getComponentType());
     }
@@ -66,11 +71,16 @@ public class LootProtectionItemSpawnOwnershipSystem extends RefSystem<EntityStor
             @Nonnull AddReason reason,
             @Nonnull Store<EntityStore> store,
             @Nonnull CommandBuffer<EntityStore> commandBuffer) {
-        if (reason != AddReason.SPAWN || !this.config.enabled() || !this.config.ownerLock().enabled()) {
+        OwnedLootComponent existing = commandBuffer.getComponent(ref, this.ownedLootComponentType);
+        if (existing == null) {
+            existing = store.getComponent(ref, this.ownedLootComponentType);
+        }
+        if (existing != null) {
+            trackExisting(ref, existing, store, commandBuffer);
             return;
         }
 
-        if (commandBuffer.getComponent(ref, this.ownedLootComponentType) != null) {
+        if (reason != AddReason.SPAWN || !this.config.enabled() || !this.config.ownerLock().enabled()) {
             return;
         }
 
@@ -88,34 +98,41 @@ public class LootProtectionItemSpawnOwnershipSystem extends RefSystem<EntityStor
 
         long now = System.currentTimeMillis();
         String worldName = store.getExternalData().getWorld().getName();
-        UUID ownerId = this.dropClaimWindowService.findOwnerForDrop(
-                worldName,
-                transformComponent.getPosition().getX(),
-                transformComponent.getPosition().getY(),
-                transformComponent.getPosition().getZ(),
-                now,
-                this.config.dropClaim().matchRadius());
-        if (ownerId == null) {
+        double x = transformComponent.getPosition().getX();
+        double y = transformComponent.getPosition().getY();
+        double z = transformComponent.getPosition().getZ();
+        double matchRadius = this.config.dropClaim().matchRadius();
+        // The nearest death session or drop-claim window owns the drop; a death session wins ties
+        // because it was opened for a kill in this very tick.
+        DropOwnerMatch match = DropOwnerMatch.nearest(
+                this.deathDropSessionService.match(worldName, x, y, z, matchRadius),
+                this.dropClaimWindowService.matchForDrop(worldName, x, y, z, now, matchRadius));
+        if (match == null) {
             return;
         }
+        UUID ownerId = match.ownerPlayerId();
 
+        long unlockAtMillis = now + this.config.ownerLock().timeoutMillis();
         commandBuffer.putComponent(ref, this.ownedLootComponentType, new OwnedLootComponent(
                 ownerId,
                 now,
-                now + this.config.ownerLock().timeoutMillis(),
+                unlockAtMillis,
                 0L));
+        this.ownedLootIndexService.track(
+                worldName,
+                ownerId,
+                ref,
+                unlockAtMillis,
+                x,
+                y,
+                z);
 
         if (commandBuffer.getComponent(ref, PreventPickup.getComponentType()) == null) {
             commandBuffer.addComponent(ref, PreventPickup.getComponentType());
         }
 
-        this.ownedLootDeliveryService.attemptDeliver(
-                ref,
-                itemComponent,
-                ownerId,
-                store,
-                commandBuffer,
-                true);
+        // Delivery is left to the owned-item tick so every drop spawned this tick goes out in one batch.
+        this.ownedLootIndexService.wakeOwnerImmediately(ownerId);
     }
 
     @Override
@@ -124,5 +141,40 @@ public class LootProtectionItemSpawnOwnershipSystem extends RefSystem<EntityStor
             @Nonnull RemoveReason reason,
             @Nonnull Store<EntityStore> store,
             @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        this.ownedLootIndexService.untrack(ref);
+    }
+
+    // Owned items loaded from a saved chunk rejoin the index; with protection switched off they are
+    // scheduled to unlock immediately. Items without a readable owner (blank or malformed legacy
+    // data) have nothing that would ever release them, so they are made public right away.
+    private void trackExisting(
+            @Nonnull Ref<EntityStore> ref,
+            @Nonnull OwnedLootComponent ownedLootComponent,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> commandBuffer) {
+        UUID ownerId = ownedLootComponent.getOwnerUuid();
+        if (ownerId == null) {
+            commandBuffer.tryRemoveComponent(ref, PreventPickup.getComponentType());
+            commandBuffer.tryRemoveComponent(ref, this.ownedLootComponentType);
+            return;
+        }
+        TransformComponent transformComponent = commandBuffer.getComponent(ref, TransformComponent.getComponentType());
+        if (transformComponent == null) {
+            transformComponent = store.getComponent(ref, TransformComponent.getComponentType());
+        }
+        if (transformComponent == null) {
+            return;
+        }
+
+        boolean protectionActive = this.config.enabled() && this.config.ownerLock().enabled();
+        this.ownedLootIndexService.track(
+                store.getExternalData().getWorld().getName(),
+                ownerId,
+                ref,
+                protectionActive ? ownedLootComponent.getPublicUnlockAtEpochMillis() : Long.MIN_VALUE,
+                transformComponent.getPosition().getX(),
+                transformComponent.getPosition().getY(),
+                transformComponent.getPosition().getZ());
+        this.ownedLootIndexService.wakeOwner(ownerId);
     }
 }
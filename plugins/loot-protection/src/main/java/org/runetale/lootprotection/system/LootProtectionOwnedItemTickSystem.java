@@ -7,31 +7,51 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
-import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
-import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.runetale.lootprotection.component.OwnedLootComponent;
 import org.runetale.lootprotection.config.LootProtectionConfig;
+import org.runetale.lootprotection.service.OfflineLootEscrowService;
 import org.runetale.lootprotection.service.OwnedLootDeliveryService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+// Ticks players rather than owned items: delivery only runs for owners woken by a join, an inventory
+// change, or walking near their loot, and escrowed loot is handed back on the owner's own tick.
+// Unlocks and the offline escrow sweep are world-level work and run in
+// LootProtectionOwnedItemUnlockSystem.
 public class LootProtectionOwnedItemTickSystem extends EntityTickingSystem<EntityStore> {
 
+    private static final double OWNER_WAKE_RADIUS = 16.0D;
+
     private final LootProtectionConfig config;
     private final ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType;
     private final OwnedLootDeliveryService ownedLootDeliveryService;
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private final OfflineLootEscrowService offlineLootEscrowService;
     private final Query<EntityStore> query;
 
     public LootProtectionOwnedItemTickSystem(
             @Nonnull LootProtectionConfig config,
             @Nonnull ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType,
-            @Nonnull OwnedLootDeliveryService ownedLootDeliveryService) {
+            @Nonnull OwnedLootDeliveryService ownedLootDeliveryService,
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
+            @Nonnull OfflineLootEscrowService offlineLootEscrowService) {
         this.config = config;
         this.ownedLootComponentType = ownedLootComponentType;
         this.ownedLootDeliveryService = ownedLootDeliveryService;
-        this.query = Query.and(this.ownedLootComponentType, ItemComponent.getComponentType());
+        this.ownedLootIndexService = ownedLootIndexService;
+        this.offlineLootEscrowService = offlineLootEscrowService;
+        this.query = Query.and(
+                Player.getComponentType(),
+                PlayerRef.getComponentType(),
+                TransformComponent.getComponentType());
     }
 
     @Nonnull
@@ -47,47 +67,54 @@ public class LootProtectionOwnedItemTickSystem extends EntityTickingSystem<Entit
             @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
             @Nonnull Store<EntityStore> store,
             @Nonnull CommandBuffer<EntityStore> commandBuffer) {
-        Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
-        OwnedLootComponent ownedLootComponent = archetypeChunk.getComponent(index, this.ownedLootComponentType);
-        ItemComponent itemComponent = archetypeChunk.getComponent(index, ItemComponent.getComponentType());
-        if (ownedLootComponent == null || itemComponent == null) {
+        PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+        if (playerRef == null) {
             return;
         }
-
-        if (!this.config.enabled() || !this.config.ownerLock().enabled()) {
-            makePublic(ref, commandBuffer);
+        UUID ownerId = playerRef.getUuid();
+        if (this.offlineLootEscrowService.hasPendingRelease(ownerId)) {
+            this.offlineLootEscrowService.release(ownerId, store, commandBuffer);
+        }
+        if (!this.ownedLootIndexService.hasPendingItems(ownerId)) {
             return;
         }
 
         long now = System.currentTimeMillis();
-        if (now >= ownedLootComponent.getPublicUnlockAtEpochMillis()) {
-            makePublic(ref, commandBuffer);
-            return;
+        String worldName = store.getExternalData().getWorld().getName();
+        TransformComponent transformComponent = archetypeChunk.getComponent(index, TransformComponent.getComponentType());
+        if (transformComponent != null) {
+            this.ownedLootIndexService.wakeOwnerOnChunkChange(
+                    ownerId,
+                    worldName,
+                    transformComponent.getPosition().getX(),
+                    transformComponent.getPosition().getY(),
+                    transformComponent.getPosition().getZ(),
+                    OWNER_WAKE_RADIUS);
         }
 
-        UUID ownerId = ownedLootComponent.tryGetOwnerUuid();
-        if (ownerId == null) {
-            makePublic(ref, commandBuffer);
+        List<Ref<EntityStore>> items = this.ownedLootIndexService.claimDeliveryAttempt(
+                ownerId,
+                worldName,
+                now,
+                this.config.ownerLock().retryIntervalMillis());
+        if (items.isEmpty()) {
             return;
         }
 
-        long retryIntervalMillis = this.config.ownerLock().retryIntervalMillis();
-        if (now - ownedLootComponent.getLastTransferAttemptAtEpochMillis() < retryIntervalMillis) {
-            return;
+        List<Ref<EntityStore>> deliverable = new ArrayList<>(items.size());
+        for (Ref<EntityStore> itemRef : items) {
+            OwnedLootComponent ownedLootComponent = itemRef.isValid()
+                    ? store.getComponent(itemRef, this.ownedLootComponentType)
+                    : null;
+            if (ownedLootComponent == null || !ownedLootComponent.isOwnedBy(ownerId)) {
+                this.ownedLootIndexService.untrack(itemRef);
+                continue;
+            }
+            ownedLootComponent.setLastTransferAttemptAtEpochMillis(now);
+            deliverable.add(itemRef);
+        }
+        if (!deliverable.isEmpty()) {
+            this.ownedLootDeliveryService.deliverBatch(deliverable, ownerId, store, commandBuffer, true);
         }
-
-        ownedLootComponent.setLastTransferAttemptAtEpochMillis(now);
-        this.ownedLootDeliveryService.attemptDeliver(
-                ref,
-                itemComponent,
-                ownerId,
-                store,
-                commandBuffer,
-                true);
-    }
-
-    private void makePublic(@Nonnull Ref<EntityStore> itemRef, @Nonnull CommandBuffer<EntityStore> commandBuffer) {
-        commandBuffer.tryRemoveComponent(itemRef, PreventPickup.getComponentType());
-        commandBuffer.tryRemoveComponent(itemRef, this.ownedLootComponentType);
     }
 }
@@ -0,0 +1,61 @@
+package org.runetale.lootprotection.system;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.DelayedSystem;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.lootprotection.component.OwnedLootComponent;
+import org.runetale.lootprotection.service.OfflineLootEscrowService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+// Runs once per world tick whether or not anyone is online: lapsed owned items are made public and
+// loot of owners who stayed offline past the grace period is escrowed. Entity changes are queued on
+// the world thread because a delayed system has no command buffer.
+public class LootProtectionOwnedItemUnlockSystem extends DelayedSystem<EntityStore> {
+
+    private static final float EVERY_TICK = 0.0F;
+
+    private final ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType;
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private final OfflineLootEscrowService offlineLootEscrowService;
+
+    public LootProtectionOwnedItemUnlockSystem(
+            @Nonnull ComponentType<EntityStore, OwnedLootComponent> ownedLootComponentType,
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
+            @Nonnull OfflineLootEscrowService offlineLootEscrowService) {
+        super(EVERY_TICK);
+        this.ownedLootComponentType = ownedLootComponentType;
+        this.ownedLootIndexService = ownedLootIndexService;
+        this.offlineLootEscrowService = offlineLootEscrowService;
+    }
+
+    @Override
+    public void delayedTick(float deltaTime, int systemIndex, @Nonnull Store<EntityStore> store) {
+        long now = System.currentTimeMillis();
+        World world = store.getExternalData().getWorld();
+        String worldName = world.getName();
+
+        List<Ref<EntityStore>> due = this.ownedLootIndexService.pollDueUnlocks(worldName, now);
+        if (!due.isEmpty()) {
+            world.execute(() -> makePublic(due, store));
+        }
+
+        this.offlineLootEscrowService.sweepOfflineOwners(worldName, this.ownedLootComponentType, store, world::execute, now);
+    }
+
+    private void makePublic(@Nonnull List<Ref<EntityStore>> itemRefs, @Nonnull Store<EntityStore> store) {
+        for (Ref<EntityStore> itemRef : itemRefs) {
+            if (!itemRef.isValid()) {
+                continue;
+            }
+            store.tryRemoveComponent(itemRef, PreventPickup.getComponentType());
+            store.tryRemoveComponent(itemRef, this.ownedLootComponentType);
+        }
+    }
+}
@@ -9,17 +9,26 @@ import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.RefSystem;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.lootprotection.service.OfflineLootEscrowService;
 import org.runetale.lootprotection.service.OnlinePlayerLookupService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
 
 import javax.annotation.Nonnull;
 
 public class LootProtectionPlayerRefIndexSystem extends RefSystem<EntityStore> {
 
     private final OnlinePlayerLookupService onlinePlayerLookupService;
+    private final OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService;
+    private final OfflineLootEscrowService offlineLootEscrowService;
     private final Query<EntityStore> query;
 
-    public LootProtectionPlayerRefIndexSystem(@Nonnull OnlinePlayerLookupService onlinePlayerLookupService) {
+    public LootProtectionPlayerRefIndexSystem(
+            @Nonnull OnlinePlayerLookupService onlinePlayerLookupService,
+            @Nonnull OwnedLootIndexService<Ref<EntityStore>> ownedLootIndexService,
+            @Nonnull OfflineLootEscrowService offlineLootEscrowService) {
         this.onlinePlayerLookupService = onlinePlayerLookupService;
+        this.ownedLootIndexService = ownedLootIndexService;
+        this.offlineLootEscrowService = offlineLootEscrowService;
         this.query = Query.and(PlayerRef.getComponentType());
     }
 
@@ -43,6 +52,8 @@ public class LootProtectionPlayerRefIndexSystem extends RefSystem<EntityStore> {
             return;
         }
         this.onlinePlayerLookupService.put(playerRef.getUuid(), ref);
+        this.ownedLootIndexService.wakeOwner(playerRef.getUuid());
+        this.offlineLootEscrowService.onOwnerJoined(playerRef.getUuid());
     }
 
     @Override
@@ -59,5 +70,6 @@ public class LootProtectionPlayerRefIndexSystem extends RefSystem<EntityStore> {
             return;
         }
         this.onlinePlayerLookupService.remove(playerRef.getUuid(), ref);
+        this.ownedLootIndexService.forgetOwnerPosition(playerRef.getUuid());
     }
 }
@@ -0,0 +1,90 @@
+package org.runetale.lootprotection.component;
+
+import com.hypixel.hytale.codec.EmptyExtraInfo;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.runetale.testing.core.TestConstructors;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnedLootComponentTest {
+
+    @Test
+    void ownerRoundTripsThroughBinaryForm() {
+        UUID owner = UUID.randomUUID();
+        OwnedLootComponent component = new OwnedLootComponent(owner, 1_000L, 16_000L, 0L);
+
+        assertThat(component.hasOwner()).isTrue();
+        assertThat(component.getOwnerUuid()).isEqualTo(owner);
+        assertThat(component.isOwnedBy(owner)).isTrue();
+        assertThat(component.isOwnedBy(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void legacyStringOwnerIsReadIntoBinaryForm() {
+        UUID owner = UUID.randomUUID();
+        OwnedLootComponent component = TestConstructors.instantiateNoArgs(OwnedLootComponent.class);
+
+        component.applyLegacyOwnerPlayerId(" " + owner + " ");
+
+        assertThat(component.getOwnerUuid()).isEqualTo(owner);
+        assertThat(component.isOwnedBy(owner)).isTrue();
+    }
+
+    @Test
+    void blankOrMalformedLegacyOwnerLoadsAsUnowned() {
+        OwnedLootComponent component = TestConstructors.instantiateNoArgs(OwnedLootComponent.class);
+
+        component.applyLegacyOwnerPlayerId("");
+        component.applyLegacyOwnerPlayerId("not-a-uuid");
+
+        assertThat(component.hasOwner()).isFalse();
+        assertThat(component.getOwnerUuid()).isNull();
+        assertThat(component.isOwnedBy(new UUID(0L, 0L))).isFalse();
+    }
+
+    @Test
+    void legacyOwnerNeverOverridesTheBinaryOwner() {
+        UUID owner = UUID.randomUUID();
+        OwnedLootComponent component = new OwnedLootComponent(owner, 1_000L, 16_000L, 0L);
+
+        component.applyLegacyOwnerPlayerId(UUID.randomUUID().toString());
+
+        assertThat(component.getOwnerUuid()).isEqualTo(owner);
+    }
+
+    @Test
+    void encodingOmitsTheLegacyOwnerKey() {
+        OwnedLootComponent component = new OwnedLootComponent(UUID.randomUUID(), 1_000L, 16_000L, 0L);
+
+        BsonDocument encoded = OwnedLootComponent.CODEC.encode(component, EmptyExtraInfo.EMPTY).asDocument();
+
+        assertThat(encoded.containsKey("OwnerMostSigBits")).isTrue();
+        assertThat(encoded.containsKey("OwnerLeastSigBits")).isTrue();
+        assertThat(encoded.containsKey("OwnerPlayerId")).isFalse();
+    }
+
+    @Test
+    void cloneCopiesOwner() {
+        UUID owner = UUID.randomUUID();
+        OwnedLootComponent component = new OwnedLootComponent(owner, 1_000L, 16_000L, 0L);
+
+        OwnedLootComponent clone = (OwnedLootComponent) component.clone();
+
+        assertThat(clone.isOwnedBy(owner)).isTrue();
+        assertThat(clone.getPublicUnlockAtEpochMillis()).isEqualTo(16_000L);
+    }
+
+    @Test
+    void onlyOwnerMayPickUpUntilUnlock() {
+        UUID owner = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        OwnedLootComponent component = new OwnedLootComponent(owner, 1_000L, 16_000L, 0L);
+
+        assertThat(component.mayBePickedUpBy(owner, 2_000L)).isTrue();
+        assertThat(component.mayBePickedUpBy(other, 2_000L)).isFalse();
+        assertThat(component.mayBePickedUpBy(other, 16_000L)).isTrue();
+    }
+}
@@ -25,12 +25,15 @@ class LootProtectionDefaultConfigSchemaContractTest {
             "blockOwnership.enabled",
             "blockOwnership.inactivityResetMillis",
             "blockOwnership.notifyCooldownMillis",
+            "blockOwnership.maxClaimsPerWorld",
             "dropClaim.windowMillis",
             "dropClaim.matchRadius",
             "ownerLock.enabled",
             "ownerLock.timeoutMillis",
             "ownerLock.retryIntervalMillis",
-            "ownerLock.inventoryFullNotifyCooldownMillis");
+            "ownerLock.inventoryFullNotifyCooldownMillis",
+            "escrow.enabled",
+            "escrow.offlineGraceMillis");
 
     @Test
     void defaultConfigHasRequiredPaths() throws IOException {
@@ -19,16 +19,14 @@ class BlockOwnershipClaimServiceTest {
                 64,
                 10,
                 playerId,
-                1_000L,
-                3_000L);
+                1_000L);
         BlockOwnershipClaimService.ClaimResult second = service.claimOrRefresh(
                 "world",
                 10,
                 64,
                 10,
                 playerId,
-                1_500L,
-                3_000L);
+                1_500L);
 
         assertThat(first.status()).isEqualTo(BlockOwnershipClaimService.ClaimStatus.ACQUIRED);
         assertThat(second.status()).isEqualTo(BlockOwnershipClaimService.ClaimStatus.REFRESHED);
@@ -41,7 +39,7 @@ class BlockOwnershipClaimServiceTest {
         UUID owner = UUID.randomUUID();
         UUID other = UUID.randomUUID();
 
-        service.claimOrRefresh("world", 5, 70, 5, owner, 10_000L, 3_000L);
+        service.claimOrRefresh("world", 5, 70, 5, owner, 10_000L);
 
         BlockOwnershipClaimService.ClaimResult blocked = service.claimOrRefresh(
                 "world",
@@ -49,19 +47,73 @@ class BlockOwnershipClaimServiceTest {
                 70,
                 5,
                 other,
-                12_000L,
-                3_000L);
+                12_000L);
         BlockOwnershipClaimService.ClaimResult acquiredAfterExpiry = service.claimOrRefresh(
                 "world",
                 5,
                 70,
                 5,
                 other,
-                13_500L,
-                3_000L);
+                13_500L);
 
         assertThat(blocked.status()).isEqualTo(BlockOwnershipClaimService.ClaimStatus.BLOCKED_BY_OTHER);
         assertThat(blocked.blockingPlayerId()).isEqualTo(owner);
         assertThat(acquiredAfterExpiry.status()).isEqualTo(BlockOwnershipClaimService.ClaimStatus.ACQUIRED);
     }
+
+    @Test
+    void sweepRemovesExpiredClaimsIncrementallyAndKeepsRefreshedOnes() {
+        BlockOwnershipClaimService service = new BlockOwnershipClaimService();
+        UUID playerId = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            service.claimOrRefresh("world", i, 64, 0, playerId, 1_000L);
+        }
+        service.claimOrRefresh("world", 0, 64, 0, playerId, 2_500L);
+
+        int firstSweep = service.sweepExpired("world", 4_000L, 4);
+        int secondSweep = service.sweepExpired("world", 4_000L, 100);
+
+        assertThat(firstSweep).isEqualTo(4);
+        assertThat(secondSweep).isEqualTo(5);
+        assertThat(service.liveClaimCount()).isEqualTo(1);
+        assertThat(service.sweepExpired("world", 5_500L, 100)).isEqualTo(1);
+        assertThat(service.metricsSnapshot().expired()).isEqualTo(10L);
+    }
+
+    @Test
+    void capacityEvictsClaimClosestToExpiry() {
+        BlockOwnershipClaimService service = new BlockOwnershipClaimService(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        service.claimOrRefresh("world", 1, 64, 1, first, 1_000L);
+        service.claimOrRefresh("world", 2, 64, 2, second, 1_100L);
+        service.claimOrRefresh("world", 1, 64, 1, first, 1_200L);
+        service.claimOrRefresh("world", 3, 64, 3, third, 1_300L);
+
+        assertThat(service.claimOrRefresh("world", 2, 64, 2, other, 1_400L).status())
+                .isEqualTo(BlockOwnershipClaimService.ClaimStatus.ACQUIRED);
+        assertThat(service.claimOrRefresh("world", 3, 64, 3, other, 1_500L).isBlocked()).isTrue();
+        assertThat(service.metricsSnapshot().evictedForCapacity()).isEqualTo(2L);
+        assertThat(service.liveClaimCount()).isEqualTo(2);
+    }
+
+    @Test
+    void claimsArePartitionedByWorld() {
+        BlockOwnershipClaimService service = new BlockOwnershipClaimService(1);
+        UUID owner = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        service.claimOrRefresh("world", 5, 70, 5, owner, 1_000L);
+        BlockOwnershipClaimService.ClaimResult otherWorld = service.claimOrRefresh("nether", 5, 70, 5, other, 1_000L);
+        BlockOwnershipClaimService.ClaimResult sameWorld = service.claimOrRefresh("world", 5, 70, 5, other, 1_100L);
+
+        assertThat(otherWorld.status()).isEqualTo(BlockOwnershipClaimService.ClaimStatus.ACQUIRED);
+        assertThat(sameWorld.isBlocked()).isTrue();
+        assertThat(service.metricsSnapshot().liveClaims()).isEqualTo(2);
+        assertThat(service.metricsSnapshot().worlds()).isEqualTo(2);
+        assertThat(service.metricsSnapshot().evictedForCapacity()).isZero();
+    }
 }
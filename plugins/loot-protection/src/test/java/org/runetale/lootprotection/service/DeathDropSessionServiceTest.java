@@ -0,0 +1,49 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeathDropSessionServiceTest {
+
+    @Test
+    void dropsNearOpenSessionAreAttributedToKiller() {
+        DeathDropSessionService service = new DeathDropSessionService();
+        UUID killer = UUID.randomUUID();
+        service.open("world", 10.0D, 64.0D, 10.0D, killer);
+
+        assertThat(service.attribute("world", 10.4D, 64.2D, 9.7D, 2.5D)).isEqualTo(killer);
+        assertThat(service.attribute("world", 20.0D, 64.0D, 10.0D, 2.5D)).isNull();
+        assertThat(service.attribute("other", 10.0D, 64.0D, 10.0D, 2.5D)).isNull();
+    }
+
+    @Test
+    void nearestSessionWinsAndLaterSessionWinsTies() {
+        DeathDropSessionService service = new DeathDropSessionService();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        service.open("world", 0.0D, 64.0D, 0.0D, first);
+        service.open("world", 2.0D, 64.0D, 0.0D, second);
+        service.open("world", 2.0D, 64.0D, 0.0D, third);
+
+        assertThat(service.attribute("world", 0.5D, 64.0D, 0.0D, 3.0D)).isEqualTo(first);
+        assertThat(service.attribute("world", 1.8D, 64.0D, 0.0D, 3.0D)).isEqualTo(third);
+    }
+
+    @Test
+    void sessionsCloseAtSecondTickBoundaryAfterOpening() {
+        DeathDropSessionService service = new DeathDropSessionService();
+        UUID killer = UUID.randomUUID();
+        service.open("world", 0.0D, 64.0D, 0.0D, killer);
+
+        assertThat(service.endTick("world")).isZero();
+        assertThat(service.attribute("world", 0.0D, 64.0D, 0.0D, 1.0D)).isEqualTo(killer);
+
+        assertThat(service.endTick("world")).isEqualTo(1);
+        assertThat(service.attribute("world", 0.0D, 64.0D, 0.0D, 1.0D)).isNull();
+        assertThat(service.openSessionCount()).isZero();
+    }
+}
@@ -37,4 +37,58 @@ class DropClaimWindowServiceTest {
         assertThat(duringWindow).isEqualTo(owner);
         assertThat(afterWindow).isNull();
     }
+
+    @Test
+    void dropsMatchWindowsAcrossCellBoundariesIncludingNegativeCoordinates() {
+        DropClaimWindowService service = new DropClaimWindowService();
+        UUID owner = UUID.randomUUID();
+
+        service.openWindow("world", -0.2D, 64.0D, 3.9D, owner, 1_000L, 800L);
+
+        assertThat(service.findOwnerForDrop("world", 1.5D, 64.0D, 4.5D, 1_100L, 3.0D)).isEqualTo(owner);
+        assertThat(service.findOwnerForDrop("world", -2.5D, 64.0D, 2.0D, 1_100L, 3.0D)).isEqualTo(owner);
+        assertThat(service.findOwnerForDrop("world", 5.0D, 64.0D, 4.0D, 1_100L, 3.0D)).isNull();
+    }
+
+    @Test
+    void nearestWindowWinsAndWorldsAreIsolated() {
+        DropClaimWindowService service = new DropClaimWindowService();
+        UUID near = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+        UUID otherWorld = UUID.randomUUID();
+
+        service.openWindow("world", 10.0D, 64.0D, 10.0D, far, 1_000L, 800L);
+        service.openWindow("world", 12.0D, 64.0D, 10.0D, near, 1_000L, 800L);
+        service.openWindow("other", 11.6D, 64.0D, 10.0D, otherWorld, 1_000L, 800L);
+
+        assertThat(service.findOwnerForDrop("world", 11.5D, 64.0D, 10.0D, 1_100L, 3.0D)).isEqualTo(near);
+        assertThat(service.findOwnerForDrop("other", 11.5D, 64.0D, 10.0D, 1_100L, 3.0D)).isEqualTo(otherWorld);
+    }
+
+    @Test
+    void equidistantWindowsPreferMostRecentlyOpened() {
+        DropClaimWindowService service = new DropClaimWindowService();
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+
+        service.openWindow("world", 5.0D, 64.0D, 5.0D, older, 1_000L, 800L);
+        service.openWindow("world", 5.0D, 64.0D, 5.0D, newer, 1_200L, 800L);
+
+        assertThat(service.findOwnerForDrop("world", 5.0D, 64.0D, 5.0D, 1_300L, 3.0D)).isEqualTo(newer);
+    }
+
+    @Test
+    void expiredWindowsAreDroppedFromTheIndex() {
+        DropClaimWindowService service = new DropClaimWindowService();
+        for (int i = 0; i < 100; i++) {
+            service.openWindow("world", i * 10.0D, 64.0D, 0.0D, UUID.randomUUID(), 1_000L, 500L);
+        }
+        service.openWindow("world", 0.0D, 64.0D, 0.0D, UUID.randomUUID(), 1_400L, 500L);
+
+        assertThat(service.activeWindowCount()).isEqualTo(101);
+
+        service.pruneExpired(1_600L);
+
+        assertThat(service.activeWindowCount()).isEqualTo(1);
+    }
 }
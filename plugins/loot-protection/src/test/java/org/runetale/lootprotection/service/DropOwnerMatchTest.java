@@ -0,0 +1,48 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DropOwnerMatchTest {
+
+    @Test
+    void closerBlockBreakWindowBeatsADeathSession() {
+        UUID killer = UUID.randomUUID();
+        UUID miner = UUID.randomUUID();
+        DeathDropSessionService sessions = new DeathDropSessionService();
+        DropClaimWindowService windows = new DropClaimWindowService();
+        sessions.open("world", 0.0D, 64.0D, 0.0D, killer);
+        windows.openWindow("world", 2.0D, 64.0D, 0.0D, miner, 1_000L, 5_000L);
+
+        DropOwnerMatch match = DropOwnerMatch.nearest(
+                sessions.match("world", 1.8D, 64.0D, 0.0D, 3.0D),
+                windows.matchForDrop("world", 1.8D, 64.0D, 0.0D, 1_500L, 3.0D));
+
+        assertThat(match).isNotNull();
+        assertThat(match.ownerPlayerId()).isEqualTo(miner);
+    }
+
+    @Test
+    void deathSessionWinsWhenNearerOrTied() {
+        UUID killer = UUID.randomUUID();
+        UUID miner = UUID.randomUUID();
+        DeathDropSessionService sessions = new DeathDropSessionService();
+        DropClaimWindowService windows = new DropClaimWindowService();
+        sessions.open("world", 0.0D, 64.0D, 0.0D, killer);
+        windows.openWindow("world", 2.0D, 64.0D, 0.0D, miner, 1_000L, 5_000L);
+
+        DropOwnerMatch nearer = DropOwnerMatch.nearest(
+                sessions.match("world", 0.2D, 64.0D, 0.0D, 3.0D),
+                windows.matchForDrop("world", 0.2D, 64.0D, 0.0D, 1_500L, 3.0D));
+        DropOwnerMatch tied = DropOwnerMatch.nearest(
+                sessions.match("world", 1.0D, 64.0D, 0.0D, 3.0D),
+                windows.matchForDrop("world", 1.0D, 64.0D, 0.0D, 1_500L, 3.0D));
+
+        assertThat(nearer.ownerPlayerId()).isEqualTo(killer);
+        assertThat(tied.ownerPlayerId()).isEqualTo(killer);
+        assertThat(DropOwnerMatch.nearest(null, null)).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LootEscrowStoreTest {
+
+    private static final UUID OWNER = UUID.fromString("00000000-0000-0000-0000-000000000040");
+
+    @Test
+    void appendMergesIdenticalStacksAcrossCalls(@TempDir Path tempDir) throws IOException {
+        LootEscrowStore store = new LootEscrowStore(tempDir.resolve("escrow"));
+
+        store.append(OWNER, List.of(stack("Ore_Copper", 3, null), stack("Ore_Iron", 1, null)));
+        store.append(OWNER, List.of(stack("Ore_Copper", 2, null), stack("Ore_Copper", 4, "{\"Tag\": 1}")));
+
+        assertThat(store.load(OWNER)).containsExactly(
+                stack("Ore_Copper", 5, null),
+                stack("Ore_Iron", 1, null),
+                stack("Ore_Copper", 4, "{\"Tag\": 1}"));
+    }
+
+    @Test
+    void loadOfUnknownOwnerIsEmpty(@TempDir Path tempDir) throws IOException {
+        LootEscrowStore store = new LootEscrowStore(tempDir.resolve("escrow"));
+
+        assertThat(store.load(OWNER)).isEmpty();
+        assertThat(store.escrowedOwners()).isEmpty();
+    }
+
+    @Test
+    void replaceWithNothingDeletesTheOwnerFile(@TempDir Path tempDir) throws IOException {
+        Path escrowRoot = tempDir.resolve("escrow");
+        LootEscrowStore store = new LootEscrowStore(escrowRoot);
+        store.append(OWNER, List.of(stack("Ore_Copper", 3, null)));
+        assertThat(store.load(OWNER)).containsExactly(stack("Ore_Copper", 3, null));
+
+        store.replace(OWNER, List.of(stack("Ore_Copper", 1, null)));
+        assertThat(store.load(OWNER)).containsExactly(stack("Ore_Copper", 1, null));
+
+        store.replace(OWNER, List.of());
+        assertThat(store.load(OWNER)).isEmpty();
+        try (var files = Files.list(escrowRoot)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    @Test
+    void escrowedOwnersListsOnlyOwnerFiles(@TempDir Path tempDir) throws IOException {
+        Path escrowRoot = tempDir.resolve("escrow");
+        LootEscrowStore store = new LootEscrowStore(escrowRoot);
+        assertThat(store.escrowedOwners()).isEmpty();
+
+        UUID other = UUID.fromString("00000000-0000-0000-0000-000000000041");
+        store.append(OWNER, List.of(stack("Ore_Copper", 3, null)));
+        store.append(other, List.of(stack("Ore_Iron", 1, null)));
+        store.replace(other, List.of());
+        Files.writeString(escrowRoot.resolve("notes.bin"), "x");
+        Files.writeString(escrowRoot.resolve(OWNER + ".tmp"), "x");
+
+        assertThat(store.escrowedOwners()).containsExactly(OWNER);
+    }
+
+    @Test
+    void escrowSurvivesANewStoreInstance(@TempDir Path tempDir) throws IOException {
+        new LootEscrowStore(tempDir).append(OWNER, List.of(
+                new LootEscrowStore.EscrowedStack("Tool_Pickaxe_Iron", 1, 37.5D, 120.0D, "{\"Name\": \"\u00f8\"}")));
+
+        assertThat(new LootEscrowStore(tempDir).load(OWNER)).containsExactly(
+                new LootEscrowStore.EscrowedStack("Tool_Pickaxe_Iron", 1, 37.5D, 120.0D, "{\"Name\": \"\u00f8\"}"));
+    }
+
+    private static LootEscrowStore.EscrowedStack stack(String itemId, int quantity, String metadataJson) {
+        return new LootEscrowStore.EscrowedStack(itemId, quantity, 0.0D, 0.0D, metadataJson);
+    }
+}
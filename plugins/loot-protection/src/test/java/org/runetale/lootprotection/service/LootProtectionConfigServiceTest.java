@@ -32,7 +32,8 @@ class LootProtectionConfigServiceTest {
                   "enabled": true,
                   "blockOwnership": {
                     "inactivityResetMillis": -1,
-                    "notifyCooldownMillis": 0
+                    "notifyCooldownMillis": 0,
+                    "maxClaimsPerWorld": 1
                   },
                   "dropClaim": {
                     "windowMillis": 0,
@@ -43,6 +44,9 @@ class LootProtectionConfigServiceTest {
                     "timeoutMillis": 10,
                     "retryIntervalMillis": 10,
                     "inventoryFullNotifyCooldownMillis": 1
+                  },
+                  "escrow": {
+                    "offlineGraceMillis": 0
                   }
                 }
                 """);
@@ -52,10 +56,13 @@ class LootProtectionConfigServiceTest {
 
         assertThat(config.blockOwnership().inactivityResetMillis()).isEqualTo(250L);
         assertThat(config.blockOwnership().notifyCooldownMillis()).isEqualTo(100L);
+        assertThat(config.blockOwnership().maxClaimsPerWorld()).isEqualTo(64);
         assertThat(config.dropClaim().windowMillis()).isEqualTo(100L);
         assertThat(config.dropClaim().matchRadius()).isEqualTo(0.5D);
         assertThat(config.ownerLock().timeoutMillis()).isEqualTo(1_000L);
         assertThat(config.ownerLock().retryIntervalMillis()).isEqualTo(50L);
         assertThat(config.ownerLock().inventoryFullNotifyCooldownMillis()).isEqualTo(100L);
+        assertThat(config.escrow().enabled()).isTrue();
+        assertThat(config.escrow().offlineGraceMillis()).isEqualTo(1_000L);
     }
 }
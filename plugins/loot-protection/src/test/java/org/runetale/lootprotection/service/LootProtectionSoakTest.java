@@ -0,0 +1,133 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.testing.junit.WithDeterministicEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Replays hours of simulated gathering against the loot-protection services on a virtual clock and
+// checks that every index stays within the bound implied by its rates and lifetimes.
+@WithDeterministicEnvironment
+class LootProtectionSoakTest {
+
+    private static final String WORLD = "world";
+    private static final long STEP_MILLIS = 250L;
+    private static final long SIMULATED_MILLIS = 4L * 60L * 60L * 1_000L;
+    private static final int PLAYERS = 32;
+    private static final int MAX_DROPS_PER_BREAK = 3;
+
+    private static final long CLAIM_INACTIVITY_MILLIS = 10_000L;
+    private static final long DROP_WINDOW_MILLIS = 1_000L;
+    private static final long OWNER_LOCK_MILLIS = 15_000L;
+    private static final long RETRY_MILLIS = 250L;
+    private static final int CLAIM_SWEEP_BUDGET = 256;
+
+    @Test
+    void servicesStayBoundedOverHoursOfSimulatedDrops() {
+        SplittableRandom random = new SplittableRandom(38L);
+        BlockOwnershipClaimService claims = new BlockOwnershipClaimService(
+                BlockOwnershipClaimService.DEFAULT_MAX_CLAIMS_PER_WORLD,
+                CLAIM_INACTIVITY_MILLIS);
+        DropClaimWindowService windows = new DropClaimWindowService();
+        OwnedLootIndexService<Integer> index = new OwnedLootIndexService<>();
+        NoticeThrottle notices = new NoticeThrottle(64);
+
+        UUID[] players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        long stepsPerWindow = DROP_WINDOW_MILLIS / STEP_MILLIS + 1L;
+        long stepsPerClaim = CLAIM_INACTIVITY_MILLIS / STEP_MILLIS + 1L;
+        long stepsPerLock = OWNER_LOCK_MILLIS / STEP_MILLIS + 1L;
+        int maxWindows = (int) (PLAYERS * (stepsPerWindow + 1L));
+        int maxClaims = (int) (PLAYERS * (stepsPerClaim + 1L));
+        int maxTracked = (int) (PLAYERS * MAX_DROPS_PER_BREAK * (stepsPerLock + 1L));
+
+        List<Integer> liveItems = new ArrayList<>();
+        int nextItem = 0;
+        int peakTracked = 0;
+        long spawned = 0L;
+        long unlocked = 0L;
+
+        long start = 1_000_000L;
+        for (long now = start; now < start + SIMULATED_MILLIS; now += STEP_MILLIS) {
+            for (UUID player : players) {
+                if (random.nextInt(10) >= 3) {
+                    continue;
+                }
+                int x = random.nextInt(1_000);
+                int z = random.nextInt(1_000);
+                BlockOwnershipClaimService.ClaimResult claim =
+                        claims.claimOrRefresh(WORLD, x, 64, z, player, now);
+                if (claim.isBlocked()) {
+                    notices.tryAcquire(player, now, 3_000L);
+                    continue;
+                }
+                if (random.nextInt(3) != 0) {
+                    continue;
+                }
+
+                windows.openWindow(WORLD, x + 0.5D, 64.5D, z + 0.5D, player, now, DROP_WINDOW_MILLIS);
+                int drops = 1 + random.nextInt(MAX_DROPS_PER_BREAK);
+                for (int drop = 0; drop < drops; drop++) {
+                    double dropX = x + random.nextDouble();
+                    double dropZ = z + random.nextDouble();
+                    UUID owner = windows.findOwnerForDrop(WORLD, dropX, 64.5D, dropZ, now, 2.5D);
+                    if (owner == null) {
+                        continue;
+                    }
+                    int item = nextItem++;
+                    index.track(WORLD, owner, item, now + OWNER_LOCK_MILLIS, dropX, 64.5D, dropZ);
+                    liveItems.add(item);
+                    spawned++;
+                }
+            }
+
+            // A few items are picked up or despawn before their lock lapses.
+            for (int pickups = random.nextInt(4); pickups > 0 && !liveItems.isEmpty(); pickups--) {
+                int slot = random.nextInt(liveItems.size());
+                int item = liveItems.get(slot);
+                liveItems.set(slot, liveItems.get(liveItems.size() - 1));
+                liveItems.remove(liveItems.size() - 1);
+                index.untrack(item);
+            }
+
+            unlocked += index.pollDueUnlocks(WORLD, now).size();
+            claims.sweepExpired(WORLD, now, CLAIM_SWEEP_BUDGET);
+
+            UUID owner = players[random.nextInt(PLAYERS)];
+            index.wakeOwner(owner);
+            index.claimDeliveryAttempt(owner, WORLD, now, RETRY_MILLIS);
+
+            peakTracked = Math.max(peakTracked, index.trackedCount());
+            assertThat(windows.activeWindowCount()).isLessThanOrEqualTo(maxWindows);
+            assertThat(claims.liveClaimCount()).isLessThanOrEqualTo(maxClaims);
+            assertThat(index.trackedCount()).isLessThanOrEqualTo(maxTracked);
+            assertThat(index.scheduledUnlockCount()).isEqualTo(index.trackedCount());
+            assertThat(index.ownerCount()).isLessThanOrEqualTo(PLAYERS);
+        }
+
+        assertThat(spawned).isGreaterThan(100_000L);
+        assertThat(unlocked).isGreaterThan(spawned / 2L);
+        assertThat(peakTracked).isGreaterThan(0);
+        assertThat(notices.capacity()).isEqualTo(64);
+
+        // Once activity stops every index drains back to empty.
+        long drained = start + SIMULATED_MILLIS + OWNER_LOCK_MILLIS + CLAIM_INACTIVITY_MILLIS;
+        index.pollDueUnlocks(WORLD, drained);
+        windows.pruneExpired(drained);
+        claims.sweepExpired(WORLD, drained, Integer.MAX_VALUE);
+
+        assertThat(index.trackedCount()).isZero();
+        assertThat(index.scheduledUnlockCount()).isZero();
+        assertThat(index.ownerCount()).isZero();
+        assertThat(windows.activeWindowCount()).isZero();
+        assertThat(claims.liveClaimCount()).isZero();
+    }
+}
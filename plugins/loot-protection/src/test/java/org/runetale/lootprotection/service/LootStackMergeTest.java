@@ -0,0 +1,24 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LootStackMergeTest {
+
+    @Test
+    void fullDeliveryEmptiesEverySource() {
+        assertThat(LootStackMerge.remainingAfterDelivery(new int[]{5, 10, 3}, 18)).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void partialFitEmptiesEarlierSourcesAndSplitsOne() {
+        assertThat(LootStackMerge.remainingAfterDelivery(new int[]{5, 10, 3}, 9)).containsExactly(0, 6, 3);
+    }
+
+    @Test
+    void nothingDeliveredLeavesSourcesUntouched() {
+        assertThat(LootStackMerge.remainingAfterDelivery(new int[]{5, 10}, 0)).containsExactly(5, 10);
+        assertThat(LootStackMerge.remainingAfterDelivery(new int[]{5, 10}, -4)).containsExactly(5, 10);
+    }
+}
@@ -0,0 +1,44 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoticeThrottleTest {
+
+    @Test
+    void noticesInsideCooldownAreSuppressedPerPlayer() {
+        NoticeThrottle throttle = new NoticeThrottle(16);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertThat(throttle.tryAcquire(first, 1_000L, 500L)).isTrue();
+        assertThat(throttle.tryAcquire(first, 1_499L, 500L)).isFalse();
+        assertThat(throttle.tryAcquire(second, 1_499L, 500L)).isTrue();
+        assertThat(throttle.tryAcquire(first, 1_500L, 500L)).isTrue();
+    }
+
+    @Test
+    void capacityStaysFixedUnderManyPlayers() {
+        NoticeThrottle throttle = new NoticeThrottle(8);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(throttle.tryAcquire(new UUID(i, i * 31L), i, 1_000L)).isTrue();
+        }
+
+        assertThat(throttle.capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void clearForgetsEveryCooldown() {
+        NoticeThrottle throttle = new NoticeThrottle(8);
+        UUID player = UUID.randomUUID();
+        throttle.tryAcquire(player, 1_000L, 5_000L);
+
+        throttle.clear();
+
+        assertThat(throttle.tryAcquire(player, 1_001L, 5_000L)).isTrue();
+    }
+}
@@ -0,0 +1,135 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnedLootIndexServiceTest {
+
+    @Test
+    void deliveryAttemptsOnlyRunForWokenOwners() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "item-1", 10_000L, 0.0D, 64.0D, 0.0D);
+        index.track("world", owner, "item-2", 10_000L, 1.0D, 64.0D, 0.0D);
+
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_000L, 250L)).isEmpty();
+
+        index.wakeOwner(owner);
+
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_000L, 250L)).containsExactly("item-1", "item-2");
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_001L, 250L)).isEmpty();
+    }
+
+    @Test
+    void wakeInsideRetryIntervalIsDeferredNotLost() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "item", 10_000L, 0.0D, 64.0D, 0.0D);
+        index.wakeOwner(owner);
+        index.claimDeliveryAttempt(owner, "world", 1_000L, 250L);
+
+        index.wakeOwner(owner);
+
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_100L, 250L)).isEmpty();
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_250L, 250L)).containsExactly("item");
+    }
+
+    @Test
+    void proximityWakesOwnerOnlyNearTheirItemsInSameWorld() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "item", 10_000L, 100.0D, 64.0D, 100.0D);
+
+        assertThat(index.wakeOwnerIfNear(owner, "world", 0.0D, 64.0D, 0.0D, 16.0D)).isFalse();
+        assertThat(index.wakeOwnerIfNear(owner, "other", 100.0D, 64.0D, 100.0D, 16.0D)).isFalse();
+        assertThat(index.wakeOwnerIfNear(owner, "world", 90.0D, 64.0D, 95.0D, 16.0D)).isTrue();
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_000L, 250L)).containsExactly("item");
+    }
+
+    @Test
+    void dueUnlocksAreReturnedOnceAndLeaveTheOwnerIndex() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "early", 1_000L, 0.0D, 64.0D, 0.0D);
+        index.track("world", owner, "late", 5_000L, 0.0D, 64.0D, 0.0D);
+        index.track("other", owner, "elsewhere", 1_000L, 0.0D, 64.0D, 0.0D);
+
+        assertThat(index.pollDueUnlocks("world", 999L)).isEmpty();
+        assertThat(index.pollDueUnlocks("world", 1_000L)).containsExactly("early");
+        assertThat(index.pollDueUnlocks("world", 2_000L)).isEmpty();
+        assertThat(index.trackedCount()).isEqualTo(2);
+
+        index.untrack("late");
+        index.untrack("elsewhere");
+
+        assertThat(index.pollDueUnlocks("world", 10_000L)).isEmpty();
+        assertThat(index.hasPendingItems(owner)).isFalse();
+        assertThat(index.ownerCount()).isZero();
+    }
+
+    @Test
+    void retrackingMovesItemToNewOwnerAndDeadline() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.track("world", first, "item", 1_000L, 0.0D, 64.0D, 0.0D);
+
+        index.track("world", second, "item", 3_000L, 0.0D, 64.0D, 0.0D);
+
+        assertThat(index.ownerOf("item")).isEqualTo(second);
+        assertThat(index.hasPendingItems(first)).isFalse();
+        assertThat(index.pollDueUnlocks("world", 2_000L)).isEmpty();
+        assertThat(index.pollDueUnlocks("world", 3_000L)).containsExactly("item");
+    }
+
+    @Test
+    void untrackCancelsTheScheduledUnlock() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "picked-up", 1_000L, 0.0D, 64.0D, 0.0D);
+        index.track("world", owner, "despawned", 1_000L, 0.0D, 64.0D, 0.0D);
+        index.track("world", owner, "kept", 1_000L, 0.0D, 64.0D, 0.0D);
+
+        index.untrack("picked-up");
+        index.untrack("despawned");
+
+        assertThat(index.scheduledUnlockCount()).isEqualTo(1);
+        assertThat(index.pollDueUnlocks("world", 1_000L)).containsExactly("kept");
+        assertThat(index.scheduledUnlockCount()).isZero();
+    }
+
+    @Test
+    void itemsOfListsOwnerItemsPerWorldWithoutWakingThem() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        index.track("world", owner, "here", 10_000L, 0.0D, 64.0D, 0.0D);
+        index.track("nether", owner, "there", 10_000L, 0.0D, 64.0D, 0.0D);
+        index.track("world", other, "theirs", 10_000L, 0.0D, 64.0D, 0.0D);
+
+        assertThat(index.ownersSnapshot()).containsExactlyInAnyOrder(owner, other);
+        assertThat(index.itemsOf(owner, "world")).containsExactly("here");
+        assertThat(index.itemsOf(UUID.randomUUID(), "world")).isEmpty();
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_000L, 250L)).isEmpty();
+    }
+
+    @Test
+    void chunkChangeWakeChecksProximityOncePerChunkUntilPositionIsForgotten() {
+        OwnedLootIndexService<String> index = new OwnedLootIndexService<>();
+        UUID owner = UUID.randomUUID();
+        index.track("world", owner, "item", 10_000L, 100.0D, 64.0D, 100.0D);
+
+        assertThat(index.wakeOwnerOnChunkChange(owner, "world", 90.0D, 64.0D, 95.0D, 16.0D)).isTrue();
+        assertThat(index.claimDeliveryAttempt(owner, "world", 1_000L, 250L)).containsExactly("item");
+        assertThat(index.wakeOwnerOnChunkChange(owner, "world", 91.0D, 64.0D, 94.0D, 16.0D)).isFalse();
+
+        assertThat(index.wakeOwnerOnChunkChange(owner, "world", 99.0D, 64.0D, 99.0D, 16.0D)).isTrue();
+        assertThat(index.claimDeliveryAttempt(owner, "world", 2_000L, 250L)).containsExactly("item");
+
+        index.forgetOwnerPosition(owner);
+        assertThat(index.wakeOwnerOnChunkChange(owner, "world", 99.0D, 64.0D, 99.0D, 16.0D)).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package org.runetale.lootprotection.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnlockDeadlineWheelTest {
+
+    @Test
+    void entriesFireOnceAtTheirDeadline() {
+        UnlockDeadlineWheel<String> wheel = new UnlockDeadlineWheel<>(50L, 8);
+        wheel.schedule("late", 5_000L);
+        wheel.schedule("early", 1_020L);
+
+        assertThat(wheel.pollDue(1_000L)).isEmpty();
+        assertThat(wheel.pollDue(1_019L)).isEmpty();
+        assertThat(wheel.pollDue(1_020L)).containsExactly("early");
+        assertThat(wheel.pollDue(1_040L)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirLap() {
+        UnlockDeadlineWheel<String> wheel = new UnlockDeadlineWheel<>(50L, 4);
+        wheel.pollDue(0L);
+        wheel.schedule("far", 1_000L);
+
+        for (long now = 50L; now < 1_000L; now += 50L) {
+            assertThat(wheel.pollDue(now)).isEmpty();
+        }
+        assertThat(wheel.pollDue(1_000L)).containsExactly("far");
+    }
+
+    @Test
+    void longGapsVisitEachSlotOnce() {
+        UnlockDeadlineWheel<String> wheel = new UnlockDeadlineWheel<>(50L, 4);
+        wheel.pollDue(0L);
+        wheel.schedule("a", 100L);
+        wheel.schedule("b", 175L);
+        wheel.schedule("c", 60_000L);
+
+        assertThat(wheel.pollDue(10_000L)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void lapsedDeadlinesFireOnTheNextPoll() {
+        UnlockDeadlineWheel<String> wheel = new UnlockDeadlineWheel<>(50L, 8);
+        wheel.schedule("future", 3_000L);
+        wheel.pollDue(2_000L);
+
+        wheel.schedule("lapsed", Long.MIN_VALUE);
+
+        assertThat(wheel.pollDue(2_001L)).containsExactly("lapsed");
+    }
+
+    @Test
+    void cancelledAndRescheduledEntriesDoNotFireEarly() {
+        UnlockDeadlineWheel<String> wheel = new UnlockDeadlineWheel<>(50L, 8);
+        wheel.schedule("cancelled", 100L);
+        wheel.schedule("moved", 100L);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        wheel.schedule("moved", 300L);
+
+        assertThat(wheel.pollDue(200L)).isEmpty();
+        assertThat(wheel.pollDue(300L)).containsExactly("moved");
+        assertThat(wheel.size()).isZero();
+    }
+}
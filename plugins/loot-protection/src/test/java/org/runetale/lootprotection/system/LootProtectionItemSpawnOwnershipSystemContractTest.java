@@ -0,0 +1,64 @@
+package org.runetale.lootprotection.system;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.ItemComponent;
+import com.hypixel.hytale.server.core.modules.entity.item.PreventPickup;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.runetale.lootprotection.component.OwnedLootComponent;
+import org.runetale.lootprotection.config.LootProtectionConfig;
+import org.runetale.lootprotection.service.DeathDropSessionService;
+import org.runetale.lootprotection.service.DropClaimWindowService;
+import org.runetale.lootprotection.service.OwnedLootIndexService;
+import org.runetale.testing.core.TestConstructors;
+import org.runetale.testing.junit.ContractTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ContractTest
+class LootProtectionItemSpawnOwnershipSystemContractTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadedItemWithoutReadableOwnerIsMadePublic() {
+        ComponentType<EntityStore, OwnedLootComponent> ownedLootType = mock(ComponentType.class);
+        ComponentType<EntityStore, PreventPickup> preventPickupType = mock(ComponentType.class);
+        OwnedLootIndexService<Ref<EntityStore>> indexService = new OwnedLootIndexService<>();
+        Ref<EntityStore> itemRef = mock(Ref.class);
+        Store<EntityStore> store = mock(Store.class);
+        CommandBuffer<EntityStore> commandBuffer = mock(CommandBuffer.class);
+        // The no-args codec constructor is what a blank or malformed legacy OwnerPlayerId decodes to.
+        OwnedLootComponent ownerless = TestConstructors.instantiateNoArgs(OwnedLootComponent.class);
+        when(commandBuffer.getComponent(itemRef, ownedLootType)).thenReturn(ownerless);
+
+        try (MockedStatic<ItemComponent> items = mockStatic(ItemComponent.class);
+             MockedStatic<TransformComponent> transforms = mockStatic(TransformComponent.class);
+             MockedStatic<PreventPickup> preventPickups = mockStatic(PreventPickup.class)) {
+            items.when(ItemComponent::getComponentType).thenReturn(mock(ComponentType.class));
+            transforms.when(TransformComponent::getComponentType).thenReturn(mock(ComponentType.class));
+            preventPickups.when(PreventPickup::getComponentType).thenReturn(preventPickupType);
+            LootProtectionItemSpawnOwnershipSystem system = new LootProtectionItemSpawnOwnershipSystem(
+                    LootProtectionConfig.defaults(),
+                    new DropClaimWindowService(),
+                    new DeathDropSessionService(),
+                    indexService,
+                    ownedLootType);
+
+            system.onEntityAdded(itemRef, AddReason.LOAD, store, commandBuffer);
+        }
+
+        verify(commandBuffer).tryRemoveComponent(itemRef, preventPickupType);
+        verify(commandBuffer).tryRemoveComponent(itemRef, ownedLootType);
+        assertThat(indexService.trackedCount()).isZero();
+    }
+}
@@ -1,4 +1,10 @@
 dependencies {
+    implementation(project(":platform:block-mutation"))
     compileOnly(project(":plugins:skills-api"))
     testImplementation(project(":plugins:skills-api"))
 }
+
+// Each plugin jar bundles its own copy of the mutation engine.
+tasks.named<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar>("shadowJar") {
+    relocate("org.runetale.blockmutation", "org.runetale.skills.actions.shaded.blockmutation")
+}
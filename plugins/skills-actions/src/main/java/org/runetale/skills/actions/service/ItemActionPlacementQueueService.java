@@ -1,17 +1,19 @@
 package org.runetale.skills.actions.service;
 
+import org.runetale.blockmutation.BlockMutationApplier;
+import org.runetale.blockmutation.BlockMutationEngine;
+import org.runetale.blockmutation.BlockMutationMetrics;
+import org.runetale.blockmutation.BlockPosition;
+import org.runetale.blockmutation.BlockReader;
 import org.runetale.skills.config.ItemActionsConfig;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class ItemActionPlacementQueueService {
 
-    private final Map<BlockPositionKey, PendingPlacement> placementsByPosition = new ConcurrentHashMap<>();
+    private final BlockMutationEngine<PendingPlacement> engine =
+            new BlockMutationEngine<>(ItemActionsConfig.ItemXpActionDefinition::idsMatch);
 
     public void queue(
             @Nonnull String worldName,
@@ -42,32 +44,34 @@ public class ItemActionPlacementQueueService {
             @Nonnull ItemActionsConfig.BlockApplyMode applyMode,
             long applyAtMillis) {
         BlockPositionKey key = new BlockPositionKey(worldName, x, y, z);
-        this.placementsByPosition.put(
+        PendingPlacement placement = new PendingPlacement(
                 key,
-                new PendingPlacement(
-                        key,
-                        expectedCurrentBlockId,
-                        replacementBlockId,
-                        applyMode,
-                        applyAtMillis));
+                expectedCurrentBlockId,
+                replacementBlockId,
+                applyMode,
+                applyAtMillis);
+        this.engine.submit(
+                new BlockPosition(worldName, x, y, z),
+                placement.expectedCurrentBlockId(),
+                placement,
+                applyAtMillis);
     }
 
-    @Nonnull
-    public List<PendingPlacement> pollDueForWorld(@Nonnull String worldName, long nowMillis) {
-        List<PendingPlacement> due = new ArrayList<>();
-        for (Map.Entry<BlockPositionKey, PendingPlacement> entry : this.placementsByPosition.entrySet()) {
-            PendingPlacement placement = entry.getValue();
-            if (placement.applyAtMillis() > nowMillis || !placement.position().worldName().equals(worldName)) {
-                continue;
-            }
-            due.add(placement);
-            this.placementsByPosition.remove(entry.getKey(), placement);
-        }
-        return due;
+    public int applyDueForWorld(
+            @Nonnull String worldName,
+            long nowMillis,
+            @Nonnull BlockReader blockReader,
+            @Nonnull BlockMutationApplier<PendingPlacement> applier) {
+        return this.engine.applyDue(worldName, nowMillis, blockReader, applier);
     }
 
     public void clearAll() {
-        this.placementsByPosition.clear();
+        this.engine.clearAll();
+    }
+
+    @Nonnull
+    public BlockMutationMetrics metricsSnapshot() {
+        return this.engine.metricsSnapshot();
     }
 
     public record BlockPositionKey(
@@ -18,11 +18,13 @@ import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.BlockSection;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.blockmutation.BlockMutation;
+import org.runetale.blockmutation.BlockMutationApplier;
 import org.runetale.skills.actions.service.ItemActionPlacementQueueService;
 import org.runetale.skills.config.ItemActionsConfig;
 
 import javax.annotation.Nonnull;
-import java.util.List;
+import javax.annotation.Nullable;
 
 public class ItemActionPendingPlacementSystem extends DelayedSystem<EntityStore> {
 
@@ -40,31 +42,11 @@ public class ItemActionPendingPlacementSystem extends DelayedSystem<EntityStore>
     public void delayedTick(float deltaTime, int systemIndex, @Nonnull Store<EntityStore> store) {
         long nowMillis = System.currentTimeMillis();
         World world = store.getExternalData().getWorld();
-        List<ItemActionPlacementQueueService.PendingPlacement> due = this.placementQueueService.pollDueForWorld(
+        this.placementQueueService.applyDueForWorld(
                 world.getName(),
-                nowMillis);
-        if (due.isEmpty()) {
-            return;
-        }
-
-        for (ItemActionPlacementQueueService.PendingPlacement placement : due) {
-            try {
-                if (!targetStillMatches(world, placement)) {
-                    continue;
-                }
-
-                applyPlacement(store, world, placement);
-            } catch (Exception exception) {
-                LOGGER.atWarning().withCause(exception).log(
-                        "[Skills Actions] Failed pending placement world=%s pos=%d,%d,%d mode=%s block=%s",
-                        placement.position().worldName(),
-                        placement.position().x(),
-                        placement.position().y(),
-                        placement.position().z(),
-                        placement.applyMode(),
-                        placement.replacementBlockId());
-            }
-        }
+                nowMillis,
+                (x, y, z) -> currentBlockId(world, x, y, z),
+                new WorldPlacementApplier(store, world));
     }
 
     private void applyPlacement(
@@ -161,33 +143,59 @@ public class ItemActionPendingPlacementSystem extends DelayedSystem<EntityStore>
                 chunkStore);
     }
 
-    private boolean targetStillMatches(
-            @Nonnull World world,
-            @Nonnull ItemActionPlacementQueueService.PendingPlacement placement) {
-        String expectedCurrentBlockId = placement.expectedCurrentBlockId();
-        if (expectedCurrentBlockId == null || expectedCurrentBlockId.isBlank()) {
-            return true;
+    @Nullable
+    private static String currentBlockId(@Nonnull World world, int x, int y, int z) {
+        BlockType currentBlockType = world.getBlockType(x, y, z);
+        return currentBlockType == null ? null : currentBlockType.getId();
+    }
+
+    private final class WorldPlacementApplier
+            implements BlockMutationApplier<ItemActionPlacementQueueService.PendingPlacement> {
+
+        private final Store<EntityStore> store;
+        private final World world;
+
+        private WorldPlacementApplier(@Nonnull Store<EntityStore> store, @Nonnull World world) {
+            this.store = store;
+            this.world = world;
         }
 
-        BlockType currentBlockType = world.getBlockType(
-                placement.position().x(),
-                placement.position().y(),
-                placement.position().z());
-        if (currentBlockType == null) {
-            return false;
+        @Override
+        public void apply(@Nonnull BlockMutation<ItemActionPlacementQueueService.PendingPlacement> mutation) {
+            applyPlacement(this.store, this.world, mutation.payload());
+        }
+
+        @Override
+        public void onFailure(
+                @Nonnull BlockMutation<ItemActionPlacementQueueService.PendingPlacement> mutation,
+                @Nonnull Exception exception) {
+            ItemActionPlacementQueueService.PendingPlacement placement = mutation.payload();
+            LOGGER.atWarning().withCause(exception).log(
+                    "[Skills Actions] Failed pending placement world=%s pos=%d,%d,%d mode=%s block=%s",
+                    placement.position().worldName(),
+                    placement.position().x(),
+                    placement.position().y(),
+                    placement.position().z(),
+                    placement.applyMode(),
+                    placement.replacementBlockId());
         }
 
-        String actualBlockId = currentBlockType.getId();
-        boolean matches = ItemActionsConfig.ItemXpActionDefinition.idsMatch(expectedCurrentBlockId, actualBlockId);
-        if (!matches) {
+        @Override
+        public void onGuardRejected(
+                @Nonnull BlockMutation<ItemActionPlacementQueueService.PendingPlacement> mutation,
+                @Nullable String actualBlockId) {
+            if (actualBlockId == null) {
+                return;
+            }
+
+            ItemActionPlacementQueueService.PendingPlacement placement = mutation.payload();
             LOGGER.atFine().log(
                     "[Skills Actions] Skipped replacement because target block changed expected=%s actual=%s pos=%d,%d,%d",
-                    expectedCurrentBlockId,
+                    placement.expectedCurrentBlockId(),
                     actualBlockId,
                     placement.position().x(),
                     placement.position().y(),
                     placement.position().z());
         }
-        return matches;
     }
 }
@@ -3,18 +3,21 @@ package org.runetale.skills.actions.service;
 import org.junit.jupiter.api.Test;
 import org.runetale.skills.config.ItemActionsConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ItemActionPlacementQueueServiceTest {
 
     @Test
-    void pollDueForWorldReturnsAndRemovesOnlyDuePlacements() {
+    void applyDueForWorldAppliesAndRemovesOnlyDuePlacements() {
         ItemActionPlacementQueueService service = new ItemActionPlacementQueueService();
         service.queue("World_A", 10, 64, 10, "RuneTale_Log", "Furniture_Crude_Brazier", 1_000L);
         service.queue("World_A", 11, 64, 10, "RuneTale_Oak_Log", "Furniture_Crude_Brazier", 3_000L);
         service.queue("World_B", 10, 64, 10, "RuneTale_Log", "Furniture_Crude_Brazier", 1_000L);
 
-        assertThat(service.pollDueForWorld("World_A", 2_000L))
+        assertThat(applyDue(service, "World_A", 2_000L))
                 .hasSize(1)
                 .first()
                 .satisfies(placement -> {
@@ -23,9 +26,9 @@ class ItemActionPlacementQueueServiceTest {
                     assertThat(placement.expectedCurrentBlockId()).isEqualTo("RuneTale_Log");
                 });
 
-        assertThat(service.pollDueForWorld("World_A", 2_000L)).isEmpty();
-        assertThat(service.pollDueForWorld("World_A", 4_000L)).hasSize(1);
-        assertThat(service.pollDueForWorld("World_B", 2_000L)).hasSize(1);
+        assertThat(applyDue(service, "World_A", 2_000L)).isEmpty();
+        assertThat(applyDue(service, "World_A", 4_000L)).hasSize(1);
+        assertThat(applyDue(service, "World_B", 2_000L)).hasSize(1);
     }
 
     @Test
@@ -41,7 +44,7 @@ class ItemActionPlacementQueueServiceTest {
                 ItemActionsConfig.BlockApplyMode.NATURAL_REMOVE,
                 1_000L);
 
-        assertThat(service.pollDueForWorld("World_A", 2_000L))
+        assertThat(applyDue(service, "World_A", 2_000L))
                 .hasSize(1)
                 .first()
                 .satisfies(placement -> {
@@ -49,4 +52,37 @@ class ItemActionPlacementQueueServiceTest {
                     assertThat(placement.replacementBlockId()).isBlank();
                 });
     }
+
+    @Test
+    void applyDueForWorldSkipsPlacementsWhoseTargetChanged() {
+        ItemActionPlacementQueueService service = new ItemActionPlacementQueueService();
+        service.queue("World_A", 1, 64, 1, "RuneTale_Log", "Furniture_Crude_Brazier", 1_000L);
+        service.queue("World_A", 2, 64, 1, "RuneTale_Log", "Furniture_Crude_Brazier", 1_000L);
+        service.queue("World_A", 3, 64, 1, null, "Furniture_Crude_Brazier", 1_000L);
+        List<Integer> appliedAt = new ArrayList<>();
+
+        int applied = service.applyDueForWorld(
+                "World_A",
+                2_000L,
+                (x, y, z) -> x == 1 ? "hytale:RuneTale_Log" : "Soil_Grass",
+                mutation -> appliedAt.add(mutation.payload().position().x()));
+
+        assertThat(applied).isEqualTo(2);
+        assertThat(appliedAt).containsExactly(1, 3);
+        assertThat(service.metricsSnapshot().guardRejected()).isEqualTo(1L);
+    }
+
+    // Reads back each placement's expected block so only the due-time filter decides what is applied.
+    private static List<ItemActionPlacementQueueService.PendingPlacement> applyDue(
+            ItemActionPlacementQueueService service,
+            String worldName,
+            long nowMillis) {
+        List<ItemActionPlacementQueueService.PendingPlacement> applied = new ArrayList<>();
+        service.applyDueForWorld(
+                worldName,
+                nowMillis,
+                (x, y, z) -> x == 11 ? "RuneTale_Oak_Log" : x == 1 ? "RuneTale_Fire" : "RuneTale_Log",
+                mutation -> applied.add(mutation.payload()));
+        return applied;
+    }
 }
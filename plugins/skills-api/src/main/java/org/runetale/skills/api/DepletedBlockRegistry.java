@@ -0,0 +1,185 @@
+package org.runetale.skills.api;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Positions whose gatherable block is currently depleted (e.g. a block-regeneration placeholder
+// waiting to respawn). Publishers mark and restore positions; gather gates probe before doing any
+// other work. Each world keeps a primitive open-addressed set of packed positions.
+public final class DepletedBlockRegistry {
+
+    private static final DepletedBlockRegistry SHARED = new DepletedBlockRegistry();
+
+    private final Map<String, PositionSet> positionsByWorld = new ConcurrentHashMap<>();
+    private final AtomicInteger depletedCount = new AtomicInteger();
+
+    @Nonnull
+    public static DepletedBlockRegistry shared() {
+        return SHARED;
+    }
+
+    public boolean isDepleted(@Nonnull String worldName, int x, int y, int z) {
+        if (this.depletedCount.get() == 0) {
+            return false;
+        }
+        PositionSet positions = this.positionsByWorld.get(worldName);
+        return positions != null && positions.contains(packPosition(x, y, z));
+    }
+
+    public void markDepleted(@Nonnull String worldName, int x, int y, int z) {
+        PositionSet positions = this.positionsByWorld.computeIfAbsent(worldName, ignored -> new PositionSet());
+        if (positions.add(packPosition(x, y, z))) {
+            this.depletedCount.incrementAndGet();
+        }
+    }
+
+    public void markRestored(@Nonnull String worldName, int x, int y, int z) {
+        PositionSet positions = this.positionsByWorld.get(worldName);
+        if (positions != null && positions.remove(packPosition(x, y, z))) {
+            this.depletedCount.decrementAndGet();
+        }
+    }
+
+    public void clearWorld(@Nonnull String worldName) {
+        PositionSet positions = this.positionsByWorld.remove(worldName);
+        if (positions != null) {
+            this.depletedCount.addAndGet(-positions.clear());
+        }
+    }
+
+    public void clear() {
+        for (String worldName : this.positionsByWorld.keySet()) {
+            clearWorld(worldName);
+        }
+    }
+
+    public int size() {
+        return this.depletedCount.get();
+    }
+
+    private static long packPosition(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    // Linear-probing long set with backward-shift deletion. Zero marks an empty slot, so the packed
+    // position zero is tracked by a separate flag.
+    private static final class PositionSet {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+        private int size;
+        private boolean containsZero;
+
+        synchronized boolean contains(long key) {
+            if (key == 0L) {
+                return this.containsZero;
+            }
+            int slot = slotFor(key, this.mask);
+            while (true) {
+                long resident = this.slots[slot];
+                if (resident == 0L) {
+                    return false;
+                }
+                if (resident == key) {
+                    return true;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+        }
+
+        synchronized boolean add(long key) {
+            if (key == 0L) {
+                if (this.containsZero) {
+                    return false;
+                }
+                this.containsZero = true;
+                return true;
+            }
+            if ((this.size + 1) * 2 > this.slots.length) {
+                resize(this.slots.length * 2);
+            }
+            int slot = slotFor(key, this.mask);
+            while (this.slots[slot] != 0L) {
+                if (this.slots[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            this.slots[slot] = key;
+            this.size++;
+            return true;
+        }
+
+        synchronized boolean remove(long key) {
+            if (key == 0L) {
+                boolean removed = this.containsZero;
+                this.containsZero = false;
+                return removed;
+            }
+            int slot = slotFor(key, this.mask);
+            while (true) {
+                long resident = this.slots[slot];
+                if (resident == 0L) {
+                    return false;
+                }
+                if (resident == key) {
+                    deleteSlot(slot);
+                    this.size--;
+                    return true;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+        }
+
+        synchronized int clear() {
+            int cleared = this.size + (this.containsZero ? 1 : 0);
+            this.slots = new long[INITIAL_CAPACITY];
+            this.mask = INITIAL_CAPACITY - 1;
+            this.size = 0;
+            this.containsZero = false;
+            return cleared;
+        }
+
+        private void deleteSlot(int slot) {
+            int hole = slot;
+            int probe = (hole + 1) & this.mask;
+            while (true) {
+                long resident = this.slots[probe];
+                if (resident == 0L) {
+                    break;
+                }
+                int home = slotFor(resident, this.mask);
+                if (((probe - home) & this.mask) >= ((probe - hole) & this.mask)) {
+                    this.slots[hole] = resident;
+                    hole = probe;
+                }
+                probe = (probe + 1) & this.mask;
+            }
+            this.slots[hole] = 0L;
+        }
+
+        private void resize(int capacity) {
+            long[] previous = this.slots;
+            this.slots = new long[capacity];
+            this.mask = capacity - 1;
+            for (long resident : previous) {
+                if (resident != 0L) {
+                    int slot = slotFor(resident, this.mask);
+                    while (this.slots[slot] != 0L) {
+                        slot = (slot + 1) & this.mask;
+                    }
+                    this.slots[slot] = resident;
+                }
+            }
+        }
+
+        private static int slotFor(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
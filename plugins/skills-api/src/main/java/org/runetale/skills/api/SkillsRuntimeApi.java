@@ -3,6 +3,7 @@ package org.runetale.skills.api;
 import com.hypixel.hytale.component.ComponentAccessor;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 import org.runetale.skills.domain.SkillType;
 
 import javax.annotation.Nonnull;
@@ -34,4 +35,7 @@ public interface SkillsRuntimeApi {
     long xpForLevel(int level);
 
     boolean isDebugEnabled(@Nonnull String pluginKey);
+
+    @Nonnull
+    SkillsDiagnostics getDiagnostics();
 }
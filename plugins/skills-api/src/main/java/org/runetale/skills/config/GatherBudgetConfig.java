@@ -0,0 +1,26 @@
+package org.runetale.skills.config;
+
+import com.google.gson.JsonObject;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+
+public record GatherBudgetConfig(
+        int fullEvaluationsPerChunkPerTick,
+        long tickMillis,
+        long hotChunkReportIntervalMillis) {
+
+    private static final String RESOURCE_PATH = "Skills/Config/gathering.json";
+
+    @Nonnull
+    public static GatherBudgetConfig load(@Nonnull Path externalConfigRoot) {
+        JsonObject root = ConfigResourceLoader.loadJsonObject(RESOURCE_PATH, externalConfigRoot);
+        JsonObject budget = ConfigResourceLoader.objectValue(root, "budget");
+        int fullEvaluationsPerChunkPerTick = Math.max(1,
+                ConfigResourceLoader.intValue(budget, "fullEvaluationsPerChunkPerTick", 16));
+        long tickMillis = Math.max(1L, ConfigResourceLoader.longValue(budget, "tickMillis", 50L));
+        long hotChunkReportIntervalMillis = Math.max(1_000L,
+                ConfigResourceLoader.longValue(budget, "hotChunkReportIntervalMillis", 10_000L));
+        return new GatherBudgetConfig(fullEvaluationsPerChunkPerTick, tickMillis, hotChunkReportIntervalMillis);
+    }
+}
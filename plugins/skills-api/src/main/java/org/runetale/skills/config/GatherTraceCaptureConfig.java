@@ -0,0 +1,28 @@
+package org.runetale.skills.config;
+
+import com.google.gson.JsonObject;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+
+public record GatherTraceCaptureConfig(
+        boolean enabled,
+        int maxEvents,
+        @Nonnull String fileName) {
+
+    private static final String RESOURCE_PATH = "Skills/Config/gathering.json";
+    private static final String DEFAULT_FILE_NAME = "gather-trace.tsv";
+
+    @Nonnull
+    public static GatherTraceCaptureConfig load(@Nonnull Path externalConfigRoot) {
+        JsonObject root = ConfigResourceLoader.loadJsonObject(RESOURCE_PATH, externalConfigRoot);
+        JsonObject capture = ConfigResourceLoader.objectValue(root, "traceCapture");
+        boolean enabled = ConfigResourceLoader.booleanValue(capture, "enabled", false);
+        int maxEvents = Math.max(1_000, ConfigResourceLoader.intValue(capture, "maxEvents", 200_000));
+        String fileName = ConfigResourceLoader.stringValue(capture, "fileName", DEFAULT_FILE_NAME).trim();
+        if (fileName.isEmpty() || fileName.contains("/") || fileName.contains("\\")) {
+            fileName = DEFAULT_FILE_NAME;
+        }
+        return new GatherTraceCaptureConfig(enabled, maxEvents, fileName);
+    }
+}
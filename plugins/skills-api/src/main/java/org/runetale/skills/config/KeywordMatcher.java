@@ -0,0 +1,175 @@
+package org.runetale.skills.config;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Case-insensitive "contains any keyword" test compiled into an Aho-Corasick automaton, so an id is
+// scanned once no matter how many keywords are configured. Ids come from a finite asset set, so
+// answers are memoized per id up to MAX_MEMOIZED_IDS.
+public final class KeywordMatcher {
+
+    private static final int MAX_MEMOIZED_IDS = 4_096;
+    private static final int ROOT = 0;
+
+    private final List<String> keywords;
+    private final char[] symbols;
+    private final int[] transitions;
+    private final boolean[] accepting;
+    private final Map<String, Boolean> matchById = new ConcurrentHashMap<>();
+
+    private KeywordMatcher(
+            @Nonnull List<String> keywords,
+            @Nonnull char[] symbols,
+            @Nonnull int[] transitions,
+            @Nonnull boolean[] accepting) {
+        this.keywords = keywords;
+        this.symbols = symbols;
+        this.transitions = transitions;
+        this.accepting = accepting;
+    }
+
+    @Nonnull
+    public static KeywordMatcher compile(@Nonnull Collection<String> rawKeywords) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String raw : rawKeywords) {
+            if (raw == null) {
+                continue;
+            }
+            String normalized = raw.trim().toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()) {
+                unique.add(normalized);
+            }
+        }
+        List<String> keywords = List.copyOf(unique);
+
+        Set<Character> symbolSet = new TreeSet<>();
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                symbolSet.add(keyword.charAt(i));
+            }
+        }
+        char[] symbols = new char[symbolSet.size()];
+        int symbolIndex = 0;
+        for (char symbol : symbolSet) {
+            symbols[symbolIndex++] = symbol;
+        }
+
+        // Trie first; -1 marks a missing edge until failure links fill it in.
+        int width = Math.max(1, symbols.length);
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newRow(width));
+        terminal.add(false);
+        for (String keyword : keywords) {
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = Arrays.binarySearch(symbols, keyword.charAt(i));
+                int next = trie.get(state)[symbol];
+                if (next < 0) {
+                    next = trie.size();
+                    trie.add(newRow(width));
+                    terminal.add(false);
+                    trie.get(state)[symbol] = next;
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+
+        // Breadth-first failure links turn the trie into a complete DFA over the keyword alphabet.
+        int states = trie.size();
+        int[] transitions = new int[states * width];
+        boolean[] accepting = new boolean[states];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        accepting[ROOT] = terminal.get(ROOT);
+        for (int symbol = 0; symbol < width; symbol++) {
+            int child = trie.get(ROOT)[symbol];
+            if (child < 0) {
+                transitions[symbol] = ROOT;
+            } else {
+                transitions[symbol] = child;
+                failure[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] = terminal.get(state) || accepting[failure[state]];
+            for (int symbol = 0; symbol < width; symbol++) {
+                int child = trie.get(state)[symbol];
+                int fallback = transitions[failure[state] * width + symbol];
+                if (child < 0) {
+                    transitions[state * width + symbol] = fallback;
+                } else {
+                    transitions[state * width + symbol] = child;
+                    failure[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+
+        return new KeywordMatcher(keywords, symbols, transitions, accepting);
+    }
+
+    @Nonnull
+    public List<String> keywords() {
+        return this.keywords;
+    }
+
+    public boolean matchesAny(@Nullable String id) {
+        if (id == null || this.keywords.isEmpty()) {
+            return false;
+        }
+
+        Boolean memoized = this.matchById.get(id);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        boolean matched = scan(id);
+        if (this.matchById.size() < MAX_MEMOIZED_IDS) {
+            this.matchById.put(id, matched);
+        }
+        return matched;
+    }
+
+    public int memoizedCount() {
+        return this.matchById.size();
+    }
+
+    private boolean scan(@Nonnull String id) {
+        int width = this.symbols.length;
+        int state = ROOT;
+        for (int i = 0; i < id.length(); i++) {
+            int symbol = Arrays.binarySearch(this.symbols, Character.toLowerCase(id.charAt(i)));
+            if (symbol < 0) {
+                state = ROOT;
+                continue;
+            }
+            state = this.transitions[state * width + symbol];
+            if (this.accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,115 @@
+package org.runetale.skills.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.runetale.skills.domain.SkillType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public record RewardModifiersConfig(@Nonnull List<RewardModifierRule> rules) {
+
+    private static final String RESOURCE_PATH = "Skills/Config/gathering.json";
+
+    @Nonnull
+    public static RewardModifiersConfig load(@Nonnull Path externalConfigRoot) {
+        JsonObject root = ConfigResourceLoader.loadJsonObject(RESOURCE_PATH, externalConfigRoot);
+        return new RewardModifiersConfig(parseRules(root.get("rewardModifiers")));
+    }
+
+    public RewardModifiersConfig {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    @Nonnull
+    private static List<RewardModifierRule> parseRules(@Nullable JsonElement element) {
+        if (element == null || !element.isJsonArray()) {
+            return List.of();
+        }
+
+        List<RewardModifierRule> parsed = new ArrayList<>();
+        int index = 0;
+        for (JsonElement entry : element.getAsJsonArray()) {
+            if (entry == null || !entry.isJsonObject()) {
+                index++;
+                continue;
+            }
+
+            RewardModifierRule rule = parseRule(entry.getAsJsonObject(), index++);
+            if (rule != null) {
+                parsed.add(rule);
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    @Nullable
+    private static RewardModifierRule parseRule(@Nonnull JsonObject ruleObject, int index) {
+        String id = ConfigResourceLoader.stringValue(ruleObject, "id", "reward_modifier_" + index);
+        boolean enabled = ConfigResourceLoader.booleanValue(ruleObject, "enabled", true);
+        double multiplier = ConfigResourceLoader.doubleValue(ruleObject, "multiplier", 1.0D);
+        String rawSkill = ConfigResourceLoader.stringValue(ruleObject, "skill", "").trim();
+        SkillType skill = SkillType.tryParseStrict(rawSkill);
+        String nodeId = ConfigResourceLoader.stringValue(ruleObject, "nodeId", "").trim();
+        String worldName = ConfigResourceLoader.stringValue(ruleObject, "world", "").trim();
+        Long startsAtMillis = parseInstant(ConfigResourceLoader.stringValue(ruleObject, "startsAt", ""), Long.MIN_VALUE);
+        Long endsAtMillis = parseInstant(ConfigResourceLoader.stringValue(ruleObject, "endsAt", ""), Long.MAX_VALUE);
+
+        if (!enabled || !Double.isFinite(multiplier) || multiplier < 0.0D) {
+            return null;
+        }
+        if (!rawSkill.isEmpty() && skill == null) {
+            return null;
+        }
+        if (startsAtMillis == null || endsAtMillis == null || startsAtMillis >= endsAtMillis) {
+            return null;
+        }
+
+        return new RewardModifierRule(
+                id,
+                multiplier,
+                skill,
+                nodeId.isEmpty() ? null : nodeId.toLowerCase(Locale.ROOT),
+                worldName.isEmpty() ? null : worldName,
+                startsAtMillis,
+                endsAtMillis);
+    }
+
+    @Nullable
+    private static Long parseInstant(@Nonnull String raw, long openValue) {
+        String trimmed = raw.trim();
+        if (trimmed.isEmpty()) {
+            return openValue;
+        }
+        try {
+            return Instant.parse(trimmed).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    public record RewardModifierRule(
+            @Nonnull String id,
+            double multiplier,
+            @Nullable SkillType skill,
+            @Nullable String nodeId,
+            @Nullable String worldName,
+            long startsAtMillis,
+            long endsAtMillis) {
+
+        public boolean isActiveAt(long nowMillis) {
+            return nowMillis >= this.startsAtMillis && nowMillis < this.endsAtMillis;
+        }
+
+        public boolean matchesNode(@Nonnull SkillType nodeSkill, @Nonnull String normalizedNodeId) {
+            return (this.skill == null || this.skill == nodeSkill)
+                    && (this.nodeId == null || this.nodeId.equals(normalizedNodeId));
+        }
+    }
+}
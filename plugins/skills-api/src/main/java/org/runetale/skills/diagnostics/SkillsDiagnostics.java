@@ -0,0 +1,278 @@
+package org.runetale.skills.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Structured gather diagnostics shared by all skills plugins.
+ *
+ * <p>
+ * Each plugin key is assigned a bit once. Debug and trace flags are volatile bitsets over those
+ * bits, so a hot path guards diagnostics with a single {@link #isDebugEnabled(int)} or
+ * {@link #isTracing(int)} branch and writes primitive records into a fixed {@link TraceRingBuffer}
+ * only while tracing is on.
+ */
+public final class SkillsDiagnostics {
+
+    public static final int MAX_PLUGINS = 64;
+    public static final int MAX_TRACED_PLAYERS = 64;
+    public static final int NO_PLUGIN = -1;
+    private static final int DEFAULT_CAPACITY = 4_096;
+
+    private final TraceRingBuffer buffer;
+    private final Map<String, Integer> bitByKey = new ConcurrentHashMap<>();
+    private final String[] keyByBit = new String[MAX_PLUGINS];
+    private final long[] tracedPlayerMostSigBits = new long[MAX_TRACED_PLAYERS];
+    private final long[] tracedPlayerLeastSigBits = new long[MAX_TRACED_PLAYERS];
+    private final long[] tracedPlayerPluginMasks = new long[MAX_TRACED_PLAYERS];
+
+    private volatile long debugPluginMask;
+    private volatile long tracedPluginMask;
+    private volatile long tracedPlayerMask;
+    private volatile long filteredPluginMask;
+    private int registeredPlugins;
+
+    public SkillsDiagnostics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SkillsDiagnostics(int capacity) {
+        this.buffer = new TraceRingBuffer(capacity);
+    }
+
+    /**
+     * Returns the bit for a plugin key, assigning one on first use. Keys beyond
+     * {@link #MAX_PLUGINS} get {@link #NO_PLUGIN} and never trace.
+     */
+    public int pluginBit(@Nullable String pluginKey) {
+        String key = normalize(pluginKey);
+        if (key.isEmpty()) {
+            return NO_PLUGIN;
+        }
+
+        Integer bit = this.bitByKey.get(key);
+        if (bit != null) {
+            return bit;
+        }
+        synchronized (this) {
+            bit = this.bitByKey.get(key);
+            if (bit != null) {
+                return bit;
+            }
+            if (this.registeredPlugins == MAX_PLUGINS) {
+                return NO_PLUGIN;
+            }
+            int assigned = this.registeredPlugins++;
+            this.keyByBit[assigned] = key;
+            this.bitByKey.put(key, assigned);
+            return assigned;
+        }
+    }
+
+    @Nullable
+    public String pluginKey(int pluginBit) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return null;
+        }
+        return this.keyByBit[pluginBit];
+    }
+
+    public boolean isDebugEnabled(int pluginBit) {
+        return pluginBit >= 0 && (this.debugPluginMask & (1L << pluginBit)) != 0L;
+    }
+
+    public synchronized void setDebugEnabled(int pluginBit, boolean enabled) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return;
+        }
+        long bit = 1L << pluginBit;
+        this.debugPluginMask = enabled ? this.debugPluginMask | bit : this.debugPluginMask & ~bit;
+    }
+
+    public boolean isTracing(int pluginBit) {
+        return pluginBit >= 0 && (this.tracedPluginMask & (1L << pluginBit)) != 0L;
+    }
+
+    public synchronized void setTracing(int pluginBit, boolean tracing) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return;
+        }
+        long bit = 1L << pluginBit;
+        this.tracedPluginMask = tracing ? this.tracedPluginMask | bit : this.tracedPluginMask & ~bit;
+    }
+
+    /**
+     * Restricts one plugin's tracing to the given player. While a plugin has no traced player, its
+     * records are kept for every player. Returns false when all player slots are taken.
+     */
+    public synchronized boolean tracePlayer(int pluginBit, @Nonnull UUID playerId) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return false;
+        }
+        long bit = 1L << pluginBit;
+        int slot = playerSlot(playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+        if (slot < 0) {
+            long free = ~this.tracedPlayerMask;
+            if (free == 0L) {
+                return false;
+            }
+            slot = Long.numberOfTrailingZeros(free);
+            this.tracedPlayerMostSigBits[slot] = playerId.getMostSignificantBits();
+            this.tracedPlayerLeastSigBits[slot] = playerId.getLeastSignificantBits();
+            this.tracedPlayerPluginMasks[slot] = bit;
+            this.tracedPlayerMask |= 1L << slot;
+        } else {
+            this.tracedPlayerPluginMasks[slot] |= bit;
+        }
+        this.filteredPluginMask |= bit;
+        return true;
+    }
+
+    public synchronized void untracePlayer(int pluginBit, @Nonnull UUID playerId) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return;
+        }
+        int slot = playerSlot(playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+        if (slot < 0) {
+            return;
+        }
+        this.tracedPlayerPluginMasks[slot] &= ~(1L << pluginBit);
+        if (this.tracedPlayerPluginMasks[slot] == 0L) {
+            this.tracedPlayerMask &= ~(1L << slot);
+        }
+
+        long filtered = 0L;
+        long remaining = this.tracedPlayerMask;
+        while (remaining != 0L) {
+            int occupied = Long.numberOfTrailingZeros(remaining);
+            filtered |= this.tracedPlayerPluginMasks[occupied];
+            remaining &= remaining - 1L;
+        }
+        this.filteredPluginMask = filtered;
+    }
+
+    public synchronized int tracedPlayerCount(int pluginBit) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return 0;
+        }
+        long bit = 1L << pluginBit;
+        int count = 0;
+        long remaining = this.tracedPlayerMask;
+        while (remaining != 0L) {
+            int slot = Long.numberOfTrailingZeros(remaining);
+            if ((this.tracedPlayerPluginMasks[slot] & bit) != 0L) {
+                count++;
+            }
+            remaining &= remaining - 1L;
+        }
+        return count;
+    }
+
+    public boolean isPlayerTraced(int pluginBit, @Nonnull UUID playerId) {
+        if (pluginBit < 0 || pluginBit >= MAX_PLUGINS) {
+            return false;
+        }
+        long bit = 1L << pluginBit;
+        return (this.filteredPluginMask & bit) == 0L
+                || tracesPlayer(bit, playerId.getMostSignificantBits(), playerId.getLeastSignificantBits());
+    }
+
+    public void trace(
+            int pluginBit,
+            @Nonnull TraceEvent event,
+            @Nonnull UUID playerId,
+            int x,
+            int y,
+            int z,
+            @Nullable String subject,
+            int detailA,
+            int detailB,
+            double value) {
+        if (!isTracing(pluginBit)) {
+            return;
+        }
+        long mostSigBits = playerId.getMostSignificantBits();
+        long leastSigBits = playerId.getLeastSignificantBits();
+        long bit = 1L << pluginBit;
+        if ((this.filteredPluginMask & bit) != 0L && !tracesPlayer(bit, mostSigBits, leastSigBits)) {
+            return;
+        }
+        this.buffer.write(System.currentTimeMillis(), pluginBit, event, mostSigBits, leastSigBits,
+                x, y, z, subject, detailA, detailB, value);
+    }
+
+    /**
+     * Returns up to {@code limit} of the newest records for one plugin, oldest first.
+     * {@link #NO_PLUGIN} selects every plugin.
+     */
+    @Nonnull
+    public List<TraceRecord> recent(int pluginBit, int limit) {
+        return this.buffer.snapshot(pluginBit, Math.max(0, limit));
+    }
+
+    @Nonnull
+    public List<String> dump(int pluginBit, int limit) {
+        List<TraceRecord> records = recent(pluginBit, limit);
+        List<String> lines = new ArrayList<>(records.size());
+        for (TraceRecord record : records) {
+            lines.add(format(record));
+        }
+        return lines;
+    }
+
+    @Nonnull
+    public String format(@Nonnull TraceRecord record) {
+        String pluginKey = pluginKey(record.pluginBit());
+        return String.format(
+                Locale.ROOT,
+                "#%d %s %s player=%s pos=%d,%d,%d subject=%s a=%d b=%d value=%.3f",
+                record.sequence(),
+                pluginKey == null ? "?" : pluginKey,
+                record.event().name(),
+                record.playerId(),
+                record.x(),
+                record.y(),
+                record.z(),
+                record.subject() == null ? "-" : record.subject(),
+                record.detailA(),
+                record.detailB(),
+                record.value());
+    }
+
+    public long written() {
+        return this.buffer.written();
+    }
+
+    public int capacity() {
+        return this.buffer.capacity();
+    }
+
+    private int playerSlot(long mostSigBits, long leastSigBits) {
+        long remaining = this.tracedPlayerMask;
+        while (remaining != 0L) {
+            int slot = Long.numberOfTrailingZeros(remaining);
+            if (this.tracedPlayerMostSigBits[slot] == mostSigBits
+                    && this.tracedPlayerLeastSigBits[slot] == leastSigBits) {
+                return slot;
+            }
+            remaining &= remaining - 1L;
+        }
+        return -1;
+    }
+
+    private boolean tracesPlayer(long pluginBit, long mostSigBits, long leastSigBits) {
+        int slot = playerSlot(mostSigBits, leastSigBits);
+        return slot >= 0 && (this.tracedPlayerPluginMasks[slot] & pluginBit) != 0L;
+    }
+
+    @Nonnull
+    private static String normalize(@Nullable String pluginKey) {
+        return pluginKey == null ? "" : pluginKey.trim().toLowerCase(Locale.ROOT);
+    }
+}
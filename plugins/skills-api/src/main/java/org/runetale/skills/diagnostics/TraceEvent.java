@@ -0,0 +1,21 @@
+package org.runetale.skills.diagnostics;
+
+/**
+ * Kinds of records written to the diagnostics trace buffer.
+ */
+public enum TraceEvent {
+    NODE_RESOLVED,
+    NODE_UNCONFIGURED,
+    LEVEL_DENIED,
+    TOOL_EVALUATED,
+    DAMAGE_SCALED,
+    CONTEXT_REUSED,
+    BUDGET_EXCEEDED,
+    DEPLETED_SKIPPED;
+
+    private static final TraceEvent[] VALUES = values();
+
+    static TraceEvent fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,23 @@
+package org.runetale.skills.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Snapshot of one trace buffer slot, materialized only when the buffer is dumped.
+ */
+public record TraceRecord(
+        long sequence,
+        long timestampMillis,
+        int pluginBit,
+        @Nonnull TraceEvent event,
+        @Nonnull UUID playerId,
+        int x,
+        int y,
+        int z,
+        @Nullable String subject,
+        int detailA,
+        int detailB,
+        double value) {
+}
@@ -0,0 +1,161 @@
+package org.runetale.skills.diagnostics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free ring of trace records stored as parallel primitive arrays.
+ *
+ * <p>
+ * Writers claim a sequence with one atomic increment and publish the slot with a per-slot stamp,
+ * so writing never allocates or blocks. Readers copy a slot and keep it only if its stamp is
+ * unchanged afterwards; slots overwritten mid-read are skipped.
+ */
+public final class TraceRingBuffer {
+
+    private static final long WRITING = -1L;
+
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray stamps;
+    private final long[] timestamps;
+    private final int[] pluginBits;
+    private final int[] events;
+    private final long[] playerMostSigBits;
+    private final long[] playerLeastSigBits;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] zs;
+    private final String[] subjects;
+    private final int[] detailsA;
+    private final int[] detailsB;
+    private final double[] values;
+
+    public TraceRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.stamps = new AtomicLongArray(capacity);
+        this.timestamps = new long[capacity];
+        this.pluginBits = new int[capacity];
+        this.events = new int[capacity];
+        this.playerMostSigBits = new long[capacity];
+        this.playerLeastSigBits = new long[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.zs = new int[capacity];
+        this.subjects = new String[capacity];
+        this.detailsA = new int[capacity];
+        this.detailsB = new int[capacity];
+        this.values = new double[capacity];
+    }
+
+    public int capacity() {
+        return this.mask + 1;
+    }
+
+    public long written() {
+        return this.cursor.get();
+    }
+
+    public void write(
+            long timestampMillis,
+            int pluginBit,
+            @Nonnull TraceEvent event,
+            long playerMostSigBits,
+            long playerLeastSigBits,
+            int x,
+            int y,
+            int z,
+            @Nullable String subject,
+            int detailA,
+            int detailB,
+            double value) {
+        long sequence = this.cursor.getAndIncrement();
+        int slot = (int) (sequence & this.mask);
+        this.stamps.set(slot, WRITING);
+        // Keeps the payload stores below from becoming visible before the slot is marked as writing.
+        VarHandle.storeStoreFence();
+        this.timestamps[slot] = timestampMillis;
+        this.pluginBits[slot] = pluginBit;
+        this.events[slot] = event.ordinal();
+        this.playerMostSigBits[slot] = playerMostSigBits;
+        this.playerLeastSigBits[slot] = playerLeastSigBits;
+        this.xs[slot] = x;
+        this.ys[slot] = y;
+        this.zs[slot] = z;
+        this.subjects[slot] = subject;
+        this.detailsA[slot] = detailA;
+        this.detailsB[slot] = detailB;
+        this.values[slot] = value;
+        this.stamps.lazySet(slot, sequence + 1L);
+    }
+
+    /**
+     * Returns up to {@code limit} of the newest records, oldest first. A negative
+     * {@code pluginBit} matches every plugin.
+     */
+    @Nonnull
+    public List<TraceRecord> snapshot(int pluginBit, int limit) {
+        List<TraceRecord> newestFirst = new ArrayList<>();
+        long end = this.cursor.get();
+        long start = Math.max(0L, end - capacity());
+        for (long sequence = end - 1L; sequence >= start && newestFirst.size() < limit; sequence--) {
+            TraceRecord record = read(sequence);
+            if (record != null && (pluginBit < 0 || record.pluginBit() == pluginBit)) {
+                newestFirst.add(record);
+            }
+        }
+
+        List<TraceRecord> oldestFirst = new ArrayList<>(newestFirst.size());
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            oldestFirst.add(newestFirst.get(i));
+        }
+        return oldestFirst;
+    }
+
+    @Nullable
+    private TraceRecord read(long sequence) {
+        int slot = (int) (sequence & this.mask);
+        if (this.stamps.get(slot) != sequence + 1L) {
+            return null;
+        }
+
+        long timestamp = this.timestamps[slot];
+        int plugin = this.pluginBits[slot];
+        int event = this.events[slot];
+        long mostSigBits = this.playerMostSigBits[slot];
+        long leastSigBits = this.playerLeastSigBits[slot];
+        int x = this.xs[slot];
+        int y = this.ys[slot];
+        int z = this.zs[slot];
+        String subject = this.subjects[slot];
+        int detailA = this.detailsA[slot];
+        int detailB = this.detailsB[slot];
+        double value = this.values[slot];
+        // Keeps the payload loads above from being satisfied after the stamp re-check.
+        VarHandle.loadLoadFence();
+        if (this.stamps.get(slot) != sequence + 1L) {
+            return null;
+        }
+
+        return new TraceRecord(
+                sequence,
+                timestamp,
+                plugin,
+                TraceEvent.fromOrdinal(event),
+                new UUID(mostSigBits, leastSigBits),
+                x,
+                y,
+                z,
+                subject,
+                detailA,
+                detailB,
+                value);
+    }
+}
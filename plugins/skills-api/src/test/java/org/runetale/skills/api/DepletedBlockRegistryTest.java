@@ -0,0 +1,67 @@
+package org.runetale.skills.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepletedBlockRegistryTest {
+
+    @Test
+    void markedPositionsAreDepletedPerWorldUntilRestored() {
+        DepletedBlockRegistry registry = new DepletedBlockRegistry();
+
+        registry.markDepleted("world", 10, 64, -20);
+        registry.markDepleted("world", 10, 64, -20);
+
+        assertThat(registry.isDepleted("world", 10, 64, -20)).isTrue();
+        assertThat(registry.isDepleted("world", 10, 65, -20)).isFalse();
+        assertThat(registry.isDepleted("nether", 10, 64, -20)).isFalse();
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.markRestored("world", 10, 64, -20);
+        registry.markRestored("world", 10, 64, -20);
+
+        assertThat(registry.isDepleted("world", 10, 64, -20)).isFalse();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void positionsSurviveGrowthAndRemovalOfCollidingNeighbours() {
+        DepletedBlockRegistry registry = new DepletedBlockRegistry();
+        for (int x = -50; x < 50; x++) {
+            for (int z = -50; z < 50; z++) {
+                registry.markDepleted("world", x, 0, z);
+            }
+        }
+        for (int x = -50; x < 50; x += 2) {
+            for (int z = -50; z < 50; z++) {
+                registry.markRestored("world", x, 0, z);
+            }
+        }
+
+        assertThat(registry.size()).isEqualTo(5000);
+        for (int x = -50; x < 50; x++) {
+            for (int z = -50; z < 50; z++) {
+                assertThat(registry.isDepleted("world", x, 0, z)).isEqualTo((x & 1) != 0);
+            }
+        }
+    }
+
+    @Test
+    void clearWorldOnlyDropsThatWorld() {
+        DepletedBlockRegistry registry = new DepletedBlockRegistry();
+        registry.markDepleted("world", 0, 0, 0);
+        registry.markDepleted("world", 1, 2, 3);
+        registry.markDepleted("other", 1, 2, 3);
+
+        registry.clearWorld("world");
+
+        assertThat(registry.isDepleted("world", 0, 0, 0)).isFalse();
+        assertThat(registry.isDepleted("other", 1, 2, 3)).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.clear();
+
+        assertThat(registry.size()).isZero();
+    }
+}
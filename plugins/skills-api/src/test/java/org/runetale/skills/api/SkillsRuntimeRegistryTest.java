@@ -5,6 +5,7 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 import org.runetale.skills.domain.SkillType;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +52,8 @@ class SkillsRuntimeRegistryTest {
 
     private static final class TestRuntimeApi implements SkillsRuntimeApi {
 
+        private final SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+
         @Override
         public boolean hasSkillProfile(ComponentAccessor<EntityStore> accessor, Ref<EntityStore> playerRef) {
             return false;
@@ -91,5 +94,10 @@ class SkillsRuntimeRegistryTest {
         public boolean isDebugEnabled(String pluginKey) {
             return false;
         }
+
+        @Override
+        public SkillsDiagnostics getDiagnostics() {
+            return this.diagnostics;
+        }
     }
 }
@@ -0,0 +1,75 @@
+package org.runetale.skills.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void matchesKeywordsAnywhereInTheIdIgnoringCase() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("log", "tree", "ore", "rock"));
+
+        assertThat(matcher.matchesAny("Wood_Oak_Log")).isTrue();
+        assertThat(matcher.matchesAny("Plant_TREE_Birch")).isTrue();
+        assertThat(matcher.matchesAny("Rock_Stone_Cobble")).isTrue();
+        assertThat(matcher.matchesAny("Soil_Grass")).isFalse();
+        assertThat(matcher.matchesAny(null)).isFalse();
+    }
+
+    @Test
+    void overlappingKeywordsAreFoundThroughFailureLinks() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("arrow_hit", "rowan", "w_h"));
+
+        assertThat(matcher.matchesAny("ARROWAN")).isTrue();
+        assertThat(matcher.matchesAny("narrow_h")).isTrue();
+        assertThat(matcher.matchesAny("arrow_hi")).isTrue();
+        assertThat(matcher.matchesAny("arro_hi")).isFalse();
+    }
+
+    @Test
+    void blankKeywordsAreIgnoredAndEmptyMatcherNeverMatches() {
+        KeywordMatcher empty = KeywordMatcher.compile(Arrays.asList("  ", null, ""));
+        KeywordMatcher trimmed = KeywordMatcher.compile(List.of(" Ore_Chunk ", "ore_chunk"));
+
+        assertThat(empty.keywords()).isEmpty();
+        assertThat(empty.matchesAny("anything")).isFalse();
+        assertThat(trimmed.keywords()).containsExactly("ore_chunk");
+        assertThat(trimmed.matchesAny("Iron_Ore_Chunk_A")).isTrue();
+    }
+
+    @Test
+    void resultsAreMemoizedPerId() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("ore"));
+
+        matcher.matchesAny("Ore_Iron");
+        matcher.matchesAny("Ore_Iron");
+        matcher.matchesAny("Soil_Dirt");
+
+        assertThat(matcher.memoizedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void agreesWithContainsScanOnRandomIds() {
+        List<String> keywords = List.of("ab", "bab", "bca", "c", "aac");
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+        SplittableRandom random = new SplittableRandom(44L);
+
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder id = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int c = 0; c < length; c++) {
+                id.append("aAbBcCx_".charAt(random.nextInt(8)));
+            }
+            String lowered = id.toString().toLowerCase(Locale.ROOT);
+            boolean expected = keywords.stream().anyMatch(lowered::contains);
+
+            assertThat(matcher.matchesAny(id.toString())).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.runetale.skills.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillsDiagnosticsTest {
+
+    @Test
+    void pluginBitsAreStableAndCaseInsensitive() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+
+        int skills = diagnostics.pluginBit("skills");
+        int actions = diagnostics.pluginBit("skills-actions");
+
+        assertThat(diagnostics.pluginBit(" SKILLS ")).isEqualTo(skills);
+        assertThat(actions).isNotEqualTo(skills);
+        assertThat(diagnostics.pluginKey(actions)).isEqualTo("skills-actions");
+        assertThat(diagnostics.pluginBit("  ")).isEqualTo(SkillsDiagnostics.NO_PLUGIN);
+    }
+
+    @Test
+    void debugAndTraceFlagsAreIndependent() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+        int skills = diagnostics.pluginBit("skills");
+
+        diagnostics.setDebugEnabled(skills, true);
+
+        assertThat(diagnostics.isDebugEnabled(skills)).isTrue();
+        assertThat(diagnostics.isTracing(skills)).isFalse();
+        assertThat(diagnostics.isDebugEnabled(SkillsDiagnostics.NO_PLUGIN)).isFalse();
+    }
+
+    @Test
+    void traceIsDroppedWhilePluginIsNotTraced() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+        int skills = diagnostics.pluginBit("skills");
+
+        diagnostics.trace(skills, TraceEvent.NODE_RESOLVED, UUID.randomUUID(), 1, 2, 3, "node", 5, 10, 0.0D);
+
+        assertThat(diagnostics.written()).isZero();
+        assertThat(diagnostics.recent(skills, 10)).isEmpty();
+    }
+
+    @Test
+    void recentReturnsNewestRecordsOldestFirstPerPlugin() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+        int skills = diagnostics.pluginBit("skills");
+        int actions = diagnostics.pluginBit("skills-actions");
+        diagnostics.setTracing(skills, true);
+        diagnostics.setTracing(actions, true);
+        UUID playerId = UUID.randomUUID();
+
+        for (int i = 0; i < 40; i++) {
+            diagnostics.trace(i % 2 == 0 ? skills : actions, TraceEvent.DAMAGE_SCALED, playerId, i, 64, 0,
+                    "node", i, 0, i * 0.5D);
+        }
+
+        List<TraceRecord> records = diagnostics.recent(skills, 3);
+        assertThat(records).extracting(TraceRecord::x).containsExactly(34, 36, 38);
+        assertThat(records.get(2).playerId()).isEqualTo(playerId);
+        assertThat(records.get(2).value()).isEqualTo(19.0D);
+        assertThat(diagnostics.recent(SkillsDiagnostics.NO_PLUGIN, 100)).hasSize(diagnostics.capacity());
+        assertThat(diagnostics.dump(actions, 1)).hasSize(1);
+        assertThat(diagnostics.dump(actions, 1).get(0)).contains("skills-actions", "DAMAGE_SCALED", "pos=39,64,0");
+    }
+
+    @Test
+    void tracedPlayersRestrictRecording() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+        int skills = diagnostics.pluginBit("skills");
+        diagnostics.setTracing(skills, true);
+        UUID traced = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        assertThat(diagnostics.tracePlayer(skills, traced)).isTrue();
+        diagnostics.trace(skills, TraceEvent.LEVEL_DENIED, other, 0, 0, 0, "node", 1, 10, 0.0D);
+        diagnostics.trace(skills, TraceEvent.LEVEL_DENIED, traced, 0, 0, 0, "node", 1, 10, 0.0D);
+
+        assertThat(diagnostics.recent(skills, 10)).extracting(TraceRecord::playerId).containsExactly(traced);
+        assertThat(diagnostics.isPlayerTraced(skills, other)).isFalse();
+
+        diagnostics.untracePlayer(skills, traced);
+        assertThat(diagnostics.tracedPlayerCount(skills)).isZero();
+        assertThat(diagnostics.isPlayerTraced(skills, other)).isTrue();
+    }
+
+    @Test
+    void playerFiltersAreKeptPerPlugin() {
+        SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+        int skills = diagnostics.pluginBit("skills");
+        int actions = diagnostics.pluginBit("skills-actions");
+        diagnostics.setTracing(skills, true);
+        diagnostics.setTracing(actions, true);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        diagnostics.tracePlayer(skills, first);
+        diagnostics.tracePlayer(actions, second);
+        diagnostics.trace(skills, TraceEvent.LEVEL_DENIED, second, 0, 0, 0, "node", 1, 10, 0.0D);
+        diagnostics.trace(actions, TraceEvent.LEVEL_DENIED, second, 0, 0, 0, "node", 1, 10, 0.0D);
+
+        assertThat(diagnostics.recent(skills, 10)).isEmpty();
+        assertThat(diagnostics.recent(actions, 10)).extracting(TraceRecord::playerId).containsExactly(second);
+        assertThat(diagnostics.tracedPlayerCount(skills)).isEqualTo(1);
+
+        // Dropping the last skills player must not widen or clear the skills-actions filter.
+        diagnostics.untracePlayer(skills, first);
+        assertThat(diagnostics.isPlayerTraced(skills, second)).isTrue();
+        assertThat(diagnostics.isPlayerTraced(actions, first)).isFalse();
+        assertThat(diagnostics.tracedPlayerCount(actions)).isEqualTo(1);
+    }
+}
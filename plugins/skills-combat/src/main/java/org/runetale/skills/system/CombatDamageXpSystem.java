@@ -17,6 +17,7 @@ import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.config.CombatConfig;
+import org.runetale.skills.config.KeywordMatcher;
 import org.runetale.skills.domain.CombatStyleType;
 import org.runetale.skills.domain.SkillType;
 import org.runetale.skills.service.CombatStyleService;
@@ -37,6 +38,7 @@ public class CombatDamageXpSystem extends DamageEventSystem {
 	private final SkillsRuntimeApi runtimeApi;
 	private final CombatStyleService combatStyleService;
 	private final CombatConfig combatConfig;
+	private final KeywordMatcher projectileCauseMatcher;
 	private final Query<EntityStore> query;
 
 	public CombatDamageXpSystem(
@@ -46,6 +48,7 @@ public class CombatDamageXpSystem extends DamageEventSystem {
 		this.runtimeApi = runtimeApi;
 		this.combatStyleService = combatStyleService;
 		this.combatConfig = combatConfig;
+		this.projectileCauseMatcher = KeywordMatcher.compile(combatConfig.projectileCauseTokens());
 		this.query = AllLegacyLivingEntityTypesQuery.INSTANCE;
 	}
 
@@ -206,13 +209,7 @@ public class CombatDamageXpSystem extends DamageEventSystem {
 			return false;
 		}
 
-		String normalizedCauseId = causeId.toLowerCase(Locale.ROOT);
-		for (String token : this.combatConfig.projectileCauseTokens()) {
-			if (normalizedCauseId.contains(token)) {
-				return true;
-			}
-		}
-		return false;
+		return this.projectileCauseMatcher.matchesAny(causeId);
 	}
 
 	@Nullable
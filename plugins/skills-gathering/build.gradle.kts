@@ -1,4 +1,36 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+val hytaleServerVersion = providers.gradleProperty("hytaleServerVersion").get()
+
 dependencies {
     compileOnly(project(":plugins:skills-api"))
     testImplementation(project(":plugins:skills-api"))
+    jmhImplementation(project(":plugins:skills-api"))
+    jmhImplementation("com.hypixel.hytale:Server:$hytaleServerVersion")
+    jmhImplementation(libs.mockito.core)
+}
+
+// Gather replay benchmark under src/jmh: ./gradlew :plugins:skills-gathering:jmh
+// Pass a recorded trace with -PjmhTrace=/path/to/gather-trace.tsv; otherwise a synthetic trace is replayed.
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    profilers.add("gc")
+    jvmArgs.add("-Djava.util.logging.manager=com.hypixel.hytale.logger.backend.HytaleLogManager")
+    providers.gradleProperty("jmhTrace").orNull?.let { trace ->
+        benchmarkParameters.put("traceFile", objects.listProperty<String>().value(listOf(trace)))
+        // Player count only shapes synthetic traces; run a recorded trace once.
+        benchmarkParameters.put("syntheticPlayers", objects.listProperty<String>().value(listOf("8")))
+    }
+}
+
+// Writes a synthetic trace for offline replay:
+// ./gradlew :plugins:skills-gathering:generateGatherTrace --args="build/traces/synthetic.tsv 64 200000 49"
+tasks.register<JavaExec>("generateGatherTrace") {
+    group = "benchmark"
+    description = "Writes a synthetic gather trace for the replay benchmark."
+    classpath = the<SourceSetContainer>()["jmh"].runtimeClasspath
+    mainClass.set("org.runetale.skills.trace.SyntheticGatherTraceTool")
+    systemProperty("java.util.logging.manager", "com.hypixel.hytale.logger.backend.HytaleLogManager")
 }
@@ -0,0 +1,327 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentAccessor;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.runetale.skills.api.DepletedBlockRegistry;
+import org.runetale.skills.api.SkillsRuntimeApi;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.GatherBudgetConfig;
+import org.runetale.skills.config.HeuristicsConfig;
+import org.runetale.skills.config.ToolingConfig;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.service.ChunkGatherBudgetService;
+import org.runetale.skills.service.GatherHitContextCache;
+import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.HeldToolLoadoutService;
+import org.runetale.skills.service.NodeRewardModifierService;
+import org.runetale.skills.service.SkillNodeLookupService;
+import org.runetale.skills.service.ToolRequirementEvaluator;
+import org.runetale.skills.service.ToolSpeedThrottleService;
+import org.runetale.skills.trace.GatherTraceEvent;
+import org.runetale.skills.trace.GatherTraceFormat;
+import org.runetale.skills.trace.GatherTraceRecorder;
+import org.runetale.skills.trace.SyntheticGatherTraceGenerator;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Replays a gather trace one event per operation through the hit gate, the tool-speed throttle and
+ * the break system, so ns/op is ns/event and {@code gc.alloc.rate.norm} is bytes allocated per event.
+ *
+ * <p>
+ * Events go through the systems' store-free entry points with stub-only Mockito doubles for the
+ * ECS types. {@link #replayEventDoublesOnly()} touches those doubles the same way without any gather
+ * work; subtract it to isolate the cost of the gather path itself. Set {@code traceFile} to replay a
+ * recorded trace, otherwise a synthetic trace is generated from the default node set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatheringReplayBenchmark {
+
+	private static final long SYNTHETIC_SEED = 49L;
+	private static final long TICK_MILLIS = 50L;
+	private static final float BASE_DAMAGE = 1.0F;
+	private static final int SKILL_LEVEL = 40;
+	private static final Map<String, List<String>> SYNTHETIC_TOOLS = Map.of(
+			"Tool_Hatchet", List.of("RuneTale_Tool_Axe_Bronze", "RuneTale_Tool_Axe_Iron", "RuneTale_Tool_Axe_Rune"),
+			"Tool_Pickaxe", List.of("RuneTale_Tool_Pickaxe_Bronze", "RuneTale_Tool_Pickaxe_Iron",
+					"RuneTale_Tool_Pickaxe_Rune"));
+
+	/**
+	 * Recorded trace to replay. Empty replays a synthetic trace built from the parameters below.
+	 */
+	@Param({""})
+	public String traceFile;
+
+	@Param({"8", "64"})
+	public int syntheticPlayers;
+
+	@Param({"50000"})
+	public int syntheticEvents;
+
+	private SkillNodeDamageBlockGateSystem gateSystem;
+	private SkillNodeBreakBlockSystem breakSystem;
+	private ToolSpeedThrottleService throttle;
+	private CommandBuffer<EntityStore> commandBuffer;
+	private Ref<EntityStore> ref;
+	private DamageBlockEvent damageEvent;
+	private BreakBlockEvent breakEvent;
+
+	private ReplayEvent[] events;
+	private int cursor;
+	private ReplayEvent current;
+	private float damage;
+	private boolean cancelled;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp() throws IOException {
+		Path configRoot = Files.createTempDirectory("gather-replay");
+		SkillNodeLookupService nodeLookupService = new SkillNodeLookupService();
+		nodeLookupService.initializeDefaults();
+		List<SkillNodeDefinition> nodes = nodeLookupService.listAllDefinitions();
+		ToolRequirementEvaluator toolRequirementEvaluator = new ToolRequirementEvaluator(ToolingConfig.load(configRoot));
+		toolRequirementEvaluator.registerFamilies(nodes.stream().map(SkillNodeDefinition::getRequiredToolKeyword).toList());
+		HeldToolLoadoutService heldToolLoadouts = new HeldToolLoadoutService(toolRequirementEvaluator);
+		HeuristicsConfig heuristicsConfig = HeuristicsConfig.load(configRoot);
+		GatheringBypassService bypassService = new GatheringBypassService();
+		// The systems read the wall clock, which runs far slower than a replay, so the per-chunk budget
+		// is lifted to keep every cache miss on the full evaluation path.
+		ChunkGatherBudgetService gatherBudget = new ChunkGatherBudgetService(
+				new GatherBudgetConfig(Integer.MAX_VALUE, TICK_MILLIS, 10_000L));
+		GatherTraceRecorder idleRecorder = new GatherTraceRecorder(1, TICK_MILLIS);
+		DepletedBlockRegistry depletedBlocks = new DepletedBlockRegistry();
+		ReplayRuntimeApi runtimeApi = new ReplayRuntimeApi();
+
+		// System queries resolve PlayerRef's component type, which only exists on a running server.
+		try (MockedStatic<PlayerRef> playerRefs = mockStatic(PlayerRef.class)) {
+			playerRefs.when(PlayerRef::getComponentType).thenReturn(mock(ComponentType.class));
+			this.gateSystem = new SkillNodeDamageBlockGateSystem(runtimeApi, nodeLookupService, heuristicsConfig,
+					heldToolLoadouts, bypassService, new GatherHitContextCache(), gatherBudget, depletedBlocks,
+					idleRecorder, "skills");
+			this.breakSystem = new SkillNodeBreakBlockSystem(runtimeApi, nodeLookupService, heuristicsConfig,
+					bypassService, new NodeRewardModifierService(nodeLookupService::listAllDefinitions, List.of()),
+					idleRecorder, "skills");
+		}
+		this.throttle = new ToolSpeedThrottleService();
+
+		List<GatherTraceEvent> trace = this.traceFile.isBlank()
+				? SyntheticGatherTraceGenerator.generate(SYNTHETIC_SEED, this.syntheticPlayers, this.syntheticEvents,
+						nodes, SYNTHETIC_TOOLS)
+				: GatherTraceFormat.read(Path.of(this.traceFile));
+		if (trace.isEmpty()) {
+			throw new IllegalStateException("Gather trace has no events: " + this.traceFile);
+		}
+		this.events = prepare(trace);
+		this.current = this.events[0];
+
+		this.commandBuffer = mock(CommandBuffer.class, withSettings().stubOnly());
+		this.ref = mock(Ref.class, withSettings().stubOnly());
+		this.damageEvent = mock(DamageBlockEvent.class, withSettings().stubOnly());
+		when(this.damageEvent.getBlockType()).thenAnswer(invocation -> this.current.blockType);
+		when(this.damageEvent.getTargetBlock()).thenAnswer(invocation -> this.current.target);
+		when(this.damageEvent.getItemInHand()).thenAnswer(invocation -> this.current.heldItem);
+		when(this.damageEvent.getDamage()).thenAnswer(invocation -> this.damage);
+		when(this.damageEvent.isCancelled()).thenAnswer(invocation -> this.cancelled);
+		doAnswer(invocation -> {
+			this.damage = invocation.getArgument(0);
+			return null;
+		}).when(this.damageEvent).setDamage(anyFloat());
+		doAnswer(invocation -> {
+			this.cancelled = invocation.getArgument(0);
+			return null;
+		}).when(this.damageEvent).setCancelled(anyBoolean());
+
+		this.breakEvent = mock(BreakBlockEvent.class, withSettings().stubOnly());
+		when(this.breakEvent.getBlockType()).thenAnswer(invocation -> this.current.blockType);
+		when(this.breakEvent.getTargetBlock()).thenAnswer(invocation -> this.current.target);
+		when(this.breakEvent.getItemInHand()).thenAnswer(invocation -> this.current.heldItem);
+		when(this.breakEvent.isCancelled()).thenAnswer(invocation -> this.cancelled);
+		doAnswer(invocation -> {
+			this.cancelled = invocation.getArgument(0);
+			return null;
+		}).when(this.breakEvent).setCancelled(anyBoolean());
+	}
+
+	@Benchmark
+	public float replayEvent() {
+		ReplayEvent event = next();
+		this.cancelled = false;
+		if (event.kind == GatherTraceEvent.Kind.BREAK) {
+			this.breakSystem.dispatchBreak(this.commandBuffer, this.ref, null, event.playerId, null, event.worldName,
+					this.breakEvent);
+			return this.cancelled ? -1.0F : 0.0F;
+		}
+
+		this.damage = BASE_DAMAGE;
+		this.gateSystem.gateHit(this.commandBuffer, this.ref, null, event.playerId, null, event.worldName,
+				this.damageEvent);
+		if (this.cancelled || !this.throttle.allowHit(event.playerId, event.blockId, event.target.x, event.target.y,
+				event.target.z, this.damage / BASE_DAMAGE, event.tick * TICK_MILLIS)) {
+			return 0.0F;
+		}
+		return this.damage;
+	}
+
+	@Benchmark
+	public Object replayEventDoublesOnly() {
+		next();
+		if (this.current.kind == GatherTraceEvent.Kind.BREAK) {
+			this.breakEvent.getTargetBlock();
+			this.breakEvent.getItemInHand();
+			return this.breakEvent.getBlockType().getId();
+		}
+		this.damageEvent.setDamage(this.damageEvent.getDamage());
+		this.damageEvent.getTargetBlock();
+		this.damageEvent.getItemInHand();
+		return this.damageEvent.getBlockType().getId();
+	}
+
+	@Nonnull
+	private ReplayEvent next() {
+		ReplayEvent event = this.events[this.cursor];
+		this.cursor = this.cursor + 1 == this.events.length ? 0 : this.cursor + 1;
+		this.current = event;
+		return event;
+	}
+
+	@Nonnull
+	private static ReplayEvent[] prepare(@Nonnull List<GatherTraceEvent> trace) {
+		Map<String, BlockType> blockTypes = new HashMap<>();
+		Map<String, ItemStack> heldItems = new HashMap<>();
+		ReplayEvent[] prepared = new ReplayEvent[trace.size()];
+		for (int index = 0; index < prepared.length; index++) {
+			GatherTraceEvent event = trace.get(index);
+			BlockType blockType = blockTypes.computeIfAbsent(event.blockId(), GatheringReplayBenchmark::blockType);
+			ItemStack heldItem = event.itemId() == null ? null
+					: heldItems.computeIfAbsent(event.itemId(), GatheringReplayBenchmark::heldItem);
+			prepared[index] = new ReplayEvent(event.kind(), event.tick(), event.playerId(), event.worldName(),
+					new Vector3i(event.x(), event.y(), event.z()), event.blockId(), blockType, heldItem);
+		}
+		return prepared;
+	}
+
+	@Nonnull
+	private static BlockType blockType(@Nonnull String blockId) {
+		BlockType blockType = mock(BlockType.class, withSettings().stubOnly());
+		when(blockType.getId()).thenReturn(blockId);
+		return blockType;
+	}
+
+	@Nonnull
+	private static ItemStack heldItem(@Nonnull String itemId) {
+		ItemStack heldItem = mock(ItemStack.class, withSettings().stubOnly());
+		when(heldItem.getItemId()).thenReturn(itemId);
+		when(heldItem.getQuantity()).thenReturn(1);
+		return heldItem;
+	}
+
+	private record ReplayEvent(
+			GatherTraceEvent.Kind kind,
+			long tick,
+			UUID playerId,
+			String worldName,
+			Vector3i target,
+			String blockId,
+			BlockType blockType,
+			ItemStack heldItem) {
+	}
+
+	/**
+	 * Skills runtime double: every player has a profile at a fixed level and XP grants are counted.
+	 */
+	private static final class ReplayRuntimeApi implements SkillsRuntimeApi {
+
+		private final SkillsDiagnostics diagnostics = new SkillsDiagnostics();
+		private long grants;
+
+		@Override
+		public boolean hasSkillProfile(@Nonnull ComponentAccessor<EntityStore> accessor,
+				@Nonnull Ref<EntityStore> playerRef) {
+			return true;
+		}
+
+		@Override
+		public int getSkillLevel(@Nonnull ComponentAccessor<EntityStore> accessor, @Nonnull Ref<EntityStore> playerRef,
+				@Nonnull SkillType skillType) {
+			return SKILL_LEVEL;
+		}
+
+		@Override
+		public long getSkillExperience(@Nonnull ComponentAccessor<EntityStore> accessor,
+				@Nonnull Ref<EntityStore> playerRef, @Nonnull SkillType skillType) {
+			return 0L;
+		}
+
+		@Override
+		public boolean grantSkillXp(@Nonnull ComponentAccessor<EntityStore> accessor,
+				@Nonnull Ref<EntityStore> playerRef, @Nonnull SkillType skillType, double experience,
+				@Nonnull String source, boolean notifyPlayer) {
+			this.grants++;
+			return true;
+		}
+
+		@Override
+		public int getMaxLevel() {
+			return 99;
+		}
+
+		@Override
+		public long xpForLevel(int level) {
+			return 0L;
+		}
+
+		@Override
+		public boolean isDebugEnabled(@Nonnull String pluginKey) {
+			return false;
+		}
+
+		@Nonnull
+		@Override
+		public SkillsDiagnostics getDiagnostics() {
+			return this.diagnostics;
+		}
+	}
+}
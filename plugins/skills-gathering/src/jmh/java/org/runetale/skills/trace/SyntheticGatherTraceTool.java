@@ -0,0 +1,47 @@
+package org.runetale.skills.trace;
+
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.service.SkillNodeLookupService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a synthetic gather trace to disk for local replay runs.
+ *
+ * <p>
+ * Usage: {@code <output> [players] [events] [seed]}. Defaults are 64 players, 200000 events and
+ * seed 49, matching the benchmark's synthetic trace shape.
+ */
+public final class SyntheticGatherTraceTool {
+
+	private static final Map<String, List<String>> TOOLS = Map.of(
+			"Tool_Hatchet", List.of("RuneTale_Tool_Axe_Bronze", "RuneTale_Tool_Axe_Iron", "RuneTale_Tool_Axe_Rune"),
+			"Tool_Pickaxe", List.of("RuneTale_Tool_Pickaxe_Bronze", "RuneTale_Tool_Pickaxe_Iron",
+					"RuneTale_Tool_Pickaxe_Rune"));
+
+	private SyntheticGatherTraceTool() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: SyntheticGatherTraceTool <output> [players] [events] [seed]");
+			System.exit(2);
+			return;
+		}
+
+		Path output = Path.of(args[0]);
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		int events = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 49L;
+
+		SkillNodeLookupService nodeLookupService = new SkillNodeLookupService();
+		nodeLookupService.initializeDefaults();
+		List<SkillNodeDefinition> nodes = nodeLookupService.listAllDefinitions();
+		GatherTraceFormat.write(output, SyntheticGatherTraceGenerator.generate(seed, players, events, nodes, TOOLS));
+		System.out.printf("Wrote %d synthetic gather events for %d players to %s%n", events, players,
+				output.toAbsolutePath());
+	}
+}
@@ -14,6 +14,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.page.SkillsOverviewPage;
+import org.runetale.skills.service.HeldToolLoadoutService;
 import org.runetale.skills.service.SkillNodeLookupService;
 
 import javax.annotation.Nonnull;
@@ -23,15 +24,18 @@ public class SkillsPageCommand extends AbstractPlayerCommand {
 
 	private final SkillsRuntimeApi runtimeApi;
 	private final SkillNodeLookupService nodeLookupService;
+	private final HeldToolLoadoutService heldToolLoadouts;
 	private final OptionalArg<String> actionArg;
 
 	public SkillsPageCommand(
 			@Nonnull SkillsRuntimeApi runtimeApi,
-			@Nonnull SkillNodeLookupService nodeLookupService) {
+			@Nonnull SkillNodeLookupService nodeLookupService,
+			@Nonnull HeldToolLoadoutService heldToolLoadouts) {
 		super("skills", "Opens your skills overview page.");
 		this.setPermissionGroup(GameMode.Adventure);
 		this.runtimeApi = runtimeApi;
 		this.nodeLookupService = nodeLookupService;
+		this.heldToolLoadouts = heldToolLoadouts;
 		this.actionArg = this.withOptionalArg("action", "Use 'help' to show command usage.", ArgTypes.STRING);
 	}
 
@@ -59,13 +63,15 @@ public class SkillsPageCommand extends AbstractPlayerCommand {
 			return;
 		}
 
+		this.heldToolLoadouts.refresh(playerRef.getUuid(), HeldToolLoadoutService.activeItem(player.getInventory()));
 		player.getPageManager().openCustomPage(
 				ref,
 				store,
 				new SkillsOverviewPage(
 						playerRef,
 						this.runtimeApi,
-						this.nodeLookupService));
+						this.nodeLookupService,
+						this.heldToolLoadouts));
 	}
 
 	private boolean isHelpToken(String raw) {
@@ -0,0 +1,92 @@
+package org.runetale.skills.command;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.GameMode;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.config.RewardModifiersConfig;
+import org.runetale.skills.service.NodeRewardModifierService;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Reloads gathering XP reward modifier rules from the external config without a restart.
+ */
+public class SkillsRewardsCommand extends AbstractPlayerCommand {
+
+	private final NodeRewardModifierService rewardModifiers;
+	private final Path externalConfigRoot;
+	private final OptionalArg<String> actionArg;
+
+	public SkillsRewardsCommand(@Nonnull NodeRewardModifierService rewardModifiers, @Nonnull Path externalConfigRoot) {
+		super("skillsrewards", "Reloads or shows gathering XP reward modifiers.");
+		this.setPermissionGroup(GameMode.Adventure);
+		this.rewardModifiers = rewardModifiers;
+		this.externalConfigRoot = externalConfigRoot;
+		this.actionArg = this.withOptionalArg("action", "reload|status|help", ArgTypes.STRING);
+	}
+
+	@Override
+	protected void execute(
+			@Nonnull CommandContext context,
+			@Nonnull Store<EntityStore> store,
+			@Nonnull Ref<EntityStore> ref,
+			@Nonnull PlayerRef playerRef,
+			@Nonnull World world) {
+
+		String action = this.actionArg.provided(context) ? this.actionArg.get(context) : "status";
+		String normalizedAction = action.trim().toLowerCase(Locale.ROOT);
+		if (normalizedAction.equals("help") || normalizedAction.equals("-h")
+				|| normalizedAction.equals("--help") || normalizedAction.equals("?")) {
+			sendHelp(context);
+			return;
+		}
+
+		Player player = store.getComponent(ref, Player.getComponentType());
+		if (player == null) {
+			return;
+		}
+
+		if (!player.hasPermission(NodeRewardModifierService.MANAGE_PERMISSION)) {
+			context.sendMessage(Message.raw("[Skills] Missing permission: " + NodeRewardModifierService.MANAGE_PERMISSION));
+			return;
+		}
+
+		switch (normalizedAction) {
+			case "reload":
+				this.rewardModifiers.replaceRules(RewardModifiersConfig.load(this.externalConfigRoot).rules());
+				context.sendMessage(Message.raw(String.format(
+						Locale.ROOT,
+						"[Skills] Reloaded %d reward modifier rule(s).",
+						this.rewardModifiers.rules().size())));
+				break;
+			case "status":
+				context.sendMessage(Message.raw(String.format(
+						Locale.ROOT,
+						"[Skills] %d reward modifier rule(s) configured, %d active.",
+						this.rewardModifiers.rules().size(),
+						this.rewardModifiers.activeRuleCount())));
+				break;
+			default:
+				context.sendMessage(Message.raw("[Skills] Unknown action: " + action + "."));
+				sendHelp(context);
+				break;
+		}
+	}
+
+	private void sendHelp(@Nonnull CommandContext context) {
+		context.sendMessage(Message.raw("[Skills] Reloads rewardModifiers from the gathering config."));
+		context.sendMessage(Message.raw("[Skills] Usage: /skillsrewards [reload|status]"));
+		context.sendMessage(Message.raw("[Skills] Requires permission: " + NodeRewardModifierService.MANAGE_PERMISSION));
+	}
+}
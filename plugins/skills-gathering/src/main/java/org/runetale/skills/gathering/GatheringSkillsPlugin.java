@@ -3,21 +3,39 @@ package org.runetale.skills.gathering;
 import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import org.runetale.skills.api.DepletedBlockRegistry;
 import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.api.SkillsRuntimeRegistry;
+import org.runetale.skills.asset.SkillNodeDefinition;
 import org.runetale.skills.command.SkillsBypassCommand;
 import org.runetale.skills.command.SkillsPageCommand;
+import org.runetale.skills.command.SkillsRewardsCommand;
+import org.runetale.skills.config.GatherBudgetConfig;
+import org.runetale.skills.config.GatherTraceCaptureConfig;
 import org.runetale.skills.config.HeuristicsConfig;
+import org.runetale.skills.config.RewardModifiersConfig;
 import org.runetale.skills.config.SkillsPathLayout;
 import org.runetale.skills.config.ToolingConfig;
 import org.runetale.skills.gathering.config.GatheringExternalConfigBootstrap;
+import org.runetale.skills.service.ChunkGatherBudgetService;
+import org.runetale.skills.service.GatherHitContextCache;
 import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.HeldToolLoadoutService;
+import org.runetale.skills.service.NodeRewardModifierService;
 import org.runetale.skills.service.SkillNodeLookupService;
 import org.runetale.skills.service.ToolRequirementEvaluator;
+import org.runetale.skills.system.GatheringSessionCleanupSystem;
 import org.runetale.skills.system.SkillNodeBreakBlockSystem;
 import org.runetale.skills.system.SkillNodeDamageBlockGateSystem;
+import org.runetale.skills.system.SkillNodeGatherContextLevelUpSystem;
+import org.runetale.skills.system.SkillNodeGatherContextSlotSwitchSystem;
+import org.runetale.skills.system.SkillNodeHeldToolInventorySystem;
+import org.runetale.skills.trace.GatherTraceFormat;
+import org.runetale.skills.trace.GatherTraceRecorder;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class GatheringSkillsPlugin extends JavaPlugin {
 
@@ -28,6 +46,13 @@ public class GatheringSkillsPlugin extends JavaPlugin {
     private ToolingConfig toolingConfig;
     private ToolRequirementEvaluator toolRequirementEvaluator;
     private GatheringBypassService bypassService;
+    private GatherHitContextCache hitContextCache;
+    private ChunkGatherBudgetService gatherBudget;
+    private HeldToolLoadoutService heldToolLoadouts;
+    private NodeRewardModifierService rewardModifiers;
+    private GatherTraceRecorder traceRecorder;
+    private Path traceCapturePath;
+    private Path externalConfigRoot;
 
     public SkillNodeLookupService getNodeLookupService() {
         return this.nodeLookupService;
@@ -49,12 +74,31 @@ public class GatheringSkillsPlugin extends JavaPlugin {
     private void registerServices() {
         SkillsPathLayout pathLayout = SkillsPathLayout.fromDataDirectory(this.getDataDirectory());
         GatheringExternalConfigBootstrap.seedMissingDefaults(pathLayout);
+        this.externalConfigRoot = pathLayout.pluginConfigRoot();
         this.heuristicsConfig = HeuristicsConfig.load(pathLayout.pluginConfigRoot());
         this.toolingConfig = ToolingConfig.load(pathLayout.pluginConfigRoot());
         this.toolRequirementEvaluator = new ToolRequirementEvaluator(this.toolingConfig);
         this.nodeLookupService = new SkillNodeLookupService(pathLayout.pluginConfigRoot());
         this.nodeLookupService.initializeDefaults();
+        this.toolRequirementEvaluator.registerFamilies(this.nodeLookupService.listAllDefinitions().stream()
+                .map(SkillNodeDefinition::getRequiredToolKeyword)
+                .toList());
+        this.heldToolLoadouts = new HeldToolLoadoutService(this.toolRequirementEvaluator);
         this.bypassService = new GatheringBypassService();
+        this.hitContextCache = new GatherHitContextCache();
+        GatherBudgetConfig budgetConfig = GatherBudgetConfig.load(pathLayout.pluginConfigRoot());
+        this.gatherBudget = new ChunkGatherBudgetService(budgetConfig);
+        this.rewardModifiers = new NodeRewardModifierService(
+                this.nodeLookupService::listAllDefinitions,
+                RewardModifiersConfig.load(pathLayout.pluginConfigRoot()).rules());
+        GatherTraceCaptureConfig captureConfig = GatherTraceCaptureConfig.load(pathLayout.pluginConfigRoot());
+        this.traceRecorder = new GatherTraceRecorder(captureConfig.maxEvents(), budgetConfig.tickMillis());
+        if (captureConfig.enabled()) {
+            this.traceCapturePath = pathLayout.pluginRuntimeRoot().resolve("traces").resolve(captureConfig.fileName());
+            this.traceRecorder.start(System.currentTimeMillis());
+            LOGGER.atInfo().log("Capturing gather trace (max %d events) to %s", captureConfig.maxEvents(),
+                    this.traceCapturePath);
+        }
     }
 
     private void registerCommands() {
@@ -67,8 +111,10 @@ public class GatheringSkillsPlugin extends JavaPlugin {
         this.getCommandRegistry().registerCommand(
                 new SkillsPageCommand(
                         runtimeApi,
-                        this.nodeLookupService));
+                        this.nodeLookupService,
+                        this.heldToolLoadouts));
         this.getCommandRegistry().registerCommand(new SkillsBypassCommand(this.bypassService));
+        this.getCommandRegistry().registerCommand(new SkillsRewardsCommand(this.rewardModifiers, this.externalConfigRoot));
     }
 
     private void registerSystems() {
@@ -83,10 +129,18 @@ public class GatheringSkillsPlugin extends JavaPlugin {
                         runtimeApi,
                         this.nodeLookupService,
                         this.heuristicsConfig,
-                        this.toolingConfig,
-                        this.toolRequirementEvaluator,
+                        this.heldToolLoadouts,
                         this.bypassService,
+                        this.hitContextCache,
+                        this.gatherBudget,
+                        DepletedBlockRegistry.shared(),
+                        this.traceRecorder,
                         "skills"));
+        this.getEntityStoreRegistry().registerSystem(
+                new SkillNodeGatherContextSlotSwitchSystem(this.hitContextCache, this.heldToolLoadouts));
+        this.getEntityStoreRegistry().registerSystem(new SkillNodeHeldToolInventorySystem(this.heldToolLoadouts));
+        this.getEntityStoreRegistry().registerSystem(new SkillNodeGatherContextLevelUpSystem(this.hitContextCache));
+        this.getEntityStoreRegistry().registerSystem(new GatheringSessionCleanupSystem(this.hitContextCache, this.heldToolLoadouts));
 
         this.getEntityStoreRegistry().registerSystem(
                 new SkillNodeBreakBlockSystem(
@@ -94,6 +148,8 @@ public class GatheringSkillsPlugin extends JavaPlugin {
                         this.nodeLookupService,
                         this.heuristicsConfig,
                         this.bypassService,
+                        this.rewardModifiers,
+                        this.traceRecorder,
                         "skills"));
     }
 
@@ -110,5 +166,39 @@ public class GatheringSkillsPlugin extends JavaPlugin {
         this.toolingConfig = null;
         this.toolRequirementEvaluator = null;
         this.bypassService = null;
+        if (this.hitContextCache != null) {
+            this.hitContextCache.clear();
+        }
+        this.hitContextCache = null;
+        if (this.gatherBudget != null) {
+            this.gatherBudget.clear();
+        }
+        this.gatherBudget = null;
+        if (this.heldToolLoadouts != null) {
+            this.heldToolLoadouts.clear();
+        }
+        this.heldToolLoadouts = null;
+        if (this.rewardModifiers != null) {
+            this.rewardModifiers.clear();
+        }
+        this.rewardModifiers = null;
+        writeTraceCapture();
+        this.traceRecorder = null;
+        this.traceCapturePath = null;
+        this.externalConfigRoot = null;
+    }
+
+    private void writeTraceCapture() {
+        if (this.traceRecorder == null || this.traceCapturePath == null) {
+            return;
+        }
+        this.traceRecorder.stop();
+        try {
+            GatherTraceFormat.write(this.traceCapturePath, this.traceRecorder.snapshot());
+            LOGGER.atInfo().log("Wrote %d gather trace events to %s", this.traceRecorder.size(), this.traceCapturePath);
+        } catch (IOException e) {
+            LOGGER.atWarning().withCause(e).log("Failed to write gather trace to %s", this.traceCapturePath);
+        }
+        this.traceRecorder.clear();
     }
 }
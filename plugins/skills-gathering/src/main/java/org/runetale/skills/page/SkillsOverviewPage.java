@@ -17,12 +17,14 @@ import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.asset.SkillNodeDefinition;
 import org.runetale.skills.domain.SkillIconPaths;
 import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.service.HeldToolLoadoutService;
 import org.runetale.skills.service.SkillNodeLookupService;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Locale;
+import java.util.UUID;
 
 public class SkillsOverviewPage extends InteractiveCustomUIPage<SkillsOverviewPage.SkillsPageEventData> {
 
@@ -34,6 +36,8 @@ public class SkillsOverviewPage extends InteractiveCustomUIPage<SkillsOverviewPa
 
 	private final SkillsRuntimeApi runtimeApi;
 	private final SkillNodeLookupService nodeLookupService;
+	private final HeldToolLoadoutService heldToolLoadouts;
+	private final UUID playerId;
 
 	@Nullable
 	private SkillType selectedSkill;
@@ -41,10 +45,13 @@ public class SkillsOverviewPage extends InteractiveCustomUIPage<SkillsOverviewPa
 	public SkillsOverviewPage(
 			@Nonnull PlayerRef playerRef,
 			@Nonnull SkillsRuntimeApi runtimeApi,
-			@Nonnull SkillNodeLookupService nodeLookupService) {
+			@Nonnull SkillNodeLookupService nodeLookupService,
+			@Nonnull HeldToolLoadoutService heldToolLoadouts) {
 		super(playerRef, CustomPageLifetime.CanDismiss, SkillsPageEventData.CODEC);
 		this.runtimeApi = runtimeApi;
 		this.nodeLookupService = nodeLookupService;
+		this.heldToolLoadouts = heldToolLoadouts;
+		this.playerId = playerRef.getUuid();
 	}
 
 	@Override
@@ -243,7 +250,8 @@ public class SkillsOverviewPage extends InteractiveCustomUIPage<SkillsOverviewPa
 			}
 			String state = unlocked ? "Unlocked" : "Locked";
 			String usage = "Current/Required Lv " + level + "/" + node.getRequiredSkillLevel();
-			String description = state + "  |  +" + Math.round(node.getExperienceReward()) + " XP";
+			String toolState = this.heldToolLoadouts.canGather(this.playerId, node) ? "Tool ready" : "Tool needed";
+			String description = state + "  |  " + toolState + "  |  +" + Math.round(node.getExperienceReward()) + " XP";
 			appendCard(commandBuilder, eventBuilder, cardIndex++, displayNodeName(node), usage, description, null, null);
 			if (unlocked) {
 				unlockedShown++;
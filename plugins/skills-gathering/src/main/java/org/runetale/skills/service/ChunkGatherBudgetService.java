@@ -0,0 +1,178 @@
+package org.runetale.skills.service;
+
+import org.runetale.skills.config.GatherBudgetConfig;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Meters full gather-gate evaluations per chunk per server tick.
+ *
+ * <p>
+ * Each node hit that cannot reuse its exact cached context asks for budget in the hit block's
+ * chunk. Once a chunk has spent its per-tick budget the gate falls back to a cheap check of the level
+ * requirement and the held-tool loadout, so a crowd gathering one dense cluster costs at most a fixed
+ * number of full evaluations per chunk and tick. Chunks that overrun their budget are reported periodically.
+ *
+ * <p>
+ * Meters live in a fixed open-addressed table with bounded probing. When every probed slot belongs
+ * to a chunk that is active this tick, the hit is charged to the home slot's chunk instead, which
+ * can only make the budget stricter.
+ */
+public final class ChunkGatherBudgetService {
+
+	static final int CHUNK_SHIFT = 5;
+
+	private static final int SLOT_COUNT = 1_024;
+	private static final int SLOT_MASK = SLOT_COUNT - 1;
+	private static final int MAX_PROBES = 8;
+	private static final int MAX_REPORTED_CHUNKS = 5;
+
+	private final int evaluationsPerChunkPerTick;
+	private final long tickMillis;
+	private final long reportIntervalMillis;
+
+	private final String[] worldNames = new String[SLOT_COUNT];
+	private final int[] chunkXs = new int[SLOT_COUNT];
+	private final int[] chunkZs = new int[SLOT_COUNT];
+	private final long[] ticks = new long[SLOT_COUNT];
+	private final int[] evaluationsInTick = new int[SLOT_COUNT];
+	private final int[] peakEvaluationsInTick = new int[SLOT_COUNT];
+	private final long[] overBudgetHits = new long[SLOT_COUNT];
+
+	private long lastReportAt;
+
+	public ChunkGatherBudgetService(@Nonnull GatherBudgetConfig config) {
+		this(config.fullEvaluationsPerChunkPerTick(), config.tickMillis(), config.hotChunkReportIntervalMillis());
+	}
+
+	ChunkGatherBudgetService(int evaluationsPerChunkPerTick, long tickMillis, long reportIntervalMillis) {
+		this.evaluationsPerChunkPerTick = Math.max(1, evaluationsPerChunkPerTick);
+		this.tickMillis = Math.max(1L, tickMillis);
+		this.reportIntervalMillis = Math.max(1L, reportIntervalMillis);
+	}
+
+	/**
+	 * Charges one full evaluation to the chunk containing the block. Returns false once the chunk
+	 * has used its budget for the current tick.
+	 */
+	public synchronized boolean tryAcquire(@Nonnull String worldName, int blockX, int blockZ, long nowMillis) {
+		int chunkX = blockX >> CHUNK_SHIFT;
+		int chunkZ = blockZ >> CHUNK_SHIFT;
+		long tick = nowMillis / this.tickMillis;
+		int slot = slotFor(worldName, chunkX, chunkZ, tick);
+
+		if (this.ticks[slot] != tick) {
+			this.ticks[slot] = tick;
+			this.evaluationsInTick[slot] = 0;
+		}
+		int evaluations = ++this.evaluationsInTick[slot];
+		if (evaluations > this.peakEvaluationsInTick[slot]) {
+			this.peakEvaluationsInTick[slot] = evaluations;
+		}
+		if (evaluations > this.evaluationsPerChunkPerTick) {
+			this.overBudgetHits[slot]++;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the chunks that went over budget since the previous report, busiest first, and resets
+	 * their counters. Returns an empty list until the report interval has elapsed.
+	 */
+	@Nonnull
+	public synchronized List<HotChunk> drainHotChunks(long nowMillis) {
+		if (nowMillis - this.lastReportAt < this.reportIntervalMillis) {
+			return List.of();
+		}
+		this.lastReportAt = nowMillis;
+
+		List<HotChunk> hot = null;
+		for (int slot = 0; slot < SLOT_COUNT; slot++) {
+			if (this.overBudgetHits[slot] > 0L) {
+				if (hot == null) {
+					hot = new ArrayList<>();
+				}
+				hot.add(new HotChunk(this.worldNames[slot], this.chunkXs[slot], this.chunkZs[slot],
+						this.peakEvaluationsInTick[slot], this.overBudgetHits[slot]));
+				this.overBudgetHits[slot] = 0L;
+			}
+			this.peakEvaluationsInTick[slot] = 0;
+		}
+		if (hot == null) {
+			return List.of();
+		}
+
+		hot.sort(Comparator.comparingLong(HotChunk::overBudgetHits).reversed());
+		return List.copyOf(hot.subList(0, Math.min(hot.size(), MAX_REPORTED_CHUNKS)));
+	}
+
+	public int evaluationsPerChunkPerTick() {
+		return this.evaluationsPerChunkPerTick;
+	}
+
+	public synchronized void clear() {
+		for (int slot = 0; slot < SLOT_COUNT; slot++) {
+			this.worldNames[slot] = null;
+			this.evaluationsInTick[slot] = 0;
+			this.peakEvaluationsInTick[slot] = 0;
+			this.overBudgetHits[slot] = 0L;
+		}
+		this.lastReportAt = 0L;
+	}
+
+	private int slotFor(@Nonnull String worldName, int chunkX, int chunkZ, long tick) {
+		int home = hash(worldName, chunkX, chunkZ);
+		int reusable = -1;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int slot = (home + probe) & SLOT_MASK;
+			String resident = this.worldNames[slot];
+			if (resident == null) {
+				return claim(slot, worldName, chunkX, chunkZ);
+			}
+			if (this.chunkXs[slot] == chunkX && this.chunkZs[slot] == chunkZ && resident.equals(worldName)) {
+				return slot;
+			}
+			// Prefer idle slots with nothing left to report, then any slot idle this tick.
+			if (this.ticks[slot] != tick && (reusable < 0
+					|| (this.overBudgetHits[slot] == 0L && this.overBudgetHits[reusable] > 0L))) {
+				reusable = slot;
+			}
+		}
+		if (reusable >= 0) {
+			return claim(reusable, worldName, chunkX, chunkZ);
+		}
+		return home;
+	}
+
+	private int claim(int slot, @Nonnull String worldName, int chunkX, int chunkZ) {
+		this.worldNames[slot] = worldName;
+		this.chunkXs[slot] = chunkX;
+		this.chunkZs[slot] = chunkZ;
+		this.ticks[slot] = Long.MIN_VALUE;
+		this.evaluationsInTick[slot] = 0;
+		this.peakEvaluationsInTick[slot] = 0;
+		this.overBudgetHits[slot] = 0L;
+		return slot;
+	}
+
+	private static int hash(@Nonnull String worldName, int chunkX, int chunkZ) {
+		long hash = (chunkX * 0x9E3779B97F4A7C15L) ^ (chunkZ * 0xC2B2AE3D27D4EB4FL) ^ worldName.hashCode();
+		hash *= 0x165667B19E3779F9L;
+		return (int) (hash ^ (hash >>> 32)) & SLOT_MASK;
+	}
+
+	/**
+	 * Chunk that overran its evaluation budget during a report interval.
+	 */
+	public record HotChunk(
+			@Nonnull String worldName,
+			int chunkX,
+			int chunkZ,
+			int peakEvaluationsPerTick,
+			long overBudgetHits) {
+	}
+}
@@ -0,0 +1,96 @@
+package org.runetale.skills.service;
+
+import org.runetale.skills.asset.SkillNodeDefinition;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the last gather-gate decision per player so sustained mining on one block skips node
+ * lookup, skill reads and tool evaluation.
+ *
+ * <p>
+ * A context is reused only while the player keeps hitting the same block position and block type
+ * with the same held item id. Slot switches and level-ups drop the player's context explicitly.
+ */
+public final class GatherHitContextCache {
+
+	/**
+	 * Returned by {@link #findSkillLevelAtBlock} when the player has no verdict at the block.
+	 */
+	public static final int NO_SKILL_LEVEL = -1;
+
+	private final Map<UUID, GatherHitContext> contextByPlayer = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the cached context when every key component matches the current hit.
+	 */
+	@Nullable
+	public GatherHitContext find(@Nonnull UUID playerId, int x, int y, int z, @Nonnull String blockId,
+			@Nullable String heldItemId) {
+		GatherHitContext context = this.contextByPlayer.get(playerId);
+		if (context == null || !context.matches(x, y, z, blockId, heldItemId)) {
+			return null;
+		}
+		return context;
+	}
+
+	/**
+	 * Returns the skill level from the player's last verdict at this block, or {@link #NO_SKILL_LEVEL}.
+	 * Only the level is exposed because it does not depend on the held item; the tool multiplier of a
+	 * verdict made with another item would be stale.
+	 */
+	public int findSkillLevelAtBlock(@Nonnull UUID playerId, int x, int y, int z, @Nonnull String blockId) {
+		GatherHitContext context = this.contextByPlayer.get(playerId);
+		if (context == null || !context.matchesBlock(x, y, z, blockId)) {
+			return NO_SKILL_LEVEL;
+		}
+		return context.skillLevel();
+	}
+
+	public void store(@Nonnull UUID playerId, @Nonnull GatherHitContext context) {
+		this.contextByPlayer.put(playerId, context);
+	}
+
+	public void invalidate(@Nonnull UUID playerId) {
+		this.contextByPlayer.remove(playerId);
+	}
+
+	public int size() {
+		return this.contextByPlayer.size();
+	}
+
+	public void clear() {
+		this.contextByPlayer.clear();
+	}
+
+	/**
+	 * Gate decision for one (block position, block type, held item) key.
+	 *
+	 * <p>
+	 * {@code efficiencyMultiplier} is only meaningful when {@code levelBlocked} is false.
+	 */
+	public record GatherHitContext(
+			int x,
+			int y,
+			int z,
+			@Nonnull String blockId,
+			@Nullable String heldItemId,
+			@Nonnull SkillNodeDefinition node,
+			int skillLevel,
+			boolean levelBlocked,
+			double efficiencyMultiplier) {
+
+		boolean matches(int x, int y, int z, @Nonnull String blockId, @Nullable String heldItemId) {
+			return matchesBlock(x, y, z, blockId) && Objects.equals(this.heldItemId, heldItemId);
+		}
+
+		boolean matchesBlock(int x, int y, int z, @Nonnull String blockId) {
+			return this.x == x && this.y == y && this.z == z && this.blockId.equals(blockId);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package org.runetale.skills.service;
+
+import org.runetale.skills.domain.ToolTier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Precomputed gather verdict of one held item against every registered tool family.
+ *
+ * <p>
+ * Built by {@link ToolRequirementEvaluator#loadoutFor(String)} when a player's held item changes, so
+ * a hit only indexes an array by family bit instead of classifying the item.
+ */
+public final class HeldToolLoadout {
+
+	private final String heldItemId;
+	private final ToolProfile profile;
+	private final double[] efficiencyByFamily;
+
+	HeldToolLoadout(@Nullable String heldItemId, @Nullable ToolProfile profile, @Nonnull double[] efficiencyByFamily) {
+		this.heldItemId = heldItemId;
+		this.profile = profile;
+		this.efficiencyByFamily = efficiencyByFamily;
+	}
+
+	/**
+	 * Held item id, or null for an empty hand.
+	 */
+	@Nullable
+	public String getHeldItemId() {
+		return this.heldItemId;
+	}
+
+	/**
+	 * Tool profile of the held item, or null for an empty hand.
+	 */
+	@Nullable
+	public ToolProfile getProfile() {
+		return this.profile;
+	}
+
+	public boolean isFor(@Nullable String heldItemId) {
+		return this.heldItemId == null ? heldItemId == null : this.heldItemId.equals(heldItemId);
+	}
+
+	/**
+	 * Returns whether the efficiency for this family bit was precomputed.
+	 */
+	public boolean covers(int familyBit) {
+		return familyBit >= 0 && familyBit < this.efficiencyByFamily.length;
+	}
+
+	/**
+	 * Precomputed hit-speed multiplier for a family bit this loadout {@link #covers(int) covers}.
+	 */
+	public double efficiencyFor(int familyBit) {
+		return this.efficiencyByFamily[familyBit];
+	}
+
+	/**
+	 * Returns whether the held item satisfies a node's tool family and minimum tier.
+	 */
+	public boolean canGather(int familyBit, @Nonnull ToolTier minimumTier) {
+		return this.profile != null && this.profile.matchesFamily(familyBit) && this.profile.meetsTier(minimumTier);
+	}
+}
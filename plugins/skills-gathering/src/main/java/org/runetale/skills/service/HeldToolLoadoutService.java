@@ -0,0 +1,116 @@
+package org.runetale.skills.service;
+
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import org.runetale.skills.asset.SkillNodeDefinition;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps each player's {@link HeldToolLoadout} current so the first gather hit after picking up a
+ * tool costs the same as a steady-state hit.
+ *
+ * <p>
+ * Loadouts are refreshed from slot-switch and inventory-change events. A hit whose held item does
+ * not match the stored loadout rebuilds it on the spot, so a missed event only costs one
+ * classification.
+ */
+public final class HeldToolLoadoutService {
+
+	private final ToolRequirementEvaluator toolRequirementEvaluator;
+	private final Map<UUID, HeldToolLoadout> loadoutByPlayer = new ConcurrentHashMap<>();
+
+	public HeldToolLoadoutService(@Nonnull ToolRequirementEvaluator toolRequirementEvaluator) {
+		this.toolRequirementEvaluator = toolRequirementEvaluator;
+	}
+
+	/**
+	 * Rebuilds the player's loadout unless it already describes the held item.
+	 */
+	@Nonnull
+	public HeldToolLoadout refresh(@Nonnull UUID playerId, @Nullable ItemStack heldItem) {
+		String heldItemId = heldItemId(heldItem);
+		HeldToolLoadout loadout = this.loadoutByPlayer.get(playerId);
+		if (loadout != null && loadout.isFor(heldItemId)) {
+			return loadout;
+		}
+		loadout = this.toolRequirementEvaluator.loadoutFor(heldItemId);
+		this.loadoutByPlayer.put(playerId, loadout);
+		return loadout;
+	}
+
+	/**
+	 * Resolves the hit-speed multiplier from the player's loadout, falling back to the evaluator for
+	 * families registered after the loadout was built.
+	 */
+	public double efficiencyMultiplier(@Nullable UUID playerId, @Nullable ItemStack heldItem,
+			@Nonnull String requiredToolKeyword) {
+		if (playerId == null) {
+			return this.toolRequirementEvaluator.efficiencyMultiplier(heldItem, requiredToolKeyword);
+		}
+
+		HeldToolLoadout loadout = refresh(playerId, heldItem);
+		int familyBit = this.toolRequirementEvaluator.familyBitFor(requiredToolKeyword);
+		if (!loadout.covers(familyBit)) {
+			return this.toolRequirementEvaluator.efficiencyMultiplier(heldItem, requiredToolKeyword);
+		}
+		return loadout.efficiencyFor(familyBit);
+	}
+
+	/**
+	 * Returns whether the player's last known held item satisfies the node's tool requirement.
+	 */
+	public boolean canGather(@Nonnull UUID playerId, @Nonnull SkillNodeDefinition node) {
+		HeldToolLoadout loadout = this.loadoutByPlayer.get(playerId);
+		if (loadout == null) {
+			return false;
+		}
+		return loadout.canGather(this.toolRequirementEvaluator.familyBitFor(node.getRequiredToolKeyword()),
+				node.getRequiredToolTier());
+	}
+
+	@Nullable
+	public HeldToolLoadout find(@Nonnull UUID playerId) {
+		return this.loadoutByPlayer.get(playerId);
+	}
+
+	public void forget(@Nonnull UUID playerId) {
+		this.loadoutByPlayer.remove(playerId);
+	}
+
+	public int size() {
+		return this.loadoutByPlayer.size();
+	}
+
+	public void clear() {
+		this.loadoutByPlayer.clear();
+	}
+
+	/**
+	 * Returns the stack in the inventory's active hand slot, or null when it is empty.
+	 */
+	@Nullable
+	public static ItemStack activeItem(@Nullable Inventory inventory) {
+		if (inventory == null) {
+			return null;
+		}
+		ItemContainer container = inventory.usingToolsItem() ? inventory.getTools() : inventory.getHotbar();
+		short slot = (short) (inventory.usingToolsItem() ? inventory.getActiveToolsSlot()
+				: inventory.getActiveHotbarSlot());
+		if (container == null || slot < 0 || slot >= container.getCapacity()) {
+			return null;
+		}
+		ItemStack stack = container.getItemStack(slot);
+		return stack == null || ItemStack.isEmpty(stack) ? null : stack;
+	}
+
+	@Nullable
+	private static String heldItemId(@Nullable ItemStack heldItem) {
+		return heldItem == null || ItemStack.isEmpty(heldItem) ? null : heldItem.getItemId();
+	}
+}
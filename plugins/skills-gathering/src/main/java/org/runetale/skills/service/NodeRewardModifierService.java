@@ -0,0 +1,189 @@
+package org.runetale.skills.service;
+
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.RewardModifiersConfig.RewardModifierRule;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the XP reward multiplier for a gathered node from configured modifier rules.
+ *
+ * <p>
+ * Rules keyed by skill, node, world and time window are flattened into a per-node multiplier table
+ * for the rules active at a given time. Matching rules compose by multiplication. The table is
+ * rebuilt only when the rules change or the clock crosses the next rule start or end, so a break
+ * costs a single map lookup.
+ */
+public final class NodeRewardModifierService {
+
+	public static final String MANAGE_PERMISSION = "runetale.skills.gathering.rewards.manage";
+
+	private static final MultiplierTable EMPTY_TABLE = new MultiplierTable(List.of(), Long.MIN_VALUE,
+			Long.MAX_VALUE, Map.of(), Map.of(), List.of());
+
+	private final Supplier<? extends Collection<SkillNodeDefinition>> nodeDefinitions;
+
+	private volatile List<RewardModifierRule> rules = List.of();
+	private volatile MultiplierTable table = EMPTY_TABLE;
+	private int rebuilds;
+
+	public NodeRewardModifierService(@Nonnull Supplier<? extends Collection<SkillNodeDefinition>> nodeDefinitions,
+			@Nonnull List<RewardModifierRule> rules) {
+		this.nodeDefinitions = nodeDefinitions;
+		replaceRules(rules);
+	}
+
+	/**
+	 * Swaps in a new rule set. The multiplier table is rebuilt on the next lookup.
+	 */
+	public synchronized void replaceRules(@Nonnull List<RewardModifierRule> rules) {
+		this.rules = List.copyOf(rules);
+		this.table = EMPTY_TABLE;
+	}
+
+	@Nonnull
+	public List<RewardModifierRule> rules() {
+		return this.rules;
+	}
+
+	/**
+	 * Returns the product of every rule that applies to the node in the given world at the given time,
+	 * or 1.0 when none apply.
+	 */
+	public double multiplierFor(@Nonnull SkillNodeDefinition node, @Nullable String worldName, long nowMillis) {
+		MultiplierTable current = this.table;
+		if (current.rules != this.rules || !current.isValidAt(nowMillis)) {
+			current = rebuild(nowMillis);
+		}
+
+		String nodeKey = normalize(node.getId());
+		Map<String, Double> byNode = worldName == null ? null : current.byWorld.get(worldName);
+		if (byNode == null) {
+			byNode = current.anyWorld;
+		}
+		Double multiplier = byNode.get(nodeKey);
+		if (multiplier != null) {
+			return multiplier;
+		}
+		if (current.activeRules.isEmpty()) {
+			return 1.0D;
+		}
+		// Nodes registered after the table was built fall back to a direct evaluation.
+		return compute(current.activeRules, node, nodeKey, worldName);
+	}
+
+	/**
+	 * Returns the number of rules active in the current multiplier table.
+	 */
+	public int activeRuleCount() {
+		return this.table.activeRules.size();
+	}
+
+	public synchronized void clear() {
+		this.rules = List.of();
+		this.table = EMPTY_TABLE;
+	}
+
+	synchronized int rebuildCount() {
+		return this.rebuilds;
+	}
+
+	@Nonnull
+	private synchronized MultiplierTable rebuild(long nowMillis) {
+		MultiplierTable current = this.table;
+		List<RewardModifierRule> currentRules = this.rules;
+		if (current.rules == currentRules && current.isValidAt(nowMillis)) {
+			return current;
+		}
+
+		long validFrom = Long.MIN_VALUE;
+		long validUntil = Long.MAX_VALUE;
+		List<RewardModifierRule> active = new ArrayList<>();
+		Set<String> worldNames = new LinkedHashSet<>();
+		for (RewardModifierRule rule : currentRules) {
+			if (rule.startsAtMillis() <= nowMillis) {
+				validFrom = Math.max(validFrom, rule.startsAtMillis());
+			} else {
+				validUntil = Math.min(validUntil, rule.startsAtMillis());
+			}
+			if (rule.endsAtMillis() <= nowMillis) {
+				validFrom = Math.max(validFrom, rule.endsAtMillis());
+			} else {
+				validUntil = Math.min(validUntil, rule.endsAtMillis());
+			}
+			if (rule.isActiveAt(nowMillis)) {
+				active.add(rule);
+				if (rule.worldName() != null) {
+					worldNames.add(rule.worldName());
+				}
+			}
+		}
+
+		Map<String, Double> anyWorld = new HashMap<>();
+		Map<String, Map<String, Double>> byWorld = new HashMap<>();
+		if (!active.isEmpty()) {
+			for (String worldName : worldNames) {
+				byWorld.put(worldName, new HashMap<>());
+			}
+			for (SkillNodeDefinition node : this.nodeDefinitions.get()) {
+				String nodeKey = normalize(node.getId());
+				anyWorld.put(nodeKey, compute(active, node, nodeKey, null));
+				for (Map.Entry<String, Map<String, Double>> world : byWorld.entrySet()) {
+					world.getValue().put(nodeKey, compute(active, node, nodeKey, world.getKey()));
+				}
+			}
+		}
+
+		Map<String, Map<String, Double>> frozenByWorld = new HashMap<>();
+		for (Map.Entry<String, Map<String, Double>> world : byWorld.entrySet()) {
+			frozenByWorld.put(world.getKey(), Map.copyOf(world.getValue()));
+		}
+		MultiplierTable rebuilt = new MultiplierTable(currentRules, validFrom, validUntil,
+				Map.copyOf(anyWorld), Map.copyOf(frozenByWorld), List.copyOf(active));
+		this.table = rebuilt;
+		this.rebuilds++;
+		return rebuilt;
+	}
+
+	private static double compute(@Nonnull List<RewardModifierRule> activeRules, @Nonnull SkillNodeDefinition node,
+			@Nonnull String nodeKey, @Nullable String worldName) {
+		double multiplier = 1.0D;
+		for (RewardModifierRule rule : activeRules) {
+			if (rule.worldName() != null && !rule.worldName().equals(worldName)) {
+				continue;
+			}
+			if (rule.matchesNode(node.getSkillType(), nodeKey)) {
+				multiplier *= rule.multiplier();
+			}
+		}
+		return multiplier;
+	}
+
+	@Nonnull
+	private static String normalize(@Nonnull String nodeId) {
+		return nodeId.toLowerCase(Locale.ROOT);
+	}
+
+	private record MultiplierTable(
+			@Nonnull List<RewardModifierRule> rules,
+			long validFrom,
+			long validUntil,
+			@Nonnull Map<String, Double> anyWorld,
+			@Nonnull Map<String, Map<String, Double>> byWorld,
+			@Nonnull List<RewardModifierRule> activeRules) {
+
+		private boolean isValidAt(long nowMillis) {
+			return nowMillis >= this.validFrom && nowMillis < this.validUntil;
+		}
+	}
+}
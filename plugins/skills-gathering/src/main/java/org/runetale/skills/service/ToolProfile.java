@@ -0,0 +1,62 @@
+package org.runetale.skills.service;
+
+import org.runetale.skills.domain.ToolTier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable tool classification of one held item id.
+ *
+ * <p>
+ * Profiles are built once per item id by {@link ToolRequirementEvaluator}, so a hit only tests a
+ * family bit and compares tier ranks instead of normalizing the id and scanning tokens again.
+ */
+public final class ToolProfile {
+
+	private final String itemId;
+	private final ToolTier tier;
+	private final double tierEfficiencyMultiplier;
+	private final long familyMask;
+	private final int familiesCovered;
+
+	ToolProfile(@Nonnull String itemId, @Nonnull ToolTier tier, double tierEfficiencyMultiplier, long familyMask,
+			int familiesCovered) {
+		this.itemId = itemId;
+		this.tier = tier;
+		this.tierEfficiencyMultiplier = tierEfficiencyMultiplier;
+		this.familyMask = familyMask;
+		this.familiesCovered = familiesCovered;
+	}
+
+	@Nonnull
+	public String getItemId() {
+		return this.itemId;
+	}
+
+	@Nonnull
+	public ToolTier getTier() {
+		return this.tier;
+	}
+
+	/**
+	 * Configured efficiency multiplier for this profile's tier.
+	 */
+	public double getTierEfficiencyMultiplier() {
+		return this.tierEfficiencyMultiplier;
+	}
+
+	public boolean matchesFamily(int familyBit) {
+		return familyBit >= 0 && (this.familyMask & (1L << familyBit)) != 0L;
+	}
+
+	public boolean meetsTier(@Nonnull ToolTier minimumTier) {
+		return this.tier.rank() >= minimumTier.rank();
+	}
+
+	/**
+	 * Number of registered tool families this profile was classified against.
+	 */
+	int familiesCovered() {
+		return this.familiesCovered;
+	}
+}
@@ -8,17 +8,36 @@ import org.runetale.skills.domain.ToolTier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * Evaluates held-tool constraints from break-event item-in-hand data.
+ *
+ * <p>
+ * Classification is memoized: each required tool keyword is registered once as a family bit, and
+ * each held item id is classified once into a {@link ToolProfile}. Profiles are rebuilt only when a
+ * keyword they were not classified against shows up. A config reload builds a new evaluator.
+ * {@link #loadoutFor(String)} expands a profile into per-family multipliers ahead of the first hit.
  */
 public class ToolRequirementEvaluator {
 
 	private static final HytaleLogger LOGGER = HytaleLogger.forEnclosingClass();
 	private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+	private static final int NO_FAMILY = -1;
+	private static final int UNCACHED_FAMILY = -2;
+	private static final int MAX_CACHED_FAMILIES = Long.SIZE;
+
 	private final ToolingConfig toolingConfig;
+	private final Map<String, Integer> familyBitByKeyword = new ConcurrentHashMap<>();
+	private final Map<String, ToolProfile> profileByItemId = new ConcurrentHashMap<>();
+	private volatile List<String> normalizedFamilies = List.of();
 
 	public ToolRequirementEvaluator(@Nonnull ToolingConfig toolingConfig) {
 		this.toolingConfig = toolingConfig;
@@ -36,22 +55,147 @@ public class ToolRequirementEvaluator {
 		}
 
 		String itemId = heldItem.getItemId();
-		String normalizedItemId = normalizeToken(itemId);
-		String normalizedKeyword = normalizeToken(requiredToolKeyword);
+		int familyBit = familyBitFor(requiredToolKeyword);
+		ToolProfile profile = profileFor(itemId, familyBit);
 
-		if (!matchesToolFamily(normalizedItemId, normalizedKeyword)) {
+		if (!matchesFamily(profile, familyBit, requiredToolKeyword)) {
 			LOGGER.atFine().log("Tool requirement failed: item=%s missing keyword=%s", itemId, requiredToolKeyword);
 			return RequirementCheckResult.failure(ToolTier.NONE, itemId);
 		}
 
-		ToolTier detected = detectTier(normalizedItemId);
-		boolean success = detected.rank() >= minimumTier.rank();
+		ToolTier detected = profile.getTier();
+		boolean success = profile.meetsTier(minimumTier);
 		LOGGER.atFine().log("Tool requirement check: item=%s detected=%s required=%s success=%s",
 				itemId, detected, minimumTier, success);
 		return success ? RequirementCheckResult.success(detected, itemId)
 				: RequirementCheckResult.failure(detected, itemId);
 	}
 
+	/**
+	 * Resolves the hit-speed multiplier for the held item against a node's required tool keyword.
+	 */
+	public double efficiencyMultiplier(@Nullable ItemStack heldItem, @Nonnull String requiredToolKeyword) {
+		if (heldItem == null || heldItem.isEmpty()) {
+			return this.toolingConfig.noToolEfficiencyMultiplier();
+		}
+
+		int familyBit = familyBitFor(requiredToolKeyword);
+		ToolProfile profile = profileFor(heldItem.getItemId(), familyBit);
+		if (!matchesFamily(profile, familyBit, requiredToolKeyword)) {
+			return this.toolingConfig.mismatchedFamilyEfficiencyMultiplier();
+		}
+		return profile.getTierEfficiencyMultiplier();
+	}
+
+	/**
+	 * Registers tool families up front so held-item loadouts cover every configured node.
+	 */
+	public void registerFamilies(@Nonnull Collection<String> requiredToolKeywords) {
+		for (String keyword : requiredToolKeywords) {
+			if (keyword != null) {
+				familyBitFor(keyword);
+			}
+		}
+	}
+
+	/**
+	 * Classifies a held item against every registered family and precomputes its multipliers.
+	 */
+	@Nonnull
+	public HeldToolLoadout loadoutFor(@Nullable String heldItemId) {
+		int families = this.normalizedFamilies.size();
+		double[] efficiencyByFamily = new double[families];
+		if (heldItemId == null || heldItemId.isEmpty()) {
+			Arrays.fill(efficiencyByFamily, this.toolingConfig.noToolEfficiencyMultiplier());
+			return new HeldToolLoadout(null, null, efficiencyByFamily);
+		}
+
+		// Asking for the last registered bit makes the profile cover every family in the snapshot.
+		ToolProfile profile = profileFor(heldItemId, families - 1);
+		for (int bit = 0; bit < families; bit++) {
+			efficiencyByFamily[bit] = profile.matchesFamily(bit)
+					? profile.getTierEfficiencyMultiplier()
+					: this.toolingConfig.mismatchedFamilyEfficiencyMultiplier();
+		}
+		return new HeldToolLoadout(heldItemId, profile, efficiencyByFamily);
+	}
+
+	/**
+	 * Returns the cached profile for an item id, classifying it against all registered families on
+	 * first use or when {@code familyBit} was registered after the cached profile was built.
+	 */
+	@Nonnull
+	ToolProfile profileFor(@Nonnull String itemId, int familyBit) {
+		ToolProfile cached = this.profileByItemId.get(itemId);
+		if (cached != null && familyBit < cached.familiesCovered()) {
+			return cached;
+		}
+
+		List<String> families = this.normalizedFamilies;
+		String normalizedItemId = normalizeToken(itemId);
+		long familyMask = 0L;
+		for (int bit = 0; bit < families.size(); bit++) {
+			if (matchesToolFamily(normalizedItemId, families.get(bit))) {
+				familyMask |= 1L << bit;
+			}
+		}
+		ToolTier tier = detectTier(normalizedItemId);
+		ToolProfile profile = new ToolProfile(
+				itemId,
+				tier,
+				this.toolingConfig.efficiencyMultiplierFor(tier),
+				familyMask,
+				families.size());
+		this.profileByItemId.put(itemId, profile);
+		return profile;
+	}
+
+	/**
+	 * Returns the family bit for a raw required keyword, registering it on first use.
+	 */
+	int familyBitFor(@Nonnull String requiredToolKeyword) {
+		Integer cached = this.familyBitByKeyword.get(requiredToolKeyword);
+		if (cached != null) {
+			return cached;
+		}
+		return registerFamily(requiredToolKeyword);
+	}
+
+	private synchronized int registerFamily(@Nonnull String requiredToolKeyword) {
+		Integer cached = this.familyBitByKeyword.get(requiredToolKeyword);
+		if (cached != null) {
+			return cached;
+		}
+
+		String normalizedKeyword = normalizeToken(requiredToolKeyword);
+		int bit;
+		if (normalizedKeyword.isEmpty()) {
+			bit = NO_FAMILY;
+		} else {
+			List<String> families = this.normalizedFamilies;
+			bit = families.indexOf(normalizedKeyword);
+			if (bit < 0 && families.size() < MAX_CACHED_FAMILIES) {
+				List<String> grown = new ArrayList<>(families);
+				grown.add(normalizedKeyword);
+				this.normalizedFamilies = List.copyOf(grown);
+				bit = families.size();
+			} else if (bit < 0) {
+				LOGGER.atWarning().log("Tool family cache full; keyword=%s is matched without caching",
+						requiredToolKeyword);
+				bit = UNCACHED_FAMILY;
+			}
+		}
+		this.familyBitByKeyword.put(requiredToolKeyword, bit);
+		return bit;
+	}
+
+	private boolean matchesFamily(@Nonnull ToolProfile profile, int familyBit, @Nonnull String requiredToolKeyword) {
+		if (familyBit == UNCACHED_FAMILY) {
+			return matchesToolFamily(normalizeToken(profile.getItemId()), normalizeToken(requiredToolKeyword));
+		}
+		return profile.matchesFamily(familyBit);
+	}
+
 	private boolean matchesToolFamily(@Nonnull String normalizedItemId, @Nonnull String normalizedKeyword) {
 		return this.toolingConfig.matchesToolFamily(normalizedItemId, normalizedKeyword);
 	}
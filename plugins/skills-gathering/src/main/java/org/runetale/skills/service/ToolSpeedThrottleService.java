@@ -1,23 +1,44 @@
 package org.runetale.skills.service;
 
 import javax.annotation.Nonnull;
-import java.util.Iterator;
-import java.util.Locale;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Deterministically throttles damage hits based on configurable tool efficiency.
+ *
+ * <p>
+ * Throttle state lives in fixed parallel arrays: an open-addressed index keyed by the player id
+ * and a packed block position, plus an intrusive access-ordered list. Touch, expiry of the least
+ * recently hit entry, and eviction at capacity are all constant time, and a hit allocates nothing.
  */
 public final class ToolSpeedThrottleService {
 
 	private static final long DEFAULT_ENTRY_TTL_MILLIS = 30_000L;
 	private static final int DEFAULT_MAX_TRACKED_TARGETS = 8_192;
+	private static final int MIN_TRACKED_TARGETS = 128;
+	private static final int EXPIRE_BUDGET_PER_HIT = 4;
+	private static final int NONE = -1;
 
 	private final long entryTtlMillis;
 	private final int maxTrackedTargets;
-	private final Map<ThrottleKey, ThrottleState> stateByKey = new ConcurrentHashMap<>();
+
+	private final long[] playerMostSigBits;
+	private final long[] playerLeastSigBits;
+	private final long[] packedPositions;
+	private final String[] blockIds;
+	private final double[] accumulatedEfficiency;
+	private final long[] lastTouchedAt;
+	private final int[] newer;
+	private final int[] older;
+	private final int[] slotByEntry;
+	private final int[] entryBySlot;
+	private final int slotMask;
+
+	private int newest = NONE;
+	private int oldest = NONE;
+	private int freeHead;
+	private int size;
 
 	public ToolSpeedThrottleService() {
 		this(DEFAULT_ENTRY_TTL_MILLIS, DEFAULT_MAX_TRACKED_TARGETS);
@@ -25,10 +46,30 @@ public final class ToolSpeedThrottleService {
 
 	ToolSpeedThrottleService(long entryTtlMillis, int maxTrackedTargets) {
 		this.entryTtlMillis = Math.max(1L, entryTtlMillis);
-		this.maxTrackedTargets = Math.max(128, maxTrackedTargets);
+		this.maxTrackedTargets = Math.max(MIN_TRACKED_TARGETS, maxTrackedTargets);
+
+		int capacity = this.maxTrackedTargets;
+		this.playerMostSigBits = new long[capacity];
+		this.playerLeastSigBits = new long[capacity];
+		this.packedPositions = new long[capacity];
+		this.blockIds = new String[capacity];
+		this.accumulatedEfficiency = new double[capacity];
+		this.lastTouchedAt = new long[capacity];
+		this.newer = new int[capacity];
+		this.older = new int[capacity];
+		this.slotByEntry = new int[capacity];
+		for (int entry = 0; entry < capacity; entry++) {
+			this.newer[entry] = entry + 1 < capacity ? entry + 1 : NONE;
+		}
+		this.freeHead = 0;
+
+		int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+		this.entryBySlot = new int[slots];
+		Arrays.fill(this.entryBySlot, NONE);
+		this.slotMask = slots - 1;
 	}
 
-	public boolean allowHit(
+	public synchronized boolean allowHit(
 			@Nonnull UUID playerId,
 			@Nonnull String blockId,
 			int x,
@@ -41,68 +82,181 @@ public final class ToolSpeedThrottleService {
 			return false;
 		}
 
-		ThrottleKey key = new ThrottleKey(playerId, normalizeBlockId(blockId), x, y, z);
+		long mostSigBits = playerId.getMostSignificantBits();
+		long leastSigBits = playerId.getLeastSignificantBits();
+		long packedPosition = packPosition(x, y, z);
 		if (multiplier >= 1.0D) {
-			this.stateByKey.remove(key);
+			int entry = find(mostSigBits, leastSigBits, packedPosition);
+			if (entry != NONE) {
+				remove(entry);
+			}
 			return true;
 		}
 
-		pruneIfNeeded(nowMillis);
-
-		ThrottleState state = this.stateByKey.computeIfAbsent(key, ignored -> new ThrottleState());
-		if (nowMillis - state.lastTouchedAt > this.entryTtlMillis) {
-			state.accumulatedEfficiency = 0.0D;
+		expireOldest(nowMillis, EXPIRE_BUDGET_PER_HIT);
+		int entry = find(mostSigBits, leastSigBits, packedPosition);
+		if (entry != NONE && (nowMillis - this.lastTouchedAt[entry] > this.entryTtlMillis
+				|| !sameBlock(this.blockIds[entry], blockId))) {
+			this.accumulatedEfficiency[entry] = 0.0D;
+			this.blockIds[entry] = blockId;
+		}
+		if (entry == NONE) {
+			entry = insert(mostSigBits, leastSigBits, packedPosition, blockId);
+		} else {
+			unlink(entry);
+			linkNewest(entry);
 		}
 
-		state.lastTouchedAt = nowMillis;
-		state.accumulatedEfficiency += multiplier;
-		if (state.accumulatedEfficiency >= 1.0D) {
-			state.accumulatedEfficiency -= 1.0D;
+		this.lastTouchedAt[entry] = nowMillis;
+		this.accumulatedEfficiency[entry] += multiplier;
+		if (this.accumulatedEfficiency[entry] >= 1.0D) {
+			this.accumulatedEfficiency[entry] -= 1.0D;
 			return true;
 		}
 		return false;
 	}
 
-	private void pruneIfNeeded(long nowMillis) {
-		if (this.stateByKey.size() <= this.maxTrackedTargets) {
-			return;
+	/**
+	 * Drops up to {@code budget} entries that have not been hit within the TTL, oldest first.
+	 */
+	public synchronized int expireOldest(long nowMillis, int budget) {
+		int expired = 0;
+		while (expired < budget && this.oldest != NONE
+				&& nowMillis - this.lastTouchedAt[this.oldest] > this.entryTtlMillis) {
+			remove(this.oldest);
+			expired++;
 		}
+		return expired;
+	}
+
+	public synchronized int trackedCount() {
+		return this.size;
+	}
 
-		Iterator<Map.Entry<ThrottleKey, ThrottleState>> iterator = this.stateByKey.entrySet().iterator();
-		while (iterator.hasNext()) {
-			Map.Entry<ThrottleKey, ThrottleState> entry = iterator.next();
-			if (nowMillis - entry.getValue().lastTouchedAt > this.entryTtlMillis) {
-				iterator.remove();
+	public synchronized void clear() {
+		while (this.oldest != NONE) {
+			remove(this.oldest);
+		}
+	}
+
+	private int find(long mostSigBits, long leastSigBits, long packedPosition) {
+		int slot = slotFor(mostSigBits, leastSigBits, packedPosition);
+		while (true) {
+			int entry = this.entryBySlot[slot];
+			if (entry == NONE) {
+				return NONE;
 			}
+			if (this.packedPositions[entry] == packedPosition
+					&& this.playerLeastSigBits[entry] == leastSigBits
+					&& this.playerMostSigBits[entry] == mostSigBits) {
+				return entry;
+			}
+			slot = (slot + 1) & this.slotMask;
 		}
+	}
 
-		if (this.stateByKey.size() <= this.maxTrackedTargets) {
-			return;
+	private int insert(long mostSigBits, long leastSigBits, long packedPosition, @Nonnull String blockId) {
+		if (this.size == this.maxTrackedTargets) {
+			remove(this.oldest);
 		}
 
-		iterator = this.stateByKey.entrySet().iterator();
-		while (this.stateByKey.size() > this.maxTrackedTargets && iterator.hasNext()) {
-			iterator.next();
-			iterator.remove();
+		int entry = this.freeHead;
+		this.freeHead = this.newer[entry];
+		this.playerMostSigBits[entry] = mostSigBits;
+		this.playerLeastSigBits[entry] = leastSigBits;
+		this.packedPositions[entry] = packedPosition;
+		this.blockIds[entry] = blockId;
+		this.accumulatedEfficiency[entry] = 0.0D;
+
+		int slot = slotFor(mostSigBits, leastSigBits, packedPosition);
+		while (this.entryBySlot[slot] != NONE) {
+			slot = (slot + 1) & this.slotMask;
 		}
+		this.entryBySlot[slot] = entry;
+		this.slotByEntry[entry] = slot;
+
+		linkNewest(entry);
+		this.size++;
+		return entry;
 	}
 
-	private static String normalizeBlockId(@Nonnull String blockId) {
-		return blockId.trim().toLowerCase(Locale.ROOT);
+	private void remove(int entry) {
+		unlink(entry);
+		deleteSlot(this.slotByEntry[entry]);
+		this.blockIds[entry] = null;
+		this.newer[entry] = this.freeHead;
+		this.freeHead = entry;
+		this.size--;
 	}
 
-	private static double sanitizeMultiplier(double multiplier) {
-		if (!Double.isFinite(multiplier) || multiplier < 0.0D) {
-			return 0.0D;
+	// Backward-shift deletion keeps probe chains intact without tombstones.
+	private void deleteSlot(int slot) {
+		int hole = slot;
+		int probe = (hole + 1) & this.slotMask;
+		while (true) {
+			int entry = this.entryBySlot[probe];
+			if (entry == NONE) {
+				break;
+			}
+			int home = slotFor(this.playerMostSigBits[entry], this.playerLeastSigBits[entry],
+					this.packedPositions[entry]);
+			if (((probe - home) & this.slotMask) >= ((probe - hole) & this.slotMask)) {
+				this.entryBySlot[hole] = entry;
+				this.slotByEntry[entry] = hole;
+				hole = probe;
+			}
+			probe = (probe + 1) & this.slotMask;
 		}
-		return multiplier;
+		this.entryBySlot[hole] = NONE;
+	}
+
+	private void linkNewest(int entry) {
+		this.older[entry] = this.newest;
+		this.newer[entry] = NONE;
+		if (this.newest != NONE) {
+			this.newer[this.newest] = entry;
+		}
+		this.newest = entry;
+		if (this.oldest == NONE) {
+			this.oldest = entry;
+		}
+	}
+
+	private void unlink(int entry) {
+		int olderEntry = this.older[entry];
+		int newerEntry = this.newer[entry];
+		if (olderEntry != NONE) {
+			this.newer[olderEntry] = newerEntry;
+		} else {
+			this.oldest = newerEntry;
+		}
+		if (newerEntry != NONE) {
+			this.older[newerEntry] = olderEntry;
+		} else {
+			this.newest = olderEntry;
+		}
+	}
+
+	private int slotFor(long mostSigBits, long leastSigBits, long packedPosition) {
+		long hash = mostSigBits * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ leastSigBits) * 0xC2B2AE3D27D4EB4FL;
+		hash = (hash ^ packedPosition) * 0x165667B19E3779F9L;
+		return (int) (hash ^ (hash >>> 32)) & this.slotMask;
+	}
+
+	// 26 bits each for x and z, 12 for y: covers the whole playable world without collisions.
+	private static long packPosition(int x, int y, int z) {
+		return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
 	}
 
-	private record ThrottleKey(@Nonnull UUID playerId, @Nonnull String blockId, int x, int y, int z) {
+	private static boolean sameBlock(@Nonnull String trackedBlockId, @Nonnull String blockId) {
+		return trackedBlockId.equals(blockId) || trackedBlockId.trim().equalsIgnoreCase(blockId.trim());
 	}
 
-	private static final class ThrottleState {
-		double accumulatedEfficiency;
-		long lastTouchedAt;
+	private static double sanitizeMultiplier(double multiplier) {
+		if (!Double.isFinite(multiplier) || multiplier < 0.0D) {
+			return 0.0D;
+		}
+		return multiplier;
 	}
 }
@@ -7,29 +7,42 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.protocol.GameMode;
 import com.hypixel.hytale.protocol.packets.interface_.NotificationStyle;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.NotificationUtil;
 import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.asset.SkillNodeDefinition;
 import org.runetale.skills.config.HeuristicsConfig;
+import org.runetale.skills.config.KeywordMatcher;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 import org.runetale.skills.domain.SkillType;
 import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.NodeRewardModifierService;
 import org.runetale.skills.service.SkillNodeLookupService;
+import org.runetale.skills.trace.GatherTraceEvent;
+import org.runetale.skills.trace.GatherTraceRecorder;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Handles block-break gathering flow:
- * lookup -> requirements -> XP dispatch.
+ * lookup -> requirements -> reward modifiers -> XP dispatch.
+ *
+ * <p>
+ * Unlike the hit gate, breaks do not consult the
+ * {@link org.runetale.skills.api.DepletedBlockRegistry}: the break that depletes a node marks its
+ * position before this system sees the same event, and that break must still award XP.
  */
 public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
 
@@ -37,9 +50,12 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 
 	private final SkillsRuntimeApi runtimeApi;
 	private final SkillNodeLookupService nodeLookupService;
-	private final HeuristicsConfig heuristicsConfig;
+	private final KeywordMatcher nodeCandidateMatcher;
 	private final GatheringBypassService bypassService;
-	private final String debugPluginKey;
+	private final NodeRewardModifierService rewardModifiers;
+	private final GatherTraceRecorder traceRecorder;
+	private final SkillsDiagnostics diagnostics;
+	private final int diagnosticsBit;
 	private final Query<EntityStore> query;
 
 	public SkillNodeBreakBlockSystem(
@@ -47,13 +63,18 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 			@Nonnull SkillNodeLookupService nodeLookupService,
 			@Nonnull HeuristicsConfig heuristicsConfig,
 			@Nonnull GatheringBypassService bypassService,
+			@Nonnull NodeRewardModifierService rewardModifiers,
+			@Nonnull GatherTraceRecorder traceRecorder,
 			@Nonnull String debugPluginKey) {
 		super(BreakBlockEvent.class);
 		this.runtimeApi = runtimeApi;
 		this.nodeLookupService = nodeLookupService;
-		this.heuristicsConfig = heuristicsConfig;
+		this.nodeCandidateMatcher = KeywordMatcher.compile(heuristicsConfig.nodeCandidateTokens());
 		this.bypassService = bypassService;
-		this.debugPluginKey = debugPluginKey;
+		this.rewardModifiers = rewardModifiers;
+		this.traceRecorder = traceRecorder;
+		this.diagnostics = runtimeApi.getDiagnostics();
+		this.diagnosticsBit = this.diagnostics.pluginBit(debugPluginKey);
 		this.query = Query.and(PlayerRef.getComponentType());
 	}
 
@@ -71,6 +92,22 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 		if (player == null) {
 			player = store.getComponent(ref, Player.getComponentType());
 		}
+		UUID playerId = playerRef == null ? null : playerRef.getUuid();
+		String worldName = store.getExternalData().getWorld().getName();
+		if (playerId != null && this.traceRecorder.isCapturing()) {
+			recordTrace(playerId, worldName, event);
+		}
+
+		dispatchBreak(commandBuffer, ref, playerRef, playerId, player, worldName, event);
+	}
+
+	/**
+	 * Runs the break flow once the ECS components it needs have been resolved. Kept free of store
+	 * access so recorded traces can be replayed through the same path off-server.
+	 */
+	void dispatchBreak(@Nonnull CommandBuffer<EntityStore> commandBuffer, @Nonnull Ref<EntityStore> ref,
+			@Nullable PlayerRef playerRef, @Nullable UUID playerId, @Nullable Player player,
+			@Nonnull String worldName, @Nonnull BreakBlockEvent event) {
 		boolean bypassActive = isBreakGateBypassed(player);
 		String bypassMode = bypassMode(player);
 		BlockType brokenBlockType = event.getBlockType();
@@ -78,7 +115,7 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 			LOGGER.atInfo().log("[Skills][Diag] Break event received blockId=%s cancelled=%s player=%s bypass=%s",
 					brokenBlockType.getId(),
 					event.isCancelled(),
-					playerRef == null ? "<missing>" : playerRef.getUuid(),
+					playerId == null ? "<missing>" : playerId,
 					bypassMode);
 		}
 
@@ -95,7 +132,7 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 						LOGGER.atInfo().log("[Skills][Diag] Bypass allowed unconfigured node-like block mode=%s block=%s player=%s",
 								bypassMode,
 								brokenBlockType.getId(),
-								playerRef == null ? "<missing>" : playerRef.getUuid());
+								playerId == null ? "<missing>" : playerId);
 					}
 					return;
 				}
@@ -117,7 +154,7 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 			if (isSkillsDebugEnabled()) {
 				LOGGER.atWarning().log("[Skills][Diag] Break event aborted due to missing profile blockId=%s player=%s",
 						brokenBlockType.getId(),
-						playerRef == null ? "<missing>" : playerRef.getUuid());
+						playerId == null ? "<missing>" : playerId);
 			}
 			return;
 		}
@@ -151,23 +188,46 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 					brokenBlockType.getId());
 		}
 
+		double multiplier = this.rewardModifiers.multiplierFor(node, worldName, System.currentTimeMillis());
+		double experience = node.getExperienceReward() * multiplier;
+		if (experience <= 0.0D) {
+			if (isSkillsDebugEnabled()) {
+				LOGGER.atInfo().log("[Skills][Diag] Break XP suppressed by reward modifiers node=%s skill=%s multiplier=%.4f block=%s",
+						node.getId(),
+						skill,
+						multiplier,
+						brokenBlockType.getId());
+			}
+			return;
+		}
+
 		boolean queued = this.runtimeApi.grantSkillXp(
 				commandBuffer,
 				ref,
 				skill,
-				node.getExperienceReward(),
+				experience,
 				"node:" + node.getId(),
 				true);
 		if (isSkillsDebugEnabled()) {
-			LOGGER.atInfo().log("[Skills][Diag] Break XP dispatch node=%s skill=%s xp=%.4f queued=%s block=%s",
+			LOGGER.atInfo().log("[Skills][Diag] Break XP dispatch node=%s skill=%s xp=%.4f multiplier=%.4f queued=%s block=%s",
 					node.getId(),
 					skill,
-					node.getExperienceReward(),
+					experience,
+					multiplier,
 					queued,
 					brokenBlockType.getId());
 		}
 	}
 
+	private void recordTrace(@Nonnull UUID playerId, @Nonnull String worldName, @Nonnull BreakBlockEvent event) {
+		Vector3i target = event.getTargetBlock();
+		ItemStack heldItem = event.getItemInHand();
+		this.traceRecorder.record(GatherTraceEvent.Kind.BREAK, playerId, worldName, target.x, target.y, target.z,
+				event.getBlockType().getId(),
+				heldItem == null || ItemStack.isEmpty(heldItem) ? null : heldItem.getItemId(),
+				System.currentTimeMillis());
+	}
+
 	@Nonnull
 	@Override
 	public Query<EntityStore> getQuery() {
@@ -197,17 +257,11 @@ public class SkillNodeBreakBlockSystem extends EntityEventSystem<EntityStore, Br
 	}
 
 	private boolean looksLikeSkillNodeCandidate(@Nonnull String blockId) {
-		String lowered = blockId.toLowerCase(Locale.ROOT);
-		for (String token : this.heuristicsConfig.nodeCandidateTokens()) {
-			if (lowered.contains(token)) {
-				return true;
-			}
-		}
-		return false;
+		return this.nodeCandidateMatcher.matchesAny(blockId);
 	}
 
 	private boolean isSkillsDebugEnabled() {
-		return this.runtimeApi.isDebugEnabled(this.debugPluginKey);
+		return this.diagnostics.isDebugEnabled(this.diagnosticsBit);
 	}
 
 	private boolean isBreakGateBypassed(@Nullable Player player) {
@@ -7,6 +7,7 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
 import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.protocol.GameMode;
 import com.hypixel.hytale.protocol.packets.interface_.NotificationStyle;
 import com.hypixel.hytale.server.core.Message;
@@ -17,16 +18,23 @@ import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.NotificationUtil;
+import org.runetale.skills.api.DepletedBlockRegistry;
 import org.runetale.skills.api.SkillsRuntimeApi;
 import org.runetale.skills.asset.SkillNodeDefinition;
 import org.runetale.skills.config.HeuristicsConfig;
-import org.runetale.skills.config.ToolingConfig;
-import org.runetale.skills.domain.RequirementCheckResult;
+import org.runetale.skills.config.KeywordMatcher;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
+import org.runetale.skills.diagnostics.TraceEvent;
 import org.runetale.skills.domain.SkillType;
-import org.runetale.skills.domain.ToolTier;
+import org.runetale.skills.service.ChunkGatherBudgetService;
+import org.runetale.skills.service.ChunkGatherBudgetService.HotChunk;
+import org.runetale.skills.service.GatherHitContextCache;
+import org.runetale.skills.service.GatherHitContextCache.GatherHitContext;
 import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.HeldToolLoadoutService;
 import org.runetale.skills.service.SkillNodeLookupService;
-import org.runetale.skills.service.ToolRequirementEvaluator;
+import org.runetale.skills.trace.GatherTraceEvent;
+import org.runetale.skills.trace.GatherTraceRecorder;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +45,28 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles early gather gating on block-hit (damage) interactions.
+ *
+ * <p>
+ * The decision for a hit is kept in the player's {@link GatherHitContextCache} entry, so repeated
+ * hits on the same block with the same held item reuse it instead of re-resolving the node, the
+ * skill level and the tool. Tool efficiency comes from the player's precomputed
+ * {@link HeldToolLoadoutService} loadout, so even the first hit skips classification. Hits that
+ * do need a full evaluation on a configured node are metered per chunk by
+ * {@link ChunkGatherBudgetService}; past the chunk's per-tick budget the hit gets a cheap check of
+ * the level requirement and the held-tool loadout instead, reusing the skill level from the player's
+ * last verdict at the same block when there is one.
+ *
+ * <p>
+ * Hits on positions listed in the {@link DepletedBlockRegistry} (nodes waiting to respawn behind a
+ * placeholder block) are skipped before any other work; the publisher of the depletion already
+ * owns those blocks.
+ *
+ * <p>
+ * While {@link GatherTraceRecorder} is capturing, every hit is also recorded for offline replay.
+ *
+ * <p>
+ * Debug logging and structured tracing are each guarded by one bit test against the shared
+ * {@link SkillsDiagnostics} flags, so both cost a single branch per hit while switched off.
  */
 public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStore, DamageBlockEvent> {
 
@@ -45,11 +75,15 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 
 	private final SkillsRuntimeApi runtimeApi;
 	private final SkillNodeLookupService nodeLookupService;
-	private final HeuristicsConfig heuristicsConfig;
-	private final ToolingConfig toolingConfig;
-	private final ToolRequirementEvaluator toolRequirementEvaluator;
+	private final KeywordMatcher nodeCandidateMatcher;
+	private final HeldToolLoadoutService heldToolLoadouts;
 	private final GatheringBypassService bypassService;
-	private final String debugPluginKey;
+	private final GatherHitContextCache hitContextCache;
+	private final ChunkGatherBudgetService gatherBudget;
+	private final DepletedBlockRegistry depletedBlocks;
+	private final GatherTraceRecorder traceRecorder;
+	private final SkillsDiagnostics diagnostics;
+	private final int diagnosticsBit;
 	private final Query<EntityStore> query;
 	private final Map<UUID, Long> lastNoticeByPlayer = new ConcurrentHashMap<>();
 
@@ -57,18 +91,25 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 			@Nonnull SkillsRuntimeApi runtimeApi,
 			@Nonnull SkillNodeLookupService nodeLookupService,
 			@Nonnull HeuristicsConfig heuristicsConfig,
-			@Nonnull ToolingConfig toolingConfig,
-			@Nonnull ToolRequirementEvaluator toolRequirementEvaluator,
+			@Nonnull HeldToolLoadoutService heldToolLoadouts,
 			@Nonnull GatheringBypassService bypassService,
+			@Nonnull GatherHitContextCache hitContextCache,
+			@Nonnull ChunkGatherBudgetService gatherBudget,
+			@Nonnull DepletedBlockRegistry depletedBlocks,
+			@Nonnull GatherTraceRecorder traceRecorder,
 			@Nonnull String debugPluginKey) {
 		super(DamageBlockEvent.class);
 		this.runtimeApi = runtimeApi;
 		this.nodeLookupService = nodeLookupService;
-		this.heuristicsConfig = heuristicsConfig;
-		this.toolingConfig = toolingConfig;
-		this.toolRequirementEvaluator = toolRequirementEvaluator;
+		this.nodeCandidateMatcher = KeywordMatcher.compile(heuristicsConfig.nodeCandidateTokens());
+		this.heldToolLoadouts = heldToolLoadouts;
 		this.bypassService = bypassService;
-		this.debugPluginKey = debugPluginKey;
+		this.hitContextCache = hitContextCache;
+		this.gatherBudget = gatherBudget;
+		this.depletedBlocks = depletedBlocks;
+		this.traceRecorder = traceRecorder;
+		this.diagnostics = runtimeApi.getDiagnostics();
+		this.diagnosticsBit = this.diagnostics.pluginBit(debugPluginKey);
 		this.query = Query.and(PlayerRef.getComponentType());
 	}
 
@@ -89,16 +130,55 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 		if (player == null) {
 			player = store.getComponent(ref, Player.getComponentType());
 		}
+		UUID playerId = playerRef == null ? null : playerRef.getUuid();
+		String worldName = store.getExternalData().getWorld().getName();
+		if (playerId != null && this.traceRecorder.isCapturing()) {
+			recordTrace(playerId, worldName, event);
+		}
+
+		gateHit(commandBuffer, ref, playerRef, playerId, player, worldName, event);
+	}
+
+	/**
+	 * Gates one hit once the ECS components it needs have been resolved. Kept free of store access so
+	 * recorded traces can be replayed through the same path off-server.
+	 */
+	void gateHit(@Nonnull CommandBuffer<EntityStore> commandBuffer, @Nonnull Ref<EntityStore> ref,
+			@Nullable PlayerRef playerRef, @Nullable UUID playerId, @Nullable Player player,
+			@Nonnull String worldName, @Nonnull DamageBlockEvent event) {
+		Vector3i target = event.getTargetBlock();
+		if (this.depletedBlocks.isDepleted(worldName, target.x, target.y, target.z)) {
+			if (playerId != null && isTracing()) {
+				this.diagnostics.trace(this.diagnosticsBit, TraceEvent.DEPLETED_SKIPPED, playerId, target.x,
+						target.y, target.z, event.getBlockType().getId(), 0, 0, 0.0D);
+			}
+			return;
+		}
 
 		boolean bypassActive = isBreakGateBypassed(player);
-		String bypassMode = bypassMode(player);
 		BlockType damagedBlockType = event.getBlockType();
 		if (isSkillsDebugEnabled()) {
 			LOGGER.atInfo().log("[Skills][Diag] Hit event received blockId=%s cancelled=%s player=%s bypass=%s",
 					damagedBlockType.getId(),
 					event.isCancelled(),
-					playerRef == null ? "<missing>" : playerRef.getUuid(),
-					bypassMode);
+					playerId == null ? "<missing>" : playerId,
+					bypassMode(player));
+		}
+
+		ItemStack heldItem = event.getItemInHand();
+		String heldItemId = heldItem == null || ItemStack.isEmpty(heldItem) ? null : heldItem.getItemId();
+		if (playerId != null && !bypassActive) {
+			GatherHitContext cached = this.hitContextCache.find(playerId, target.x, target.y, target.z,
+					damagedBlockType.getId(), heldItemId);
+			if (cached != null) {
+				if (isTracing()) {
+					this.diagnostics.trace(this.diagnosticsBit, TraceEvent.CONTEXT_REUSED, playerId, target.x,
+							target.y, target.z, cached.node().getId(), cached.skillLevel(),
+							cached.levelBlocked() ? 1 : 0, cached.efficiencyMultiplier());
+				}
+				applyContext(cached, playerId, playerRef, heldItem, event);
+				return;
+			}
 		}
 
 		SkillNodeDefinition node = this.nodeLookupService.findByBlockId(damagedBlockType.getId());
@@ -109,12 +189,16 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 						looksLikeSkillNodeCandidate(damagedBlockType.getId()));
 			}
 			if (looksLikeSkillNodeCandidate(damagedBlockType.getId())) {
+				if (playerId != null && isTracing()) {
+					this.diagnostics.trace(this.diagnosticsBit, TraceEvent.NODE_UNCONFIGURED, playerId, target.x,
+							target.y, target.z, damagedBlockType.getId(), bypassActive ? 1 : 0, 0, 0.0D);
+				}
 				if (bypassActive) {
 					if (isSkillsDebugEnabled()) {
 						LOGGER.atInfo().log("[Skills][Diag] Bypass allowed unconfigured node-like hit mode=%s block=%s player=%s",
-								bypassMode,
+								bypassMode(player),
 								damagedBlockType.getId(),
-								playerRef == null ? "<missing>" : playerRef.getUuid());
+								playerId == null ? "<missing>" : playerId);
 					}
 					return;
 				}
@@ -127,19 +211,28 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 			return;
 		}
 
+		if (playerId != null && !bypassActive && !acquireEvaluationBudget(commandBuffer, ref, playerId, playerRef,
+				heldItem, heldItemId, node, worldName, damagedBlockType.getId(), event)) {
+			return;
+		}
+
 		if (!this.runtimeApi.hasSkillProfile(commandBuffer, ref)) {
 			LOGGER.atWarning().log(
 					"Player skill profile missing during hit event; skipping gather gate processing for safety.");
 			if (isSkillsDebugEnabled()) {
 				LOGGER.atWarning().log("[Skills][Diag] Hit event aborted due to missing profile blockId=%s player=%s",
 						damagedBlockType.getId(),
-						playerRef == null ? "<missing>" : playerRef.getUuid());
+						playerId == null ? "<missing>" : playerId);
 			}
 			return;
 		}
 
 		SkillType skill = node.getSkillType();
 		int levelBefore = this.runtimeApi.getSkillLevel(commandBuffer, ref, skill);
+		if (playerId != null && isTracing()) {
+			this.diagnostics.trace(this.diagnosticsBit, TraceEvent.NODE_RESOLVED, playerId, target.x, target.y,
+					target.z, node.getId(), levelBefore, node.getRequiredSkillLevel(), 0.0D);
+		}
 		if (levelBefore < node.getRequiredSkillLevel() && !bypassActive) {
 			if (isSkillsDebugEnabled()) {
 				LOGGER.atInfo().log("[Skills][Diag] Level gate blocked hit node=%s skill=%s level=%d required=%d block=%s",
@@ -149,16 +242,19 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 						node.getRequiredSkillLevel(),
 						damagedBlockType.getId());
 			}
-			event.setCancelled(true);
-			sendPlayerNotification(playerRef,
-					String.format("[Skills] %s level %d/%d (current/required).", formatSkillName(skill),
-							levelBefore, node.getRequiredSkillLevel()),
-					NotificationStyle.Warning);
+			if (playerId != null && isTracing()) {
+				this.diagnostics.trace(this.diagnosticsBit, TraceEvent.LEVEL_DENIED, playerId, target.x, target.y,
+						target.z, node.getId(), levelBefore, node.getRequiredSkillLevel(), 0.0D);
+			}
+			GatherHitContext context = new GatherHitContext(target.x, target.y, target.z, damagedBlockType.getId(),
+					heldItemId, node, levelBefore, true, 0.0D);
+			rememberContext(playerId, context);
+			applyContext(context, playerId, playerRef, heldItem, event);
 			return;
 		}
 		if (levelBefore < node.getRequiredSkillLevel() && isSkillsDebugEnabled()) {
 			LOGGER.atInfo().log("[Skills][Diag] Bypass ignored level gate on hit mode=%s node=%s skill=%s level=%d required=%d block=%s",
-					bypassMode,
+					bypassMode(player),
 					node.getId(),
 					skill,
 					levelBefore,
@@ -170,8 +266,72 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 			return;
 		}
 
-		ItemStack heldItem = event.getItemInHand();
-		double toolEfficiency = resolveToolEfficiencyMultiplier(heldItem, node);
+		double toolEfficiency = this.heldToolLoadouts.efficiencyMultiplier(playerId, heldItem,
+				node.getRequiredToolKeyword());
+		if (playerId != null && isTracing()) {
+			this.diagnostics.trace(this.diagnosticsBit, TraceEvent.TOOL_EVALUATED, playerId, target.x, target.y,
+					target.z, heldItemId, 0, 0, toolEfficiency);
+		}
+		GatherHitContext context = new GatherHitContext(target.x, target.y, target.z, damagedBlockType.getId(),
+				heldItemId, node, levelBefore, false, toolEfficiency);
+		rememberContext(playerId, context);
+		applyContext(context, playerId, playerRef, heldItem, event);
+	}
+
+	/**
+	 * Charges a full evaluation to the hit's chunk. Past the chunk's per-tick budget the hit is settled
+	 * here by a cheap check instead: the skill level comes from the player's last verdict at the block,
+	 * or one profile read without one, and the tool multiplier from the held-tool loadout. Profile
+	 * checks, tracing and logging of the full path are skipped. Returns false when the hit has been
+	 * settled here.
+	 */
+	private boolean acquireEvaluationBudget(@Nonnull CommandBuffer<EntityStore> commandBuffer,
+			@Nonnull Ref<EntityStore> ref, @Nonnull UUID playerId, @Nullable PlayerRef playerRef,
+			@Nullable ItemStack heldItem, @Nullable String heldItemId, @Nonnull SkillNodeDefinition node,
+			@Nonnull String worldName, @Nonnull String blockId, @Nonnull DamageBlockEvent event) {
+		Vector3i target = event.getTargetBlock();
+		long now = System.currentTimeMillis();
+		if (this.gatherBudget.tryAcquire(worldName, target.x, target.z, now)) {
+			return true;
+		}
+
+		int skillLevel = this.hitContextCache.findSkillLevelAtBlock(playerId, target.x, target.y, target.z,
+				blockId);
+		if (isTracing()) {
+			this.diagnostics.trace(this.diagnosticsBit, TraceEvent.BUDGET_EXCEEDED, playerId, target.x, target.y,
+					target.z, blockId, skillLevel == GatherHitContextCache.NO_SKILL_LEVEL ? 0 : 1,
+					this.gatherBudget.evaluationsPerChunkPerTick(), 0.0D);
+		}
+		reportHotChunks(now);
+		if (skillLevel == GatherHitContextCache.NO_SKILL_LEVEL) {
+			skillLevel = this.runtimeApi.getSkillLevel(commandBuffer, ref, node.getSkillType());
+		}
+		boolean levelBlocked = skillLevel < node.getRequiredSkillLevel();
+		double toolEfficiency = levelBlocked ? 0.0D
+				: this.heldToolLoadouts.efficiencyMultiplier(playerId, heldItem, node.getRequiredToolKeyword());
+		GatherHitContext context = new GatherHitContext(target.x, target.y, target.z, blockId, heldItemId, node,
+				skillLevel, levelBlocked, toolEfficiency);
+		rememberContext(playerId, context);
+		applyContext(context, playerId, playerRef, heldItem, event);
+		return false;
+	}
+
+	/**
+	 * Applies a gate decision, whether it was just computed or reused from the player's context.
+	 */
+	private void applyContext(@Nonnull GatherHitContext context, @Nullable UUID playerId,
+			@Nullable PlayerRef playerRef, @Nullable ItemStack heldItem, @Nonnull DamageBlockEvent event) {
+		SkillNodeDefinition node = context.node();
+		if (context.levelBlocked()) {
+			event.setCancelled(true);
+			sendPlayerNotification(playerRef,
+					String.format("[Skills] %s level %d/%d (current/required).", formatSkillName(node.getSkillType()),
+							context.skillLevel(), node.getRequiredSkillLevel()),
+					NotificationStyle.Warning);
+			return;
+		}
+
+		double toolEfficiency = context.efficiencyMultiplier();
 		if (toolEfficiency <= 0.0D) {
 			sendPlayerNotification(
 					playerRef,
@@ -181,11 +341,15 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 		double originalDamage = event.getDamage();
 		double scaledDamage = originalDamage * toolEfficiency;
 		event.setDamage((float) Math.max(0.0D, scaledDamage));
+		if (playerId != null && isTracing()) {
+			this.diagnostics.trace(this.diagnosticsBit, TraceEvent.DAMAGE_SCALED, playerId, context.x(), context.y(),
+					context.z(), node.getId(), 0, 0, scaledDamage);
+		}
 		if (isSkillsDebugEnabled()) {
 			LOGGER.atFine().log(
 					"[Skills][Diag] Tool efficiency scaled hit node=%s block=%s tool=%s multiplier=%.3f damage=%.3f->%.3f keyword=%s",
 					node.getId(),
-					damagedBlockType.getId(),
+					context.blockId(),
 					heldItem == null || ItemStack.isEmpty(heldItem) ? "<empty>" : heldItem.getItemId(),
 					toolEfficiency,
 					originalDamage,
@@ -194,18 +358,32 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 		}
 	}
 
-	private double resolveToolEfficiencyMultiplier(@Nullable ItemStack heldItem, @Nonnull SkillNodeDefinition node) {
-		if (heldItem == null || ItemStack.isEmpty(heldItem)) {
-			return this.toolingConfig.noToolEfficiencyMultiplier();
-		}
+	private void recordTrace(@Nonnull UUID playerId, @Nonnull String worldName, @Nonnull DamageBlockEvent event) {
+		Vector3i target = event.getTargetBlock();
+		ItemStack heldItem = event.getItemInHand();
+		this.traceRecorder.record(GatherTraceEvent.Kind.DAMAGE, playerId, worldName, target.x, target.y, target.z,
+				event.getBlockType().getId(),
+				heldItem == null || ItemStack.isEmpty(heldItem) ? null : heldItem.getItemId(),
+				System.currentTimeMillis());
+	}
 
-		RequirementCheckResult familyCheck = this.toolRequirementEvaluator
-				.evaluate(heldItem, node.getRequiredToolKeyword(), ToolTier.NONE);
-		if (!familyCheck.isSuccess()) {
-			return this.toolingConfig.mismatchedFamilyEfficiencyMultiplier();
+	private void reportHotChunks(long now) {
+		for (HotChunk hotChunk : this.gatherBudget.drainHotChunks(now)) {
+			LOGGER.atWarning().log(
+					"[Skills] Gather budget exceeded world=%s chunk=%d,%d peakEvaluationsPerTick=%d overBudgetHits=%d budget=%d",
+					hotChunk.worldName(),
+					hotChunk.chunkX(),
+					hotChunk.chunkZ(),
+					hotChunk.peakEvaluationsPerTick(),
+					hotChunk.overBudgetHits(),
+					this.gatherBudget.evaluationsPerChunkPerTick());
 		}
+	}
 
-		return this.toolingConfig.efficiencyMultiplierFor(familyCheck.getDetectedTier());
+	private void rememberContext(@Nullable UUID playerId, @Nonnull GatherHitContext context) {
+		if (playerId != null) {
+			this.hitContextCache.store(playerId, context);
+		}
 	}
 
 	@Nonnull
@@ -246,17 +424,15 @@ public class SkillNodeDamageBlockGateSystem extends EntityEventSystem<EntityStor
 	}
 
 	private boolean looksLikeSkillNodeCandidate(@Nonnull String blockId) {
-		String lowered = blockId.toLowerCase(Locale.ROOT);
-		for (String token : this.heuristicsConfig.nodeCandidateTokens()) {
-			if (lowered.contains(token)) {
-				return true;
-			}
-		}
-		return false;
+		return this.nodeCandidateMatcher.matchesAny(blockId);
 	}
 
 	private boolean isSkillsDebugEnabled() {
-		return this.runtimeApi.isDebugEnabled(this.debugPluginKey);
+		return this.diagnostics.isDebugEnabled(this.diagnosticsBit);
+	}
+
+	private boolean isTracing() {
+		return this.diagnostics.isTracing(this.diagnosticsBit);
 	}
 
 	private boolean isBreakGateBypassed(@Nullable Player player) {
@@ -0,0 +1,50 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.progression.event.SkillLevelUpEvent;
+import org.runetale.skills.service.GatherHitContextCache;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Drops a player's cached gather-hit context when any of their skills levels up,
+ * so a level gate that blocked them is evaluated again.
+ */
+public class SkillNodeGatherContextLevelUpSystem extends EntityEventSystem<EntityStore, SkillLevelUpEvent> {
+
+	private final GatherHitContextCache hitContextCache;
+	private final Query<EntityStore> query;
+
+	public SkillNodeGatherContextLevelUpSystem(@Nonnull GatherHitContextCache hitContextCache) {
+		super(SkillLevelUpEvent.class);
+		this.hitContextCache = hitContextCache;
+		this.query = Query.and(PlayerRef.getComponentType());
+	}
+
+	@Override
+	public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+			@Nonnull Store<EntityStore> store,
+			@Nonnull CommandBuffer<EntityStore> commandBuffer, @Nonnull SkillLevelUpEvent event) {
+		Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
+		PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+		if (playerRef == null) {
+			playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+		}
+		if (playerRef != null) {
+			this.hitContextCache.invalidate(playerRef.getUuid());
+		}
+	}
+
+	@Nonnull
+	@Override
+	public Query<EntityStore> getQuery() {
+		return this.query;
+	}
+}
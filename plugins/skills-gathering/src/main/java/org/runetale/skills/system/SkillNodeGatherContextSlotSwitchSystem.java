@@ -0,0 +1,83 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.event.events.ecs.SwitchActiveSlotEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.service.GatherHitContextCache;
+import org.runetale.skills.service.HeldToolLoadoutService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Drops a player's cached gather-hit context when they switch the active slot and precomputes the
+ * held-tool loadout for the newly selected item.
+ */
+public class SkillNodeGatherContextSlotSwitchSystem extends EntityEventSystem<EntityStore, SwitchActiveSlotEvent> {
+
+	private final GatherHitContextCache hitContextCache;
+	private final HeldToolLoadoutService heldToolLoadouts;
+	private final Query<EntityStore> query;
+
+	public SkillNodeGatherContextSlotSwitchSystem(@Nonnull GatherHitContextCache hitContextCache,
+			@Nonnull HeldToolLoadoutService heldToolLoadouts) {
+		super(SwitchActiveSlotEvent.class);
+		this.hitContextCache = hitContextCache;
+		this.heldToolLoadouts = heldToolLoadouts;
+		this.query = Query.and(PlayerRef.getComponentType());
+	}
+
+	@Override
+	public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+			@Nonnull Store<EntityStore> store,
+			@Nonnull CommandBuffer<EntityStore> commandBuffer, @Nonnull SwitchActiveSlotEvent event) {
+		Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
+		PlayerRef playerRef = commandBuffer.getComponent(ref, PlayerRef.getComponentType());
+		if (playerRef == null) {
+			playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+		}
+		if (playerRef == null) {
+			return;
+		}
+		this.hitContextCache.invalidate(playerRef.getUuid());
+		if (event.isCancelled()) {
+			return;
+		}
+
+		Player player = commandBuffer.getComponent(ref, Player.getComponentType());
+		if (player == null) {
+			player = store.getComponent(ref, Player.getComponentType());
+		}
+		if (player != null) {
+			this.heldToolLoadouts.refresh(playerRef.getUuid(), selectedStack(player, event));
+		}
+	}
+
+	@Nullable
+	private static ItemStack selectedStack(@Nonnull Player player, @Nonnull SwitchActiveSlotEvent event) {
+		byte newSlot = event.getNewSlot();
+		if (newSlot < 0 || player.getInventory() == null) {
+			return null;
+		}
+		ItemContainer section = player.getInventory().getSectionById(event.getInventorySectionId());
+		if (section == null || newSlot >= section.getCapacity()) {
+			return null;
+		}
+		return section.getItemStack(newSlot);
+	}
+
+	@Nonnull
+	@Override
+	public Query<EntityStore> getQuery() {
+		return this.query;
+	}
+}
@@ -0,0 +1,56 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.InventoryChangeEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.service.HeldToolLoadoutService;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Refreshes a player's held-tool loadout when an inventory change replaces the item in hand, for
+ * example when a tool is picked up into the active slot or breaks.
+ */
+public class SkillNodeHeldToolInventorySystem extends EntityEventSystem<EntityStore, InventoryChangeEvent> {
+
+	private final HeldToolLoadoutService heldToolLoadouts;
+	private final Query<EntityStore> query;
+
+	public SkillNodeHeldToolInventorySystem(@Nonnull HeldToolLoadoutService heldToolLoadouts) {
+		super(InventoryChangeEvent.class);
+		this.heldToolLoadouts = heldToolLoadouts;
+		this.query = Query.and(PlayerRef.getComponentType());
+	}
+
+	@Override
+	public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+			@Nonnull Store<EntityStore> store,
+			@Nonnull CommandBuffer<EntityStore> commandBuffer, @Nonnull InventoryChangeEvent event) {
+		PlayerRef playerRef = archetypeChunk.getComponent(index, PlayerRef.getComponentType());
+		if (playerRef == null) {
+			return;
+		}
+
+		Ref<EntityStore> ref = archetypeChunk.getReferenceTo(index);
+		Player player = commandBuffer.getComponent(ref, Player.getComponentType());
+		if (player == null) {
+			player = store.getComponent(ref, Player.getComponentType());
+		}
+		if (player != null) {
+			this.heldToolLoadouts.refresh(playerRef.getUuid(), HeldToolLoadoutService.activeItem(player.getInventory()));
+		}
+	}
+
+	@Nonnull
+	@Override
+	public Query<EntityStore> getQuery() {
+		return this.query;
+	}
+}
@@ -0,0 +1,52 @@
+package org.runetale.skills.trace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * One recorded gather interaction: a block hit or a block break by a player.
+ *
+ * <p>
+ * {@code tick} counts server ticks since the capture started, so traces replay with their original
+ * spacing regardless of when they were recorded.
+ */
+public record GatherTraceEvent(
+		@Nonnull Kind kind,
+		long tick,
+		@Nonnull UUID playerId,
+		@Nonnull String worldName,
+		int x,
+		int y,
+		int z,
+		@Nonnull String blockId,
+		@Nullable String itemId) {
+
+	/**
+	 * Event stream the interaction was captured from.
+	 */
+	public enum Kind {
+		DAMAGE('D'),
+		BREAK('B');
+
+		private final char code;
+
+		Kind(char code) {
+			this.code = code;
+		}
+
+		public char code() {
+			return this.code;
+		}
+
+		@Nullable
+		public static Kind fromCode(char code) {
+			for (Kind kind : values()) {
+				if (kind.code == code) {
+					return kind;
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package org.runetale.skills.trace;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and writes gather traces as tab-separated text, one event per line.
+ *
+ * <p>
+ * Columns are {@code kind tick player world x y z blockId itemId}, where kind is {@code D} for a
+ * hit or {@code B} for a break and an empty hand is written as {@code -}. Lines starting with
+ * {@code #} are comments; the first line carries the format version.
+ */
+public final class GatherTraceFormat {
+
+	public static final String HEADER = "# runetale-gather-trace v1";
+
+	private static final String EMPTY_ITEM = "-";
+	private static final int COLUMN_COUNT = 9;
+
+	private GatherTraceFormat() {
+	}
+
+	public static void write(@Nonnull Path path, @Nonnull List<GatherTraceEvent> events) throws IOException {
+		Path parent = path.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			write(writer, events);
+		}
+	}
+
+	public static void write(@Nonnull Writer writer, @Nonnull List<GatherTraceEvent> events) throws IOException {
+		writer.write(HEADER);
+		writer.write('\n');
+		StringBuilder line = new StringBuilder(128);
+		for (GatherTraceEvent event : events) {
+			line.setLength(0);
+			line.append(event.kind().code()).append('\t')
+					.append(event.tick()).append('\t')
+					.append(event.playerId()).append('\t')
+					.append(event.worldName()).append('\t')
+					.append(event.x()).append('\t')
+					.append(event.y()).append('\t')
+					.append(event.z()).append('\t')
+					.append(event.blockId()).append('\t')
+					.append(event.itemId() == null ? EMPTY_ITEM : event.itemId())
+					.append('\n');
+			writer.append(line);
+		}
+	}
+
+	@Nonnull
+	public static List<GatherTraceEvent> read(@Nonnull Path path) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			return read(reader);
+		}
+	}
+
+	/**
+	 * Parses a trace. Malformed lines fail the whole read with the offending line number, since a
+	 * partially replayed trace would skew any comparison made with it.
+	 */
+	@Nonnull
+	public static List<GatherTraceEvent> read(@Nonnull Reader reader) throws IOException {
+		BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+		List<GatherTraceEvent> events = new ArrayList<>();
+		int lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank() || line.startsWith("#")) {
+				continue;
+			}
+			events.add(parseLine(line, lineNumber));
+		}
+		return events;
+	}
+
+	@Nonnull
+	private static GatherTraceEvent parseLine(@Nonnull String line, int lineNumber) {
+		String[] columns = line.split("\t", -1);
+		if (columns.length != COLUMN_COUNT || columns[0].length() != 1) {
+			throw malformed(lineNumber, "expected " + COLUMN_COUNT + " columns");
+		}
+		GatherTraceEvent.Kind kind = GatherTraceEvent.Kind.fromCode(columns[0].charAt(0));
+		if (kind == null) {
+			throw malformed(lineNumber, "unknown event kind " + columns[0]);
+		}
+		if (columns[3].isEmpty() || columns[7].isEmpty()) {
+			throw malformed(lineNumber, "world and block id are required");
+		}
+
+		try {
+			return new GatherTraceEvent(
+					kind,
+					Long.parseLong(columns[1]),
+					UUID.fromString(columns[2]),
+					columns[3],
+					Integer.parseInt(columns[4]),
+					Integer.parseInt(columns[5]),
+					Integer.parseInt(columns[6]),
+					columns[7],
+					EMPTY_ITEM.equals(columns[8]) || columns[8].isEmpty() ? null : columns[8]);
+		} catch (IllegalArgumentException e) {
+			throw malformed(lineNumber, e.getMessage());
+		}
+	}
+
+	@Nonnull
+	private static IllegalArgumentException malformed(int lineNumber, @Nonnull String reason) {
+		return new IllegalArgumentException("Malformed gather trace line " + lineNumber + ": " + reason);
+	}
+}
@@ -0,0 +1,80 @@
+package org.runetale.skills.trace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Captures live hit and break events into a bounded in-memory trace for offline replay.
+ *
+ * <p>
+ * Gather systems check {@link #isCapturing()} before building an event, so an idle recorder costs
+ * one volatile read per hit. Capture stops by itself once {@code maxEvents} have been recorded.
+ */
+public final class GatherTraceRecorder {
+
+	private final int maxEvents;
+	private final long tickMillis;
+	private final List<GatherTraceEvent> events = new ArrayList<>();
+
+	private volatile boolean capturing;
+	private long startedAtMillis;
+
+	public GatherTraceRecorder(int maxEvents, long tickMillis) {
+		this.maxEvents = Math.max(1, maxEvents);
+		this.tickMillis = Math.max(1L, tickMillis);
+	}
+
+	/**
+	 * Discards any previous capture and starts recording with tick zero at {@code nowMillis}.
+	 */
+	public synchronized void start(long nowMillis) {
+		this.events.clear();
+		this.startedAtMillis = nowMillis;
+		this.capturing = true;
+	}
+
+	public synchronized void stop() {
+		this.capturing = false;
+	}
+
+	public boolean isCapturing() {
+		return this.capturing;
+	}
+
+	public synchronized void record(
+			@Nonnull GatherTraceEvent.Kind kind,
+			@Nonnull UUID playerId,
+			@Nonnull String worldName,
+			int x,
+			int y,
+			int z,
+			@Nonnull String blockId,
+			@Nullable String itemId,
+			long nowMillis) {
+		if (!this.capturing) {
+			return;
+		}
+		long tick = Math.max(0L, nowMillis - this.startedAtMillis) / this.tickMillis;
+		this.events.add(new GatherTraceEvent(kind, tick, playerId, worldName, x, y, z, blockId, itemId));
+		if (this.events.size() >= this.maxEvents) {
+			this.capturing = false;
+		}
+	}
+
+	@Nonnull
+	public synchronized List<GatherTraceEvent> snapshot() {
+		return List.copyOf(this.events);
+	}
+
+	public synchronized int size() {
+		return this.events.size();
+	}
+
+	public synchronized void clear() {
+		this.capturing = false;
+		this.events.clear();
+	}
+}
@@ -0,0 +1,142 @@
+package org.runetale.skills.trace;
+
+import org.runetale.skills.asset.SkillNodeDefinition;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates deterministic gather traces for local replay when no recorded trace is at hand.
+ *
+ * <p>
+ * Each player works a cluster of nodes around a home point: a run of hits on one node followed by a
+ * break, then a new target nearby. Most hits use a matching tool, some use the wrong tool or an
+ * empty hand, and a few land on ordinary terrain. Players hit roughly every five ticks, so the
+ * trace density scales with the player count like live traffic does.
+ */
+public final class SyntheticGatherTraceGenerator {
+
+	public static final String WORLD_NAME = "default";
+
+	private static final String[] TERRAIN_BLOCK_IDS = {"Soil_Dirt", "Soil_Grass", "Soil_Sand"};
+	private static final int TICKS_BETWEEN_HITS = 5;
+	private static final int CLUSTER_SPACING = 48;
+	private static final int CLUSTER_RADIUS = 12;
+	private static final int MIN_HITS_PER_NODE = 3;
+	private static final int MAX_HITS_PER_NODE = 8;
+
+	private SyntheticGatherTraceGenerator() {
+	}
+
+	/**
+	 * Builds {@code eventCount} events for {@code playerCount} players over the given nodes.
+	 *
+	 * @param toolItemsByKeyword item ids to hold for each node tool keyword; keywords without an
+	 *                           entry are gathered bare-handed
+	 */
+	@Nonnull
+	public static List<GatherTraceEvent> generate(long seed, int playerCount, int eventCount,
+			@Nonnull List<SkillNodeDefinition> nodes, @Nonnull Map<String, List<String>> toolItemsByKeyword) {
+		if (nodes.isEmpty()) {
+			throw new IllegalArgumentException("Synthetic traces need at least one node definition");
+		}
+
+		SplittableRandom random = new SplittableRandom(seed);
+		int players = Math.max(1, playerCount);
+		PlayerState[] states = new PlayerState[players];
+		for (int player = 0; player < players; player++) {
+			states[player] = new PlayerState(new UUID(seed, player), (player % 8) * CLUSTER_SPACING,
+					(player / 8) * CLUSTER_SPACING);
+		}
+
+		List<GatherTraceEvent> events = new ArrayList<>(Math.max(0, eventCount));
+		for (int index = 0; index < eventCount; index++) {
+			PlayerState state = states[random.nextInt(players)];
+			long tick = (long) index * TICKS_BETWEEN_HITS / players;
+
+			if (random.nextInt(20) == 0) {
+				String terrain = TERRAIN_BLOCK_IDS[random.nextInt(TERRAIN_BLOCK_IDS.length)];
+				events.add(new GatherTraceEvent(GatherTraceEvent.Kind.DAMAGE, tick, state.playerId, WORLD_NAME,
+						state.homeX + random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1), 63,
+						state.homeZ + random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1), terrain,
+						state.heldItemId));
+				continue;
+			}
+
+			if (state.node == null) {
+				retarget(state, random, nodes, toolItemsByKeyword);
+			}
+			if (state.hitsRemaining > 0) {
+				state.hitsRemaining--;
+				events.add(new GatherTraceEvent(GatherTraceEvent.Kind.DAMAGE, tick, state.playerId, WORLD_NAME,
+						state.x, state.y, state.z, state.node.getBlockId(), state.heldItemId));
+			} else {
+				events.add(new GatherTraceEvent(GatherTraceEvent.Kind.BREAK, tick, state.playerId, WORLD_NAME,
+						state.x, state.y, state.z, state.node.getBlockId(), state.heldItemId));
+				state.node = null;
+			}
+		}
+		return events;
+	}
+
+	private static void retarget(@Nonnull PlayerState state, @Nonnull SplittableRandom random,
+			@Nonnull List<SkillNodeDefinition> nodes, @Nonnull Map<String, List<String>> toolItemsByKeyword) {
+		state.node = nodes.get(random.nextInt(nodes.size()));
+		state.x = state.homeX + random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1);
+		state.y = 64 + random.nextInt(4);
+		state.z = state.homeZ + random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1);
+		state.hitsRemaining = random.nextInt(MIN_HITS_PER_NODE, MAX_HITS_PER_NODE + 1);
+
+		int roll = random.nextInt(20);
+		if (roll == 0) {
+			state.heldItemId = null;
+		} else if (roll == 1) {
+			state.heldItemId = pickTool(random, toolItemsByKeyword, null);
+		} else {
+			state.heldItemId = pickTool(random, toolItemsByKeyword, state.node.getRequiredToolKeyword());
+		}
+	}
+
+	@Nullable
+	private static String pickTool(@Nonnull SplittableRandom random, @Nonnull Map<String, List<String>> toolItemsByKeyword,
+			@Nullable String keyword) {
+		List<String> candidates;
+		if (keyword != null) {
+			candidates = toolItemsByKeyword.get(keyword);
+		} else {
+			candidates = new ArrayList<>();
+			for (List<String> items : toolItemsByKeyword.values()) {
+				candidates.addAll(items);
+			}
+		}
+		if (candidates == null || candidates.isEmpty()) {
+			return null;
+		}
+		return candidates.get(random.nextInt(candidates.size()));
+	}
+
+	private static final class PlayerState {
+
+		private final UUID playerId;
+		private final int homeX;
+		private final int homeZ;
+
+		private SkillNodeDefinition node;
+		private int x;
+		private int y;
+		private int z;
+		private int hitsRemaining;
+		private String heldItemId;
+
+		private PlayerState(@Nonnull UUID playerId, int homeX, int homeZ) {
+			this.playerId = playerId;
+			this.homeX = homeX;
+			this.homeZ = homeZ;
+		}
+	}
+}
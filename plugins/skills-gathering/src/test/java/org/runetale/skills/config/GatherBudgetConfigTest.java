@@ -0,0 +1,47 @@
+package org.runetale.skills.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatherBudgetConfigTest {
+
+	@Test
+	void loadUsesClasspathDefaultsWhenExternalFileMissing(@TempDir Path tempDir) {
+		GatherBudgetConfig config = GatherBudgetConfig.load(tempDir);
+
+		assertThat(config.fullEvaluationsPerChunkPerTick()).isEqualTo(16);
+		assertThat(config.tickMillis()).isEqualTo(50L);
+		assertThat(config.hotChunkReportIntervalMillis()).isEqualTo(10_000L);
+	}
+
+	@Test
+	void loadClampsOutOfRangeValues(@TempDir Path tempDir) throws IOException {
+		write(tempDir, "Config/gathering.json", """
+				{
+				  "budget": {
+				    "fullEvaluationsPerChunkPerTick": 0,
+				    "tickMillis": -5,
+				    "hotChunkReportIntervalMillis": 10
+				  }
+				}
+				""");
+
+		GatherBudgetConfig config = GatherBudgetConfig.load(tempDir);
+
+		assertThat(config.fullEvaluationsPerChunkPerTick()).isEqualTo(1);
+		assertThat(config.tickMillis()).isEqualTo(1L);
+		assertThat(config.hotChunkReportIntervalMillis()).isEqualTo(1_000L);
+	}
+
+	private static void write(Path root, String relativePath, String content) throws IOException {
+		Path path = root.resolve(relativePath);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+}
@@ -0,0 +1,71 @@
+package org.runetale.skills.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.runetale.skills.config.RewardModifiersConfig.RewardModifierRule;
+import org.runetale.skills.domain.SkillType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RewardModifiersConfigTest {
+
+	@Test
+	void loadUsesClasspathDefaultsWhenExternalFileMissing(@TempDir Path tempDir) {
+		RewardModifiersConfig config = RewardModifiersConfig.load(tempDir);
+
+		assertThat(config.rules()).isEmpty();
+	}
+
+	@Test
+	void loadParsesRuleKeysAndSkipsInvalidRules(@TempDir Path tempDir) throws IOException {
+		write(tempDir, "Config/gathering.json", """
+				{
+				  "rewardModifiers": [
+				    {
+				      "id": "weekend",
+				      "multiplier": 2.0,
+				      "skill": "mining",
+				      "nodeId": "Copper_Rock",
+				      "world": "default",
+				      "startsAt": "2026-01-03T00:00:00Z",
+				      "endsAt": "2026-01-05T00:00:00Z"
+				    },
+				    { "id": "negative", "multiplier": -1.0 },
+				    { "id": "unknown_skill", "multiplier": 2.0, "skill": "juggling" },
+				    { "id": "bad_window", "multiplier": 2.0, "startsAt": "tomorrow" },
+				    { "id": "inverted", "multiplier": 2.0, "startsAt": "2026-01-05T00:00:00Z", "endsAt": "2026-01-03T00:00:00Z" },
+				    { "id": "disabled", "multiplier": 2.0, "enabled": false },
+				    { "multiplier": 0.5 }
+				  ]
+				}
+				""");
+
+		RewardModifiersConfig config = RewardModifiersConfig.load(tempDir);
+
+		assertThat(config.rules()).extracting(RewardModifierRule::id).containsExactly("weekend", "reward_modifier_6");
+		RewardModifierRule weekend = config.rules().get(0);
+		assertThat(weekend.skill()).isEqualTo(SkillType.MINING);
+		assertThat(weekend.nodeId()).isEqualTo("copper_rock");
+		assertThat(weekend.worldName()).isEqualTo("default");
+		assertThat(weekend.startsAtMillis()).isEqualTo(Instant.parse("2026-01-03T00:00:00Z").toEpochMilli());
+		assertThat(weekend.isActiveAt(Instant.parse("2026-01-04T12:00:00Z").toEpochMilli())).isTrue();
+		assertThat(weekend.isActiveAt(Instant.parse("2026-01-05T00:00:00Z").toEpochMilli())).isFalse();
+
+		RewardModifierRule open = config.rules().get(1);
+		assertThat(open.skill()).isNull();
+		assertThat(open.nodeId()).isNull();
+		assertThat(open.worldName()).isNull();
+		assertThat(open.isActiveAt(Long.MIN_VALUE)).isTrue();
+	}
+
+	private static void write(Path root, String relativePath, String content) throws IOException {
+		Path path = root.resolve(relativePath);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+}
@@ -0,0 +1,53 @@
+package org.runetale.skills.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.skills.service.ChunkGatherBudgetService.HotChunk;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkGatherBudgetServiceTest {
+
+	@Test
+	void budgetIsSpentPerChunkAndRefilledEachTick() {
+		ChunkGatherBudgetService budget = new ChunkGatherBudgetService(2, 50L, 10_000L);
+
+		assertThat(budget.tryAcquire("default", 1, 1, 1_000L)).isTrue();
+		assertThat(budget.tryAcquire("default", 31, 31, 1_010L)).isTrue();
+		assertThat(budget.tryAcquire("default", 5, 5, 1_020L)).isFalse();
+
+		assertThat(budget.tryAcquire("default", 32, 1, 1_030L)).isTrue();
+		assertThat(budget.tryAcquire("other", 1, 1, 1_030L)).isTrue();
+		assertThat(budget.tryAcquire("default", 1, 1, 1_050L)).isTrue();
+	}
+
+	@Test
+	void negativeCoordinatesMapToTheirOwnChunk() {
+		ChunkGatherBudgetService budget = new ChunkGatherBudgetService(1, 50L, 10_000L);
+
+		assertThat(budget.tryAcquire("default", -1, -1, 1_000L)).isTrue();
+		assertThat(budget.tryAcquire("default", 0, 0, 1_000L)).isTrue();
+		assertThat(budget.tryAcquire("default", -32, -32, 1_000L)).isFalse();
+	}
+
+	@Test
+	void hotChunksAreReportedBusiestFirstOncePerInterval() {
+		ChunkGatherBudgetService budget = new ChunkGatherBudgetService(1, 50L, 1_000L);
+		for (int i = 0; i < 4; i++) {
+			budget.tryAcquire("default", 0, 0, 2_000L);
+		}
+		for (int i = 0; i < 3; i++) {
+			budget.tryAcquire("default", 100, 0, 2_000L);
+		}
+		budget.tryAcquire("default", 500, 0, 2_000L);
+
+		List<HotChunk> report = budget.drainHotChunks(2_000L);
+
+		assertThat(report).extracting(HotChunk::chunkX).containsExactly(0, 3);
+		assertThat(report.get(0).peakEvaluationsPerTick()).isEqualTo(4);
+		assertThat(report.get(0).overBudgetHits()).isEqualTo(3L);
+		assertThat(budget.drainHotChunks(2_500L)).isEmpty();
+		assertThat(budget.drainHotChunks(3_000L)).isEmpty();
+	}
+}
@@ -0,0 +1,73 @@
+package org.runetale.skills.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.domain.ToolTier;
+import org.runetale.skills.service.GatherHitContextCache.GatherHitContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatherHitContextCacheTest {
+
+	private static final SkillNodeDefinition COPPER = new SkillNodeDefinition(
+			"copper_ore", SkillType.MINING, "Ore_Copper", 1, ToolTier.BRONZE, "tool_pickaxe", 17.5D);
+
+	@Test
+	void contextIsReusedOnlyForTheSameBlockAndHeldItem() {
+		GatherHitContextCache cache = new GatherHitContextCache();
+		UUID playerId = UUID.randomUUID();
+		GatherHitContext context = new GatherHitContext(4, 64, -2, "Ore_Copper", "Tool_Pickaxe_Bronze", COPPER, 5,
+				false, 1.0D);
+		cache.store(playerId, context);
+
+		assertThat(cache.find(playerId, 4, 64, -2, "Ore_Copper", "Tool_Pickaxe_Bronze")).isSameAs(context);
+		assertThat(cache.find(playerId, 4, 65, -2, "Ore_Copper", "Tool_Pickaxe_Bronze")).isNull();
+		assertThat(cache.find(playerId, 4, 64, -2, "Ore_Copper_Depleted", "Tool_Pickaxe_Bronze")).isNull();
+		assertThat(cache.find(playerId, 4, 64, -2, "Ore_Copper", "Tool_Pickaxe_Iron")).isNull();
+		assertThat(cache.find(playerId, 4, 64, -2, "Ore_Copper", null)).isNull();
+		assertThat(cache.find(UUID.randomUUID(), 4, 64, -2, "Ore_Copper", "Tool_Pickaxe_Bronze")).isNull();
+	}
+
+	@Test
+	void emptyHandContextMatchesEmptyHandOnly() {
+		GatherHitContextCache cache = new GatherHitContextCache();
+		UUID playerId = UUID.randomUUID();
+		cache.store(playerId, new GatherHitContext(0, 0, 0, "Ore_Copper", null, COPPER, 5, false, 0.2D));
+
+		assertThat(cache.find(playerId, 0, 0, 0, "Ore_Copper", null)).isNotNull();
+		assertThat(cache.find(playerId, 0, 0, 0, "Ore_Copper", "Tool_Pickaxe_Bronze")).isNull();
+	}
+
+	@Test
+	void invalidateDropsOnlyThatPlayersContext() {
+		GatherHitContextCache cache = new GatherHitContextCache();
+		UUID switched = UUID.randomUUID();
+		UUID other = UUID.randomUUID();
+		cache.store(switched, new GatherHitContext(0, 0, 0, "Ore_Copper", null, COPPER, 0, true, 0.0D));
+		cache.store(other, new GatherHitContext(0, 0, 0, "Ore_Copper", null, COPPER, 5, false, 0.2D));
+
+		cache.invalidate(switched);
+
+		assertThat(cache.find(switched, 0, 0, 0, "Ore_Copper", null)).isNull();
+		assertThat(cache.find(other, 0, 0, 0, "Ore_Copper", null)).isNotNull();
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void blockSkillLevelIgnoresTheHeldItem() {
+		GatherHitContextCache cache = new GatherHitContextCache();
+		UUID playerId = UUID.randomUUID();
+		GatherHitContext context = new GatherHitContext(4, 64, -2, "Ore_Copper", "Tool_Pickaxe_Bronze", COPPER, 5,
+				false, 1.0D);
+		cache.store(playerId, context);
+
+		assertThat(cache.findSkillLevelAtBlock(playerId, 4, 64, -2, "Ore_Copper")).isEqualTo(5);
+		assertThat(cache.findSkillLevelAtBlock(playerId, 4, 64, -1, "Ore_Copper"))
+				.isEqualTo(GatherHitContextCache.NO_SKILL_LEVEL);
+		assertThat(cache.findSkillLevelAtBlock(playerId, 4, 64, -2, "Ore_Copper_Depleted"))
+				.isEqualTo(GatherHitContextCache.NO_SKILL_LEVEL);
+	}
+}
@@ -0,0 +1,94 @@
+package org.runetale.skills.service;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.ToolingConfig;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.domain.ToolTier;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HeldToolLoadoutServiceTest {
+
+	private static final SkillNodeDefinition OAK = new SkillNodeDefinition(
+			"oak_tree", SkillType.WOODCUTTING, "Tree_Oak", 15, ToolTier.IRON, "Tool_Hatchet", 37.5D);
+
+	@Test
+	void loadoutPrecomputesTheEvaluatorMultiplierForEveryRegisteredFamily(@TempDir Path tempDir) {
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(ToolingConfig.load(tempDir));
+		evaluator.registerFamilies(List.of("Tool_Hatchet", "Tool_Pickaxe"));
+		HeldToolLoadoutService service = new HeldToolLoadoutService(evaluator);
+		UUID playerId = UUID.randomUUID();
+		ItemStack hatchet = mockHeldItem("Tool_Hatchet_Iron");
+
+		HeldToolLoadout loadout = service.refresh(playerId, hatchet);
+
+		assertThat(loadout.covers(evaluator.familyBitFor("Tool_Pickaxe"))).isTrue();
+		assertThat(service.efficiencyMultiplier(playerId, hatchet, "Tool_Hatchet"))
+				.isEqualTo(evaluator.efficiencyMultiplier(hatchet, "Tool_Hatchet"));
+		assertThat(service.efficiencyMultiplier(playerId, hatchet, "Tool_Pickaxe"))
+				.isEqualTo(evaluator.efficiencyMultiplier(hatchet, "Tool_Pickaxe"));
+		assertThat(service.find(playerId)).isSameAs(loadout);
+	}
+
+	@Test
+	void refreshKeepsTheLoadoutUntilTheHeldItemChanges(@TempDir Path tempDir) {
+		HeldToolLoadoutService service = new HeldToolLoadoutService(
+				new ToolRequirementEvaluator(ToolingConfig.load(tempDir)));
+		UUID playerId = UUID.randomUUID();
+
+		HeldToolLoadout first = service.refresh(playerId, mockHeldItem("Tool_Hatchet_Iron"));
+
+		assertThat(service.refresh(playerId, mockHeldItem("Tool_Hatchet_Iron"))).isSameAs(first);
+		assertThat(service.refresh(playerId, mockHeldItem("Tool_Hatchet_Bronze"))).isNotSameAs(first);
+		assertThat(service.refresh(playerId, null).getHeldItemId()).isNull();
+		assertThat(service.size()).isEqualTo(1);
+	}
+
+	@Test
+	void canGatherChecksFamilyAndTierOfTheLastHeldItem(@TempDir Path tempDir) {
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(ToolingConfig.load(tempDir));
+		evaluator.registerFamilies(List.of(OAK.getRequiredToolKeyword()));
+		HeldToolLoadoutService service = new HeldToolLoadoutService(evaluator);
+		UUID playerId = UUID.randomUUID();
+
+		assertThat(service.canGather(playerId, OAK)).isFalse();
+
+		service.refresh(playerId, mockHeldItem("Tool_Hatchet_Bronze"));
+		assertThat(service.canGather(playerId, OAK)).isFalse();
+
+		service.refresh(playerId, mockHeldItem("Tool_Hatchet_Steel"));
+		assertThat(service.canGather(playerId, OAK)).isTrue();
+
+		service.refresh(playerId, mockHeldItem("Tool_Pickaxe_Steel"));
+		assertThat(service.canGather(playerId, OAK)).isFalse();
+	}
+
+	@Test
+	void familyRegisteredAfterTheLoadoutFallsBackToTheEvaluator(@TempDir Path tempDir) {
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(ToolingConfig.load(tempDir));
+		HeldToolLoadoutService service = new HeldToolLoadoutService(evaluator);
+		UUID playerId = UUID.randomUUID();
+		ItemStack pickaxe = mockHeldItem("Tool_Pickaxe_Iron");
+		service.refresh(playerId, pickaxe);
+
+		double efficiency = service.efficiencyMultiplier(playerId, pickaxe, "Tool_Pickaxe");
+
+		assertThat(efficiency).isEqualTo(evaluator.efficiencyMultiplier(pickaxe, "Tool_Pickaxe"));
+	}
+
+	private static ItemStack mockHeldItem(String itemId) {
+		ItemStack heldItem = mock(ItemStack.class);
+		when(heldItem.isEmpty()).thenReturn(false);
+		when(heldItem.getItemId()).thenReturn(itemId);
+		return heldItem;
+	}
+}
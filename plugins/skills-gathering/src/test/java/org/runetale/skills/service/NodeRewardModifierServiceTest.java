@@ -0,0 +1,88 @@
+package org.runetale.skills.service;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.RewardModifiersConfig.RewardModifierRule;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.domain.ToolTier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NodeRewardModifierServiceTest {
+
+	private static final SkillNodeDefinition OAK = new SkillNodeDefinition(
+			"oak_tree", SkillType.WOODCUTTING, "Tree_Oak", 15, ToolTier.IRON, "Tool_Hatchet", 37.5D);
+	private static final SkillNodeDefinition COPPER = new SkillNodeDefinition(
+			"copper_rock", SkillType.MINING, "Rock_Copper", 1, ToolTier.BRONZE, "Tool_Pickaxe", 17.5D);
+
+	@Test
+	void matchingRulesComposeBySkillNodeAndWorld() {
+		NodeRewardModifierService service = new NodeRewardModifierService(() -> List.of(OAK, COPPER), List.of(
+				rule("woodcutting_boost", 2.0D, SkillType.WOODCUTTING, null, null),
+				rule("oak_tweak", 1.5D, null, "OAK_TREE", null),
+				rule("event_world", 3.0D, null, null, "event")));
+
+		assertThat(service.multiplierFor(OAK, "default", 0L)).isEqualTo(3.0D);
+		assertThat(service.multiplierFor(OAK, "event", 0L)).isEqualTo(9.0D);
+		assertThat(service.multiplierFor(COPPER, "default", 0L)).isEqualTo(1.0D);
+		assertThat(service.multiplierFor(COPPER, "event", 0L)).isEqualTo(3.0D);
+		assertThat(service.multiplierFor(COPPER, null, 0L)).isEqualTo(1.0D);
+	}
+
+	@Test
+	void tableIsRebuiltOnlyWhenRulesChangeOrATimeWindowBoundaryPasses() {
+		NodeRewardModifierService service = new NodeRewardModifierService(() -> List.of(OAK),
+				List.of(new RewardModifierRule("weekend", 2.0D, null, null, null, 1_000L, 2_000L)));
+
+		assertThat(service.multiplierFor(OAK, "default", 0L)).isEqualTo(1.0D);
+		assertThat(service.multiplierFor(OAK, "default", 999L)).isEqualTo(1.0D);
+		assertThat(service.rebuildCount()).isEqualTo(1);
+		assertThat(service.multiplierFor(OAK, "default", 1_000L)).isEqualTo(2.0D);
+		assertThat(service.multiplierFor(OAK, "default", 1_999L)).isEqualTo(2.0D);
+		assertThat(service.rebuildCount()).isEqualTo(2);
+		assertThat(service.multiplierFor(OAK, "default", 2_000L)).isEqualTo(1.0D);
+		assertThat(service.multiplierFor(OAK, "default", 60_000L)).isEqualTo(1.0D);
+		assertThat(service.rebuildCount()).isEqualTo(3);
+		assertThat(service.activeRuleCount()).isZero();
+
+		service.replaceRules(List.of(rule("flat", 0.5D, null, null, null)));
+
+		assertThat(service.multiplierFor(OAK, "default", 2_000L)).isEqualTo(0.5D);
+		assertThat(service.multiplierFor(OAK, "default", 5_000L)).isEqualTo(0.5D);
+		assertThat(service.rebuildCount()).isEqualTo(4);
+	}
+
+	@Test
+	void nodesMissingFromTheTableFallBackToDirectEvaluation() {
+		List<SkillNodeDefinition> definitions = new ArrayList<>(List.of(OAK));
+		NodeRewardModifierService service = new NodeRewardModifierService(() -> definitions,
+				List.of(rule("mining_boost", 1.25D, SkillType.MINING, null, null)));
+
+		assertThat(service.multiplierFor(OAK, "default", 0L)).isEqualTo(1.0D);
+		definitions.add(COPPER);
+
+		assertThat(service.multiplierFor(COPPER, "default", 0L)).isEqualTo(1.25D);
+	}
+
+	@Test
+	void clearDropsEveryRule() {
+		NodeRewardModifierService service = new NodeRewardModifierService(() -> List.of(OAK),
+				List.of(rule("flat", 2.0D, null, null, null)));
+
+		service.clear();
+
+		assertThat(service.rules()).isEmpty();
+		assertThat(service.multiplierFor(OAK, "default", 0L)).isEqualTo(1.0D);
+	}
+
+	private static RewardModifierRule rule(String id, double multiplier, SkillType skill, String nodeId,
+			String worldName) {
+		return new RewardModifierRule(id, multiplier, skill,
+				nodeId == null ? null : nodeId.toLowerCase(Locale.ROOT), worldName,
+				Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+}
@@ -50,6 +50,48 @@ class ToolRequirementEvaluatorTest {
 		assertThat(result.getHeldItemId()).isEqualTo("Tool_Pickaxe_Bronze");
 	}
 
+	@Test
+	void profilesAreClassifiedOncePerItemId(@TempDir Path tempDir) {
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(ToolingConfig.load(tempDir));
+		int hatchetBit = evaluator.familyBitFor("Tool_Hatchet");
+
+		ToolProfile first = evaluator.profileFor("Tool_Hatchet_Iron", hatchetBit);
+		evaluator.evaluate(mockHeldItem("Tool_Hatchet_Iron"), "Tool_Hatchet", ToolTier.BRONZE);
+
+		assertThat(evaluator.profileFor("Tool_Hatchet_Iron", hatchetBit)).isSameAs(first);
+		assertThat(first.getTier()).isEqualTo(ToolTier.IRON);
+		assertThat(first.matchesFamily(hatchetBit)).isTrue();
+	}
+
+	@Test
+	void keywordRegisteredAfterProfileIsBuiltReclassifiesTheProfile(@TempDir Path tempDir) {
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(ToolingConfig.load(tempDir));
+		ToolProfile pickaxeOnly = evaluator.profileFor("Tool_Hatchet_Bronze", evaluator.familyBitFor("Tool_Pickaxe"));
+
+		RequirementCheckResult result = evaluator.evaluate(mockHeldItem("Tool_Hatchet_Bronze"), "Tool_Hatchet",
+				ToolTier.BRONZE);
+
+		assertThat(result.isSuccess()).isTrue();
+		assertThat(evaluator.profileFor("Tool_Hatchet_Bronze", evaluator.familyBitFor("Tool_Hatchet")))
+				.isNotSameAs(pickaxeOnly);
+		assertThat(evaluator.familyBitFor("tool-hatchet")).isEqualTo(evaluator.familyBitFor("Tool_Hatchet"));
+	}
+
+	@Test
+	void efficiencyMultiplierFollowsProfileClassification(@TempDir Path tempDir) {
+		ToolingConfig config = ToolingConfig.load(tempDir);
+		ToolRequirementEvaluator evaluator = new ToolRequirementEvaluator(config);
+
+		assertThat(evaluator.efficiencyMultiplier(null, "Tool_Hatchet"))
+				.isEqualTo(config.noToolEfficiencyMultiplier());
+		assertThat(evaluator.efficiencyMultiplier(mockHeldItem("Tool_Pickaxe_Iron"), "Tool_Hatchet"))
+				.isEqualTo(config.mismatchedFamilyEfficiencyMultiplier());
+		assertThat(evaluator.efficiencyMultiplier(mockHeldItem("Tool_Hatchet_Iron"), "Tool_Hatchet"))
+				.isEqualTo(config.efficiencyMultiplierFor(ToolTier.IRON));
+		assertThat(evaluator.efficiencyMultiplier(mockHeldItem("Tool_Hatchet_Iron"), " "))
+				.isEqualTo(config.mismatchedFamilyEfficiencyMultiplier());
+	}
+
 	private static ItemStack mockHeldItem(String itemId) {
 		ItemStack heldItem = mock(ItemStack.class);
 		when(heldItem.isEmpty()).thenReturn(false);
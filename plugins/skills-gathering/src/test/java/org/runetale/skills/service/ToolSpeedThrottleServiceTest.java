@@ -2,6 +2,8 @@ package org.runetale.skills.service;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,4 +39,87 @@ class ToolSpeedThrottleServiceTest {
 		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 1, 2, 3, 0.75D, 1_000L)).isFalse();
 		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 1, 2, 3, 0.75D, 1_200L)).isFalse();
 	}
+
+	@Test
+	void leastRecentlyHitTargetIsEvictedAtCapacity() {
+		ToolSpeedThrottleService throttle = new ToolSpeedThrottleService(10_000L, 128);
+		UUID playerId = UUID.randomUUID();
+		for (int x = 0; x < 128; x++) {
+			throttle.allowHit(playerId, "Ore_Iron_A", x, 64, 0, 0.60D, 1_000L + x);
+		}
+		// Touching the oldest target leaves the second oldest as the eviction candidate.
+		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 0, 64, 0, 0.60D, 2_000L)).isTrue();
+
+		throttle.allowHit(playerId, "Ore_Iron_A", 500, 64, 0, 0.60D, 2_001L);
+
+		assertThat(throttle.trackedCount()).isEqualTo(128);
+		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 0, 64, 0, 0.60D, 2_002L)).isFalse();
+		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 2, 64, 0, 0.60D, 2_003L)).isTrue();
+		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 1, 64, 0, 0.60D, 2_004L)).isFalse();
+	}
+
+	@Test
+	void expiredTargetsAreDroppedOldestFirst() {
+		ToolSpeedThrottleService throttle = new ToolSpeedThrottleService(100L, 256);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		throttle.allowHit(first, "Ore_Iron_A", 1, 2, 3, 0.50D, 1_000L);
+		throttle.allowHit(second, "Ore_Iron_A", 1, 2, 3, 0.50D, 1_050L);
+
+		assertThat(throttle.expireOldest(1_120L, 10)).isEqualTo(1);
+		assertThat(throttle.trackedCount()).isEqualTo(1);
+		assertThat(throttle.allowHit(second, "Ore_Iron_A", 1, 2, 3, 0.50D, 1_121L)).isTrue();
+	}
+
+	@Test
+	void fullEfficiencyAndChangedBlockResetTheTarget() {
+		ToolSpeedThrottleService throttle = new ToolSpeedThrottleService(10_000L, 256);
+		UUID playerId = UUID.randomUUID();
+
+		assertThat(throttle.allowHit(playerId, "Ore_Iron_A", 1, 2, 3, 0.60D, 1_000L)).isFalse();
+		assertThat(throttle.allowHit(playerId, "Ore_Copper_A", 1, 2, 3, 0.60D, 1_001L)).isFalse();
+		assertThat(throttle.allowHit(playerId, "ore_copper_a", 1, 2, 3, 0.60D, 1_002L)).isTrue();
+
+		assertThat(throttle.allowHit(playerId, "Ore_Copper_A", 1, 2, 3, 1.0D, 1_003L)).isTrue();
+		assertThat(throttle.trackedCount()).isZero();
+	}
+
+	@Test
+	void randomWorkloadMatchesAnAccessOrderedReference() {
+		ToolSpeedThrottleService throttle = new ToolSpeedThrottleService(500L, 128);
+		LinkedHashMap<String, double[]> reference = new LinkedHashMap<>(16, 0.75F, true);
+		SplittableRandom random = new SplittableRandom(43L);
+		UUID[] players = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+
+		for (long now = 0L; now < 20_000L; now += 1L + random.nextInt(5)) {
+			UUID player = players[random.nextInt(players.length)];
+			int x = random.nextInt(100) - 50;
+			int z = random.nextInt(100) - 50;
+			double multiplier = random.nextInt(10) == 0 ? 1.0D : 0.30D;
+			String key = player + ":" + x + ":" + z;
+
+			boolean expected = true;
+			if (multiplier >= 1.0D) {
+				reference.remove(key);
+			} else {
+				double[] state = reference.get(key);
+				if (state == null || now - (long) state[1] > 500L) {
+					state = new double[] {0.0D, now};
+					reference.put(key, state);
+				}
+				state[1] = now;
+				state[0] += multiplier;
+				expected = state[0] >= 1.0D;
+				if (expected) {
+					state[0] -= 1.0D;
+				}
+				if (reference.size() > 128) {
+					reference.remove(reference.keySet().iterator().next());
+				}
+			}
+
+			assertThat(throttle.allowHit(player, "Ore_Iron_A", x, 64, z, multiplier, now)).isEqualTo(expected);
+			assertThat(throttle.trackedCount()).isLessThanOrEqualTo(128);
+		}
+	}
 }
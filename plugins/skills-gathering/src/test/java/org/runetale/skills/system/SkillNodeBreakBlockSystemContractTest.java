@@ -0,0 +1,78 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.runetale.skills.api.SkillsRuntimeApi;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.HeuristicsConfig;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.domain.ToolTier;
+import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.NodeRewardModifierService;
+import org.runetale.skills.service.SkillNodeLookupService;
+import org.runetale.skills.trace.GatherTraceRecorder;
+import org.runetale.testing.junit.ContractTest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ContractTest
+class SkillNodeBreakBlockSystemContractTest {
+
+	private static final String WORLD = "world";
+	private static final SkillNodeDefinition COPPER = new SkillNodeDefinition(
+			"copper_rock", SkillType.MINING, "Rock_Copper", 1, ToolTier.BRONZE, "Tool_Pickaxe", 17.5D);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void breakOnAConfiguredNodeGrantsXp(@TempDir Path configRoot) {
+		SkillsRuntimeApi runtimeApi = mock(SkillsRuntimeApi.class);
+		when(runtimeApi.getDiagnostics()).thenReturn(new SkillsDiagnostics());
+		when(runtimeApi.hasSkillProfile(any(), any())).thenReturn(true);
+		when(runtimeApi.getSkillLevel(any(), any(), eq(SkillType.MINING))).thenReturn(40);
+		SkillNodeLookupService nodeLookupService = mock(SkillNodeLookupService.class);
+		when(nodeLookupService.findByBlockId("Rock_Copper")).thenReturn(COPPER);
+
+		SkillNodeBreakBlockSystem system;
+		try (MockedStatic<PlayerRef> playerRefs = mockStatic(PlayerRef.class)) {
+			playerRefs.when(PlayerRef::getComponentType).thenReturn(mock(ComponentType.class));
+			system = new SkillNodeBreakBlockSystem(runtimeApi, nodeLookupService, HeuristicsConfig.load(configRoot),
+					new GatheringBypassService(), new NodeRewardModifierService(() -> List.of(COPPER), List.of()),
+					new GatherTraceRecorder(1, 50L), "skills");
+		}
+
+		BlockType blockType = mock(BlockType.class);
+		when(blockType.getId()).thenReturn("Rock_Copper");
+		BreakBlockEvent event = mock(BreakBlockEvent.class);
+		when(event.getTargetBlock()).thenReturn(new Vector3i(4, 70, -9));
+		when(event.getBlockType()).thenReturn(blockType);
+		CommandBuffer<EntityStore> commandBuffer = mock(CommandBuffer.class);
+		Ref<EntityStore> ref = mock(Ref.class);
+
+		// The break system takes no depletion registry, so block regeneration marking the node depleted
+		// earlier in the same break cannot suppress the grant.
+		system.dispatchBreak(commandBuffer, ref, null, UUID.randomUUID(), null, WORLD, event);
+
+		verify(event, never()).setCancelled(true);
+		verify(runtimeApi).grantSkillXp(commandBuffer, ref, SkillType.MINING, 17.5D, "node:copper_rock", true);
+	}
+}
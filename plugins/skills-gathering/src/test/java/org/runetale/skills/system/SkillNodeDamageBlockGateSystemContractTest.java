@@ -0,0 +1,151 @@
+package org.runetale.skills.system;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.runetale.skills.api.DepletedBlockRegistry;
+import org.runetale.skills.api.SkillsRuntimeApi;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.config.GatherBudgetConfig;
+import org.runetale.skills.config.HeuristicsConfig;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.service.ChunkGatherBudgetService;
+import org.runetale.skills.service.GatherHitContextCache;
+import org.runetale.skills.service.GatheringBypassService;
+import org.runetale.skills.service.HeldToolLoadoutService;
+import org.runetale.skills.service.SkillNodeLookupService;
+import org.runetale.skills.trace.GatherTraceRecorder;
+import org.runetale.testing.junit.ContractTest;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ContractTest
+class SkillNodeDamageBlockGateSystemContractTest {
+
+	private static final String WORLD = "world";
+	private static final String ORE_BLOCK_ID = "RuneTale_Copper_Ore";
+	private static final String TOOL_KEYWORD = "Tool_Pickaxe";
+
+	private SkillsRuntimeApi runtimeApi;
+	private HeldToolLoadoutService heldToolLoadouts;
+	private CommandBuffer<EntityStore> commandBuffer;
+	private Ref<EntityStore> ref;
+	private SkillNodeDamageBlockGateSystem system;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp(@TempDir Path configRoot) {
+		this.runtimeApi = mock(SkillsRuntimeApi.class);
+		when(this.runtimeApi.getDiagnostics()).thenReturn(new SkillsDiagnostics());
+		when(this.runtimeApi.hasSkillProfile(any(), any())).thenReturn(true);
+		when(this.runtimeApi.getSkillLevel(any(), any(), eq(SkillType.MINING))).thenReturn(40);
+
+		SkillNodeDefinition node = mock(SkillNodeDefinition.class);
+		when(node.getId()).thenReturn("copper_ore");
+		when(node.getSkillType()).thenReturn(SkillType.MINING);
+		when(node.getRequiredSkillLevel()).thenReturn(1);
+		when(node.getRequiredToolKeyword()).thenReturn(TOOL_KEYWORD);
+		SkillNodeLookupService nodeLookupService = mock(SkillNodeLookupService.class);
+		when(nodeLookupService.findByBlockId(ORE_BLOCK_ID)).thenReturn(node);
+
+		this.heldToolLoadouts = mock(HeldToolLoadoutService.class);
+		when(this.heldToolLoadouts.efficiencyMultiplier(any(), any(), eq(TOOL_KEYWORD))).thenReturn(1.0D);
+
+		// One full evaluation per chunk, in a tick long enough that both hits land inside it.
+		ChunkGatherBudgetService gatherBudget = new ChunkGatherBudgetService(
+				new GatherBudgetConfig(1, 60_000L, 60_000L));
+
+		try (MockedStatic<PlayerRef> playerRefs = mockStatic(PlayerRef.class)) {
+			playerRefs.when(PlayerRef::getComponentType).thenReturn(mock(ComponentType.class));
+			this.system = new SkillNodeDamageBlockGateSystem(this.runtimeApi, nodeLookupService,
+					HeuristicsConfig.load(configRoot), this.heldToolLoadouts, new GatheringBypassService(),
+					new GatherHitContextCache(), gatherBudget, new DepletedBlockRegistry(),
+					new GatherTraceRecorder(1, 50L), "skills");
+		}
+		this.commandBuffer = mock(CommandBuffer.class);
+		this.ref = mock(Ref.class);
+	}
+
+	@Test
+	void overBudgetHitWithoutVerdictFallsBackToLevelAndLoadoutCheck() {
+		DamageBlockEvent first = hit(10, 64, 10, "RuneTale_Tool_Pickaxe_Iron");
+		DamageBlockEvent second = hit(11, 64, 10, "RuneTale_Tool_Pickaxe_Iron");
+
+		this.system.gateHit(this.commandBuffer, this.ref, null, UUID.randomUUID(), null, WORLD, first);
+		this.system.gateHit(this.commandBuffer, this.ref, null, UUID.randomUUID(), null, WORLD, second);
+
+		verify(first, never()).setCancelled(true);
+		verify(second, never()).setCancelled(true);
+		verify(second).setDamage(2.0F);
+		verify(this.runtimeApi, times(1)).hasSkillProfile(any(), any());
+		verify(this.runtimeApi, times(2)).getSkillLevel(any(), any(), eq(SkillType.MINING));
+		verify(this.heldToolLoadouts, times(2)).efficiencyMultiplier(any(), any(), eq(TOOL_KEYWORD));
+	}
+
+	@Test
+	void overBudgetFallbackBlocksHitsBelowTheRequiredLevel() {
+		when(this.runtimeApi.getSkillLevel(any(), any(), eq(SkillType.MINING))).thenReturn(40, 0);
+		DamageBlockEvent first = hit(10, 64, 10, "RuneTale_Tool_Pickaxe_Iron");
+		DamageBlockEvent second = hit(11, 64, 10, "RuneTale_Tool_Pickaxe_Iron");
+
+		this.system.gateHit(this.commandBuffer, this.ref, null, UUID.randomUUID(), null, WORLD, first);
+		this.system.gateHit(this.commandBuffer, this.ref, null, UUID.randomUUID(), null, WORLD, second);
+
+		verify(second).setCancelled(true);
+		verify(second, never()).setDamage(anyFloat());
+	}
+
+	@Test
+	void overBudgetHitReusesTheLevelAtTheBlockButRederivesTheToolMultiplier() {
+		UUID playerId = UUID.randomUUID();
+		DamageBlockEvent pickaxeHit = hit(10, 64, 10, "RuneTale_Tool_Pickaxe_Iron");
+		DamageBlockEvent switchedItemHit = hit(10, 64, 10, "RuneTale_Tool_Pickaxe_Rune");
+		ItemStack switchedItem = switchedItemHit.getItemInHand();
+		when(this.heldToolLoadouts.efficiencyMultiplier(any(), eq(switchedItem), eq(TOOL_KEYWORD))).thenReturn(1.5D);
+
+		this.system.gateHit(this.commandBuffer, this.ref, null, playerId, null, WORLD, pickaxeHit);
+		this.system.gateHit(this.commandBuffer, this.ref, null, playerId, null, WORLD, switchedItemHit);
+
+		verify(switchedItemHit, never()).setCancelled(true);
+		verify(switchedItemHit).setDamage(3.0F);
+		verify(this.runtimeApi, times(1)).getSkillLevel(any(), any(), eq(SkillType.MINING));
+		verify(this.heldToolLoadouts, times(2)).efficiencyMultiplier(any(), any(), eq(TOOL_KEYWORD));
+	}
+
+	private static DamageBlockEvent hit(int x, int y, int z, String itemId) {
+		BlockType blockType = mock(BlockType.class);
+		when(blockType.getId()).thenReturn(ORE_BLOCK_ID);
+		ItemStack heldItem = mock(ItemStack.class);
+		when(heldItem.getItemId()).thenReturn(itemId);
+		when(heldItem.getQuantity()).thenReturn(1);
+
+		DamageBlockEvent event = mock(DamageBlockEvent.class);
+		when(event.getTargetBlock()).thenReturn(new Vector3i(x, y, z));
+		when(event.getBlockType()).thenReturn(blockType);
+		when(event.getItemInHand()).thenReturn(heldItem);
+		when(event.getDamage()).thenReturn(2.0F);
+		return event;
+	}
+}
@@ -0,0 +1,53 @@
+package org.runetale.skills.trace;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GatherTraceFormatTest {
+
+	private static final UUID PLAYER = new UUID(4L, 9L);
+
+	@Test
+	void writeThenReadRoundTripsEveryColumn(@TempDir Path tempDir) throws IOException {
+		List<GatherTraceEvent> events = List.of(
+				new GatherTraceEvent(GatherTraceEvent.Kind.DAMAGE, 0L, PLAYER, "default", -12, 64, 300,
+						"RuneTale_Tree_Oak", "RuneTale_Tool_Axe_Iron"),
+				new GatherTraceEvent(GatherTraceEvent.Kind.BREAK, 7L, PLAYER, "default", -12, 64, 300,
+						"RuneTale_Tree_Oak", null));
+		Path path = tempDir.resolve("traces/trace.tsv");
+
+		GatherTraceFormat.write(path, events);
+
+		assertThat(GatherTraceFormat.read(path)).containsExactlyElementsOf(events);
+	}
+
+	@Test
+	void readSkipsCommentsAndRejectsMalformedLinesWithTheirLineNumber() throws IOException {
+		String trace = GatherTraceFormat.HEADER + "\n"
+				+ "# recorded locally\n"
+				+ "D\t3\t" + PLAYER + "\tdefault\t1\t2\t3\tRock_Copper\t-\n";
+
+		assertThat(GatherTraceFormat.read(new StringReader(trace)))
+				.singleElement()
+				.satisfies(event -> {
+					assertThat(event.kind()).isEqualTo(GatherTraceEvent.Kind.DAMAGE);
+					assertThat(event.itemId()).isNull();
+				});
+		assertThatThrownBy(() -> GatherTraceFormat.read(new StringReader(trace + "X\t1\t2\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("line 4");
+		assertThatThrownBy(() -> GatherTraceFormat.read(new StringReader(
+				"B\tsoon\t" + PLAYER + "\tdefault\t1\t2\t3\tRock_Copper\t-\n")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("line 1");
+	}
+}
@@ -0,0 +1,39 @@
+package org.runetale.skills.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatherTraceRecorderTest {
+
+	private static final UUID PLAYER = new UUID(4L, 9L);
+
+	@Test
+	void recordsNothingUntilStartedAndStampsTicksFromTheStart() {
+		GatherTraceRecorder recorder = new GatherTraceRecorder(10, 50L);
+
+		recorder.record(GatherTraceEvent.Kind.DAMAGE, PLAYER, "default", 1, 2, 3, "Rock_Copper", null, 900L);
+		assertThat(recorder.size()).isZero();
+
+		recorder.start(1_000L);
+		recorder.record(GatherTraceEvent.Kind.DAMAGE, PLAYER, "default", 1, 2, 3, "Rock_Copper", null, 1_049L);
+		recorder.record(GatherTraceEvent.Kind.BREAK, PLAYER, "default", 1, 2, 3, "Rock_Copper", null, 1_260L);
+
+		assertThat(recorder.snapshot()).extracting(GatherTraceEvent::tick).containsExactly(0L, 5L);
+	}
+
+	@Test
+	void stopsCapturingOnceFull() {
+		GatherTraceRecorder recorder = new GatherTraceRecorder(2, 50L);
+		recorder.start(0L);
+
+		for (int hit = 0; hit < 5; hit++) {
+			recorder.record(GatherTraceEvent.Kind.DAMAGE, PLAYER, "default", hit, 64, 0, "Rock_Copper", null, hit);
+		}
+
+		assertThat(recorder.isCapturing()).isFalse();
+		assertThat(recorder.size()).isEqualTo(2);
+	}
+}
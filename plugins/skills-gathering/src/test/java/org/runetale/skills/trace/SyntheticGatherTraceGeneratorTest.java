@@ -0,0 +1,57 @@
+package org.runetale.skills.trace;
+
+import org.junit.jupiter.api.Test;
+import org.runetale.skills.asset.SkillNodeDefinition;
+import org.runetale.skills.domain.SkillType;
+import org.runetale.skills.domain.ToolTier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticGatherTraceGeneratorTest {
+
+	private static final List<SkillNodeDefinition> NODES = List.of(
+			new SkillNodeDefinition("oak_tree", SkillType.WOODCUTTING, "Tree_Oak", 15, ToolTier.NONE,
+					"Tool_Hatchet", 37.5D),
+			new SkillNodeDefinition("copper_rock", SkillType.MINING, "Rock_Copper", 1, ToolTier.NONE,
+					"Tool_Pickaxe", 17.5D));
+	private static final Map<String, List<String>> TOOLS = Map.of(
+			"Tool_Hatchet", List.of("Tool_Hatchet_Iron"),
+			"Tool_Pickaxe", List.of("Tool_Pickaxe_Iron"));
+
+	@Test
+	void sameSeedProducesTheSameTrace() {
+		List<GatherTraceEvent> first = SyntheticGatherTraceGenerator.generate(49L, 8, 2_000, NODES, TOOLS);
+
+		assertThat(SyntheticGatherTraceGenerator.generate(49L, 8, 2_000, NODES, TOOLS)).isEqualTo(first);
+		assertThat(SyntheticGatherTraceGenerator.generate(50L, 8, 2_000, NODES, TOOLS)).isNotEqualTo(first);
+	}
+
+	@Test
+	void everyBreakFollowsHitsOnTheSameBlockAndTicksNeverGoBackwards() {
+		List<GatherTraceEvent> trace = SyntheticGatherTraceGenerator.generate(49L, 16, 5_000, NODES, TOOLS);
+		Map<UUID, GatherTraceEvent> lastNodeHit = new HashMap<>();
+		long lastTick = 0L;
+		int breaks = 0;
+
+		for (GatherTraceEvent event : trace) {
+			assertThat(event.tick()).isGreaterThanOrEqualTo(lastTick);
+			lastTick = event.tick();
+			if (event.kind() == GatherTraceEvent.Kind.BREAK) {
+				GatherTraceEvent hit = lastNodeHit.remove(event.playerId());
+				assertThat(hit).isNotNull();
+				assertThat(hit.blockId()).isEqualTo(event.blockId());
+				assertThat(hit.x()).isEqualTo(event.x());
+				breaks++;
+			} else if (!event.blockId().startsWith("Soil_")) {
+				lastNodeHit.put(event.playerId(), event);
+			}
+		}
+		assertThat(breaks).isPositive();
+		assertThat(trace.stream().map(GatherTraceEvent::playerId).distinct().count()).isEqualTo(16L);
+	}
+}
@@ -17,6 +17,7 @@ import org.runetale.skills.command.SkillCommand;
 import org.runetale.skills.command.debug.RtDebugCommand;
 import org.runetale.skills.command.debug.SkillXpCommand;
 import org.runetale.skills.component.PlayerSkillProfileComponent;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 import org.runetale.skills.domain.SkillType;
 import org.runetale.skills.progression.service.SkillProgressionService;
 import org.runetale.skills.progression.service.SkillXpDispatchService;
@@ -80,6 +81,11 @@ public class SkillsPlugin extends JavaPlugin implements SkillsRuntimeApi {
      */
     private DebugModeService debugModeService;
 
+    /**
+     * Shared debug/trace bitsets and trace ring buffer used by every skills plugin.
+     */
+    private final SkillsDiagnostics diagnostics = new SkillsDiagnostics();
+
     /**
      * Runtime path layout for external config and plugin data.
      */
@@ -198,6 +204,12 @@ public class SkillsPlugin extends JavaPlugin implements SkillsRuntimeApi {
         return this.debugModeService.isEnabled(pluginKey);
     }
 
+    @Nonnull
+    @Override
+    public SkillsDiagnostics getDiagnostics() {
+        return this.diagnostics;
+    }
+
     @Override
     protected void setup() {
         LOGGER.atInfo().log("Setting up skills runtime framework...");
@@ -236,7 +248,7 @@ public class SkillsPlugin extends JavaPlugin implements SkillsRuntimeApi {
         this.xpService = new XpService(this.skillsConfigService.getXpConfig());
         this.sessionStatsService = new SkillSessionStatsService();
         this.skillXpToastHudService = new SkillXpToastHudService(this.skillsConfigService.getHudConfig());
-        this.debugModeService = new DebugModeService(List.of("skills", "skills-actions"));
+        this.debugModeService = new DebugModeService(List.of("skills", "skills-actions"), this.diagnostics);
         this.xpDispatchService = new SkillXpDispatchService(this.debugModeService);
         LOGGER.atInfo().log("[Skills] Services registered.");
     }
@@ -11,17 +11,21 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayer
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 import org.runetale.skills.service.DebugModeService;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 import java.util.Locale;
 import java.util.StringJoiner;
 
 /**
- * Admin command that toggles per-plugin runtime debug diagnostics.
+ * Admin command that toggles per-plugin runtime debug diagnostics and structured gather tracing.
  */
 public class RtDebugCommand extends AbstractPlayerCommand {
 
+	private static final int DUMP_LIMIT = 20;
+
 	private final DebugModeService debugModeService;
 	private final OptionalArg<String> pluginArg;
 	private final OptionalArg<String> actionArg;
@@ -31,7 +35,7 @@ public class RtDebugCommand extends AbstractPlayerCommand {
 		this.setPermissionGroup(GameMode.Creative);
 		this.debugModeService = debugModeService;
 		this.pluginArg = this.withOptionalArg("plugin", "Plugin id (e.g. skills)", ArgTypes.STRING);
-		this.actionArg = this.withOptionalArg("action", "on|off|status", ArgTypes.STRING);
+		this.actionArg = this.withOptionalArg("action", "on|off|status|trace|untrace|dump", ArgTypes.STRING);
 	}
 
 	@Override
@@ -80,6 +84,15 @@ public class RtDebugCommand extends AbstractPlayerCommand {
 						plugin,
 						this.debugModeService.isEnabled(plugin) ? "ON" : "OFF")));
 				break;
+			case "trace":
+				startTrace(context, plugin, playerRef);
+				break;
+			case "untrace":
+				stopTrace(context, plugin, playerRef);
+				break;
+			case "dump":
+				dumpTrace(context, plugin);
+				break;
 			default:
 				context.sendMessage(Message.raw("[RuneTale] Unknown action: " + action + "."));
 				sendHelp(context);
@@ -87,6 +100,37 @@ public class RtDebugCommand extends AbstractPlayerCommand {
 		}
 	}
 
+	private void startTrace(@Nonnull CommandContext context, @Nonnull String plugin, @Nonnull PlayerRef playerRef) {
+		if (!this.debugModeService.startTrace(plugin, playerRef.getUuid())) {
+			context.sendMessage(Message.raw("[RuneTale] Too many players are already being traced."));
+			return;
+		}
+		context.sendMessage(Message.raw("[RuneTale] Tracing enabled for plugin=" + plugin + " on your hits."));
+	}
+
+	private void stopTrace(@Nonnull CommandContext context, @Nonnull String plugin, @Nonnull PlayerRef playerRef) {
+		this.debugModeService.stopTrace(plugin, playerRef.getUuid());
+		context.sendMessage(Message.raw("[RuneTale] Tracing disabled for plugin=" + plugin + " on your hits."));
+	}
+
+	private void dumpTrace(@Nonnull CommandContext context, @Nonnull String plugin) {
+		SkillsDiagnostics diagnostics = this.debugModeService.diagnostics();
+		List<String> lines = diagnostics.dump(diagnostics.pluginBit(plugin), DUMP_LIMIT);
+		if (lines.isEmpty()) {
+			context.sendMessage(Message.raw("[RuneTale] No trace records for plugin=" + plugin + "."));
+			return;
+		}
+		context.sendMessage(Message.raw(String.format(
+				Locale.ROOT,
+				"[RuneTale] Last %d trace records for plugin=%s (%d written):",
+				lines.size(),
+				plugin,
+				diagnostics.written())));
+		for (String line : lines) {
+			context.sendMessage(Message.raw(line));
+		}
+	}
+
 	private boolean isHelpToken(String raw) {
 		if (raw == null) {
 			return false;
@@ -107,7 +151,7 @@ public class RtDebugCommand extends AbstractPlayerCommand {
 
 	private void sendHelp(@Nonnull CommandContext context) {
 		context.sendMessage(Message.raw("[RuneTale] Toggles deep diagnostic logging per plugin."));
-		context.sendMessage(Message.raw("[RuneTale] Usage: /rtdebug <plugin> [on|off|status]"));
+		context.sendMessage(Message.raw("[RuneTale] Usage: /rtdebug <plugin> [on|off|status|trace|untrace|dump]"));
 		context.sendMessage(Message.raw("[RuneTale] Example: /rtdebug skills on"));
 		context.sendMessage(Message.raw("[RuneTale] Supported plugins: " + supportedPluginsHint()));
 	}
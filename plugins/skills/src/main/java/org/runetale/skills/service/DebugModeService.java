@@ -1,66 +1,114 @@
 package org.runetale.skills.service;
 
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
+
 import javax.annotation.Nonnull;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
 /**
  * Maintains runtime debug-mode toggles per plugin key.
+ *
+ * <p>
+ * Toggles are stored as bits in the shared {@link SkillsDiagnostics} debug mask, so checking a
+ * plugin's flag is a map lookup on the raw key followed by a single volatile read. Trace player
+ * filters are kept per plugin, so stopping one plugin's trace never widens or ends another's.
  */
 public class DebugModeService {
 
-	private final Set<String> supportedPlugins;
-	private final Map<String, Boolean> enabledByPlugin;
+	private final SkillsDiagnostics diagnostics;
+	private final Map<String, Integer> bitByPlugin;
 
 	public DebugModeService(@Nonnull List<String> supportedPlugins) {
-		LinkedHashSet<String> normalized = new LinkedHashSet<>();
+		this(supportedPlugins, new SkillsDiagnostics());
+	}
+
+	public DebugModeService(@Nonnull List<String> supportedPlugins, @Nonnull SkillsDiagnostics diagnostics) {
+		this.diagnostics = diagnostics;
+		LinkedHashMap<String, Integer> bits = new LinkedHashMap<>();
 		for (String plugin : supportedPlugins) {
 			String normalizedPlugin = normalize(plugin);
-			if (!normalizedPlugin.isEmpty()) {
-				normalized.add(normalizedPlugin);
+			int bit = diagnostics.pluginBit(normalizedPlugin);
+			if (!normalizedPlugin.isEmpty() && bit != SkillsDiagnostics.NO_PLUGIN) {
+				bits.put(normalizedPlugin, bit);
 			}
 		}
-
-		this.supportedPlugins = Set.copyOf(normalized);
-		this.enabledByPlugin = new ConcurrentHashMap<>();
-		for (String plugin : this.supportedPlugins) {
-			this.enabledByPlugin.put(plugin, false);
-		}
+		this.bitByPlugin = Map.copyOf(bits);
 	}
 
 	public boolean isSupported(@Nonnull String plugin) {
-		return this.supportedPlugins.contains(normalize(plugin));
+		return bitOf(plugin) != SkillsDiagnostics.NO_PLUGIN;
 	}
 
 	public boolean isEnabled(@Nonnull String plugin) {
-		return this.enabledByPlugin.getOrDefault(normalize(plugin), false);
+		return this.diagnostics.isDebugEnabled(bitOf(plugin));
 	}
 
 	public boolean enable(@Nonnull String plugin) {
-		String normalized = normalize(plugin);
-		if (!this.supportedPlugins.contains(normalized)) {
-			return false;
-		}
-		this.enabledByPlugin.put(normalized, true);
-		return true;
+		return toggle(plugin, true);
 	}
 
 	public boolean disable(@Nonnull String plugin) {
-		String normalized = normalize(plugin);
-		if (!this.supportedPlugins.contains(normalized)) {
+		return toggle(plugin, false);
+	}
+
+	/**
+	 * Turns on the plugin's tracing, restricted to the given player. Returns false for an unknown
+	 * plugin or when every player slot is taken.
+	 */
+	public boolean startTrace(@Nonnull String plugin, @Nonnull UUID playerId) {
+		int bit = bitOf(plugin);
+		if (bit == SkillsDiagnostics.NO_PLUGIN || !this.diagnostics.tracePlayer(bit, playerId)) {
 			return false;
 		}
-		this.enabledByPlugin.put(normalized, false);
+		this.diagnostics.setTracing(bit, true);
 		return true;
 	}
 
+	/**
+	 * Drops the player from the plugin's trace filter. An empty filter means "trace everyone", so the
+	 * plugin's last traced player switches its tracing off.
+	 */
+	public void stopTrace(@Nonnull String plugin, @Nonnull UUID playerId) {
+		int bit = bitOf(plugin);
+		if (bit == SkillsDiagnostics.NO_PLUGIN) {
+			return;
+		}
+		this.diagnostics.untracePlayer(bit, playerId);
+		if (this.diagnostics.tracedPlayerCount(bit) == 0) {
+			this.diagnostics.setTracing(bit, false);
+		}
+	}
+
 	@Nonnull
 	public List<String> supportedPlugins() {
-		return List.copyOf(this.supportedPlugins);
+		return List.copyOf(this.bitByPlugin.keySet());
+	}
+
+	@Nonnull
+	public SkillsDiagnostics diagnostics() {
+		return this.diagnostics;
+	}
+
+	private boolean toggle(@Nonnull String plugin, boolean enabled) {
+		int bit = bitOf(plugin);
+		if (bit == SkillsDiagnostics.NO_PLUGIN) {
+			return false;
+		}
+		this.diagnostics.setDebugEnabled(bit, enabled);
+		return true;
+	}
+
+	// Callers almost always pass an already-normalized key, so try the raw key before normalizing.
+	private int bitOf(@Nonnull String plugin) {
+		Integer bit = this.bitByPlugin.get(plugin);
+		if (bit == null) {
+			bit = this.bitByPlugin.get(normalize(plugin));
+		}
+		return bit == null ? SkillsDiagnostics.NO_PLUGIN : bit;
 	}
 
 	@Nonnull
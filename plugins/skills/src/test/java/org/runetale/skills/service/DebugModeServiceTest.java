@@ -1,8 +1,10 @@
 package org.runetale.skills.service;
 
 import org.junit.jupiter.api.Test;
+import org.runetale.skills.diagnostics.SkillsDiagnostics;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,4 +31,31 @@ class DebugModeServiceTest {
 		assertFalse(service.disable("combat"));
 		assertFalse(service.isEnabled("combat"));
 	}
+
+	@Test
+	void togglesAreVisibleThroughSharedDiagnosticsBits() {
+		SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+		DebugModeService service = new DebugModeService(List.of("skills", "skills-actions"), diagnostics);
+
+		assertTrue(service.enable("skills-actions"));
+
+		assertTrue(diagnostics.isDebugEnabled(diagnostics.pluginBit("skills-actions")));
+		assertFalse(diagnostics.isDebugEnabled(diagnostics.pluginBit("skills")));
+	}
+
+	@Test
+	void stoppingOnePluginsTraceLeavesOtherPluginsTracing() {
+		SkillsDiagnostics diagnostics = new SkillsDiagnostics(16);
+		DebugModeService service = new DebugModeService(List.of("skills", "skills-actions"), diagnostics);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+
+		assertTrue(service.startTrace("skills", first));
+		assertTrue(service.startTrace("skills-actions", second));
+		service.stopTrace("skills", first);
+
+		assertFalse(diagnostics.isTracing(diagnostics.pluginBit("skills")));
+		assertTrue(diagnostics.isTracing(diagnostics.pluginBit("skills-actions")));
+		assertFalse(diagnostics.isPlayerTraced(diagnostics.pluginBit("skills-actions"), first));
+	}
 }
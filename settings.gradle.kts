@@ -10,6 +10,7 @@ dependencyResolutionManagement {
 
 rootProject.name = "RuneTale"
 
+include(":platform:block-mutation")
 include(":platform:testing-core")
 include(":platform:testing-ecs")
 include(":platform:testing-junit")